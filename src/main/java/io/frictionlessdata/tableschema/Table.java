@@ -3,15 +3,28 @@ package io.frictionlessdata.tableschema;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.frictionlessdata.tableschema.columnar.ColumnarBatchIterator;
+import io.frictionlessdata.tableschema.columnar.ColumnarTable;
 import io.frictionlessdata.tableschema.exception.*;
 import io.frictionlessdata.tableschema.field.Field;
 import io.frictionlessdata.tableschema.iterator.BeanIterator;
+import io.frictionlessdata.tableschema.iterator.ColumnValueCache;
+import io.frictionlessdata.tableschema.iterator.ReusableRow;
+import io.frictionlessdata.tableschema.iterator.ReusableRowIterator;
 import io.frictionlessdata.tableschema.iterator.SimpleTableIterator;
 import io.frictionlessdata.tableschema.iterator.TableIterator;
+import io.frictionlessdata.tableschema.iterator.TableSpliterator;
 import io.frictionlessdata.tableschema.schema.BeanSchema;
+import io.frictionlessdata.tableschema.schema.InferenceOptions;
+import io.frictionlessdata.tableschema.schema.InferenceReport;
 import io.frictionlessdata.tableschema.schema.Schema;
+import io.frictionlessdata.tableschema.tabledatasource.AbstractStreamingJsonTableDataSource;
 import io.frictionlessdata.tableschema.tabledatasource.BeanTableDataSource;
+import io.frictionlessdata.tableschema.tabledatasource.CsvFileTableDataSource;
 import io.frictionlessdata.tableschema.tabledatasource.CsvTableDataSource;
+import io.frictionlessdata.tableschema.tabledatasource.RowFilter;
+import io.frictionlessdata.tableschema.tabledatasource.SplittableTableDataSource;
 import io.frictionlessdata.tableschema.tabledatasource.StringArrayTableDataSource;
 import io.frictionlessdata.tableschema.tabledatasource.TableDataSource;
 import io.frictionlessdata.tableschema.util.JsonUtil;
@@ -24,7 +37,11 @@ import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This class represents a CSV or JSON-array encoded  table with optional CSV specification
@@ -61,6 +78,9 @@ public class Table{
     @JsonIgnore
     private Charset charset = StandardCharsets.UTF_8;
 
+    @JsonIgnore
+    private int valueCacheSize = 0;
+
     /**
      * Constructor for an empty Table. It contains neither data nor is it controlled by a Schema
      */
@@ -205,13 +225,9 @@ public class Table{
      * @param dataSource the URL for the CSV or JSON content
      */
     public static Table fromSource(URL dataSource)  {
-        try {
-            Table table = new Table();
-            table.dataSource = TableDataSource.fromSource(dataSource.openStream());
-            return table;
-        } catch (IOException ex) {
-            throw new TableIOException(ex);
-        }
+        Table table = new Table();
+        table.dataSource = TableDataSource.fromSource(dataSource);
+        return table;
     }
 
 
@@ -306,6 +322,41 @@ public class Table{
        return new TableIterator<>(this, keyed, extended, cast, relations);
     }
 
+    /**
+     * This method creates an Iterator that returns the same {@link ReusableRow} for every table row, updated in
+     * place. A row is only valid until the next call to `next()`. Integer and number values can be read without
+     * creating objects per row, which makes this the fastest way to scan large tables.
+     * It does not follow relations.
+     *
+     * @return Iterator that returns a reusable row
+     */
+    public Iterator<ReusableRow> reusableRowIterator() {
+        return new ReusableRowIterator(this);
+    }
+
+    /**
+     * This method creates an Iterator that returns the table rows in blocks of
+     * {@link ColumnarBatchIterator#DEFAULT_BATCH_SIZE} rows, each in columnar form.
+     * It does not follow relations.
+     *
+     * @return Iterator that returns blocks of rows
+     */
+    public Iterator<ColumnarTable> batchIterator() {
+        return new ColumnarBatchIterator(this, ColumnarBatchIterator.DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * This method creates an Iterator that returns the table rows in blocks, each in columnar form. Values
+     * are cast column by column for a whole block if a Schema is set on the table, so there is no per-row
+     * overhead. The last block can be smaller. It does not follow relations.
+     *
+     * @param batchSize the maximum number of rows per block
+     * @return Iterator that returns blocks of rows
+     */
+    public Iterator<ColumnarTable> batchIterator(int batchSize) {
+        return new ColumnarBatchIterator(this, batchSize);
+    }
+
     /**
      * This method creates an Iterator that will return table rows as String arrays.
      * It therefore disregards the Schema set on the table. It does not follow relations.
@@ -349,6 +400,74 @@ public class Table{
         return new TableIterator<>(this, true, extended, cast, relations);
     }
 
+    /**
+     * This method creates a Stream of the table rows as Object arrays, with values cast like in {@link #iterator()}.
+     * The Stream is sequential, but splits the data if made parallel: in-memory data by row ranges, local files
+     * by byte ranges, so each thread reads and casts its own rows. Other data sources are read by a single
+     * Iterator. The Stream is ordered, and sized if the row count is known without reading the data.
+     * It does not follow relations.
+     *
+     * Streams over files or URLs keep them open until all rows are read. Close the Stream, e.g. via
+     * try-with-resources, if a terminal operation like `findFirst()` may stop before.
+     *
+     * @return Stream of table rows as Object/String Arrays
+     */
+    public Stream<Object[]> stream() {
+        return stream((table) -> new TableIterator<>(table, false, false, true, false));
+    }
+
+    /**
+     * This method creates a Stream of the table rows as a Map&lt;String,Object&gt; where key is the header name,
+     * and val is the data converted to Java objects. See {@link #stream()} for how the data is split and
+     * when the Stream must be closed. It does not follow relations.
+     *
+     * @return Stream of table rows as Maps
+     */
+    public Stream<Map<String, Object>> mappingStream() {
+        return stream((table) -> new TableIterator<>(table, true, false, true, false));
+    }
+
+    /**
+     * This method creates a Stream of the table rows as Java objects of the type `beanType`, like
+     * {@link #iterator(Class, boolean)}. See {@link #stream()} for how the data is split and when the Stream
+     * must be closed. It does not follow relations.
+     *
+     * @param beanType the Bean class of the rows
+     * @param <T> the Bean class of the rows
+     * @return Stream of table rows as bean instances
+     */
+    public <T> Stream<T> stream(Class<T> beanType) {
+        return stream((table) -> new BeanIterator<>(table, beanType, false));
+    }
+
+    private <T> Stream<T> stream(Function<Table, Iterator<T>> rowIterator) {
+        // resolve the headers once, before the splits read them from several threads
+        getDataSourceHeaders();
+        // the iterators of all splits, closed with the Stream
+        Queue<Iterator<T>> iterators = new ConcurrentLinkedQueue<>();
+        Function<Table, Iterator<T>> trackedIterator = (table) -> {
+            Iterator<T> iter = rowIterator.apply(table);
+            iterators.add(iter);
+            return iter;
+        };
+        Stream<T> stream;
+        if (TableSpliterator.canSplit(dataSource)) {
+            stream = StreamSupport.stream(new TableSpliterator<>(this, trackedIterator), false);
+        } else {
+            int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+            stream = StreamSupport.stream(
+                    () -> Spliterators.spliteratorUnknownSize(trackedIterator.apply(this), characteristics),
+                    characteristics, false);
+        }
+        return stream.onClose(() -> {
+            for (Iterator<T> iter : iterators) {
+                if (iter instanceof TableIterator) {
+                    ((TableIterator<T>) iter).close();
+                }
+            }
+        });
+    }
+
     /**
      * returns the charset or encoding to use when writing CSV files.
      * @return the used charset
@@ -371,8 +490,16 @@ public class Table{
                     .createSchemaHeaderMapping(dataSource.getHeaders(), dataSource.getHeaders(), true);
         } else {
             return TableSchemaUtil
-                    .createSchemaHeaderMapping(dataSource.getHeaders(), schema.getHeaders(), dataSource.hasReliableHeaders());
+                    .createSchemaHeaderMapping(getDataSourceHeaders(), schema.getHeaders(), dataSource.hasReliableHeaders());
+        }
+    }
+
+    // A streaming JSON source only scans the first rows for keys, so it needs to know about the declared columns
+    private String[] getDataSourceHeaders() {
+        if ((null != schema) && (dataSource instanceof AbstractStreamingJsonTableDataSource)) {
+            ((AbstractStreamingJsonTableDataSource) dataSource).setDeclaredHeaders(schema.getHeaders());
         }
+        return dataSource.getHeaders();
     }
 
     /**
@@ -448,6 +575,156 @@ public class Table{
         return read(cast);
     }
 
+    /**
+     * Read all data from the Table into a {@link ColumnarTable}, which stores each column as a typed vector
+     * instead of one object per cell. Values are cast if a Schema is set on the table, as in {@link #read()}.
+     * Use this for loading large tables into memory.
+     *
+     * It ignores relations to other data sources.
+     *
+     * @return the table data in columnar form
+     */
+    public ColumnarTable readColumnar(){
+        if((null != schema) && this.schema.isEmpty()){
+            throw new InvalidCastException("Schema has no fields");
+        }
+        return ColumnarTable.read(this);
+    }
+
+    /**
+     * Create a Table on the rows of a byte range of the data file, with the Schema and settings of this Table.
+     * The range is aligned to record boundaries, so that independent threads or processes can each read one
+     * split of the same file: ranges covering the file without gaps or overlaps read every row exactly once.
+     * See {@link SplittableTableDataSource} for the details.
+     *
+     * @param start offset of the first byte of the range
+     * @param end offset after the last byte of the range
+     * @return a Table holding the rows whose records start in the range
+     * @throws TableSchemaException if the data source can't read byte ranges, e.g. for in-memory data
+     */
+    public Table byteRange(long start, long end) {
+        if (!(dataSource instanceof SplittableTableDataSource)) {
+            throw new TableSchemaException("Data source can't read byte ranges: "
+                    + ((null == dataSource) ? null : dataSource.getClass().getSimpleName()));
+        }
+        // resolve the headers before splitting, so that a streaming JSON source knows the declared columns
+        getDataSourceHeaders();
+        return withDataSource(((SplittableTableDataSource) dataSource).byteRange(start, end));
+    }
+
+    /**
+     * Create a Table on the data rows [start, end) of this Table, with the Schema and settings of this Table,
+     * e.g. for reading one page of a large file. CSV files with a row index seek directly to the first row,
+     * see {@link CsvFileTableDataSource#setRowIndexInterval(int)}, other data sources skip the rows before it.
+     *
+     * @param start the 0-based number of the first data row
+     * @param end the number of the row after the last data row
+     * @return a Table holding the rows of the range
+     */
+    public Table rowRange(long start, long end) {
+        getDataSourceHeaders();
+        return withDataSource(dataSource.rowRange(start, end));
+    }
+
+    /**
+     * Create a Table on selected columns of this Table, e.g. for reading a few columns of a wide file. The
+     * projection is passed down to the data source: CSV files skip the values of the other columns while
+     * tokenizing, and the other columns are never cast or checked against constraints. The Schema of the new
+     * Table holds the Fields of the selected columns in the order of `columns`, without keys.
+     *
+     * Columns are found by the headers of the data, or by the position of their Field in the Schema if the
+     * data has no headers.
+     *
+     * @param columns the names of the columns to read
+     * @return a Table holding the selected columns
+     * @throws TableSchemaException if a column is neither in the data nor in the Schema
+     */
+    public Table select(String... columns) {
+        String[] dataHeaders = getDataSourceHeaders();
+        List<Integer> positions = new ArrayList<>();
+        List<Field<?>> fields = new ArrayList<>();
+        for (String column : columns) {
+            Field<?> field = (null != schema) ? schema.getField(column) : null;
+            int position = getColumnPosition(column, field, dataHeaders);
+            if (null != field) {
+                fields.add(field);
+            }
+            // Fields without data keep their null values, as in unprojected reads
+            if (position >= 0) {
+                positions.add(position);
+            }
+        }
+        Table table = withDataSource(dataSource.project(positions.stream().mapToInt(Integer::intValue).toArray()));
+        if (null != schema) {
+            // the Fields were validated with this Table's Schema
+            table.schema = new Schema(fields, false);
+        }
+        return table;
+    }
+
+    /**
+     * Create a Table on the rows of this Table that match all filters, with the Schema and settings of this
+     * Table. The filtered columns are cast and tested first, the other columns of a row are only cast if the
+     * row matches. Filters comparing String columns to Strings decide on the raw value without casting.
+     * Rows that don't match are skipped without checking the constraints of any Field.
+     *
+     * @param filters the filters a row must match
+     * @return a Table holding the matching rows
+     * @throws TableSchemaException if a filtered column is neither in the data nor in the Schema
+     */
+    public Table filter(RowFilter... filters) {
+        String[] dataHeaders = getDataSourceHeaders();
+        int[] positions = new int[filters.length];
+        Field<?>[] fields = new Field<?>[filters.length];
+        for (int i = 0; i < filters.length; i++) {
+            fields[i] = (null != schema) ? schema.getField(filters[i].getColumn()) : null;
+            positions[i] = getColumnPosition(filters[i].getColumn(), fields[i], dataHeaders);
+        }
+        return withDataSource(dataSource.filter(filters, positions, fields));
+    }
+
+    // position of a column in the data, by header or by the position of its Field if the data has no headers
+    private int getColumnPosition(String column, Field<?> field, String[] dataHeaders) {
+        int position = -1;
+        if (null != dataHeaders) {
+            // the last column wins for duplicate headers, as in the schema/header mapping
+            position = Arrays.asList(dataHeaders).lastIndexOf((null != field) ? field.getName() : column);
+        } else if (null != field) {
+            position = schema.getFields().indexOf(field);
+        }
+        if ((null == field) && (position < 0)) {
+            throw new TableSchemaException("Column '" + column + "' not found in table");
+        }
+        return position;
+    }
+
+    /**
+     * Returns the number of data rows, without the header row. CSV files with a row index return the count from
+     * the index, see {@link CsvFileTableDataSource#setRowIndexInterval(int)}, for other data sources the rows are
+     * counted without casting them.
+     *
+     * @return the number of data rows
+     */
+    public long getRowCount() {
+        return dataSource.getRowCount();
+    }
+
+    // the values in a row are of the type of their Field
+    @SuppressWarnings("unchecked")
+    private static <T> Object formatValueForJson(Field<T> field, Object value) {
+        return field.formatValueForJson((T) value);
+    }
+
+    private Table withDataSource(TableDataSource rangeDataSource) {
+        Table table = new Table();
+        table.dataSource = rangeDataSource;
+        table.schema = schema;
+        table.format = format;
+        table.charset = charset;
+        table.valueCacheSize = valueCacheSize;
+        return table;
+    }
+
     /**
      * Read all data from the Table and return it as JSON. If no Schema is set on the table, one will be inferred.
      * This can be used for smaller data tables but for huge or unknown sizes, there will be performance considerations,
@@ -546,9 +823,9 @@ public class Table{
 
     /**
      * Write Table data to a provided {@link java.io.Writer} - the `dataFormat` parameter decides on the data format,
-     * either CSV or JSON.
+     * either CSV, JSON or newline-delimited JSON.
      * @param out the Writer to write to
-     * @param dataFormat the format to use, either CSV or JSON.
+     * @param dataFormat the format to use, either CSV, JSON or NDJSON.
      */
     public void write(Writer out, TableDataSource.Format dataFormat) {
         try  {
@@ -570,12 +847,44 @@ public class Table{
             } else if (dataFormat.equals(TableDataSource.Format.FORMAT_JSON)) {
                 String content = this.asJson();
                 out.write(content);
+            } else if (dataFormat.equals(TableDataSource.Format.FORMAT_NDJSON)) {
+                writeJsonLines(out);
             }
         } catch (IOException ex) {
             throw new TableIOException(ex);
         }
     }
 
+    /**
+     * Write Table data as newline-delimited JSON to a provided {@link java.io.Writer}, one JSON object per row
+     * with the same values as {@link #asJson()}. Rows are written as they are read, so unlike
+     * {@link #asJson()}, this does not hold the data in memory.
+     *
+     * @param out the Writer to write to
+     */
+    public void writeJsonLines(Writer out) {
+        Schema schema = (null != this.schema) ? this.schema : this.inferSchema();
+        ObjectWriter writer = JsonUtil.getInstance().getMapper().writer();
+        Iterator<Object> iter = this.iterator(false, false, true, false);
+        try {
+            while (iter.hasNext()) {
+                Object[] row = (Object[]) iter.next();
+                Map<String, Object> obj = new LinkedHashMap<>();
+                int i = 0;
+                for (Field<?> field : schema.getFields()) {
+                    obj.put(field.getName(), formatValueForJson(field, row[i]));
+                    i++;
+                }
+                out.write(writer.writeValueAsString(obj));
+                out.write('\n');
+            }
+        } catch (JsonProcessingException ex) {
+            throw new JsonSerializingException(ex);
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+    }
+
     /**
      * Write Table data as CSV to a provided {@link java.io.Writer}, the `format` parameter decides on the CSV
      * options. If it is null, then the data will be written in the CSV defined by the CSV format of the Table
@@ -626,7 +935,7 @@ public class Table{
     public void validate() throws TableValidationException, TableSchemaException {
         if (null == schema)
             return;
-        String[] headers = dataSource.getHeaders();
+        String[] headers = getDataSourceHeaders();
         // if the data has no headers (CSV table without header row), we can't validate against the Schema
         if (null == headers) {
             return;
@@ -702,6 +1011,53 @@ public class Table{
         }
     }
 
+    /**
+     * Infers the Field types like {@link #inferSchema(int)} and, in the same pass, the Field
+     * constraints according to the thresholds in `options`.
+     *
+     * @param rowLimit The max numer of rows to scan. Huge input files can take a considerable time to infer.
+     * @param options thresholds for inferring the constraints and for early termination
+     *
+     * @return the created Schema
+     */
+    public Schema inferSchema(int rowLimit, InferenceOptions options) throws TypeInferringException{
+        return inferReport(rowLimit, options).getSchema();
+    }
+
+    /**
+     * Infers the Field types and constraints like {@link #inferSchema(int, InferenceOptions)} and returns
+     * a report holding the Schema and, per column, the type distribution, conflicting sample values and a
+     * confidence score.
+     *
+     * Rows are read one by one, so if `options` define a stability window, only the rows needed until
+     * the types of all columns are stable are read from the data source.
+     *
+     * @param rowLimit The max numer of rows to scan. Huge input files can take a considerable time to infer.
+     * @param options thresholds for inferring the constraints and for early termination
+     *
+     * @return the inferral report
+     */
+    public InferenceReport inferReport(int rowLimit, InferenceOptions options) throws TypeInferringException{
+        Iterator<String[]> iter = null;
+        try{
+            iter = stringArrayIterator();
+            return Schema.inferReport(iter, getHeaders(), rowLimit, options);
+        } catch(TypeInferringException e){
+            throw e;
+        } catch(Exception e){
+            throw new TypeInferringException(e);
+        } finally {
+            // inference may stop before the last row, release the data source
+            if (iter instanceof Closeable) {
+                try {
+                    ((Closeable) iter).close();
+                } catch (IOException e) {
+                    throw new TypeInferringException(e);
+                }
+            }
+        }
+    }
+
     public Table setCsvFormat(CSVFormat format) {
         this.format = format;
         if ((null != dataSource) && (dataSource instanceof CsvTableDataSource)) {
@@ -714,6 +1070,28 @@ public class Table{
         return format;
     }
 
+    /**
+     * Set the number of distinct values per column the iterators cache. Repeated values in a column are then
+     * cast only once and share the same Java object, which speeds up reading categorical columns. Columns with
+     * too many distinct values switch the cache off on their own, see {@link ColumnValueCache}.
+     *
+     * Caching is off by default, as rows then share value objects, e.g. the same String instances without a
+     * Schema. {@link ColumnValueCache#DEFAULT_MAX_SIZE} is a reasonable size to switch it on.
+     * @param valueCacheSize the number of cached values per column, 0 to disable caching
+     * @return this Table
+     */
+    public Table setValueCacheSize(int valueCacheSize) {
+        if (valueCacheSize < 0) {
+            throw new IllegalArgumentException("Value cache size must not be negative");
+        }
+        this.valueCacheSize = valueCacheSize;
+        return this;
+    }
+
+    public int getValueCacheSize() {
+        return valueCacheSize;
+    }
+
     /**
      * Get the current Schema for this Table or `null` if no Schema is set.
      *
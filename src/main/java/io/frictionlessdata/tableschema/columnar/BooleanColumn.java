@@ -0,0 +1,48 @@
+package io.frictionlessdata.tableschema.columnar;
+
+import java.util.BitSet;
+
+/**
+ * Column of a `boolean` Field, stored as a bitmap.
+ */
+public class BooleanColumn extends Column {
+    private final BitSet values = new BitSet();
+
+    BooleanColumn(String name) {
+        super(name);
+    }
+
+    /**
+     * Get the value of a row without boxing
+     * @param row the row index
+     * @return the value, false for null values
+     */
+    public boolean getBoolean(int row) {
+        checkRow(row);
+        return values.get(row);
+    }
+
+    @Override
+    boolean store(int row, Object value) {
+        if (!(value instanceof Boolean)) {
+            return false;
+        }
+        values.set(row, (Boolean) value);
+        return true;
+    }
+
+    @Override
+    Object getStored(int row) {
+        return values.get(row);
+    }
+
+    @Override
+    void ensureCapacity(int minCapacity) {
+        // a BitSet grows on its own
+    }
+
+    @Override
+    void trim() {
+        // nothing to trim
+    }
+}
@@ -0,0 +1,124 @@
+package io.frictionlessdata.tableschema.columnar;
+
+import io.frictionlessdata.tableschema.field.*;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One column of a {@link ColumnarTable}. Subclasses store the values in a primitive vector suited to the
+ * Field type, null values are tracked in a bitmap. Values that don't fit the vector, e.g. an integer larger than
+ * a `long`, are kept as objects in a sparse overflow map, so {@link #get(int)} always returns the value
+ * {@link io.frictionlessdata.tableschema.Table#read()} would return.
+ */
+public abstract class Column {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final String name;
+    private final BitSet nulls = new BitSet();
+    private Map<Integer, Object> overflow = null;
+    int size = 0;
+
+    Column(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Create an empty column storing the values of a Field
+     * @param field the Field definition, or null for columns of uncast String values
+     * @param name the column name
+     * @return a column with a vector matching the Field type
+     */
+    static Column forField(Field<?> field, String name) {
+        if ((null == field) || (field instanceof StringField)) {
+            return new StringColumn(name);
+        } else if (field instanceof IntegerField) {
+            return new IntegerColumn(name);
+        } else if (field instanceof NumberField) {
+            return new NumberColumn(name);
+        } else if (field instanceof DateField) {
+            return new DateColumn(name);
+        } else if (field instanceof BooleanField) {
+            return new BooleanColumn(name);
+        }
+        return new ObjectColumn(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the number of values in the column
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isNull(int row) {
+        checkRow(row);
+        return nulls.get(row);
+    }
+
+    /**
+     * Get the value of a row as the Java object the Field casts it to.
+     * @param row the row index
+     * @return the value, or null
+     */
+    public Object get(int row) {
+        checkRow(row);
+        if (nulls.get(row)) {
+            return null;
+        }
+        if ((null != overflow) && overflow.containsKey(row)) {
+            return overflow.get(row);
+        }
+        return getStored(row);
+    }
+
+    void append(Object value) {
+        ensureCapacity(size + 1);
+        if (null == value) {
+            nulls.set(size);
+        } else if (!store(size, value)) {
+            if (null == overflow) {
+                overflow = new HashMap<>();
+            }
+            overflow.put(size, value);
+        }
+        size++;
+    }
+
+    /**
+     * @return true if `row` holds a value in the primitive vector, false if it is null or an overflow value
+     */
+    boolean isStored(int row) {
+        return !nulls.get(row) && ((null == overflow) || !overflow.containsKey(row));
+    }
+
+    void checkRow(int row) {
+        if ((row < 0) || (row >= size)) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range, column has " + size + " rows");
+        }
+    }
+
+    static int grow(int capacity, int minCapacity) {
+        return Math.max(minCapacity, Math.max(INITIAL_CAPACITY, capacity + (capacity >> 1)));
+    }
+
+    /**
+     * Store a non-null value in the vector
+     * @return false if the value doesn't fit the vector
+     */
+    abstract boolean store(int row, Object value);
+
+    abstract Object getStored(int row);
+
+    abstract void ensureCapacity(int minCapacity);
+
+    /**
+     * Shrink the vector to the number of values once the column is complete
+     */
+    abstract void trim();
+}
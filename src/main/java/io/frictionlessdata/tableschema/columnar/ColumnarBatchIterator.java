@@ -0,0 +1,150 @@
+package io.frictionlessdata.tableschema.columnar;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.exception.TableIOException;
+import io.frictionlessdata.tableschema.field.Field;
+import io.frictionlessdata.tableschema.iterator.ColumnValueCache;
+import io.frictionlessdata.tableschema.schema.Schema;
+import io.frictionlessdata.tableschema.util.TableSchemaUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterator over a {@link Table} in blocks of rows, each returned as a {@link ColumnarTable}. A block is cast
+ * column by column instead of row by row: the raw rows of a block are collected first, then all values of one
+ * column are cast in a tight loop. Repeated values are cast once via a {@link ColumnValueCache} per column,
+ * as in the row iterators.
+ *
+ * Each block is a new ColumnarTable that stays valid after the iterator moves on. Data without headers and
+ * Schema gets as many unnamed columns as the longest row read so far.
+ */
+public class ColumnarBatchIterator implements Iterator<ColumnarTable>, Closeable {
+    /**
+     * Default number of rows per block
+     */
+    public static final int DEFAULT_BATCH_SIZE = 4096;
+
+    private final Iterator<String[]> rows;
+    private final int batchSize;
+    private final String[] headers;
+    private final int valueCacheSize;
+    private final String[][] block;
+    private Field<?>[] fields;
+    private int[] positions;
+    private ColumnValueCache[] caches;
+
+    public ColumnarBatchIterator(Table table, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        Schema schema = table.getSchema();
+        this.batchSize = batchSize;
+        this.headers = table.getHeaders();
+        this.valueCacheSize = table.getValueCacheSize();
+        int width = (null != headers) ? headers.length : 0;
+        this.positions = (null != headers)
+                ? TableSchemaUtil.createSchemaHeaderPositions(table.getSchemaHeaderMapping(), width)
+                : new int[0];
+        this.fields = new Field<?>[width];
+        this.caches = new ColumnValueCache[width];
+        for (int i = 0; i < width; i++) {
+            Field<?> field = (null != schema) ? schema.getFields().get(i) : null;
+            fields[i] = field;
+            if ((valueCacheSize > 0) && ((null == field) || ColumnValueCache.isCacheable(field))) {
+                caches[i] = new ColumnValueCache(valueCacheSize,
+                        (null == field) ? (raw) -> raw : field::castValue);
+            }
+        }
+        this.block = new String[batchSize][];
+        this.rows = table.getTableDataSource().iterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return rows.hasNext();
+    }
+
+    @Override
+    public ColumnarTable next() {
+        int count = 0;
+        while ((count < batchSize) && rows.hasNext()) {
+            block[count++] = rows.next();
+        }
+        if (count == 0) {
+            throw new NoSuchElementException();
+        }
+        if (null == headers) {
+            for (int r = 0; r < count; r++) {
+                addColumns(block[r].length);
+            }
+        }
+        Column[] columns = new Column[fields.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = castColumn(i, count);
+        }
+        for (int r = 0; r < count; r++) {
+            block[r] = null;
+        }
+        return new ColumnarTable(headers, columns, count);
+    }
+
+    /**
+     * Close the underlying file or connection if the blocks are not read to the end. Data sources close it
+     * themselves after the last row.
+     */
+    @Override
+    public void close() {
+        if (rows instanceof Closeable) {
+            try {
+                ((Closeable) rows).close();
+            } catch (IOException ex) {
+                throw new TableIOException(ex);
+            }
+        }
+    }
+
+    // add unnamed String columns without a Schema up to `count` columns
+    private void addColumns(int count) {
+        int width = fields.length;
+        if (count <= width) {
+            return;
+        }
+        fields = Arrays.copyOf(fields, count);
+        positions = Arrays.copyOf(positions, count);
+        caches = Arrays.copyOf(caches, count);
+        for (int i = width; i < count; i++) {
+            positions[i] = i;
+            if (valueCacheSize > 0) {
+                caches[i] = new ColumnValueCache(valueCacheSize, (raw) -> raw);
+            }
+        }
+    }
+
+    private Column castColumn(int column, int count) {
+        Field<?> field = fields[column];
+        ColumnValueCache cache = caches[column];
+        int position = positions[column];
+        Column values = Column.forField(field, (null != headers) ? headers[column] : null);
+        values.ensureCapacity(count);
+        for (int r = 0; r < count; r++) {
+            String[] row = block[r];
+            String raw = ((position >= 0) && (position < row.length)) ? row[position] : null;
+            Object value;
+            if (null == raw) {
+                // missing values are null without a cast, as in the row iterators
+                value = null;
+            } else if (null != cache) {
+                value = cache.get(raw);
+            } else {
+                value = (null == field) ? raw : field.castValue(raw);
+            }
+            values.append(value);
+        }
+        values.trim();
+        return values;
+    }
+}
@@ -0,0 +1,161 @@
+package io.frictionlessdata.tableschema.columnar;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.field.Field;
+import io.frictionlessdata.tableschema.schema.Schema;
+
+import java.util.*;
+
+/**
+ * An in-memory copy of a {@link Table} that stores each column as a typed vector instead of a list of
+ * boxed row arrays: `integer` columns as `long[]`, `number` columns as unscaled `long[]` plus scales, `date`
+ * columns as epoch-day `int[]`, `boolean` columns as bitmaps and `string` columns dictionary-encoded.
+ * Null values are tracked in a bitmap per column. For large tables this needs a fraction of the heap of
+ * {@link Table#read()}, which holds one object per cell.
+ *
+ * Values are boxed on access only, {@link #getRow(int)} and {@link #getValue(int, int)} return the same
+ * objects as {@link Table#read()}. The typed columns offer accessors that don't box, e.g.
+ * {@link IntegerColumn#getLong(int)}.
+ *
+ * Create an instance via {@link Table#readColumnar()}, or read a Table in blocks of rows via
+ * {@link Table#batchIterator(int)}.
+ */
+public class ColumnarTable {
+    private final String[] headers;
+    private final Column[] columns;
+    private final int rowCount;
+
+    ColumnarTable(String[] headers, Column[] columns, int rowCount) {
+        this.headers = headers;
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Read all rows of a Table into columns. If a Schema is set on the Table, values are cast and stored
+     * according to their Field types, otherwise all columns hold uncast String values. Data without headers
+     * and Schema gets as many unnamed columns as its longest row.
+     * @param table the Table to read
+     * @return the columnar copy of the data
+     */
+    public static ColumnarTable read(Table table) {
+        Schema schema = table.getSchema();
+        boolean cast = (null != schema);
+        String[] headers = table.getHeaders();
+        List<Column> columns = new ArrayList<>();
+        if (null != headers) {
+            for (int i = 0; i < headers.length; i++) {
+                Field<?> field = cast ? schema.getFields().get(i) : null;
+                columns.add(Column.forField(field, headers[i]));
+            }
+        }
+        int rowCount = 0;
+        Iterator<Object> iter = table.iterator(false, false, cast, false);
+        while (iter.hasNext()) {
+            Object[] row = (Object[]) iter.next();
+            if (null == headers) {
+                addColumns(columns, row.length, rowCount);
+            }
+            for (int i = 0; i < columns.size(); i++) {
+                columns.get(i).append((i < row.length) ? row[i] : null);
+            }
+            rowCount++;
+        }
+        for (Column column : columns) {
+            column.trim();
+        }
+        return new ColumnarTable(headers, columns.toArray(new Column[0]), rowCount);
+    }
+
+    // add unnamed String columns up to `count` columns, with null values for the rows read before
+    static void addColumns(List<Column> columns, int count, int rowCount) {
+        while (columns.size() < count) {
+            Column column = Column.forField(null, null);
+            for (int i = 0; i < rowCount; i++) {
+                column.append(null);
+            }
+            columns.add(column);
+        }
+    }
+
+    /**
+     * @return the column headers, null if the data has neither headers nor a Schema
+     */
+    public String[] getHeaders() {
+        return (null != headers) ? headers.clone() : null;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public Column getColumn(int index) {
+        return columns[index];
+    }
+
+    /**
+     * Get a column by name
+     * @param name the column name
+     * @return the column, or null if there is no column of that name
+     */
+    public Column getColumn(String name) {
+        if (null == headers) {
+            return null;
+        }
+        for (int i = 0; i < headers.length; i++) {
+            if (headers[i].equals(name)) {
+                return columns[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get a value as the Java object the Field casts it to
+     * @param row the row index
+     * @param column the column index
+     * @return the value, or null
+     */
+    public Object getValue(int row, int column) {
+        return columns[column].get(row);
+    }
+
+    /**
+     * Get a row as a newly created Object array, as {@link Table#read()} would return it
+     * @param row the row index
+     * @return the values of the row
+     */
+    public Object[] getRow(int row) {
+        if ((row < 0) || (row >= rowCount)) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of range, table has " + rowCount + " rows");
+        }
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            values[i] = columns[i].get(row);
+        }
+        return values;
+    }
+
+    /**
+     * A read-only List view on the rows for code written against {@link Table#read()}. Rows are created on
+     * access, so the view itself doesn't hold any row objects.
+     * @return the rows as a List of Object arrays
+     */
+    public List<Object[]> asRows() {
+        return new AbstractList<Object[]>() {
+            @Override
+            public Object[] get(int index) {
+                return getRow(index);
+            }
+
+            @Override
+            public int size() {
+                return rowCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package io.frictionlessdata.tableschema.columnar;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Column of a `date` Field, stored as an `int` vector of days since 1970-01-01.
+ */
+public class DateColumn extends Column {
+    private int[] epochDays = new int[0];
+
+    DateColumn(String name) {
+        super(name);
+    }
+
+    /**
+     * Get the value of a row as days since 1970-01-01
+     * @param row the row index
+     * @return the epoch day
+     * @throws IllegalStateException if the value is null
+     */
+    public int getEpochDay(int row) {
+        checkRow(row);
+        if (!isStored(row)) {
+            throw new IllegalStateException("Value in row " + row + " of column '" + getName() + "' is null");
+        }
+        return epochDays[row];
+    }
+
+    @Override
+    boolean store(int row, Object value) {
+        if (!(value instanceof LocalDate)) {
+            return false;
+        }
+        long epochDay = ((LocalDate) value).toEpochDay();
+        if ((epochDay < Integer.MIN_VALUE) || (epochDay > Integer.MAX_VALUE)) {
+            return false;
+        }
+        epochDays[row] = (int) epochDay;
+        return true;
+    }
+
+    @Override
+    Object getStored(int row) {
+        return LocalDate.ofEpochDay(epochDays[row]);
+    }
+
+    @Override
+    void ensureCapacity(int minCapacity) {
+        if (minCapacity > epochDays.length) {
+            epochDays = Arrays.copyOf(epochDays, grow(epochDays.length, minCapacity));
+        }
+    }
+
+    @Override
+    void trim() {
+        if (epochDays.length != size) {
+            epochDays = Arrays.copyOf(epochDays, size);
+        }
+    }
+}
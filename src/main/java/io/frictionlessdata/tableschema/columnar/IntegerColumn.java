@@ -0,0 +1,64 @@
+package io.frictionlessdata.tableschema.columnar;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Column of an `integer` Field, stored as a `long` vector.
+ */
+public class IntegerColumn extends Column {
+    private static final BigInteger MIN_LONG = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger MAX_LONG = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private long[] values = new long[0];
+
+    IntegerColumn(String name) {
+        super(name);
+    }
+
+    /**
+     * Get the value of a row without boxing
+     * @param row the row index
+     * @return the value
+     * @throws IllegalStateException if the value is null or doesn't fit a long
+     */
+    public long getLong(int row) {
+        checkRow(row);
+        if (!isStored(row)) {
+            throw new IllegalStateException("Value in row " + row + " of column '" + getName() + "' is not a long");
+        }
+        return values[row];
+    }
+
+    @Override
+    boolean store(int row, Object value) {
+        if (!(value instanceof BigInteger)) {
+            return false;
+        }
+        BigInteger bigInteger = (BigInteger) value;
+        if ((bigInteger.compareTo(MIN_LONG) < 0) || (bigInteger.compareTo(MAX_LONG) > 0)) {
+            return false;
+        }
+        values[row] = bigInteger.longValue();
+        return true;
+    }
+
+    @Override
+    Object getStored(int row) {
+        return BigInteger.valueOf(values[row]);
+    }
+
+    @Override
+    void ensureCapacity(int minCapacity) {
+        if (minCapacity > values.length) {
+            values = Arrays.copyOf(values, grow(values.length, minCapacity));
+        }
+    }
+
+    @Override
+    void trim() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package io.frictionlessdata.tableschema.columnar;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Column of a `number` Field. Decimal values are stored without loss as a `long` vector of unscaled values
+ * and a `byte` vector of scales, integer values (which the `number` Field casts to BigInteger) with a marker
+ * scale. Special values like NaN, or values with a larger precision or scale, are stored as overflow values.
+ */
+public class NumberColumn extends Column {
+    // scale of values cast to BigInteger
+    private static final byte INTEGER_SCALE = Byte.MIN_VALUE;
+
+    private long[] unscaledValues = new long[0];
+    private byte[] scales = new byte[0];
+
+    NumberColumn(String name) {
+        super(name);
+    }
+
+    /**
+     * Get the value of a row as a double
+     * @param row the row index
+     * @return the value, NaN for null values
+     */
+    public double getDouble(int row) {
+        checkRow(row);
+        if (isStored(row)) {
+            return (scales[row] == INTEGER_SCALE)
+                    ? unscaledValues[row]
+                    : BigDecimal.valueOf(unscaledValues[row], scales[row]).doubleValue();
+        }
+        Object value = get(row);
+        return (null == value) ? Double.NaN : ((Number) value).doubleValue();
+    }
+
+    @Override
+    boolean store(int row, Object value) {
+        BigInteger unscaled;
+        int scale;
+        if (value instanceof BigDecimal) {
+            unscaled = ((BigDecimal) value).unscaledValue();
+            scale = ((BigDecimal) value).scale();
+            if ((scale <= INTEGER_SCALE) || (scale > Byte.MAX_VALUE)) {
+                return false;
+            }
+        } else if (value instanceof BigInteger) {
+            unscaled = (BigInteger) value;
+            scale = INTEGER_SCALE;
+        } else {
+            return false;
+        }
+        if (unscaled.bitLength() > 63) {
+            return false;
+        }
+        unscaledValues[row] = unscaled.longValue();
+        scales[row] = (byte) scale;
+        return true;
+    }
+
+    @Override
+    Object getStored(int row) {
+        if (scales[row] == INTEGER_SCALE) {
+            return BigInteger.valueOf(unscaledValues[row]);
+        }
+        return BigDecimal.valueOf(unscaledValues[row], scales[row]);
+    }
+
+    @Override
+    void ensureCapacity(int minCapacity) {
+        if (minCapacity > unscaledValues.length) {
+            int capacity = grow(unscaledValues.length, minCapacity);
+            unscaledValues = Arrays.copyOf(unscaledValues, capacity);
+            scales = Arrays.copyOf(scales, capacity);
+        }
+    }
+
+    @Override
+    void trim() {
+        if (unscaledValues.length != size) {
+            unscaledValues = Arrays.copyOf(unscaledValues, size);
+            scales = Arrays.copyOf(scales, size);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package io.frictionlessdata.tableschema.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Column of a Field type without a primitive representation, e.g. `datetime` or `geojson`. The values are
+ * stored as objects.
+ */
+public class ObjectColumn extends Column {
+    private Object[] values = new Object[0];
+
+    ObjectColumn(String name) {
+        super(name);
+    }
+
+    @Override
+    boolean store(int row, Object value) {
+        values[row] = value;
+        return true;
+    }
+
+    @Override
+    Object getStored(int row) {
+        return values[row];
+    }
+
+    @Override
+    void ensureCapacity(int minCapacity) {
+        if (minCapacity > values.length) {
+            values = Arrays.copyOf(values, grow(values.length, minCapacity));
+        }
+    }
+
+    @Override
+    void trim() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+}
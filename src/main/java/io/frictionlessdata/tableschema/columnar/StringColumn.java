@@ -0,0 +1,69 @@
+package io.frictionlessdata.tableschema.columnar;
+
+import java.util.*;
+
+/**
+ * Column of a `string` Field or of uncast values, dictionary-encoded: each distinct value is held once,
+ * the rows hold `int` codes into the dictionary. This pays off for the repetitive values of categorical
+ * columns, for columns of unique values it costs the code vector and the dictionary lookup table.
+ */
+public class StringColumn extends Column {
+    private final List<String> dictionary = new ArrayList<>();
+    private final Map<String, Integer> codes = new HashMap<>();
+    private int[] values = new int[0];
+
+    StringColumn(String name) {
+        super(name);
+    }
+
+    /**
+     * Get the dictionary code of the value in a row
+     * @param row the row index
+     * @return the index of the value in {@link #getDictionary()}, or -1 for null values
+     */
+    public int getCode(int row) {
+        checkRow(row);
+        return isStored(row) ? values[row] : -1;
+    }
+
+    /**
+     * @return the distinct values of the column, in order of their first occurrence
+     */
+    public List<String> getDictionary() {
+        return Collections.unmodifiableList(dictionary);
+    }
+
+    @Override
+    boolean store(int row, Object value) {
+        if (!(value instanceof String)) {
+            return false;
+        }
+        Integer code = codes.get(value);
+        if (null == code) {
+            code = dictionary.size();
+            dictionary.add((String) value);
+            codes.put((String) value, code);
+        }
+        values[row] = code;
+        return true;
+    }
+
+    @Override
+    Object getStored(int row) {
+        return dictionary.get(values[row]);
+    }
+
+    @Override
+    void ensureCapacity(int minCapacity) {
+        if (minCapacity > values.length) {
+            values = Arrays.copyOf(values, grow(values.length, minCapacity));
+        }
+    }
+
+    @Override
+    void trim() {
+        if (values.length != size) {
+            values = Arrays.copyOf(values, size);
+        }
+    }
+}
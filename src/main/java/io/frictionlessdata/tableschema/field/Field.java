@@ -562,9 +562,54 @@ public abstract class Field<T> {
     }
 
     public static Field<?> forType(String type) {
+        return forType(type, type);
+    }
+
+    /**
+     * Create a Field of the given type without a detour via JSON. Unknown types are resolved like
+     * in deserialization, to an {@link AnyField} that keeps the unknown type.
+     * @param type the Field type
+     * @param name the Field name
+     * @return a new Field instance
+     */
+    public static Field<?> forType(String type, String name) {
+        if (null != type) {
+            switch (type) {
+                case FIELD_TYPE_STRING:
+                    return new StringField(name);
+                case FIELD_TYPE_INTEGER:
+                    return new IntegerField(name);
+                case FIELD_TYPE_NUMBER:
+                    return new NumberField(name);
+                case FIELD_TYPE_BOOLEAN:
+                    return new BooleanField(name);
+                case FIELD_TYPE_OBJECT:
+                    return new ObjectField(name);
+                case FIELD_TYPE_ARRAY:
+                    return new ArrayField(name);
+                case FIELD_TYPE_DATE:
+                    return new DateField(name);
+                case FIELD_TYPE_TIME:
+                    return new TimeField(name);
+                case FIELD_TYPE_DATETIME:
+                    return new DatetimeField(name);
+                case FIELD_TYPE_YEAR:
+                    return new YearField(name);
+                case FIELD_TYPE_YEARMONTH:
+                    return new YearmonthField(name);
+                case FIELD_TYPE_DURATION:
+                    return new DurationField(name);
+                case FIELD_TYPE_GEOPOINT:
+                    return new GeopointField(name);
+                case FIELD_TYPE_GEOJSON:
+                    return new GeojsonField(name);
+                case FIELD_TYPE_ANY:
+                    return new AnyField(name);
+            }
+        }
         Map<String, Object> fieldMap = new HashMap<>();
         fieldMap.put(JSON_KEY_TYPE, type);
-        fieldMap.put(JSON_KEY_NAME, type);
+        fieldMap.put(JSON_KEY_NAME, name);
         return JsonUtil.getInstance().convertValue(fieldMap, Field.class);
     }
 
@@ -7,6 +7,7 @@ import io.frictionlessdata.tableschema.exception.TypeInferringException;
 import java.net.URI;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -34,8 +35,12 @@ public class TimeField extends Field<LocalTime> {
         Matcher matcher = pattern.matcher(value);
 
         if(matcher.matches()){
-            return LocalTime.parse(value);
-
+            try {
+                return LocalTime.parse(value);
+            } catch (DateTimeParseException ex) {
+                // the regex also matches values like "100" that are no ISO times
+                throw new TypeInferringException(ex);
+            }
         }else{
             throw new TypeInferringException();
         }
@@ -0,0 +1,215 @@
+package io.frictionlessdata.tableschema.inputstream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.ref.Cleaner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads an InputStream in a background thread into a bounded queue of byte blocks. This lets expensive
+ * reads, e.g. decompression, run in parallel to the processing of the data in the reading thread, while
+ * never holding more than `queueCapacity` blocks in memory.
+ *
+ * Errors in the background thread are rethrown on the next read after the data read before the error.
+ * Closing the stream stops the background thread and closes the wrapped stream. This also happens once an
+ * unclosed stream is garbage collected, e.g. when an iterator over a Table is not read to the end, so the
+ * thread never blocks forever on a full queue.
+ *
+ * The time either thread spends waiting for the other is recorded in a {@link ReadAheadStatistics}.
+ */
+public class BackgroundInputStream extends InputStream {
+    private static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+    private static final int DEFAULT_QUEUE_CAPACITY = 16;
+    // marks the end of the data or an error in the background thread
+    private static final byte[] END = new byte[0];
+    // stops the background threads of streams that were dropped without closing them
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Producer producer;
+    private final Cleaner.Cleanable cleanable;
+    private byte[] current = null;
+    private int position = 0;
+    private boolean eof = false;
+
+    public BackgroundInputStream(InputStream source) {
+        this(source, DEFAULT_BLOCK_SIZE, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public BackgroundInputStream(InputStream source, int blockSize, int queueCapacity) {
+        this(source, blockSize, queueCapacity, new ReadAheadStatistics());
+    }
+
+    /**
+     * Create a stream reading ahead of the consumer.
+     * @param source the stream to read in the background
+     * @param blockSize the size of the blocks read from `source`
+     * @param queueCapacity the maximum number of blocks read ahead
+     * @param statistics collects the wait times, can be shared between streams
+     */
+    public BackgroundInputStream(InputStream source, int blockSize, int queueCapacity, ReadAheadStatistics statistics) {
+        if ((blockSize < 1) || (queueCapacity < 1)) {
+            throw new IllegalArgumentException("Block size and queue capacity must be at least 1");
+        }
+        this.producer = new Producer(source, blockSize, queueCapacity, statistics);
+        this.cleanable = CLEANER.register(this, producer::stop);
+        producer.thread.start();
+    }
+
+    // make sure `current` holds unread data, returns false at the end of the data
+    private boolean fill() throws IOException {
+        if (producer.closed) {
+            throw new IOException("Stream closed");
+        }
+        while (!eof && ((null == current) || (position >= current.length))) {
+            try {
+                current = producer.queue.poll();
+                if (null == current) {
+                    long start = System.nanoTime();
+                    current = producer.queue.take();
+                    producer.statistics.addConsumerWait(System.nanoTime() - start);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for data");
+            }
+            position = 0;
+            if (current == END) {
+                eof = true;
+                if (null != producer.failure) {
+                    throw producer.failure;
+                }
+            }
+        }
+        return !eof;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return current[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int length = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, length);
+        position += length;
+        return length;
+    }
+
+    public ReadAheadStatistics getStatistics() {
+        return producer.statistics;
+    }
+
+    @Override
+    public int available() {
+        return ((null == current) || eof) ? 0 : current.length - position;
+    }
+
+    @Override
+    public void close() {
+        cleanable.clean();
+    }
+
+    /**
+     * The state shared with the background thread. It must not reference the BackgroundInputStream, or an
+     * abandoned stream would never become unreachable and its thread would never be stopped.
+     */
+    private static class Producer implements Runnable {
+        private final InputStream source;
+        private final int blockSize;
+        private final BlockingQueue<byte[]> queue;
+        private final ReadAheadStatistics statistics;
+        private final Thread thread;
+        private volatile IOException failure = null;
+        private volatile boolean closed = false;
+
+        Producer(InputStream source, int blockSize, int queueCapacity, ReadAheadStatistics statistics) {
+            this.source = source;
+            this.blockSize = blockSize;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.statistics = statistics;
+            this.thread = new Thread(this, "tableschema-background-read");
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            try (InputStream in = source) {
+                boolean eof = false;
+                while (!closed && !eof) {
+                    byte[] block = new byte[blockSize];
+                    int length = 0;
+                    // hand on what has arrived instead of waiting for a full block, so a slow source doesn't
+                    // delay the data
+                    while (length < blockSize) {
+                        int read = in.read(block, length, blockSize - length);
+                        if (read < 0) {
+                            eof = true;
+                            break;
+                        }
+                        length += read;
+                        if (in.available() <= 0) {
+                            break;
+                        }
+                    }
+                    if (length == 0) {
+                        continue;
+                    }
+                    if (length < blockSize) {
+                        byte[] shortBlock = new byte[length];
+                        System.arraycopy(block, 0, shortBlock, 0, length);
+                        block = shortBlock;
+                    }
+                    statistics.addBytesRead(length);
+                    put(block);
+                }
+            } catch (IOException | RuntimeException ex) {
+                if (closed) {
+                    // the source was closed under the read by stop()
+                    return;
+                }
+                failure = (ex instanceof IOException) ? (IOException) ex : new IOException(ex);
+            } catch (InterruptedException ex) {
+                // stopped by the reading thread
+                return;
+            }
+            try {
+                put(END);
+            } catch (InterruptedException ex) {
+                // stopped by the reading thread
+            }
+        }
+
+        private void put(byte[] block) throws InterruptedException {
+            if (!queue.offer(block)) {
+                long start = System.nanoTime();
+                queue.put(block);
+                statistics.addProducerWait(System.nanoTime() - start);
+            }
+        }
+
+        // called once, on close() or when the stream is unreachable
+        void stop() {
+            closed = true;
+            thread.interrupt();
+            queue.clear();
+            try {
+                // unblocks a read on a slow source, e.g. a network connection
+                source.close();
+            } catch (IOException ex) {
+                // the thread ends anyway
+            }
+        }
+    }
+}
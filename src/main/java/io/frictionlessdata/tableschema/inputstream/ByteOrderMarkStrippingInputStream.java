@@ -5,7 +5,6 @@ package io.frictionlessdata.tableschema.inputstream;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PushbackInputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 
@@ -137,53 +136,38 @@ public class ByteOrderMarkStrippingInputStream extends InputStream {
         if (inputStream == null)
             throw new NullPointerException("invalid input stream: null is not allowed");
 
-        in = new PushbackInputStream(inputStream, 4);
-
-        final byte[] bom = new byte[4];
-        final int read = in.read(bom);
-
-        switch (read) {
-            case 4:
-                if ((bom[0] == (byte) 0xFF) &&
-                        (bom[1] == (byte) 0xFE) &&
-                        (bom[2] == (byte) 0x00) &&
-                        (bom[3] == (byte) 0x00)) {
-                    this.bom = BOM.UTF_32_LE;
-                    break;
-                } else if ((bom[0] == (byte) 0x00) &&
-                        (bom[1] == (byte) 0x00) &&
-                        (bom[2] == (byte) 0xFE) &&
-                        (bom[3] == (byte) 0xFF)) {
-                    this.bom = BOM.UTF_32_BE;
-                    break;
-                }
-
-            case 3:
-                if ((bom[0] == (byte) 0xEF) &&
-                        (bom[1] == (byte) 0xBB) &&
-                        (bom[2] == (byte) 0xBF)) {
-                    this.bom = BOM.UTF_8;
-                    break;
-                }
-
-            case 2:
-                if ((bom[0] == (byte) 0xFF) &&
-                        (bom[1] == (byte) 0xFE)) {
-                    this.bom = BOM.UTF_16_LE;
-                    break;
-                } else if ((bom[0] == (byte) 0xFE) &&
-                        (bom[1] == (byte) 0xFF)) {
-                    this.bom = BOM.UTF_16_BE;
-                    break;
-                }
-
-            default:
-                this.bom = BOM.NONE;
-                break;
+        in = inputStream;
+        // read the first bytes in bulk, a single read() may return less than 4 bytes before the end of the data
+        prefix = new byte[4];
+        prefixLength = in.readNBytes(prefix, 0, prefix.length);
+        bom = detectBOM(prefix, prefixLength);
+    }
+
+    private static BOM detectBOM(byte[] bytes, int length) {
+        if (startsWith(bytes, length, BOM.UTF_32_LE.bytes)) {
+            return BOM.UTF_32_LE;
+        } else if (startsWith(bytes, length, BOM.UTF_32_BE.bytes)) {
+            return BOM.UTF_32_BE;
+        } else if (startsWith(bytes, length, BOM.UTF_8.bytes)) {
+            return BOM.UTF_8;
+        } else if (startsWith(bytes, length, BOM.UTF_16_LE.bytes)) {
+            return BOM.UTF_16_LE;
+        } else if (startsWith(bytes, length, BOM.UTF_16_BE.bytes)) {
+            return BOM.UTF_16_BE;
         }
+        return BOM.NONE;
+    }
 
-        if (read > 0)
-            in.unread(bom, 0, read);
+    private static boolean startsWith(byte[] bytes, int length, byte[] start) {
+        if (length < start.length) {
+            return false;
+        }
+        for (int i = 0; i < start.length; i++) {
+            if (bytes[i] != start[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -204,11 +188,43 @@ public class ByteOrderMarkStrippingInputStream extends InputStream {
             return StandardCharsets.UTF_16BE;
         } else if (bom == BOM.UTF_16_LE)  {
             return StandardCharsets.UTF_16LE;
+        } else if (bom == BOM.UTF_32_LE)  {
+            return Charset.forName("UTF-32LE");
         } else  {
-            return Charset.forName("UTF-32");
+            return Charset.forName("UTF-32BE");
         }
     }
 
+    /**
+     * Returns the charset of the data: the charset indicated by the BOM if there is one. Without a BOM, if
+     * `defaultCharset` is UTF-8, UTF-16 and UTF-32 data is recognized by the zero bytes in the first characters,
+     * as tabular text data starts with a character from the ASCII range. Otherwise `defaultCharset` is returned.
+     *
+     * @param defaultCharset the charset to use if the data has no BOM
+     * @return the charset to decode the data with
+     */
+    public final Charset getCharset(Charset defaultCharset) {
+        if (bom != BOM.NONE) {
+            return getCharset();
+        }
+        if (!StandardCharsets.UTF_8.equals(defaultCharset) || (prefixLength < 2)) {
+            return defaultCharset;
+        }
+        if (prefixLength == 4) {
+            if ((prefix[0] == 0) && (prefix[1] == 0) && (prefix[2] == 0) && (prefix[3] != 0)) {
+                return Charset.forName("UTF-32BE");
+            } else if ((prefix[0] != 0) && (prefix[1] == 0) && (prefix[2] == 0) && (prefix[3] == 0)) {
+                return Charset.forName("UTF-32LE");
+            }
+        }
+        if ((prefix[0] == 0) && (prefix[1] != 0)) {
+            return StandardCharsets.UTF_16BE;
+        } else if ((prefix[0] != 0) && (prefix[1] == 0)) {
+            return StandardCharsets.UTF_16LE;
+        }
+        return defaultCharset;
+    }
+
     /**
      * Skips the <code>BOM</code> that was found in the wrapped
      * <code>InputStream</code> object.
@@ -217,9 +233,10 @@ public class ByteOrderMarkStrippingInputStream extends InputStream {
      * @throws IOException when trying to skip the BOM from the wrapped
      *                     <code>InputStream</code> object.
      */
-    public final synchronized ByteOrderMarkStrippingInputStream skipBOM() throws IOException {
+    public final ByteOrderMarkStrippingInputStream skipBOM() throws IOException {
         if (!skipped) {
-            in.skip(bom.bytes.length);
+            // the BOM is at the start of the prefix, which has not been read yet
+            prefixPosition = bom.bytes.length;
             skipped = true;
         }
         return this;
@@ -227,13 +244,16 @@ public class ByteOrderMarkStrippingInputStream extends InputStream {
 
     @Override
     public int read() throws IOException {
+        if (prefixPosition < prefixLength) {
+            return prefix[prefixPosition++] & 0xff;
+        }
         return in.read();
     }
 
     @Override
     public int read(final byte[] b) throws IOException,
             NullPointerException {
-        return in.read(b, 0, b.length);
+        return read(b, 0, b.length);
     }
 
     @Override
@@ -241,17 +261,39 @@ public class ByteOrderMarkStrippingInputStream extends InputStream {
                     final int off,
                     final int len) throws IOException,
             NullPointerException {
+        if (len == 0) {
+            return 0;
+        }
+        if (prefixPosition < prefixLength) {
+            int length = Math.min(len, prefixLength - prefixPosition);
+            System.arraycopy(prefix, prefixPosition, b, off, length);
+            prefixPosition += length;
+            if (length == len) {
+                return length;
+            }
+            // fill the rest of the buffer, but don't block if the wrapped stream has no data available
+            int read = (in.available() > 0) ? in.read(b, off + length, len - length) : 0;
+            return length + Math.max(read, 0);
+        }
         return in.read(b, off, len);
     }
 
     @Override
     public long skip(final long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        if (prefixPosition < prefixLength) {
+            int length = (int) Math.min(n, prefixLength - prefixPosition);
+            prefixPosition += length;
+            return length;
+        }
         return in.skip(n);
     }
 
     @Override
     public int available() throws IOException {
-        return in.available();
+        return (prefixLength - prefixPosition) + in.available();
     }
 
     @Override
@@ -259,23 +301,18 @@ public class ByteOrderMarkStrippingInputStream extends InputStream {
         in.close();
     }
 
-    @Override
-    public synchronized void mark(final int readlimit) {
-        in.mark(readlimit);
-    }
-
-    @Override
-    public synchronized void reset() throws IOException {
-        in.reset();
-    }
-
     @Override
     public boolean markSupported() {
-        return in.markSupported();
+        // the prefix can't be re-read after a reset
+        return false;
     }
 
-    private final PushbackInputStream in;
+    private final InputStream in;
     private final BOM bom;
+    // the first bytes of the data, read to detect the BOM
+    private final byte[] prefix;
+    private final int prefixLength;
+    private int prefixPosition = 0;
     private boolean skipped = false;
 
 }
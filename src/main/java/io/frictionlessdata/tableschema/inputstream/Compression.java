@@ -0,0 +1,132 @@
+package io.frictionlessdata.tableschema.inputstream;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Compression formats of data files, detected by their magic bytes. GZIP and ZIP are decompressed with the
+ * JDK classes, BZIP2, XZ and Zstandard need Apache Commons Compress (and for Zstandard, zstd-jni) on the classpath.
+ *
+ * Compressed data is decompressed in a background thread via a {@link BackgroundInputStream}, so that
+ * decompressing and parsing the data run on two cores.
+ */
+public enum Compression {
+    NONE(null, new byte[0]),
+    GZIP(null, new byte[]{0x1f, (byte) 0x8b}),
+    // only the first entry of a ZIP archive is read
+    ZIP(null, new byte[]{'P', 'K', 0x03, 0x04}),
+    BZIP2("bzip2", new byte[]{'B', 'Z', 'h'}),
+    XZ("xz", new byte[]{(byte) 0xfd, '7', 'z', 'X', 'Z', 0x00}),
+    ZSTD("zstd", new byte[]{0x28, (byte) 0xb5, 0x2f, (byte) 0xfd});
+
+    /**
+     * Number of bytes needed to detect all compression formats
+     */
+    public static final int MAGIC_LENGTH = 6;
+
+    private static final String COMMONS_COMPRESS_FACTORY =
+            "org.apache.commons.compress.compressors.CompressorStreamFactory";
+
+    // name of the format in Commons Compress
+    private final String compressorName;
+    private final byte[] magic;
+
+    Compression(String compressorName, byte[] magic) {
+        this.compressorName = compressorName;
+        this.magic = magic;
+    }
+
+    /**
+     * Detect the compression format from the first bytes of the data
+     * @param start the first bytes of the data, ideally {@link #MAGIC_LENGTH} bytes
+     * @param length number of valid bytes in `start`
+     * @return the detected compression format, {@link #NONE} for uncompressed data
+     */
+    public static Compression detect(byte[] start, int length) {
+        for (Compression compression : values()) {
+            if ((compression != NONE) && compression.matches(start, length)) {
+                return compression;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Wrap an InputStream so that compressed data is decompressed, uncompressed data is returned as it is.
+     * Decompression runs in a background thread.
+     * @param is the stream to read
+     * @return a stream returning the uncompressed data
+     * @throws IOException if the compressed data is invalid or there is no codec for the format on the classpath
+     */
+    public static InputStream decompress(InputStream is) throws IOException {
+        InputStream in = is.markSupported() ? is : new BufferedInputStream(is);
+        in.mark(MAGIC_LENGTH);
+        byte[] start = new byte[MAGIC_LENGTH];
+        int length = in.readNBytes(start, 0, MAGIC_LENGTH);
+        in.reset();
+        Compression compression = detect(start, length);
+        if (compression == NONE) {
+            return in;
+        }
+        return new BackgroundInputStream(compression.open(in));
+    }
+
+    private boolean matches(byte[] start, int length) {
+        if (length < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (start[i] != magic[i]) {
+                return false;
+            }
+        }
+        if (this == BZIP2) {
+            // "BZh" could start a CSV header, so also check the block size digit and the start of the first
+            // block or of the end-of-stream marker
+            return (length >= 5) && (start[3] >= '1') && (start[3] <= '9') && ((start[4] == 0x31) || (start[4] == 0x17));
+        }
+        return true;
+    }
+
+    private InputStream open(InputStream in) throws IOException {
+        switch (this) {
+            case GZIP:
+                return new GZIPInputStream(in, 64 * 1024);
+            case ZIP:
+                ZipInputStream zis = new ZipInputStream(in);
+                ZipEntry entry;
+                while ((null != (entry = zis.getNextEntry())) && entry.isDirectory()) {
+                    // skip directories
+                }
+                if (null == entry) {
+                    zis.close();
+                    throw new IOException("ZIP archive contains no file");
+                }
+                return zis;
+            default:
+                return openWithCommonsCompress(in);
+        }
+    }
+
+    private InputStream openWithCommonsCompress(InputStream in) throws IOException {
+        try {
+            Class<?> factoryClass = Class.forName(COMMONS_COMPRESS_FACTORY);
+            Object factory = factoryClass.getConstructor().newInstance();
+            return (InputStream) factoryClass
+                    .getMethod("createCompressorInputStream", String.class, InputStream.class)
+                    .invoke(factory, compressorName, in);
+        } catch (ClassNotFoundException ex) {
+            throw new IOException("Reading " + compressorName
+                    + " compressed data requires Apache Commons Compress on the classpath");
+        } catch (InvocationTargetException ex) {
+            throw new IOException("Failed to decompress " + compressorName + " data", ex.getCause());
+        } catch (ReflectiveOperationException ex) {
+            throw new IOException("Failed to decompress " + compressorName + " data", ex);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.frictionlessdata.tableschema.inputstream;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of a {@link BackgroundInputStream}, or summed over all streams sharing an instance. The wait times
+ * show which side of the read-ahead buffer is the bottleneck: if the reading thread waits, the input is slower
+ * than the processing of the data, if the background thread waits, the buffer is full and processing is slower.
+ */
+public class ReadAheadStatistics {
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong producerWaitNanos = new AtomicLong();
+    private final AtomicLong consumerWaitNanos = new AtomicLong();
+
+    void addBytesRead(long bytes) {
+        bytesRead.addAndGet(bytes);
+    }
+
+    void addProducerWait(long nanos) {
+        producerWaitNanos.addAndGet(nanos);
+    }
+
+    void addConsumerWait(long nanos) {
+        consumerWaitNanos.addAndGet(nanos);
+    }
+
+    /**
+     * @return the number of bytes read from the wrapped stream(s) by the background thread
+     */
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    /**
+     * @return the time the background thread waited for free space in the buffer
+     */
+    public long getProducerWait(TimeUnit unit) {
+        return unit.convert(producerWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the time the reading thread waited for data
+     */
+    public long getConsumerWait(TimeUnit unit) {
+        return unit.convert(consumerWaitNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return "ReadAheadStatistics{" +
+                "bytesRead=" + bytesRead +
+                ", producerWaitMillis=" + getProducerWait(TimeUnit.MILLISECONDS) +
+                ", consumerWaitMillis=" + getConsumerWait(TimeUnit.MILLISECONDS) +
+                '}';
+    }
+}
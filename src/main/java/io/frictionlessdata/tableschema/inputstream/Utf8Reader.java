@@ -0,0 +1,148 @@
+package io.frictionlessdata.tableschema.inputstream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A Reader for UTF-8 data that decodes straight into the caller's char array. Runs of ASCII bytes, the bulk
+ * of most tabular data, are copied by a plain loop, other bytes go through a UTF-8 CharsetDecoder. Compared to
+ * an {@link java.io.InputStreamReader}, this saves the intermediate char buffer and its copy, so readers with
+ * their own large buffer, like a CSV tokenizer, get the characters with a single pass over the bytes.
+ *
+ * Malformed input is replaced with U+FFFD, as in an InputStreamReader. Not thread-safe.
+ */
+public class Utf8Reader extends Reader {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final ByteBuffer bytes;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    // a char decoded but not yet returned, the low surrogate of a pair if the caller's array was full
+    private final CharBuffer pending = CharBuffer.allocate(2);
+    private boolean eof = false;
+
+    public Utf8Reader(InputStream in) {
+        this(in, DEFAULT_BUFFER_SIZE);
+    }
+
+    public Utf8Reader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.bytes = ByteBuffer.allocate(Math.max(bufferSize, 16));
+        this.bytes.flip();
+        this.pending.flip();
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if ((off < 0) || (len < 0) || (len > cbuf.length - off)) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        int count = 0;
+        if (pending.hasRemaining()) {
+            cbuf[off + count++] = pending.get();
+        }
+        while (count < len) {
+            if (!bytes.hasRemaining() || isIncompleteSequence()) {
+                if ((count > 0) && (in.available() <= 0)) {
+                    // return what we have instead of blocking
+                    break;
+                }
+                if (!fill()) {
+                    count += flush(cbuf, off + count, len - count);
+                    break;
+                }
+                continue;
+            }
+            int decoded = decode(cbuf, off + count, len - count);
+            if (decoded == 0) {
+                // a surrogate pair doesn't fit into the single char left in the array
+                pending.clear();
+                decoder.decode(bytes, pending, false);
+                pending.flip();
+                cbuf[off + count++] = pending.get();
+            }
+            count += decoded;
+        }
+        return ((count == 0) && eof) ? -1 : count;
+    }
+
+    // decode the buffered bytes into the char array, returns the number of chars
+    private int decode(char[] cbuf, int off, int len) {
+        byte[] array = bytes.array();
+        int position = bytes.position();
+        int limit = bytes.limit();
+        int count = 0;
+        // ASCII fast path
+        while ((count < len) && (position < limit) && (array[position] >= 0)) {
+            cbuf[off + count++] = (char) array[position++];
+        }
+        bytes.position(position);
+        if ((count < len) && (position < limit)) {
+            CharBuffer out = CharBuffer.wrap(cbuf, off + count, len - count);
+            decoder.decode(bytes, out, false);
+            count = out.position() - off;
+        }
+        return count;
+    }
+
+    // true if the remaining bytes are the start of a multi-byte sequence whose rest has not been read yet
+    private boolean isIncompleteSequence() {
+        int remaining = bytes.remaining();
+        if (remaining >= 4) {
+            return false;
+        }
+        int first = bytes.get(bytes.position()) & 0xff;
+        int sequenceLength = (first >= 0xF0) ? 4 : (first >= 0xE0) ? 3 : (first >= 0xC0) ? 2 : 1;
+        return remaining < sequenceLength;
+    }
+
+    // read more bytes, keeping the unconsumed ones. Returns false at the end of the input
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        bytes.compact();
+        int read = in.read(bytes.array(), bytes.position(), bytes.remaining());
+        if (read > 0) {
+            bytes.position(bytes.position() + read);
+        }
+        bytes.flip();
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        return true;
+    }
+
+    // decode the bytes left at the end of the input, an incomplete sequence becomes U+FFFD
+    private int flush(char[] cbuf, int off, int len) {
+        if (!bytes.hasRemaining() || (len == 0)) {
+            return 0;
+        }
+        CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+        decoder.decode(bytes, out, true);
+        return out.position() - off;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return pending.hasRemaining() || bytes.hasRemaining() || (in.available() > 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
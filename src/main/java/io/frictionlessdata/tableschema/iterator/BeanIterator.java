@@ -52,6 +52,7 @@ public class BeanIterator<T> extends TableIterator<T> {
         mapping = table.getSchemaHeaderMapping();
         headers = table.getHeaders();
         schema = BeanSchema.infer(type);
+        compileMapping();
         table.validate();
         wrappedIterator = table.getTableDataSource().iterator();
     }
@@ -0,0 +1,116 @@
+package io.frictionlessdata.tableschema.iterator;
+
+import io.frictionlessdata.tableschema.field.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An adaptive dictionary of the values of one column. Identical raw values are cast only once and share
+ * the same result object, which saves parsing and allocation for categorical columns with few distinct values,
+ * e.g. country codes.
+ *
+ * The cache is bounded: it stops taking new values once it holds `maxSize` distinct values. If, from then on,
+ * less than half of the values in a window of lookups are found in the cache, the column has too many distinct
+ * values for the cache to pay off and it switches itself off.
+ *
+ * Sharing result objects between rows is only safe for immutable values, see {@link #isCacheable(Field)}.
+ */
+public class ColumnValueCache {
+    /**
+     * Default number of distinct values cached per column
+     */
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    // number of lookups on a full cache after which the hit ratio is checked
+    private static final int WINDOW = 4096;
+    // marks a cached null result, e.g. for empty strings
+    private static final Object NULL = new Object();
+
+    /**
+     * Computes the value on a cache miss
+     */
+    public interface ValueFunction {
+        Object apply(String value);
+    }
+
+    private final int maxSize;
+    private final ValueFunction function;
+    private Map<String, Object> values = new HashMap<>();
+    private int lookups = 0;
+    private int hits = 0;
+
+    /**
+     * Create a cache for the values of one column
+     * @param maxSize the maximum number of distinct values cached
+     * @param function computes the value for a raw value that isn't cached
+     */
+    public ColumnValueCache(int maxSize, ValueFunction function) {
+        this.maxSize = maxSize;
+        this.function = function;
+    }
+
+    /**
+     * Return the cached value for `raw`, or compute and cache it.
+     * Exceptions from computing the value are passed on and nothing is cached.
+     * @param raw the raw value, can be null
+     * @return the value for `raw`
+     */
+    public Object get(String raw) {
+        if ((null == values) || (null == raw)) {
+            return function.apply(raw);
+        }
+        Object cached = values.get(raw);
+        boolean full = values.size() >= maxSize;
+        Object value;
+        if (null != cached) {
+            value = (cached == NULL) ? null : cached;
+        } else {
+            value = function.apply(raw);
+            if (!full) {
+                values.put(raw, (null == value) ? NULL : value);
+            }
+        }
+        if (full) {
+            if (null != cached) {
+                hits++;
+            }
+            if (++lookups == WINDOW) {
+                if (hits < WINDOW / 2) {
+                    // too many distinct values
+                    values = null;
+                } else {
+                    lookups = 0;
+                    hits = 0;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return false if the cache has switched itself off
+     */
+    public boolean isEnabled() {
+        return null != values;
+    }
+
+    /**
+     * Whether the cast values of a Field can be shared between rows. This is true for Fields that cast to
+     * immutable objects, but not for e.g. `array`, `object` or `geopoint` Fields that cast to arrays or Maps.
+     * @param field the Field definition
+     * @return true if values of the Field can be cached
+     */
+    public static boolean isCacheable(Field<?> field) {
+        return (field instanceof StringField)
+                || (field instanceof IntegerField)
+                || (field instanceof NumberField)
+                || (field instanceof BooleanField)
+                || (field instanceof DateField)
+                || (field instanceof DatetimeField)
+                || (field instanceof TimeField)
+                || (field instanceof YearField)
+                || (field instanceof YearmonthField)
+                || (field instanceof DurationField);
+    }
+}
@@ -0,0 +1,259 @@
+package io.frictionlessdata.tableschema.iterator;
+
+import io.frictionlessdata.tableschema.field.Field;
+import io.frictionlessdata.tableschema.field.IntegerField;
+import io.frictionlessdata.tableschema.field.NumberField;
+import io.frictionlessdata.tableschema.tabledatasource.RawRecord;
+
+import java.math.BigInteger;
+import java.util.Map;
+
+/**
+ * A mutable row that a {@link ReusableRowIterator} updates in place for every row of a Table, instead of
+ * creating new objects per row. Its values are only valid until the next call to `next()` of the iterator.
+ *
+ * Columns are addressed by the position of their Field in the Schema, or by their position in the data if the
+ * Table has no Schema. {@link #getLong(int)} and {@link #getDouble(int)} parse integer and number values
+ * without creating objects if the Field has no constraints and no number format options, and the data source
+ * doesn't create objects per row, e.g. a CSV file read with the {@link
+ * io.frictionlessdata.tableschema.tabledatasource.CsvTokenizer}. All other values are cast like in a
+ * {@link TableIterator}.
+ */
+public class ReusableRow {
+    // powers of ten that are exact doubles
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // more digits don't fit exactly into a double mantissa
+    private static final int MAX_FAST_DOUBLE_DIGITS = 15;
+    private static final int MAX_FAST_LONG_DIGITS = 18;
+
+    private final String[] headers;
+    private final Field<?>[] fields;
+    private final int[] positions;
+    private final boolean[] fastParsing;
+    private RawRecord record;
+
+    ReusableRow(String[] headers, Field<?>[] fields, int[] positions) {
+        this.headers = headers;
+        this.fields = fields;
+        this.positions = positions;
+        this.fastParsing = new boolean[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            Field<?> field = (null != fields) ? fields[i] : null;
+            fastParsing[i] = (null == field) || (isEmpty(field.getConstraints())
+                    && ((field instanceof IntegerField) || ((field instanceof NumberField) && isEmpty(field.getOptions()))));
+        }
+    }
+
+    void setRecord(RawRecord record) {
+        this.record = record;
+    }
+
+    /**
+     * @return the headers of the Table
+     */
+    public String[] getHeaders() {
+        return headers;
+    }
+
+    /**
+     * @return the number of columns
+     */
+    public int getColumnCount() {
+        return positions.length;
+    }
+
+    /**
+     * @param column the position of the column
+     * @return true if the value is missing or empty
+     */
+    public boolean isNull(int column) {
+        int position = positions[column];
+        return (position < 0) || (position >= record.getFieldCount()) || (record.getFieldLength(position) == 0);
+    }
+
+    /**
+     * @param column the position of the column
+     * @return the raw value of the column, null if the value is missing or empty
+     */
+    public String getString(int column) {
+        return isNull(column) ? null : record.getField(positions[column]);
+    }
+
+    /**
+     * @param column the position of the column
+     * @return the value cast by the Field of the column, or the raw value if the Table has no Schema
+     */
+    public Object get(int column) {
+        String raw = getString(column);
+        return ((null == fields) || (null == fields[column])) ? raw : fields[column].castValue(raw);
+    }
+
+    /**
+     * Get the value of an integer column without boxing
+     * @param column the position of the column
+     * @return the value
+     * @throws IllegalStateException if the value is null or doesn't fit a long
+     */
+    public long getLong(int column) {
+        checkNotNull(column);
+        if (fastParsing[column]) {
+            long value = parseLong(record, positions[column]);
+            if (value != Long.MIN_VALUE) {
+                return value;
+            }
+        }
+        Object value = get(column);
+        if (value instanceof BigInteger) {
+            try {
+                return ((BigInteger) value).longValueExact();
+            } catch (ArithmeticException ex) {
+                // reported below
+            }
+        }
+        throw new IllegalStateException("Value in column " + column + " is not a long: " + value);
+    }
+
+    /**
+     * Get the value of a number or integer column without boxing
+     * @param column the position of the column
+     * @return the value
+     * @throws IllegalStateException if the value is null or not a number
+     */
+    public double getDouble(int column) {
+        checkNotNull(column);
+        if (fastParsing[column]) {
+            double value = parseDouble(record, positions[column]);
+            if (!Double.isNaN(value)) {
+                return value;
+            }
+        }
+        Object value = get(column);
+        if (!(value instanceof Number)) {
+            throw new IllegalStateException("Value in column " + column + " is not a number: " + value);
+        }
+        return ((Number) value).doubleValue();
+    }
+
+    /**
+     * @param column the position of the column
+     * @return the value of a boolean column
+     * @throws IllegalStateException if the value is null or not a boolean
+     */
+    public boolean getBoolean(int column) {
+        checkNotNull(column);
+        Object value = get(column);
+        if (!(value instanceof Boolean)) {
+            throw new IllegalStateException("Value in column " + column + " is not a boolean: " + value);
+        }
+        return (Boolean) value;
+    }
+
+    /**
+     * @return a copy of the current row as an Object array, with the values cast like in a {@link TableIterator}
+     */
+    public Object[] toArray() {
+        Object[] values = new Object[positions.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = get(i);
+        }
+        return values;
+    }
+
+    private void checkNotNull(int column) {
+        if (isNull(column)) {
+            throw new IllegalStateException("Value in column " + column + " is null");
+        }
+    }
+
+    private static boolean isEmpty(Map<String, Object> map) {
+        return (null == map) || map.isEmpty();
+    }
+
+    // first and last non-whitespace position as in String.trim(), packed into a long; -1 if all whitespace
+    private static long trim(RawRecord record, int position) {
+        int start = 0;
+        int end = record.getFieldLength(position);
+        while ((start < end) && (record.charAt(position, start) <= ' ')) {
+            start++;
+        }
+        while ((end > start) && (record.charAt(position, end - 1) <= ' ')) {
+            end--;
+        }
+        return (start == end) ? -1 : (((long) start) << 32) | end;
+    }
+
+    // the value as a long, Long.MIN_VALUE if it needs the full parser
+    private static long parseLong(RawRecord record, int position) {
+        long bounds = trim(record, position);
+        if (bounds < 0) {
+            return Long.MIN_VALUE;
+        }
+        int i = (int) (bounds >>> 32);
+        int end = (int) bounds;
+        boolean negative = false;
+        char first = record.charAt(position, i);
+        if ((first == '-') || (first == '+')) {
+            negative = (first == '-');
+            i++;
+        }
+        if ((i == end) || (end - i > MAX_FAST_LONG_DIGITS)) {
+            return Long.MIN_VALUE;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            char c = record.charAt(position, i);
+            if ((c < '0') || (c > '9')) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    // the value of a plain decimal number, NaN if it needs the full parser
+    private static double parseDouble(RawRecord record, int position) {
+        long bounds = trim(record, position);
+        if (bounds < 0) {
+            return Double.NaN;
+        }
+        int i = (int) (bounds >>> 32);
+        int end = (int) bounds;
+        boolean negative = false;
+        char first = record.charAt(position, i);
+        if ((first == '-') || (first == '+')) {
+            negative = (first == '-');
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        boolean anyDigit = false;
+        for (; i < end; i++) {
+            char c = record.charAt(position, i);
+            if ((c == '.') && (scale < 0)) {
+                scale = 0;
+            } else if ((c >= '0') && (c <= '9')) {
+                anyDigit = true;
+                mantissa = mantissa * 10 + (c - '0');
+                if ((mantissa > 0) && (++digits > MAX_FAST_DOUBLE_DIGITS)) {
+                    return Double.NaN;
+                }
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!anyDigit || (scale >= POWERS_OF_TEN.length)) {
+            return Double.NaN;
+        }
+        // both operands are exact doubles, so the division is correctly rounded like Double.parseDouble()
+        double value = (scale > 0) ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        // the cast value of "-0" is zero, not negative zero
+        return (negative && (mantissa != 0)) ? -value : value;
+    }
+}
@@ -0,0 +1,62 @@
+package io.frictionlessdata.tableschema.iterator;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.exception.TableIOException;
+import io.frictionlessdata.tableschema.field.Field;
+import io.frictionlessdata.tableschema.schema.Schema;
+import io.frictionlessdata.tableschema.tabledatasource.RawRecord;
+import io.frictionlessdata.tableschema.util.TableSchemaUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Iterator over the rows of a Table that returns the same {@link ReusableRow} for every row, updated in place.
+ * A row is only valid until the next call to {@link #next()}; copy values that are needed later.
+ */
+public class ReusableRowIterator implements Iterator<ReusableRow>, Closeable {
+    private final Iterator<RawRecord> records;
+    private final ReusableRow row;
+
+    public ReusableRowIterator(Table table) {
+        Schema schema = table.getSchema();
+        String[] headers = table.getHeaders();
+        Field<?>[] fields = null;
+        int[] positions;
+        if (null != schema) {
+            fields = schema.getFields().toArray(new Field<?>[0]);
+            positions = TableSchemaUtil.createSchemaHeaderPositions(table.getSchemaHeaderMapping(), fields.length);
+        } else {
+            positions = TableSchemaUtil.createSchemaHeaderPositions(null, (null != headers) ? headers.length : 0);
+        }
+        this.row = new ReusableRow(headers, fields, positions);
+        this.records = table.getTableDataSource().recordIterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return records.hasNext();
+    }
+
+    @Override
+    public ReusableRow next() {
+        row.setRecord(records.next());
+        return row;
+    }
+
+    /**
+     * Close the underlying file or connection if the rows are not read to the end. Data sources close it
+     * themselves after the last row.
+     */
+    @Override
+    public void close() {
+        if (records instanceof Closeable) {
+            try {
+                ((Closeable) records).close();
+            } catch (IOException ex) {
+                throw new TableIOException(ex);
+            }
+        }
+    }
+}
@@ -19,7 +19,7 @@ public class SimpleTableIterator extends TableIterator<String[]> {
         if (null != schema) {
             String[] newRow = new String[row.length];
             for (int i = 0; i < row.length; i++) {
-                newRow[mapping.get(i)] = row[i];
+                newRow[positions[i]] = row[i];
             }
             return newRow;
         } else {
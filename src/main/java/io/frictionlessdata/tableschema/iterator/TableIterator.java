@@ -1,9 +1,13 @@
 package io.frictionlessdata.tableschema.iterator;
 
 import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.exception.TableIOException;
 import io.frictionlessdata.tableschema.field.Field;
 import io.frictionlessdata.tableschema.schema.Schema;
+import io.frictionlessdata.tableschema.util.TableSchemaUtil;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -14,7 +18,7 @@ import java.util.Map;
  * of the `keyed`, `extended`, `cast`, `relations` flags.
  *
  */
-public class TableIterator<T> implements Iterator<T> {
+public class TableIterator<T> implements Iterator<T>, Closeable {
     /**
      * The table's headers
      */
@@ -55,11 +59,31 @@ public class TableIterator<T> implements Iterator<T> {
      */
     Map<Integer, Integer> mapping = null;
 
+    /**
+     * The `mapping` compiled for reading per cell: the data column index of each Schema column,
+     * -1 if the column is missing in the data
+     */
+    int[] positions = null;
+
+    /**
+     * The Fields of the Schema, by column index
+     */
+    Field<?>[] fields = null;
+
     /**
      * The index of the row when reading in `extended` mode
      */
     int index = 0;
 
+    /**
+     * Number of distinct values cached per column, 0 to disable caching
+     */
+    int valueCacheSize = 0;
+
+    /**
+     * Per-column caches of cast values, created on the first row
+     */
+    ColumnValueCache[] valueCaches = null;
 
     TableIterator() {}
 
@@ -86,6 +110,19 @@ public class TableIterator<T> implements Iterator<T> {
         this.headers = table.getHeaders();
         this.schema = table.getSchema();
         this.wrappedIterator = table.getTableDataSource().iterator();
+        this.valueCacheSize = table.getValueCacheSize();
+        compileMapping();
+    }
+
+    // resolve the mapping and the Fields once instead of for every cell
+    void compileMapping() {
+        if (null == schema) {
+            positions = null;
+            fields = null;
+        } else {
+            fields = schema.getFields().toArray(new Field<?>[0]);
+            positions = TableSchemaUtil.createSchemaHeaderPositions(mapping, fields.length);
+        }
     }
 
 
@@ -99,45 +136,53 @@ public class TableIterator<T> implements Iterator<T> {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Close the underlying file or connection if the rows are not read to the end. Data sources close it
+     * themselves after the last row.
+     */
+    @Override
+    public void close() {
+        if (wrappedIterator instanceof Closeable) {
+            try {
+                ((Closeable) wrappedIterator).close();
+            } catch (IOException ex) {
+                throw new TableIOException(ex);
+            }
+        }
+    }
+
     @Override
     public T next() {
         String[] row = this.wrappedIterator.next();
         String rawVal = null;
         int rowLength = row.length;
         if (null != this.schema) {
-            rowLength = Math.max(row.length, this.schema.getFields().size());
+            rowLength = Math.max(row.length, fields.length);
         }
-        Map<String, Object> keyedRow = new LinkedHashMap<>();
+        // only allocate the container that is returned
+        Map<String, Object> keyedRow = keyed ? new LinkedHashMap<>() : null;
         Object[] extendedRow;
-        Object[] resultRow = new Object[rowLength];
+        Object[] resultRow = (keyed && !extended) ? null : new Object[rowLength];
 
         // If there's a schema, attempt to cast the row.
         if(this.schema != null){
             for(int i = 0; i < rowLength; i++){
-                Field field = this.schema.getFields().get(i);
-                Object val = null;
-                // if the CSVFormat does not specify a header row, mapping will be null and we use the
-                // row order from the Schema
-                Integer mappedKey = i;
-                if (null != mapping) {
-                    if (null != mapping.get(i))
-                        mappedKey = mapping.get(i);
-                    else
-                        mappedKey = null;
-
-                }
-                // null keys can happen for JSON arrays of JSON objects because
+                Field<?> field = fields[i];
+                // if the CSVFormat does not specify a header row, mapping will be null and positions
+                // follow the row order from the Schema
+                int mappedKey = positions[i];
+                // missing keys (-1) can happen for JSON arrays of JSON objects because
                 // null values will lead to missing entries
-                if (null != mappedKey) {
-                    // if the last column(s) contain nulls, prevent an ArrayIndexOutOfBoundsException
-                    if (mappedKey < row.length) {
-                        rawVal = row[mappedKey];
-                        val = field.castValue(rawVal);
-                    }
+                Object endVal;
+                // if the last column(s) contain nulls, prevent an ArrayIndexOutOfBoundsException
+                if ((mappedKey >= 0) && (mappedKey < row.length)) {
+                    rawVal = row[mappedKey];
+                    ColumnValueCache cache = getValueCache(i, row.length);
+                    endVal = (null != cache) ? cache.get(rawVal) : convertValue(field, rawVal);
+                } else {
+                    endVal = cast ? null : field.formatValueAsString(null);
                 }
 
-                Object endVal = cast ? val : field.formatValueAsString(val);
-
                 if (keyed) {
                     keyedRow.put(this.headers[i], endVal);
                 } else {
@@ -156,6 +201,16 @@ public class TableIterator<T> implements Iterator<T> {
             }
         }else{
             // Enter here if no Schema has been defined.
+            if (valueCacheSize > 0) {
+                // the row may be the data of the caller, e.g. of a StringArrayTableDataSource
+                row = row.clone();
+                for (int i = 0; i < row.length; i++) {
+                    ColumnValueCache cache = getValueCache(i, row.length);
+                    if (null != cache) {
+                        row[i] = (String) cache.get(row[i]);
+                    }
+                }
+            }
             if(extended){
                 extendedRow = new Object[]{index, this.headers, row};
                 index++;
@@ -173,4 +228,35 @@ public class TableIterator<T> implements Iterator<T> {
             }
         }
     }
+
+    // cast the raw value or, if `cast` is false, normalize it via the Field
+    private <V> Object convertValue(Field<V> field, String rawVal) {
+        V val = field.castValue(rawVal);
+        return cast ? val : field.formatValueAsString(val);
+    }
+
+    // the value cache of a column, or null if values of the column are not cached
+    private ColumnValueCache getValueCache(int column, int rowLength) {
+        if (valueCacheSize <= 0) {
+            return null;
+        }
+        if (null == valueCaches) {
+            int columns = (null != schema)
+                    ? schema.getFields().size()
+                    : Math.max(rowLength, (null != headers) ? headers.length : 0);
+            valueCaches = new ColumnValueCache[columns];
+            for (int i = 0; i < columns; i++) {
+                if (null == schema) {
+                    // without a Schema, only repeated Strings are shared
+                    valueCaches[i] = new ColumnValueCache(valueCacheSize, (raw) -> raw);
+                } else {
+                    Field<?> field = fields[i];
+                    if (!cast || ColumnValueCache.isCacheable(field)) {
+                        valueCaches[i] = new ColumnValueCache(valueCacheSize, (raw) -> convertValue(field, raw));
+                    }
+                }
+            }
+        }
+        return (column < valueCaches.length) ? valueCaches[column] : null;
+    }
 }
@@ -0,0 +1,159 @@
+package io.frictionlessdata.tableschema.iterator;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.tabledatasource.CsvFileTableDataSource;
+import io.frictionlessdata.tableschema.tabledatasource.IndexedTableDataSource;
+import io.frictionlessdata.tableschema.tabledatasource.SplittableTableDataSource;
+import io.frictionlessdata.tableschema.tabledatasource.TableDataSource;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Spliterator over the rows of a Table that splits the data for parallel streams, so that the rows of each
+ * split are read and cast in a thread of their own. Data held in memory, see {@link IndexedTableDataSource},
+ * is split by row ranges, local files, see {@link SplittableTableDataSource}, by byte ranges. Each split reads
+ * its rows through an Iterator created by `rowIterator` on a Table holding the rows of the split.
+ *
+ * Row ranges report their exact size. Byte ranges report the row count only as long as they are not split and
+ * the count is known without reading the file, i.e. for CSV files with a row index, and otherwise estimate the
+ * row count by the number of bytes.
+ *
+ * @param <T> the type of the rows
+ */
+public class TableSpliterator<T> implements Spliterator<T> {
+    /**
+     * Smallest number of rows in a split of in-memory data
+     */
+    public static final int MIN_SPLIT_ROWS = 64;
+
+    /**
+     * Smallest number of bytes in a split of a file
+     */
+    public static final int MIN_SPLIT_BYTES = 64 * 1024;
+
+    private final Table table;
+    private final Function<Table, Iterator<T>> rowIterator;
+    private final boolean byteRanges;
+    private long start;
+    private long end;
+    // exact number of remaining rows, -1 if unknown
+    private long rowCount;
+    private Iterator<T> rows = null;
+
+    /**
+     * Create a Spliterator over all rows of a Table.
+     * @param table the Table to read, its data source must be an {@link IndexedTableDataSource} or a
+     *              {@link SplittableTableDataSource}
+     * @param rowIterator creates the Iterator over the rows of a Table holding one split
+     * @throws IllegalArgumentException if the data source of the Table can't be split
+     */
+    public TableSpliterator(Table table, Function<Table, Iterator<T>> rowIterator) {
+        TableDataSource dataSource = table.getTableDataSource();
+        this.table = table;
+        this.rowIterator = rowIterator;
+        this.start = 0;
+        if (dataSource instanceof IndexedTableDataSource) {
+            this.byteRanges = false;
+            this.end = dataSource.getRowCount();
+            this.rowCount = end;
+        } else if (dataSource instanceof SplittableTableDataSource) {
+            this.byteRanges = true;
+            this.end = ((SplittableTableDataSource) dataSource).getSize();
+            this.rowCount = ((dataSource instanceof CsvFileTableDataSource)
+                    && (null != ((CsvFileTableDataSource) dataSource).getRowIndex()))
+                    ? dataSource.getRowCount()
+                    : -1;
+        } else {
+            throw new IllegalArgumentException("Data source can't be split: "
+                    + ((null == dataSource) ? null : dataSource.getClass().getSimpleName()));
+        }
+    }
+
+    private TableSpliterator(TableSpliterator<T> parent, long start, long end, long rowCount) {
+        this.table = parent.table;
+        this.rowIterator = parent.rowIterator;
+        this.byteRanges = parent.byteRanges;
+        this.start = start;
+        this.end = end;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * @param dataSource a data source
+     * @return true if a TableSpliterator can split the data source
+     */
+    public static boolean canSplit(TableDataSource dataSource) {
+        return (dataSource instanceof IndexedTableDataSource) || (dataSource instanceof SplittableTableDataSource);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Iterator<T> iter = getRows();
+        if (!iter.hasNext()) {
+            return false;
+        }
+        if (rowCount > 0) {
+            rowCount--;
+        }
+        action.accept(iter.next());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        getRows().forEachRemaining(action);
+        rowCount = (rowCount < 0) ? -1 : 0;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        // the rows of a split are read by one Iterator, so a split can't be split again once reading started
+        if (null != rows) {
+            return null;
+        }
+        long minSize = byteRanges ? MIN_SPLIT_BYTES : MIN_SPLIT_ROWS;
+        if (end - start < 2 * minSize) {
+            return null;
+        }
+        long middle = start + (end - start) / 2;
+        TableSpliterator<T> prefix;
+        if (byteRanges) {
+            // the rows per byte range are unknown
+            prefix = new TableSpliterator<>(this, start, middle, -1);
+            rowCount = -1;
+        } else {
+            prefix = new TableSpliterator<>(this, start, middle, middle - start);
+            rowCount = end - middle;
+        }
+        start = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        // every row has at least one byte, so the byte count is an upper bound of the row count
+        return (rowCount >= 0) ? rowCount : end - start;
+    }
+
+    @Override
+    public int characteristics() {
+        int characteristics = ORDERED | NONNULL;
+        if (rowCount >= 0) {
+            characteristics |= SIZED;
+            if (!byteRanges) {
+                characteristics |= SUBSIZED;
+            }
+        }
+        return characteristics;
+    }
+
+    private Iterator<T> getRows() {
+        if (null == rows) {
+            rows = rowIterator.apply(byteRanges ? table.byteRange(start, end) : table.rowRange(start, end));
+        }
+        return rows;
+    }
+}
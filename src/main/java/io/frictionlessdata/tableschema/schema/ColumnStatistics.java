@@ -0,0 +1,199 @@
+package io.frictionlessdata.tableschema.schema;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.frictionlessdata.tableschema.util.HyperLogLog;
+import io.frictionlessdata.tableschema.util.TopKSketch;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistics of one column, collected alongside the type counts of an {@link InferenceState} in the
+ * same pass over the data. All trackers are streaming sketches with constant memory per column and
+ * can be merged across workers:
+ * <ul>
+ *     <li>a null counter for the `required` constraint</li>
+ *     <li>a HyperLogLog sketch for cardinality estimates</li>
+ *     <li>min/max trackers for numeric values and value lengths</li>
+ *     <li>a top-k heavy-hitters sketch for `enum` candidates</li>
+ * </ul>
+ */
+@JsonPropertyOrder({"nullCount", "valueCount", "minimum", "maximum", "minLength", "maxLength", "distinct", "topValues"})
+public class ColumnStatistics implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("nullCount")
+    private long nullCount = 0;
+
+    @JsonProperty("valueCount")
+    private long valueCount = 0;
+
+    @JsonProperty("minimum")
+    private BigDecimal minimum = null;
+
+    @JsonProperty("maximum")
+    private BigDecimal maximum = null;
+
+    @JsonProperty("minLength")
+    private Integer minLength = null;
+
+    @JsonProperty("maxLength")
+    private Integer maxLength = null;
+
+    @JsonProperty("distinct")
+    private HyperLogLog distinct = new HyperLogLog();
+
+    @JsonProperty("topValues")
+    private TopKSketch topValues = new TopKSketch();
+
+    void addValue(String datum, String type) {
+        if ((null == datum) || datum.isEmpty()) {
+            nullCount++;
+            return;
+        }
+        valueCount++;
+        int length = datum.length();
+        if ((null == minLength) || (length < minLength)) {
+            minLength = length;
+        }
+        if ((null == maxLength) || (length > maxLength)) {
+            maxLength = length;
+        }
+        distinct.add(datum);
+        topValues.add(datum);
+        if (InferenceState.isNumericType(type)) {
+            try {
+                BigDecimal number = new BigDecimal(datum.trim());
+                if ((null == minimum) || (number.compareTo(minimum) < 0)) {
+                    minimum = number;
+                }
+                if ((null == maximum) || (number.compareTo(maximum) > 0)) {
+                    maximum = number;
+                }
+            } catch (NumberFormatException ignored) {
+                // eg. NaN or INF in number columns, they do not take part in range constraints
+            }
+        }
+    }
+
+    void addNulls(long count) {
+        nullCount += count;
+    }
+
+        void merge(ColumnStatistics other) {
+        nullCount += other.nullCount;
+        valueCount += other.valueCount;
+        if ((null == minimum) || ((null != other.minimum) && (other.minimum.compareTo(minimum) < 0))) {
+            minimum = other.minimum;
+        }
+        if ((null == maximum) || ((null != other.maximum) && (other.maximum.compareTo(maximum) > 0))) {
+            maximum = other.maximum;
+        }
+        if ((null == minLength) || ((null != other.minLength) && (other.minLength < minLength))) {
+            minLength = other.minLength;
+        }
+        if ((null == maxLength) || ((null != other.maxLength) && (other.maxLength > maxLength))) {
+            maxLength = other.maxLength;
+        }
+        distinct.merge(other.distinct);
+        topValues.merge(other.topValues);
+    }
+
+    /**
+     * @return number of empty or `null` values
+     */
+    public long getNullCount() {
+        return nullCount;
+    }
+
+    /**
+     * @return number of non-empty values
+     */
+    public long getValueCount() {
+        return valueCount;
+    }
+
+    /**
+     * @return the smallest numeric value or `null` if the column held no numbers
+     */
+    public BigDecimal getMinimum() {
+        return minimum;
+    }
+
+    /**
+     * @return the largest numeric value or `null` if the column held no numbers
+     */
+    public BigDecimal getMaximum() {
+        return maximum;
+    }
+
+    /**
+     * @return the length of the shortest non-empty value or `null` if the column held no values
+     */
+    public Integer getMinLength() {
+        return minLength;
+    }
+
+    /**
+     * @return the length of the longest non-empty value or `null` if the column held no values
+     */
+    public Integer getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Number of distinct non-empty values. The number is exact for columns with few distinct
+     * values and a HyperLogLog estimate otherwise.
+     * @return the (estimated) number of distinct values
+     */
+    @JsonIgnore
+    public long getDistinctCount() {
+        if (topValues.isExact()) {
+            return topValues.size();
+        }
+        return distinct.getEstimate();
+    }
+
+    /**
+     * Whether every non-empty value occurred once only. The result is exact as long as the number of
+     * distinct values is small enough to be tracked exactly. Beyond that, with a `tolerance` above 0,
+     * it is based on the HyperLogLog estimate and `tolerance` is the fraction the estimate may fall short
+     * of the value count. As the estimate errs in both directions, columns with duplicates may then be
+     * reported unique; with a `tolerance` of 0 such columns are never reported unique.
+     * @param tolerance fraction between 0 and 1, 0 to only report exactly tracked columns
+     * @return true if values are (likely) unique
+     */
+    public boolean isUnique(double tolerance) {
+        if (valueCount == 0) {
+            return false;
+        }
+        if (topValues.isExact()) {
+            return topValues.size() == valueCount;
+        }
+        if (tolerance <= 0) {
+            return false;
+        }
+        return distinct.getEstimate() >= valueCount * (1 - tolerance);
+    }
+
+    /**
+     * Returns the most frequent values
+     * @param k max number of values to return
+     * @return list of values and their counts, most frequent first
+     */
+    public List<Map.Entry<String, Long>> getTopValues(int k) {
+        return topValues.getTop(k);
+    }
+
+    /**
+     * @return true if {@link #getTopValues(int)} holds every distinct value of the column with exact counts
+     */
+    @JsonIgnore
+    public boolean isTopValuesExact() {
+        return topValues.isExact();
+    }
+}
@@ -0,0 +1,146 @@
+package io.frictionlessdata.tableschema.schema;
+
+import java.io.Serializable;
+
+/**
+ * Options for inferring Field constraints from the {@link ColumnStatistics} collected during type
+ * inferral. The defaults switch on all constraints; use the setters to switch off individual
+ * constraints or to tune the thresholds.
+ *
+ * The options also control early termination of the inferral: with a stability window set, reading
+ * stops as soon as the most frequent type of every column has not changed for that many rows.
+ */
+public class InferenceOptions implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private boolean inferRequired = true;
+    private boolean inferUnique = true;
+    private boolean inferRange = true;
+    private boolean inferLength = true;
+    private int maxEnumSize = 10;
+    private int minEnumValueFrequency = 2;
+    private double uniqueTolerance = 0.0;
+    private int stabilityWindow = 0;
+    private double minConfidence = 0.95;
+
+    /**
+     * Emit `required` for columns without empty values
+     */
+    public InferenceOptions setInferRequired(boolean inferRequired) {
+        this.inferRequired = inferRequired;
+        return this;
+    }
+
+    /**
+     * Emit `unique` for columns where no value occurs more than once. Only columns with few enough distinct
+     * values to be tracked exactly qualify, unless {@link #setUniqueTolerance(double)} is set.
+     */
+    public InferenceOptions setInferUnique(boolean inferUnique) {
+        this.inferUnique = inferUnique;
+        return this;
+    }
+
+    /**
+     * Emit `minimum` and `maximum` for integer and number columns
+     */
+    public InferenceOptions setInferRange(boolean inferRange) {
+        this.inferRange = inferRange;
+        return this;
+    }
+
+    /**
+     * Emit `minLength` and `maxLength` for string columns
+     */
+    public InferenceOptions setInferLength(boolean inferLength) {
+        this.inferLength = inferLength;
+        return this;
+    }
+
+    /**
+     * Emit `enum` for string columns with at most this many distinct values. Use 0 to switch off.
+     * The value is capped by the capacity of the top-k sketch.
+     */
+    public InferenceOptions setMaxEnumSize(int maxEnumSize) {
+        this.maxEnumSize = maxEnumSize;
+        return this;
+    }
+
+    /**
+     * Only emit `enum` if every distinct value occurred on average at least this many times,
+     * to avoid turning small samples of free text into enums.
+     */
+    public InferenceOptions setMinEnumValueFrequency(int minEnumValueFrequency) {
+        this.minEnumValueFrequency = minEnumValueFrequency;
+        return this;
+    }
+
+    /**
+     * Fraction the distinct count estimate may fall short of the number of values for columns with
+     * too many values for exact tracking to still be considered unique. The default of 0 never emits
+     * `unique` for such columns; a value above 0 opts in to the estimate, which can also emit `unique`
+     * for columns with a few duplicates.
+     */
+    public InferenceOptions setUniqueTolerance(double uniqueTolerance) {
+        this.uniqueTolerance = uniqueTolerance;
+        return this;
+    }
+
+    /**
+     * Stop reading rows once the most frequent type of every column stayed the same for this many
+     * consecutive rows. Use 0 (the default) to read all rows up to the row limit.
+     */
+    public InferenceOptions setStabilityWindow(int stabilityWindow) {
+        this.stabilityWindow = stabilityWindow;
+        return this;
+    }
+
+    /**
+     * Only stop early if, in every column, at least this fraction of the non-empty values
+     * matched the most frequent type.
+     */
+    public InferenceOptions setMinConfidence(double minConfidence) {
+        this.minConfidence = minConfidence;
+        return this;
+    }
+
+    // whether any constraint needs the ColumnStatistics to be collected
+    boolean requiresStatistics() {
+        return inferRequired || inferUnique || inferRange || inferLength || (maxEnumSize > 0);
+    }
+
+    public boolean isInferRequired() {
+        return inferRequired;
+    }
+
+    public boolean isInferUnique() {
+        return inferUnique;
+    }
+
+    public boolean isInferRange() {
+        return inferRange;
+    }
+
+    public boolean isInferLength() {
+        return inferLength;
+    }
+
+    public int getMaxEnumSize() {
+        return maxEnumSize;
+    }
+
+    public int getMinEnumValueFrequency() {
+        return minEnumValueFrequency;
+    }
+
+    public double getUniqueTolerance() {
+        return uniqueTolerance;
+    }
+
+    public int getStabilityWindow() {
+        return stabilityWindow;
+    }
+
+    public double getMinConfidence() {
+        return minConfidence;
+    }
+}
@@ -0,0 +1,143 @@
+package io.frictionlessdata.tableschema.schema;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.frictionlessdata.tableschema.field.Field;
+import io.frictionlessdata.tableschema.util.JsonUtil;
+
+import java.util.*;
+
+/**
+ * The outcome of a type inferral: the inferred {@link Schema} and, for every column, how the values
+ * were distributed over the types, sample values that conflict with the inferred type and a confidence
+ * score. Use it to spot columns where the inferred type is a close call, eg. a mostly numeric column
+ * with a few free-text values.
+ */
+@JsonPropertyOrder({"rowCount", "terminatedEarly", "columns"})
+public class InferenceReport {
+
+    @JsonIgnore
+    private final Schema schema;
+
+    private final long rowCount;
+
+    private final boolean terminatedEarly;
+
+    private final List<ColumnReport> columns = new ArrayList<>();
+
+    InferenceReport(InferenceState state, Schema schema, boolean terminatedEarly) {
+        this.schema = schema;
+        this.rowCount = state.getRowCount();
+        this.terminatedEarly = terminatedEarly;
+        for (String header : state.getHeaders()) {
+            Field<?> field = schema.getField(header);
+            columns.add(new ColumnReport(
+                    state.getColumn(header),
+                    (null == field) ? null : field.getType()));
+        }
+    }
+
+    /**
+     * @return the inferred Schema
+     */
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return the number of rows the inferral read
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return true if the inferral stopped reading before the row limit because the types were stable
+     */
+    public boolean isTerminatedEarly() {
+        return terminatedEarly;
+    }
+
+    /**
+     * @return the reports of all columns in Schema order
+     */
+    public List<ColumnReport> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Retrieve the report of one column
+     * @param name the column name
+     * @return the report or `null` if no column of this name exists
+     */
+    public ColumnReport getColumn(String name) {
+        for (ColumnReport column : columns) {
+            if (column.name.equals(name)) {
+                return column;
+            }
+        }
+        return null;
+    }
+
+    @JsonIgnore
+    public String asJson() {
+        return JsonUtil.getInstance().serialize(this);
+    }
+
+    /**
+     * Inferral outcome of one column
+     */
+    @JsonPropertyOrder({"name", "type", "confidence", "typeCounts", "conflictingSamples"})
+    public static class ColumnReport {
+        private final String name;
+        private final String type;
+        private final double confidence;
+        private final Map<String, Long> typeCounts;
+        private final Map<String, List<String>> conflictingSamples = new LinkedHashMap<>();
+
+        ColumnReport(InferenceState.ColumnState column, String type) {
+            this.name = column.name;
+            this.type = type;
+            this.confidence = column.getConfidence();
+            this.typeCounts = Collections.unmodifiableMap(new LinkedHashMap<>(column.typeCounts));
+            column.samples.forEach((sampleType, values) -> {
+                if (!sampleType.equals(type)) {
+                    conflictingSamples.put(sampleType, Collections.unmodifiableList(new ArrayList<>(values)));
+                }
+            });
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the type of the column in the inferred Schema
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * Share of the non-empty values that match the most frequent type.
+         * @return a value between 0 and 1
+         */
+        public double getConfidence() {
+            return confidence;
+        }
+
+        /**
+         * @return how many values were found per type. Empty values are counted as type `any`
+         */
+        public Map<String, Long> getTypeCounts() {
+            return typeCounts;
+        }
+
+        /**
+         * @return sample values of each type other than the inferred type
+         */
+        public Map<String, List<String>> getConflictingSamples() {
+            return conflictingSamples;
+        }
+    }
+}
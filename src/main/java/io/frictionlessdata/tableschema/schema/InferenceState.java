@@ -0,0 +1,528 @@
+package io.frictionlessdata.tableschema.schema;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.exception.TypeInferringException;
+import io.frictionlessdata.tableschema.field.Field;
+import io.frictionlessdata.tableschema.util.JsonUtil;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+import static io.frictionlessdata.tableschema.field.Field.FIELD_TYPE_ANY;
+
+/**
+ * Accumulator for the type inferral algorithm of the {@link TypeInferrer}. Instead of inferring a Schema
+ * from one sample of data in one go, an InferenceState can be fed row batches from many sources (e.g. the
+ * partitions of a data set that is spread over thousands of files), merged with the states of other workers,
+ * checkpointed to disk and finally turned into a {@link Schema}.
+ *
+ * Columns are tracked by their header name, so data sources need not declare the same columns in the
+ * same order. When finalizing the state via {@link #toSchema()}, conflicting types of a column are
+ * reconciled by widening (year to integer, integer to number, anything else to string).
+ *
+ * If created with `collectStatistics` set, the state also collects {@link ColumnStatistics} for every
+ * column in the same pass, from which {@link #toSchema(InferenceOptions)} infers Field constraints.
+ *
+ * An InferenceState is not thread-safe; use one instance per worker and {@link #merge(InferenceState)}
+ * the results.
+ */
+@JsonPropertyOrder({"rowCount", "collectStatistics", "columns"})
+public class InferenceState implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    // The numeric types in order of widening. A column holding values of more than
+    // one of those types is widened to the rightmost of them.
+    private static final List<String> NUMERIC_WIDENING_ORDER = Arrays.asList(
+            Field.FIELD_TYPE_YEAR,
+            Field.FIELD_TYPE_INTEGER,
+            Field.FIELD_TYPE_NUMBER);
+
+    @JsonProperty("rowCount")
+    private long rowCount = 0;
+
+    @JsonProperty("collectStatistics")
+    private final boolean collectStatistics;
+
+    @JsonIgnore
+    private final Map<String, ColumnState> columns = new LinkedHashMap<>();
+
+    /**
+     * Create an empty InferenceState.
+     */
+    public InferenceState() {
+        this(null, false);
+    }
+
+    /**
+     * Create an empty InferenceState.
+     * @param collectStatistics whether to collect {@link ColumnStatistics} alongside the types
+     */
+    public InferenceState(boolean collectStatistics) {
+        this(null, collectStatistics);
+    }
+
+    /**
+     * Create an InferenceState that knows about the columns in `headers` before any data is added. This
+     * ensures columns that do not have any data are still part of the final Schema.
+     * @param headers the column names
+     */
+    public InferenceState(String[] headers) {
+        this(headers, false);
+    }
+
+    /**
+     * Create an InferenceState that knows about the columns in `headers` before any data is added.
+     * @param headers the column names
+     * @param collectStatistics whether to collect {@link ColumnStatistics} alongside the types
+     */
+    public InferenceState(String[] headers, boolean collectStatistics) {
+        this.collectStatistics = collectStatistics;
+        if (null != headers) {
+            for (String header : headers) {
+                getOrCreateColumn(header);
+            }
+        }
+    }
+
+    @JsonCreator
+    InferenceState(
+            @JsonProperty("rowCount") long rowCount,
+            @JsonProperty("collectStatistics") boolean collectStatistics,
+            @JsonProperty("columns") List<ColumnState> columns) {
+        this.rowCount = rowCount;
+        this.collectStatistics = collectStatistics;
+        if (null != columns) {
+            for (ColumnState column : columns) {
+                this.columns.put(column.name, column);
+            }
+        }
+    }
+
+    /**
+     * Read a checkpointed InferenceState from a JSON string as produced by {@link #asJson()}.
+     * @param json the serialized state
+     * @return the deserialized InferenceState
+     */
+    public static InferenceState fromJson(String json) {
+        return JsonUtil.getInstance().deserialize(json, InferenceState.class);
+    }
+
+    /**
+     * Read a checkpointed InferenceState from a File as written by {@link #writeJson(File)}.
+     * @param inputFile the File to read from
+     * @return the deserialized InferenceState
+     * @throws IOException if reading from the File fails
+     */
+    public static InferenceState fromJson(File inputFile) throws IOException {
+        return fromJson(Files.readString(inputFile.toPath(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Add one row of data. Values are matched to columns via the header at the same position.
+     * Values beyond the length of `headers` are ignored, missing values at the end of a short row
+     * count as empty values.
+     * @param headers the column names of the row
+     * @param row the row values. `null` values are treated like empty strings
+     */
+    public void addRow(String[] headers, Object[] row) {
+        for (int j = 0; j < headers.length; j++) {
+            Object val = (j < row.length) ? row[j] : null;
+            getOrCreateColumn(headers[j]).addValue((null == val) ? "" : val.toString());
+        }
+        rowCount++;
+    }
+
+    /**
+     * Add a batch of rows that share the same headers.
+     * @param headers the column names of the rows
+     * @param rows the rows to add
+     */
+    public void addRows(String[] headers, Iterable<? extends Object[]> rows) {
+        for (Object[] row : rows) {
+            addRow(headers, row);
+        }
+    }
+
+    /**
+     * Add the rows of a Table, reading them as String arrays and ignoring any Schema that
+     * may be set on the Table.
+     * @param table the Table to read from
+     * @param rowLimit the max number of rows to read, -1 for no limit
+     */
+    public void addRows(Table table, int rowLimit) {
+        addRows(table, rowLimit, null);
+    }
+
+    /**
+     * Add the rows of a Table, reading them as String arrays and ignoring any Schema that
+     * may be set on the Table. Stops reading early once the inferred types are stable according
+     * to `options`, see {@link #isStable(InferenceOptions)}.
+     * @param table the Table to read from
+     * @param rowLimit the max number of rows to read, -1 for no limit
+     * @param options the early termination settings, `null` to read up to `rowLimit`
+     * @return true if reading stopped early because the types were stable
+     */
+    public boolean addRows(Table table, int rowLimit, InferenceOptions options) {
+        String[] headers = table.getHeaders();
+        Iterator<String[]> iter = table.stringArrayIterator();
+        int cnt = 0;
+        while (iter.hasNext() && ((rowLimit < 0) || (cnt < rowLimit))) {
+            addRow(headers, iter.next());
+            cnt++;
+            if (isStable(options)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Count an empty value for every row that did not have a value for a column, eg. JSON objects
+    // lacking some of the keys. This is how a Table fills in missing values.
+    void padMissingValues() {
+        for (ColumnState column : columns.values()) {
+            long valueCount = 0;
+            for (Long count : column.typeCounts.values()) {
+                valueCount += count;
+            }
+            for (long i = valueCount; i < rowCount; i++) {
+                column.addValue("");
+            }
+        }
+    }
+
+    /**
+     * Merge the state accumulated by another worker into this state. Columns unknown to this
+     * state are appended in the order of the other state. Statistics are only kept if both
+     * states collected them. The rows of a state that lacks a column count as empty values of it.
+     * @param other the state to merge into this one
+     * @return this state
+     */
+    public InferenceState merge(InferenceState other) {
+        if ((null == other) || (this == other)) {
+            return this;
+        }
+        for (ColumnState column : columns.values()) {
+            if (!other.columns.containsKey(column.name)) {
+                column.addEmptyValues(other.rowCount);
+            }
+        }
+        for (ColumnState otherColumn : other.columns.values()) {
+            ColumnState column = columns.get(otherColumn.name);
+            if (null == column) {
+                column = getOrCreateColumn(otherColumn.name);
+                column.addEmptyValues(rowCount);
+            }
+            column.merge(otherColumn);
+        }
+        rowCount += other.rowCount;
+        return this;
+    }
+
+    /**
+     * Finalize the state into a Schema. Conflicting types of a column are widened.
+     * @return Schema generated from the accumulated state
+     * @throws TypeInferringException if creating the Schema fails
+     */
+    public Schema toSchema() throws TypeInferringException {
+        return toSchema(null);
+    }
+
+    /**
+     * Finalize the state into a Schema. Conflicting types of a column are widened and, if statistics
+     * were collected, Field constraints are inferred according to `options`.
+     * @param options the options for inferring constraints, `null` to not infer constraints
+     * @return Schema generated from the accumulated state
+     * @throws TypeInferringException if creating the Schema fails
+     */
+    public Schema toSchema(InferenceOptions options) throws TypeInferringException {
+        return TypeInferrer.getInstance().toSchema(this, true, options);
+    }
+
+    /**
+     * Serialize this state for checkpointing.
+     * @return String-serialized JSON representation of this state
+     */
+    @JsonIgnore
+    public String asJson() {
+        return JsonUtil.getInstance().serialize(this);
+    }
+
+    /**
+     * Checkpoint this state to a File.
+     * @param outputFile the File to write to
+     * @throws IOException if writing to the File fails
+     */
+    public void writeJson(File outputFile) throws IOException {
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(outputFile), StandardCharsets.UTF_8)) {
+            out.write(asJson());
+        }
+    }
+
+    /**
+     * @return the number of rows added to this state, including those of merged states
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return true if this state collects {@link ColumnStatistics}
+     */
+    public boolean isCollectStatistics() {
+        return collectStatistics;
+    }
+
+    /**
+     * Returns the statistics collected for a column.
+     * @param columnName the name of the column
+     * @return the statistics or `null` if the column is unknown or no statistics were collected
+     */
+    public ColumnStatistics getStatistics(String columnName) {
+        ColumnState column = columns.get(columnName);
+        return (null == column) ? null : column.statistics;
+    }
+
+    /**
+     * @return the column names in the order they were first seen
+     */
+    @JsonIgnore
+    public String[] getHeaders() {
+        return columns.keySet().toArray(new String[0]);
+    }
+
+    @JsonProperty("columns")
+    List<ColumnState> getColumns() {
+        return new ArrayList<>(columns.values());
+    }
+
+    ColumnState getColumn(String name) {
+        return columns.get(name);
+    }
+
+    private ColumnState getOrCreateColumn(String name) {
+        return columns.computeIfAbsent(name, (n) -> new ColumnState(n, collectStatistics));
+    }
+
+    /**
+     * Whether the most frequent type of every column has stayed the same for the last
+     * {@link InferenceOptions#getStabilityWindow()} values at a confidence of at least
+     * {@link InferenceOptions#getMinConfidence()}. Only values added since the last merge
+     * or deserialization count towards the window.
+     * @param options the stability window and confidence threshold
+     * @return true if further rows are unlikely to change the inferred types, false if they might or
+     *          if early termination is switched off
+     */
+    public boolean isStable(InferenceOptions options) {
+        if ((null == options) || (options.getStabilityWindow() <= 0) || columns.isEmpty()) {
+            return false;
+        }
+        for (ColumnState column : columns.values()) {
+            if ((column.stableCount < options.getStabilityWindow())
+                    || (column.getConfidence() < options.getMinConfidence())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Create a report of the type distribution, conflicting sample values and confidence of
+     * every column, together with the Schema finalized from this state.
+     * @param options the options for inferring constraints, `null` to not infer constraints
+     * @return the report
+     * @throws TypeInferringException if creating the Schema fails
+     */
+    public InferenceReport toReport(InferenceOptions options) throws TypeInferringException {
+        return new InferenceReport(this, toSchema(options), false);
+    }
+
+    static boolean isNumericType(String type) {
+        return NUMERIC_WIDENING_ORDER.contains(type);
+    }
+
+    /**
+     * Reconcile the types found for one column by widening.
+     * @param typeCounts the types found in a column and their counts
+     * @return the widest type or `null` if no data was found
+     */
+    static String widen(Map<String, Long> typeCounts) {
+        Set<String> types = new LinkedHashSet<>(typeCounts.keySet());
+        if (types.isEmpty()) {
+            return null;
+        }
+        // empty values are compatible with every type
+        if (types.size() > 1) {
+            types.remove(FIELD_TYPE_ANY);
+        }
+        if (types.size() == 1) {
+            return types.iterator().next();
+        }
+        int widest = -1;
+        for (String type : types) {
+            int pos = NUMERIC_WIDENING_ORDER.indexOf(type);
+            if (pos < 0) {
+                return Field.FIELD_TYPE_STRING;
+            }
+            widest = Math.max(widest, pos);
+        }
+        return NUMERIC_WIDENING_ORDER.get(widest);
+    }
+
+    /**
+     * Type counts, sample values per type, format and optional statistics of one column
+     */
+    @JsonPropertyOrder({"name", "format", "typeCounts", "samples", "statistics"})
+    static class ColumnState implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        // max number of sample values kept per type, to report conflicting values
+        static final int MAX_SAMPLES_PER_TYPE = 5;
+
+        @JsonProperty("name")
+        final String name;
+
+        @JsonProperty("format")
+        String format = null;
+
+        @JsonProperty("typeCounts")
+        final Map<String, Long> typeCounts = new LinkedHashMap<>();
+
+        @JsonProperty("samples")
+        final Map<String, List<String>> samples = new LinkedHashMap<>();
+
+        @JsonProperty("statistics")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        ColumnStatistics statistics;
+
+        // the currently most frequent type and for how many consecutive values it stayed so.
+        // Only used for early termination, so not part of the checkpoint
+        @JsonIgnore
+        transient String leadingType = null;
+
+        @JsonIgnore
+        transient long stableCount = 0;
+
+        ColumnState(String name, boolean collectStatistics) {
+            this.name = name;
+            this.statistics = (collectStatistics) ? new ColumnStatistics() : null;
+        }
+
+        @JsonCreator
+        ColumnState(
+                @JsonProperty("name") String name,
+                @JsonProperty("format") String format,
+                @JsonProperty("typeCounts") Map<String, Long> typeCounts,
+                @JsonProperty("samples") Map<String, List<String>> samples,
+                @JsonProperty("statistics") ColumnStatistics statistics) {
+            this.name = name;
+            this.format = format;
+            if (null != typeCounts) {
+                this.typeCounts.putAll(typeCounts);
+            }
+            if (null != samples) {
+                samples.forEach((type, values) -> this.samples.put(type, new ArrayList<>(values)));
+            }
+            this.statistics = statistics;
+        }
+
+        void addValue(String datum) {
+            String[] typeAndFormat = TypeInferrer.findType(datum, format);
+            String type = typeAndFormat[0];
+            format = typeAndFormat[1];
+            long count = typeCounts.merge(type, 1L, Long::sum);
+            if (!type.equals(FIELD_TYPE_ANY)) {
+                addSample(type, datum);
+            }
+            if (null != statistics) {
+                statistics.addValue(datum, type);
+            }
+            if (null == leadingType) {
+                leadingType = getMostFrequentType();
+                stableCount = 0;
+            } else if ((!type.equals(leadingType)) && (count > typeCounts.get(leadingType))) {
+                leadingType = type;
+                stableCount = 0;
+                return;
+            }
+            stableCount++;
+        }
+
+        // count empty values for rows that lacked this column
+        void addEmptyValues(long count) {
+            if (count <= 0) {
+                return;
+            }
+            typeCounts.merge(FIELD_TYPE_ANY, count, Long::sum);
+            if (null != statistics) {
+                statistics.addNulls(count);
+            }
+        }
+
+        private void addSample(String type, String datum) {
+            List<String> typeSamples = samples.computeIfAbsent(type, (t) -> new ArrayList<>());
+            if (typeSamples.size() < MAX_SAMPLES_PER_TYPE) {
+                typeSamples.add(datum);
+            }
+        }
+
+        void merge(ColumnState other) {
+            other.typeCounts.forEach((type, count) -> typeCounts.merge(type, count, Long::sum));
+            other.samples.forEach((type, values) -> values.forEach((v) -> addSample(type, v)));
+            leadingType = null;
+            stableCount = 0;
+            if ((null != statistics) && (null != other.statistics)) {
+                statistics.merge(other.statistics);
+            } else {
+                // statistics that do not cover all values would yield wrong constraints
+                statistics = null;
+            }
+            if (null == format) {
+                format = other.format;
+            } else if ((null != other.format) && (!format.equals(other.format))) {
+                format = Field.FIELD_FORMAT_DEFAULT;
+            }
+        }
+
+        /**
+         * @return the type found most often or `null` if no data was found
+         */
+        String getMostFrequentType() {
+            long count = 0;
+            String key = null;
+            for (Map.Entry<String, Long> entry : typeCounts.entrySet()) {
+                if (entry.getValue() > count) {
+                    count = entry.getValue();
+                    key = entry.getKey();
+                }
+            }
+            return key;
+        }
+
+        /**
+         * Share of the values that match the most frequent type. Empty values are compatible with every
+         * type and are not counted, unless the column holds nothing but empty values.
+         * @return a value between 0 and 1, 0 if no data was found
+         */
+        double getConfidence() {
+            String type = getMostFrequentType();
+            if (null == type) {
+                return 0;
+            }
+            long total = 0;
+            for (long count : typeCounts.values()) {
+                total += count;
+            }
+            if (!type.equals(FIELD_TYPE_ANY)) {
+                total -= typeCounts.getOrDefault(FIELD_TYPE_ANY, 0L);
+            }
+            return (double) typeCounts.get(type) / total;
+        }
+    }
+}
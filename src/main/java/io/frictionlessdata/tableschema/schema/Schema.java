@@ -15,6 +15,7 @@ import io.frictionlessdata.tableschema.fk.ForeignKey;
 import io.frictionlessdata.tableschema.io.FileReference;
 import io.frictionlessdata.tableschema.io.LocalFileReference;
 import io.frictionlessdata.tableschema.io.URLFileReference;
+import io.frictionlessdata.tableschema.tabledatasource.TableDataSource;
 import io.frictionlessdata.tableschema.util.JsonUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,6 +25,8 @@ import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -62,10 +65,6 @@ public class Schema implements SchemaInterface{
     @JsonIgnore
     private Charset charset = StandardCharsets.UTF_8;
 
-    // the schema validator
-    @JsonIgnore
-    private FormalSchemaValidator tableFormalSchemaValidator = null;
-
     /**
      * List of {@link Field}s of this schema
      */
@@ -107,7 +106,6 @@ public class Schema implements SchemaInterface{
      * Create an empty table schema without strict validation
      */
     public Schema() {
-        this.initValidator();
     }
 
     /**
@@ -117,7 +115,6 @@ public class Schema implements SchemaInterface{
      */
     public Schema(boolean strict) {
         this.strictValidation = strict;
-        this.initValidator();
     }
 
     /**
@@ -131,7 +128,6 @@ public class Schema implements SchemaInterface{
         this.strictValidation = strict;
         this.fields = new ArrayList<>(fields);
 
-        initValidator();
         validate();
     }
 
@@ -213,7 +209,7 @@ public class Schema implements SchemaInterface{
      * @throws TypeInferringException if inferring of the Schema fails
      */
     public static Schema infer(List<Object[]> data, String[] headers) throws TypeInferringException, IOException {
-        return fromJson(TypeInferrer.getInstance().infer(data, headers), true);
+        return TypeInferrer.getInstance().infer(data, headers);
     }
 
     /**
@@ -227,7 +223,110 @@ public class Schema implements SchemaInterface{
      * @throws IOException            if an underlying IOException is thrown
      */
     public static Schema infer(List<Object[]> data, String[] headers, int rowLimit) throws TypeInferringException, IOException {
-        return fromJson(TypeInferrer.getInstance().infer(data, headers, rowLimit), true);
+        return TypeInferrer.getInstance().infer(data, headers, rowLimit);
+    }
+
+    /**
+     * Infer the data types and the Field constraints (`required`, `unique`, `minimum`/`maximum`,
+     * `minLength`/`maxLength` and `enum`) in one pass over the data and return the generated schema.
+     *
+     * @param data     a List of table rows
+     * @param headers  the table headers
+     * @param rowLimit maximal number of rows to use for Schema inferral
+     * @param options  thresholds for inferring the constraints
+     * @return Schema generated from the inferred input
+     * @throws TypeInferringException if inferring of the Schema fails
+     * @throws IOException            if an underlying IOException is thrown
+     */
+    public static Schema infer(List<Object[]> data, String[] headers, int rowLimit, InferenceOptions options)
+            throws TypeInferringException, IOException {
+        return TypeInferrer.getInstance().infer(data, headers, rowLimit, options);
+    }
+
+    /**
+     * Infer the data types and, depending on `options`, the Field constraints and return a report holding
+     * the generated Schema and, per column, the type distribution, conflicting sample values and a confidence
+     * score. If `options` define a stability window, inferral stops reading rows as soon as the types
+     * of all columns are stable.
+     *
+     * @param data     a List of table rows
+     * @param headers  the table headers
+     * @param rowLimit maximal number of rows to use for Schema inferral
+     * @param options  thresholds for inferring the constraints and for early termination, may be `null`
+     * @return the inferral report
+     * @throws TypeInferringException if inferring of the Schema fails
+     */
+    public static InferenceReport inferReport(List<Object[]> data, String[] headers, int rowLimit,
+                                              InferenceOptions options) throws TypeInferringException {
+        return inferReport(data.iterator(), headers, rowLimit, options);
+    }
+
+    /**
+     * Like {@link #inferReport(List, String[], int, InferenceOptions)}, but reads the rows from an Iterator,
+     * so with early termination only the rows needed are read from the underlying source.
+     *
+     * @param rows     an Iterator over table rows
+     * @param headers  the table headers
+     * @param rowLimit maximal number of rows to use for Schema inferral
+     * @param options  thresholds for inferring the constraints and for early termination, may be `null`
+     * @return the inferral report
+     * @throws TypeInferringException if inferring of the Schema fails
+     */
+    public static InferenceReport inferReport(Iterator<? extends Object[]> rows, String[] headers, int rowLimit,
+                                              InferenceOptions options) throws TypeInferringException {
+        return TypeInferrer.getInstance().inferReport(rows, headers, rowLimit, options);
+    }
+
+    /**
+     * Infer a Schema from a CSV or JSON file without reading the whole file. Format and CSV
+     * delimiter are detected from the first few KB, and only the rows up to `rowLimit` are parsed.
+     * A byte order mark in the file overrides `charset`.
+     *
+     * @param path     the file to read
+     * @param charset  the character encoding of the file
+     * @param rowLimit maximal number of rows to use for Schema inferral, -1 for no limit
+     * @return the inferred Schema
+     * @throws IOException if reading the file fails
+     * @throws TypeInferringException if inferring of the Schema fails
+     */
+    public static Schema infer(Path path, Charset charset, int rowLimit) throws IOException, TypeInferringException {
+        try (InputStream is = Files.newInputStream(path)) {
+            return infer(is, charset, rowLimit);
+        }
+    }
+
+    /**
+     * Infer a Schema from CSV or JSON data read from an InputStream, see {@link #infer(Path, Charset, int)}.
+     * The stream is not closed; reading stops after the last row needed.
+     *
+     * @param is       the data to read
+     * @param charset  the character encoding of the data
+     * @param rowLimit maximal number of rows to use for Schema inferral, -1 for no limit
+     * @return the inferred Schema
+     * @throws IOException if reading fails
+     * @throws TypeInferringException if inferring of the Schema fails
+     */
+    public static Schema infer(InputStream is, Charset charset, int rowLimit) throws IOException, TypeInferringException {
+        return inferReport(is, charset, rowLimit, null).getSchema();
+    }
+
+    /**
+     * Like {@link #infer(InputStream, Charset, int)}, but infers constraints if `options` are given and
+     * returns the inferral report. With a stability window set in `options`, reading stops as soon
+     * as the types are stable.
+     *
+     * @param is       the data to read, the stream is not closed
+     * @param charset  the character encoding of the data, overridden by a byte order mark
+     * @param rowLimit maximal number of rows to use for Schema inferral, -1 for no limit
+     * @param options  thresholds for inferring the constraints and for early termination, may be `null`
+     * @return the inferral report
+     * @throws IOException if reading fails
+     * @throws TypeInferringException if inferring of the Schema fails
+     */
+    public static InferenceReport inferReport(InputStream is, Charset charset, int rowLimit, InferenceOptions options)
+            throws IOException, TypeInferringException {
+        BufferedReader reader = TableDataSource.openReader(is, charset);
+        return TypeInferrer.getInstance().inferReport(reader, rowLimit, options);
     }
 
     /**
@@ -291,10 +390,9 @@ public class Schema implements SchemaInterface{
                             urls.add(url);
                         } catch (Exception e) {
                             // Not a valid URL, treat as local file path
-                            try {
-                                Files.readString(new File((String)row).toPath()); // Check if it's a valid file path
+                            if (isReadableFile((String)row)) {
                                 paths.add(new File((String)row));
-                            } catch (Exception e2) {
+                            } else {
                                 // Not a valid file path, treat as string data
                                 s.add((String)row);
                             }
@@ -317,10 +415,9 @@ public class Schema implements SchemaInterface{
                             urls.add(url);
                         } catch (Exception e) {
                             // Not a valid URL, treat as local file path
-                            try {
-                                Files.readString(new File(row).toPath()); // Check if it's a valid file path
+                            if (isReadableFile(row)) {
                                 paths.add(new File(row));
-                            } catch (Exception e2) {
+                            } else {
                                 // Not a valid file path, treat as string data
                                 s.add(row);
                             }
@@ -344,29 +441,7 @@ public class Schema implements SchemaInterface{
                 throw new IllegalStateException("Cannot infer schema from provided data type");
             }
         }
-        if (paths != null && !paths.isEmpty()) {
-            paths.forEach((f) -> {
-                try {
-                    s.add(Files.readString(f.toPath()));
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            });
-        }
-        if (urls != null && !urls.isEmpty()) {
-            urls.forEach((url) -> {
-                try {
-                    InputStream str = url.openStream();
-                    try (BufferedReader reader = new BufferedReader(new InputStreamReader(str, charset))) {
-                        s.add(reader.lines().collect(Collectors.joining("\n")));
-                    }
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-
-            });
-        }
-        if (s.isEmpty()){
+        if (s.isEmpty() && paths.isEmpty() && urls.isEmpty()){
             throw new IllegalStateException("No valid data source provided for schema inference");
         }
         List<Schema> schemas = new ArrayList<>();
@@ -376,6 +451,19 @@ public class Schema implements SchemaInterface{
             Schema schema = table.inferSchema(headers, rowLimit);
             schemas.add(schema);
         }
+        // files and URLs are streamed, only the rows needed for inferral are read
+        try {
+            for (File f : paths) {
+                schemas.add(infer(f.toPath(), StandardCharsets.UTF_8, rowLimit));
+            }
+            for (URL url : urls) {
+                try (InputStream str = url.openStream()) {
+                    schemas.add(infer(str, charset, rowLimit));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
         Schema lastSchema = null;
         for (Schema schema: schemas) {
             if (null == lastSchema) {
@@ -688,6 +776,7 @@ public class Schema implements SchemaInterface{
     @Override
     @JsonIgnore
     public void validate() throws ValidationException{
+        FormalSchemaValidator tableFormalSchemaValidator = TableSchemaValidatorHolder.VALIDATOR;
         String json = this.asJson();
         Set<ValidationMessage> messages = tableFormalSchemaValidator.validate(json);
         if (!messages.isEmpty()) {
@@ -726,10 +815,23 @@ public class Schema implements SchemaInterface{
         }
     }
 
-    private void initValidator() {
-        // Init for validation
-        InputStream tableSchemaInputStream = TypeInferrer.class.getResourceAsStream("/schemas/table-schema.json");
-        this.tableFormalSchemaValidator = FormalSchemaValidator.fromJson(tableSchemaInputStream);
+    /**
+     * Holds the validator for the table-schema.json. Parsing the JSON schema is costly, so it is done once
+     * on first validation and shared by all Schema instances; validating does not change its state.
+     */
+    private static class TableSchemaValidatorHolder {
+        private static final FormalSchemaValidator VALIDATOR = FormalSchemaValidator.fromJson(
+                TypeInferrer.class.getResourceAsStream("/schemas/table-schema.json"));
+    }
+
+    // check whether `path` points to a file without reading it
+    private static boolean isReadableFile(String path) {
+        try {
+            Path p = new File(path).toPath();
+            return Files.isRegularFile(p) && Files.isReadable(p);
+        } catch (InvalidPathException ex) {
+            return false;
+        }
     }
 
     private void validatePrimaryKeyComponent(String foundFieldName) throws ValidationException {
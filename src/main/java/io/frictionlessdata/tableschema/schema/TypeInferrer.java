@@ -1,10 +1,25 @@
 package io.frictionlessdata.tableschema.schema;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.common.collect.Iterators;
 import io.frictionlessdata.tableschema.exception.TypeInferringException;
 import io.frictionlessdata.tableschema.field.Field;
+import io.frictionlessdata.tableschema.tabledatasource.DetectedFormat;
+import io.frictionlessdata.tableschema.tabledatasource.FormatSniffer;
+import io.frictionlessdata.tableschema.tabledatasource.TableDataSource;
 import io.frictionlessdata.tableschema.util.JsonUtil;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
 import org.apache.commons.lang3.StringUtils;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigInteger;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -25,9 +40,6 @@ public class TypeInferrer {
      */
     private static TypeInferrer instance = null;
 
-    private final Map<String, Map<String, Integer>> typeInferralMap = new HashMap<>();
-    private final Map<String, String> formatMap = new HashMap<>();
-    
     // The order in which the types will be attempted to be inferred.
     // Once a type is successfully inferred, we do not bother with the remaining types.
     private static final List<String[]> TYPE_INFERRAL_ORDER_LIST = new ArrayList<>(Arrays.asList(
@@ -51,6 +63,15 @@ public class TypeInferrer {
         new String[]{FIELD_TYPE_ANY, Field.FIELD_FORMAT_DEFAULT})); // No different formats, just use default.
 
     
+    // One Field instance per entry of TYPE_INFERRAL_ORDER_LIST. Parsing values does not
+    // change the state of a Field, so we can share them instead of creating one per value.
+    private static final List<Field<?>> INFERRAL_FIELDS = new ArrayList<>();
+    static {
+        for (String[] typeInferralDefinition : TYPE_INFERRAL_ORDER_LIST) {
+            INFERRAL_FIELDS.add(Field.forType(typeInferralDefinition[0]));
+        }
+    }
+
     private TypeInferrer(){
         // Private to enforce use of Singleton pattern.
     }
@@ -68,10 +89,10 @@ public class TypeInferrer {
      * data size
      * @param data List of table rows
      * @param headers the table headers
-     * @return Return Schema as a String
+     * @return the generated Schema
      * @throws TypeInferringException if inferring the schema fails
      */
-    synchronized String infer(List<Object[]> data, String[] headers) throws TypeInferringException{
+    synchronized Schema infer(List<Object[]> data, String[] headers) throws TypeInferringException{
         return this.infer(data, headers, -1);
     }
     
@@ -80,142 +101,311 @@ public class TypeInferrer {
      * @param data  List of table rows
      * @param headers the table headers
      * @param rowLimit the max number of rows to scan
-     * @return Return Schema as a String
+     * @return the generated Schema
      * @throws TypeInferringException  if inferring the schema fails
      */
-    synchronized String infer(List<Object[]> data, String[] headers, int rowLimit) throws TypeInferringException{
-        // If the given row limit is bigger than the length of the data
-        // then just use the length of the data.
-        if(rowLimit > data.size()-1){
-            rowLimit = data.size()-1;
-            //If `rowLimit ` is '-1', no row limiting will be enforced
-        } else if(rowLimit == -1){
-            rowLimit = data.size()-1;
-        }
-
-
-        // The array that will define the fields in the schema JSON Object.
-        List<Map<String,Object>> fieldArray = new ArrayList<>();
-        
-        // Init the type inferral map and init the schema objects
-        for (String header : headers) {
-            // Init the type inferral map to track our inferences for each row.
-            this.getTypeInferralMap().put(header, new HashMap<>());
-            
-            // Init the schema objects
-            Map<String, Object> fieldObj = new HashMap<>();
-            fieldObj.put(Field.JSON_KEY_NAME, header);
-            fieldObj.put(Field.JSON_KEY_TITLE, ""); // This will stay blank.
-            fieldObj.put(Field.JSON_KEY_DESCRIPTION, ""); // This will stay blank.
-            fieldObj.put(Field.JSON_KEY_FORMAT, ""); // This will bet set post inferral.
-            fieldObj.put(Field.JSON_KEY_TYPE, ""); // This will bet set post inferral.
-
-            // Wrap it all in an array.
-            fieldArray.add(fieldObj);
-        }
+    synchronized Schema infer(List<Object[]> data, String[] headers, int rowLimit) throws TypeInferringException{
+        return infer(data, headers, rowLimit, null);
+    }
+
+    /**
+     * Infer the data types and, if `options` are given, the Field constraints in the same pass over the
+     * data and return the generated schema.
+     * @param data  List of table rows
+     * @param headers the table headers
+     * @param rowLimit the max number of rows to scan
+     * @param options the options for inferring constraints and early termination, `null` to only infer types
+     * @return the generated Schema
+     * @throws TypeInferringException  if inferring the schema fails
+     */
+    synchronized Schema infer(List<Object[]> data, String[] headers, int rowLimit, InferenceOptions options)
+            throws TypeInferringException{
+        return inferReport(data.iterator(), headers, rowLimit, options).getSchema();
+    }
+
+    /**
+     * Infer the data types and, if `options` are given, the Field constraints in the same pass over the
+     * data and return a report with the generated schema and the type distribution of each column.
+     * If `options` define a stability window, reading stops as soon as the types are stable.
+     * @param rows  Iterator over the table rows
+     * @param headers the table headers
+     * @param rowLimit the max number of rows to scan, -1 for no limit
+     * @param options the options for inferring constraints and early termination, `null` to only infer types
+     * @return the inferral report
+     * @throws TypeInferringException  if inferring the schema fails
+     */
+    InferenceReport inferReport(Iterator<? extends Object[]> rows, String[] headers, int rowLimit,
+                                InferenceOptions options) throws TypeInferringException{
+        // As in previous versions, a row limit of n scans rows 0 to n, so n+1 rows.
+        // If `rowLimit ` is '-1', no row limiting will be enforced
+        long maxRows = (rowLimit == -1) ? Long.MAX_VALUE : rowLimit + 1L;
 
         // Find the type for each column data for each row.
-        // This uses method invokation via reflection in a foor loop that iterates
-        // for each possible type/format combo. Insprect the findType method for implementation.
-        for(int i = 0; i <= rowLimit; i++){
-            Object[] row = data.get(i);
-            
-            for(int j = 0; j < row.length; j++){
-                this.findType(headers[j], (null == row[j]) ? "" : row[j].toString());
+        InferenceState state = new InferenceState(headers, (null != options) && options.requiresStatistics());
+        boolean terminatedEarly = false;
+        long cnt = 0;
+        while ((cnt < maxRows) && rows.hasNext()) {
+            state.addRow(headers, rows.next());
+            cnt++;
+            if (state.isStable(options)) {
+                terminatedEarly = rows.hasNext() && (cnt < maxRows);
+                break;
             }
         }
-        
-        // We are done inferring types.
-        // Now for each field we figure out which type was the most inferred and settle for that type
-        // as the final type for the field.
-        for(int j=0; j < fieldArray.size(); j++){
-            String fieldName = fieldArray.get(j).get(Field.JSON_KEY_NAME).toString();
-            Map<String, Integer> typeInferralCountMap = this.getTypeInferralMap().get(fieldName);
-            String inferredType = sortMapByValue(typeInferralCountMap);
-           
-            if(!StringUtils.isEmpty(inferredType)){
-                fieldArray.get(j).put(Field.JSON_KEY_TYPE, inferredType);
-                fieldArray.get(j).put(Field.JSON_KEY_FORMAT, formatMap.get(headers[j]));
+
+        return new InferenceReport(state, toSchema(state, false, options), terminatedEarly);
+    }
+
+    /**
+     * Infer the data types from CSV, JSON array or JSON Lines data read from `reader`. Format and CSV delimiter are
+     * guessed from the first few KB, then only the sampled rows are parsed; the rest of the
+     * input is never read. Memory use is bounded by the size of one row.
+     * @param reader the data to read, must support mark/reset
+     * @param rowLimit the max number of rows to scan, -1 for no limit
+     * @param options the options for inferring constraints and early termination, `null` to only infer types
+     * @return the inferral report
+     * @throws IOException if reading fails
+     * @throws TypeInferringException  if inferring the schema fails
+     */
+    InferenceReport inferReport(BufferedReader reader, int rowLimit, InferenceOptions options)
+            throws IOException, TypeInferringException {
+        String sample = FormatSniffer.readSample(reader, FormatSniffer.DEFAULT_SAMPLE_SIZE);
+        DetectedFormat detected = FormatSniffer.sniff(sample);
+        TableDataSource.Format dataFormat = detected.getFormat();
+        ObjectMapper mapper = JsonUtil.getInstance().getMapper();
+        if (dataFormat == TableDataSource.Format.FORMAT_JSON) {
+            JsonParser parser = mapper.getFactory().createParser(reader);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new TypeInferringException("Expected a JSON array");
             }
+            return inferJsonReport(new JsonArrayRows(parser), rowLimit, options);
+        } else if (dataFormat == TableDataSource.Format.FORMAT_NDJSON) {
+            // Jackson reads a sequence of root-level values separated by whitespace
+            Iterator<JsonNode> rows = mapper.readerFor(JsonNode.class).readValues(reader);
+            return inferJsonReport(rows, rowLimit, options);
         }
-        
-        // Need to clear the inferral map for the next inferral call:
-        this.getTypeInferralMap().clear();
-        this.formatMap.clear();
+        // the header row is always read, as the Schema needs field names
+        CSVFormat format = TableDataSource.getDefaultCsvFormat()
+                .builder()
+                .setDelimiter(detected.getDelimiter())
+                .setQuote(detected.getQuote())
+                .get();
+        CSVParser parser = CSVParser.builder().setReader(reader).setFormat(format).get();
+        String[] headers = parser.getHeaderMap().keySet().toArray(new String[0]);
+        Iterator<String[]> rows = Iterators.transform(parser.iterator(), CSVRecord::values);
+        return inferReport(rows, headers, rowLimit, options);
+    }
 
-        // Now that the types have been inferred and set, we build and return the schema object.
-        Map<String, Object> schemaJsonObject = new HashMap<>();
-        schemaJsonObject.put(Schema.JSON_KEY_FIELDS, fieldArray);
-        
-        return JsonUtil.getInstance().serialize(schemaJsonObject);
+    // Stream JSON rows one by one. Rows are either JSON objects or arrays, in the
+    // latter case the first array holds the headers.
+    private InferenceReport inferJsonReport(Iterator<JsonNode> rows, int rowLimit, InferenceOptions options) {
+        long maxRows = (rowLimit == -1) ? Long.MAX_VALUE : rowLimit + 1L;
+        boolean collectStatistics = (null != options) && options.requiresStatistics();
+        InferenceState state = new InferenceState(collectStatistics);
+        String[] headers = null;
+        boolean terminatedEarly = false;
+        long cnt = 0;
+        while ((cnt < maxRows) && rows.hasNext()) {
+            JsonNode node = rows.next();
+            if (node instanceof ArrayNode) {
+                List<String> values = new ArrayList<>();
+                node.elements().forEachRemaining((n) -> values.add(n.asText("")));
+                if (null == headers) {
+                    headers = values.toArray(new String[0]);
+                    state = new InferenceState(headers, collectStatistics);
+                    continue;
+                }
+                state.addRow(headers, values.toArray());
+            } else {
+                List<String> keys = new ArrayList<>();
+                List<String> values = new ArrayList<>();
+                node.properties().forEach((e) -> {
+                    keys.add(e.getKey());
+                    JsonNode val = e.getValue();
+                    values.add(val.isContainerNode() ? val.toString() : val.asText(""));
+                });
+                state.addRow(keys.toArray(new String[0]), values.toArray());
+            }
+            cnt++;
+            if (state.isStable(options)) {
+                terminatedEarly = (cnt < maxRows) && rows.hasNext();
+                break;
+            }
+        }
+        // JSON objects may omit keys, treat them like empty values as the JsonArrayTableDataSource does
+        state.padMissingValues();
+        return new InferenceReport(state, toSchema(state, false, options), terminatedEarly);
     }
-    
-    private void findType(String header, String datum){
-        // fixes https://github.com/frictionlessdata/tableschema-java/issues/72
-        if (StringUtils.isEmpty(datum)) {
-            updateInferralScoreMap(header, FIELD_TYPE_ANY);
-            formatMap.put(header, "default");
-            return;
+
+    // The elements of a JSON array, read from the token stream
+    private static class JsonArrayRows implements Iterator<JsonNode> {
+        private final JsonParser parser;
+        private Boolean hasNext = null;
+
+        JsonArrayRows(JsonParser parser) {
+            this.parser = parser;
         }
-        // Go through all the field types and call their parsing method to find
-        // the first that won't throw
-        for(String[] typeInferralDefinition: TYPE_INFERRAL_ORDER_LIST){
-            // Keep invoking the type casting methods until one doesn't throw an exception
-            String dataType = typeInferralDefinition[0];
 
-            Field<?> field = Field.forType(dataType);
-            String format = formatMap.get(header);
-            if (null == format) {
-                format = field.parseFormat(datum, null);
+        @Override
+        public boolean hasNext() {
+            if (null == hasNext) {
+                try {
+                    JsonToken token = parser.nextToken();
+                    hasNext = (token == JsonToken.START_OBJECT) || (token == JsonToken.START_ARRAY);
+                } catch (IOException ex) {
+                    throw new TypeInferringException(ex);
+                }
             }
-            if (field.isCompatibleValue(datum, format)) {
-                this.formatMap.put(header, format);
-                // If no exception is thrown, it means that a type has been inferred.
-                // Let's keep track of it in the inferral map.
-                this.updateInferralScoreMap(header, field.getType());
+            return hasNext;
+        }
 
-                // We no longer need to try to infer other types.
-                // Let's break out of the loop.
-                break;
+        @Override
+        public JsonNode next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            hasNext = null;
+            try {
+                return parser.readValueAsTree();
+            } catch (IOException ex) {
+                throw new TypeInferringException(ex);
             }
         }
     }
-    
+
     /**
-     * The type inferral map is where we keep track of the types inferred for values within the same field.
-     * @param header the column header in the table
-     * @param typeKey type of the column
+     * Turn the accumulated type counts into a Schema. For each field we figure out which
+     * type to settle for as the final type for the field: either the type that was inferred the most
+     * or, if `widen` is true, the narrowest type that can hold all values.
+     *
+     * The Fields are created directly instead of via a JSON representation. As they are valid by
+     * construction, the Schema is not validated here; formal validation only runs if
+     * {@link Schema#validate()} or {@link Schema#isValid()} are called.
+     * @param state the accumulated type counts
+     * @param widen whether to reconcile conflicting types by widening
+     * @param options the options for inferring constraints from the column statistics, `null`
+     *                to not infer constraints
+     * @return the generated Schema
      */
-    private void updateInferralScoreMap(String header, String typeKey){
-        if(this.getTypeInferralMap().get(header).containsKey(typeKey)){
-            int newCount = this.typeInferralMap.get(header).get(typeKey) + 1;
-            this.getTypeInferralMap().get(header).replace(typeKey, newCount);
-        }else{
-            this.getTypeInferralMap().get(header).put(typeKey, 1);
+    Schema toSchema(InferenceState state, boolean widen, InferenceOptions options) {
+        List<Field<?>> fields = new ArrayList<>();
+
+        for (String header : state.getHeaders()) {
+            InferenceState.ColumnState column = state.getColumn(header);
+            String inferredType = (widen)
+                    ? InferenceState.widen(column.typeCounts)
+                    : column.getMostFrequentType();
+
+            Field<?> field;
+            if(!StringUtils.isEmpty(inferredType)){
+                field = Field.forType(inferredType, header);
+                // a widened type does not necessarily share the format of the values it was widened from
+                boolean widened = widen && !column.typeCounts.containsKey(inferredType);
+                field.setFormat(widened ? Field.FIELD_FORMAT_DEFAULT : column.format);
+                if ((null != options) && (null != column.statistics)) {
+                    Map<String, Object> constraints = inferConstraints(inferredType, column.statistics, options);
+                    if (!constraints.isEmpty()) {
+                        field.setConstraints(constraints);
+                    }
+                }
+            } else {
+                // no data for this column, type and format stay blank
+                field = Field.forType("", header);
+                field.setFormat("");
+            }
+            field.setTitle(""); // This will stay blank.
+            field.setDescription(""); // This will stay blank.
+            fields.add(field);
         }
+
+        Schema schema = new Schema(true);
+        schema.fields = fields;
+        return schema;
     }
-    
+
     /**
-     * We use a map to keep track the inferred type counts for each field.
-     * Once we are done inferring, we settle for the type with that was inferred
-     * the most for the same field. Here we sort by score
-     * @param map the mapping of types to score to sort
-     * @return Type with the highest score
+     * Derive Field constraints from the statistics of a column. Range constraints are only inferred
+     * for integer and number Fields, length and enum constraints only for string Fields, as the
+     * other Field types would need the constraint values in their own Java types.
+     * @param type the inferred type of the column
+     * @param stats the statistics of the column
+     * @param options the thresholds for inferring constraints
+     * @return the constraints, possibly empty
      */
-    private String sortMapByValue(Map<String, Integer> map){
-        int count = 0;
-        String key = null;
-        for (Map.Entry<String, Integer> entry : map.entrySet()) {
-            if (entry.getValue() > count) {
-                count = entry.getValue();
-                key = entry.getKey();
+    static Map<String, Object> inferConstraints(String type, ColumnStatistics stats, InferenceOptions options) {
+        Map<String, Object> constraints = new LinkedHashMap<>();
+        if (stats.getValueCount() == 0) {
+            return constraints;
+        }
+        if (options.isInferRequired() && (stats.getNullCount() == 0)) {
+            constraints.put(Field.CONSTRAINT_KEY_REQUIRED, true);
+        }
+        if (options.isInferUnique() && stats.isUnique(options.getUniqueTolerance())) {
+            constraints.put(Field.CONSTRAINT_KEY_UNIQUE, true);
+        }
+        if (options.isInferRange() && (null != stats.getMinimum())) {
+            if (type.equals(Field.FIELD_TYPE_INTEGER)) {
+                constraints.put(Field.CONSTRAINT_KEY_MINIMUM, asJsonInteger(stats.getMinimum().toBigInteger()));
+                constraints.put(Field.CONSTRAINT_KEY_MAXIMUM, asJsonInteger(stats.getMaximum().toBigInteger()));
+            } else if (type.equals(Field.FIELD_TYPE_NUMBER)) {
+                constraints.put(Field.CONSTRAINT_KEY_MINIMUM, stats.getMinimum().doubleValue());
+                constraints.put(Field.CONSTRAINT_KEY_MAXIMUM, stats.getMaximum().doubleValue());
             }
         }
+        if (type.equals(Field.FIELD_TYPE_STRING)) {
+            if (options.isInferLength()) {
+                constraints.put(Field.CONSTRAINT_KEY_MIN_LENGTH, stats.getMinLength());
+                constraints.put(Field.CONSTRAINT_KEY_MAX_LENGTH, stats.getMaxLength());
+            }
+            int distinct = (int) stats.getDistinctCount();
+            if (stats.isTopValuesExact()
+                    && (distinct <= options.getMaxEnumSize())
+                    && (stats.getValueCount() >= (long) distinct * options.getMinEnumValueFrequency())) {
+                List<String> values = new ArrayList<>();
+                for (Map.Entry<String, Long> entry : stats.getTopValues(distinct)) {
+                    values.add(entry.getKey());
+                }
+                Collections.sort(values);
+                constraints.put(Field.CONSTRAINT_KEY_ENUM, values);
+            }
+        }
+        return constraints;
+    }
 
-        return key;
+    // Use the same Java types Jackson would use when reading the constraint from JSON, so an inferred
+    // Schema equals its own deserialized form.
+    private static Number asJsonInteger(BigInteger value) {
+        if (value.bitLength() < 32) {
+            return value.intValue();
+        } else if (value.bitLength() < 64) {
+            return value.longValue();
+        }
+        return value;
     }
 
-    private Map<String, Map<String, Integer>> getTypeInferralMap(){
-        return this.typeInferralMap;
+    /**
+     * Go through all the field types and call their parsing method to find the first that won't throw.
+     * @param datum the value to find the type for
+     * @param format the format found for previous values of the same column or `null`
+     * @return a two-element array holding the inferred type and the format to use for the column
+     */
+    static String[] findType(String datum, String format){
+        // fixes https://github.com/frictionlessdata/tableschema-java/issues/72
+        if (StringUtils.isEmpty(datum)) {
+            return new String[]{FIELD_TYPE_ANY, "default"};
+        }
+        for(Field<?> field : INFERRAL_FIELDS){
+            // Keep invoking the type casting methods until one doesn't throw an exception
+            String locFormat = format;
+            if (null == locFormat) {
+                locFormat = field.parseFormat(datum, null);
+            }
+            if (field.isCompatibleValue(datum, locFormat)) {
+                // If no exception is thrown, it means that a type has been inferred.
+                // We no longer need to try to infer other types.
+                return new String[]{field.getType(), locFormat};
+            }
+        }
+        return new String[]{FIELD_TYPE_ANY, format};
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,179 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.frictionlessdata.tableschema.exception.TableIOException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Base class for {@link TableDataSource}s that read JSON rows from a file one at a time instead of loading the
+ * whole document. Each row is either a JSON object or a JSON array of values, with the first array holding the
+ * column names.
+ *
+ * For JSON objects, the column names are the keys found in the first {@link #setHeaderScanLimit(int)}
+ * rows plus any names set via {@link #setDeclaredHeaders(String[])}, e.g. from a Schema. Keys that first appear
+ * after the scanned rows are ignored unless declared.
+ */
+public abstract class AbstractStreamingJsonTableDataSource extends AbstractTableDataSource<Path> {
+    private static final int DEFAULT_HEADER_SCAN_LIMIT = 1000;
+
+    private int headerScanLimit = DEFAULT_HEADER_SCAN_LIMIT;
+    private String[] declaredHeaders = null;
+    Boolean arrayRows = null;
+
+    AbstractStreamingJsonTableDataSource(Path dataFile) {
+        super(dataFile);
+    }
+
+    /**
+     * Open the file and return an iterator over the rows, which closes the file after the last row.
+     */
+    abstract JsonRowIterator openRows();
+
+    /**
+     * Set the number of rows that are scanned for keys if the rows are JSON objects. A negative
+     * value scans all rows.
+     */
+    public AbstractStreamingJsonTableDataSource setHeaderScanLimit(int headerScanLimit) {
+        this.headerScanLimit = headerScanLimit;
+        this.headers = null;
+        return this;
+    }
+
+    public int getHeaderScanLimit() {
+        return headerScanLimit;
+    }
+
+    /**
+     * Set column names that are always part of the headers if the rows are JSON objects, even if no
+     * scanned row contains them. {@link io.frictionlessdata.tableschema.Table} sets the names of the
+     * Schema fields. Ignored for arrays of arrays, where the first row holds the column names.
+     */
+    public AbstractStreamingJsonTableDataSource setDeclaredHeaders(String[] declaredHeaders) {
+        if (!Arrays.equals(this.declaredHeaders, declaredHeaders)) {
+            this.declaredHeaders = declaredHeaders;
+            this.headers = null;
+        }
+        return this;
+    }
+
+    @Override
+    public boolean hasReliableHeaders() {
+        try {
+            getHeaders();
+            return arrayRows;
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public Iterator<String[]> iterator() {
+        String[] headers = getHeaders();
+        JsonRowIterator iterator = openRows();
+        if (arrayRows && iterator.hasNext()) {
+            // skip the header row
+            iterator.next();
+        }
+        return ClosingIterator.transform(iterator, (row) -> JsonArrayTableDataSource.toRow(row, headers), iterator);
+    }
+
+    @Override
+    public String[] getHeaders() {
+        if (null != this.headers) {
+            return this.headers;
+        }
+        Set<String> headers = new LinkedHashSet<>();
+        JsonRowIterator iterator = openRows();
+        try {
+            arrayRows = false;
+            if (iterator.hasNext()) {
+                JsonNode first = iterator.next();
+                if (first instanceof ArrayNode) {
+                    arrayRows = true;
+                    first.elements().forEachRemaining(f -> headers.add(f.asText()));
+                } else {
+                    if (null != declaredHeaders) {
+                        headers.addAll(Arrays.asList(declaredHeaders));
+                    }
+                    first.fieldNames().forEachRemaining(headers::add);
+                    int scanned = 1;
+                    while (((headerScanLimit < 0) || (scanned < headerScanLimit)) && iterator.hasNext()) {
+                        iterator.next().fieldNames().forEachRemaining(headers::add);
+                        scanned++;
+                    }
+                }
+            }
+        } finally {
+            iterator.close();
+        }
+        this.headers = headers.toArray(new String[]{});
+        return this.headers;
+    }
+
+    /**
+     * Iterator over the JSON rows of a file. Subclasses read the next row in {@link #readRow()}.
+     */
+    abstract static class JsonRowIterator implements Iterator<JsonNode>, Closeable {
+        private JsonNode next = null;
+        private boolean done = false;
+
+        /**
+         * @return the next row or null after the last row
+         */
+        abstract JsonNode readRow() throws IOException;
+
+        abstract void closeSource() throws IOException;
+
+        @Override
+        public boolean hasNext() {
+            if ((null == next) && !done) {
+                try {
+                    next = readRow();
+                    if (null == next) {
+                        close();
+                    } else if (!(next instanceof ObjectNode) && !(next instanceof ArrayNode)) {
+                        close();
+                        throw new TableIOException("Unsupported JSON table row: " + next);
+                    }
+                } catch (IOException ex) {
+                    close();
+                    throw new TableIOException(ex);
+                }
+            }
+            return null != next;
+        }
+
+        @Override
+        public JsonNode next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            JsonNode row = next;
+            next = null;
+            return row;
+        }
+
+        /**
+         * Close the file before the last row is read
+         */
+        @Override
+        public void close() {
+            if (done) {
+                return;
+            }
+            done = true;
+            next = null;
+            try {
+                closeSource();
+            } catch (IOException ex) {
+                throw new TableIOException(ex);
+            }
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package io.frictionlessdata.tableschema.tabledatasource;
 
+import io.frictionlessdata.tableschema.inputstream.BackgroundInputStream;
+import io.frictionlessdata.tableschema.inputstream.ReadAheadStatistics;
+
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -9,10 +18,18 @@ import java.util.List;
  *
  * 
  */
-public abstract class AbstractTableDataSource<T> implements TableDataSource {
+public abstract class AbstractTableDataSource<T> implements TableDataSource, Closeable {
+    // deletes temporary copies of stream data once their data source is closed or unreachable
+    private static final Cleaner CLEANER = Cleaner.create();
+
     String[] headers;
     T dataSource = null;
     File workDir;
+    Charset charset = TableDataSource.getDefaultEncoding();
+    private int readAheadBlockSize = 0;
+    private int readAheadDepth = 0;
+    private final ReadAheadStatistics readAheadStatistics = new ReadAheadStatistics();
+    private Cleaner.Cleanable temporaryFile = null;
 
     AbstractTableDataSource(){}
 
@@ -21,6 +38,48 @@ public abstract class AbstractTableDataSource<T> implements TableDataSource {
     }
 
 
+    /**
+     * Set the charset of file and URL data without a byte order mark. Data with a BOM is always read
+     * in the charset indicated by the BOM.
+     * @param charset the charset, defaults to UTF-8
+     */
+    public void setCharset(Charset charset) {
+        this.charset = (null != charset) ? charset : TableDataSource.getDefaultEncoding();
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Read file and URL data in a background thread that fills a bounded buffer ahead of the parser, so that
+     * network or disk latency and parsing overlap. Off by default.
+     * @param blockSize the size of the buffered blocks in bytes
+     * @param depth the number of blocks read ahead, 0 to read on the parsing thread
+     */
+    public void setReadAhead(int blockSize, int depth) {
+        if ((depth < 0) || ((depth > 0) && (blockSize < 1))) {
+            throw new IllegalArgumentException("Invalid read-ahead block size " + blockSize + " or depth " + depth);
+        }
+        this.readAheadBlockSize = blockSize;
+        this.readAheadDepth = depth;
+    }
+
+    /**
+     * @return the wait times of the read-ahead threads, summed over all streams this data source opened
+     */
+    public ReadAheadStatistics getReadAheadStatistics() {
+        return readAheadStatistics;
+    }
+
+    // wrap the stream in a read-ahead stage, if configured
+    InputStream readAhead(InputStream is) {
+        if (readAheadDepth == 0) {
+            return is;
+        }
+        return new BackgroundInputStream(is, readAheadBlockSize, readAheadDepth, readAheadStatistics);
+    }
+
     @Override
     public List<String[]> getDataAsStringArray() {
         List<String[]> data = new ArrayList<>();
@@ -32,4 +91,39 @@ public abstract class AbstractTableDataSource<T> implements TableDataSource {
         return TableDataSource.getFileContents(path, workDir);
     }
 
+    // delete a temporary copy of the data, see TableDataSource.spool(), with this data source
+    void deleteOnClose(Path file) {
+        temporaryFile = CLEANER.register(this, new FileDeletion(file));
+    }
+
+    /**
+     * Delete the temporary copy of the data if this data source was created from an InputStream. This
+     * happens as well once the data source is garbage collected. Other data sources hold no resources
+     * between iterations.
+     */
+    @Override
+    public void close() {
+        if (null != temporaryFile) {
+            temporaryFile.clean();
+        }
+    }
+
+    // must not reference the data source, or it would never become unreachable
+    private static class FileDeletion implements Runnable {
+        private final Path file;
+
+        FileDeletion(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                // e.g. still open on Windows, nothing left to do
+            }
+        }
+    }
+
 }
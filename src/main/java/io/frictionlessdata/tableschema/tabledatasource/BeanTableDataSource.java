@@ -14,7 +14,7 @@ import java.util.*;
 /**
  * Implements a {@link TableDataSource} based on a Java Bean class.
  */
-public class BeanTableDataSource<C> extends AbstractTableDataSource<C> {
+public class BeanTableDataSource<C> extends AbstractTableDataSource<C> implements IndexedTableDataSource {
 	private final Class<C> type;
 	private final List<C> beans;
 
@@ -81,6 +81,20 @@ public class BeanTableDataSource<C> extends AbstractTableDataSource<C> {
 		});
 	}
 
+	@Override
+	public long getRowCount() {
+		return beans.size();
+	}
+
+	@Override
+	public BeanTableDataSource<C> rowRange(long start, long end) {
+		if ((start < 0) || (end < start)) {
+			throw new IllegalArgumentException("Invalid row range [" + start + ", " + end + ")");
+		}
+		int size = beans.size();
+		return new BeanTableDataSource<>(beans.subList((int) Math.min(start, size), (int) Math.min(end, size)), type);
+	}
+
 	/**
 	 * Let a BeanSchema define the headers.
 	 */
@@ -0,0 +1,45 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The rows of a byte range of a {@link SplittableTableDataSource}
+ */
+class ByteRangeTableDataSource implements TableDataSource {
+    private final SplittableTableDataSource source;
+    private final long start;
+    private final long end;
+
+    ByteRangeTableDataSource(SplittableTableDataSource source, long start, long end) {
+        if ((start < 0) || (end < start)) {
+            throw new IllegalArgumentException("Invalid byte range [" + start + ", " + end + ")");
+        }
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public Iterator<String[]> iterator() {
+        return source.iterator(start, end);
+    }
+
+    @Override
+    public String[] getHeaders() {
+        return source.getHeaders();
+    }
+
+    @Override
+    public List<String[]> getDataAsStringArray() {
+        List<String[]> data = new ArrayList<>();
+        iterator().forEachRemaining(data::add);
+        return data;
+    }
+
+    @Override
+    public boolean hasReliableHeaders() {
+        return source.hasReliableHeaders();
+    }
+}
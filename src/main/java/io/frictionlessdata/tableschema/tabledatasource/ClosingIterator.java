@@ -0,0 +1,73 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import com.google.common.collect.Iterators;
+import io.frictionlessdata.tableschema.exception.TableIOException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * Closes a resource, eg. a CSVParser and with it the underlying file or connection, once
+ * the wrapped Iterator is exhausted, or when the Iterator is closed before.
+ */
+class ClosingIterator<T> implements Iterator<T>, Closeable {
+    private final Iterator<T> delegate;
+    private final Closeable closeable;
+    private boolean closed = false;
+
+    ClosingIterator(Iterator<T> delegate, Closeable closeable) {
+        this.delegate = delegate;
+        this.closeable = closeable;
+    }
+
+    /**
+     * Create a ClosingIterator returning the elements of `delegate` converted by `function`
+     */
+    static <S, T> ClosingIterator<T> transform(Iterator<S> delegate, Function<? super S, T> function, Closeable closeable) {
+        return new ClosingIterator<>(Iterators.transform(delegate, function::apply), closeable);
+    }
+
+    /**
+     * Returns a Closeable that closes `iterator` if it is Closeable, for iterators over a part of the elements
+     * of another iterator
+     */
+    static Closeable closerOf(Iterator<?> iterator) {
+        return () -> {
+            if (iterator instanceof Closeable) {
+                ((Closeable) iterator).close();
+            }
+        };
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        boolean hasNext = delegate.hasNext();
+        if (!hasNext) {
+            close();
+        }
+        return hasNext;
+    }
+
+    @Override
+    public T next() {
+        return delegate.next();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            closeable.close();
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package io.frictionlessdata.tableschema.tabledatasource;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.csv.CSVFormat;
@@ -14,9 +16,17 @@ import org.apache.commons.csv.CSVRecord;
 
 import com.google.common.collect.Iterators;
 
+import io.frictionlessdata.tableschema.exception.TableIOException;
 import io.frictionlessdata.tableschema.exception.TableSchemaException;
 
-public class CsvFileTableDataSource extends AbstractTableDataSource<String> {
+/**
+ * Implements a {@link TableDataSource} on a local CSV file that is read anew on each iteration. Byte ranges of
+ * the file can be read via {@link #iterator(long, long)}.
+ *
+ * With a {@link RowIndex}, enabled via {@link #setRowIndexInterval(int)}, the data source seeks to a row and
+ * counts the rows without parsing the file.
+ */
+public class CsvFileTableDataSource extends AbstractTableDataSource<String> implements SplittableTableDataSource {
 
     CsvFileTableDataSource(String sourceFilePath) {
         this.dataSource = sourceFilePath;
@@ -24,8 +34,18 @@ public class CsvFileTableDataSource extends AbstractTableDataSource<String> {
 
     private CSVFormat format = TableDataSource.getDefaultCsvFormat();
 
+    private boolean fastTokenizer = false;
+
+    private int rowIndexInterval = 0;
+
+    private RowIndex rowIndex = null;
+
+    private boolean lineBreaksInValues = true;
+
     public void setFormat(CSVFormat format) {
         this.format = format;
+        // the header row depends on the format
+        this.headers = null;
     }
 
     public CSVFormat getFormat() {
@@ -34,26 +54,162 @@ public class CsvFileTableDataSource extends AbstractTableDataSource<String> {
                 : TableDataSource.getDefaultCsvFormat();
     }
 
+    /**
+     * Use the built-in {@link CsvTokenizer} instead of commons-csv for reading the data rows, if it supports
+     * the CSVFormat. Headers are always read with commons-csv.
+     * @param fastTokenizer true to use the CsvTokenizer
+     */
+    public void setFastTokenizer(boolean fastTokenizer) {
+        this.fastTokenizer = fastTokenizer;
+    }
+
+    public boolean isFastTokenizer() {
+        return fastTokenizer;
+    }
+
     @Override
-    public Iterator<String[]> iterator() {
-        CSVParser parser;
+    public Iterator<String[]> iterator(){
         try {
-            parser = getCSVParser();
+            CSVFormat format = getFormat();
+            if (fastTokenizer && CsvTokenizer.supports(format)) {
+                return new CsvTokenizer(openReader(), format).iterator();
+            }
+            CSVParser parser = CSVParser.parse(openReader(), format);
+            return ClosingIterator.transform(parser.iterator(), CSVRecord::values, parser);
         } catch (IOException e) {
-            throw new RuntimeException(e);
+           throw new RuntimeException(e);
         }
-        Iterator<CSVRecord> iterCSVRecords = parser.iterator();
+    }
 
-        return Iterators.transform(iterCSVRecords, (CSVRecord input) -> {
-            Iterator<String> iterCols = input.iterator();
+    /**
+     * Use a {@link RowIndex} stored in a sidecar file next to the CSV file for {@link #rowIterator(long)} and
+     * {@link #getRowCount()}. The index is built on first use and rebuilt when the file changes.
+     * @param interval the number of rows between two indexed offsets, 0 to not use an index
+     */
+    public void setRowIndexInterval(int interval) {
+        if (interval < 0) {
+            throw new IllegalArgumentException("Index interval must not be negative: " + interval);
+        }
+        this.rowIndexInterval = interval;
+        this.rowIndex = null;
+    }
 
-            List<String> cols = new ArrayList<>();
-            while (iterCols.hasNext()) {
-                cols.add(iterCols.next());
+    public int getRowIndexInterval() {
+        return rowIndexInterval;
+    }
+
+    /**
+     * Whether quoted values may contain line breaks (the default). Byte ranges, see {@link #iterator(long, long)},
+     * then scan the file from the start of the data, or from the closest row of the {@link RowIndex}, to find
+     * the record boundaries. If no value contains a line break, a range starts after the next line break and
+     * nothing before it is read.
+     * @param lineBreaksInValues false if no value contains a line break
+     */
+    public void setLineBreaksInValues(boolean lineBreaksInValues) {
+        this.lineBreaksInValues = lineBreaksInValues;
+    }
+
+    public boolean isLineBreaksInValues() {
+        return lineBreaksInValues;
+    }
+
+    /**
+     * Returns the row index of the file, loading it from the sidecar file or building it if it doesn't exist or
+     * is out of date.
+     * @return the RowIndex, or null if no index is used or the file can't be indexed
+     */
+    public RowIndex getRowIndex() {
+        if ((rowIndexInterval == 0) || (null == dataSource)) {
+            return null;
+        }
+        Path file = Paths.get(dataSource);
+        if ((null == rowIndex) || !rowIndex.isValid(file, getFormat())) {
+            if (!StandardCharsets.UTF_8.equals(charset) || !CsvSplits.supportsSplitting(getFormat())) {
+                return null;
+            }
+            try {
+                rowIndex = RowIndex.loadOrBuild(file, getFormat(), rowIndexInterval);
+            } catch (TableSchemaException ex) {
+                // e.g. compressed files
+                return null;
             }
+        }
+        return rowIndex;
+    }
 
-            return cols.toArray(new String[0]);
-        });
+    @Override
+    public Iterator<String[]> rowIterator(long firstRow) {
+        RowIndex index = getRowIndex();
+        if (null == index) {
+            return SplittableTableDataSource.super.rowIterator(firstRow);
+        }
+        if (firstRow < 0) {
+            throw new IllegalArgumentException("Invalid row number: " + firstRow);
+        }
+        if (firstRow >= index.getRowCount()) {
+            return Collections.emptyIterator();
+        }
+        try {
+            Path file = Paths.get(dataSource);
+            Iterator<String[]> iter = CsvSplits.iterator(file, CsvSplits.withoutHeader(getFormat()),
+                    index.getDataStart(), index.getOffset(firstRow), CsvSplits.getSize(file));
+            Iterators.advance(iter, (int) (firstRow - index.getIndexedRow(firstRow)));
+            return iter;
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+    }
+
+    @Override
+    public long getRowCount() {
+        RowIndex index = getRowIndex();
+        return (null != index) ? index.getRowCount() : SplittableTableDataSource.super.getRowCount();
+    }
+
+    /**
+     * Reads only the selected columns. If the {@link CsvTokenizer} supports the CSVFormat, it is used for this
+     * independent of {@link #setFastTokenizer(boolean)}, and the values of the other columns are skipped
+     * without creating Strings for them.
+     */
+    @Override
+    public Iterator<String[]> iterator(int[] columns) {
+        CSVFormat format = getFormat();
+        if (!CsvTokenizer.supports(format)) {
+            return SplittableTableDataSource.super.iterator(columns);
+        }
+        try {
+            return new CsvTokenizer(openReader(), format).iterator(columns);
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+    }
+
+    /**
+     * Returns the {@link CsvTokenizer} as the record of every row if it supports the CSVFormat, independent of
+     * {@link #setFastTokenizer(boolean)}.
+     */
+    @Override
+    public Iterator<RawRecord> recordIterator() {
+        CSVFormat format = getFormat();
+        if (!CsvTokenizer.supports(format)) {
+            return SplittableTableDataSource.super.recordIterator();
+        }
+        try {
+            return new CsvTokenizer(openReader(), format).recordIterator();
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+    }
+
+    @Override
+    public long getSize() {
+        return CsvSplits.getSize(Paths.get(dataSource));
+    }
+
+    @Override
+    public Iterator<String[]> iterator(long start, long end) {
+        return CsvSplits.iterator(Paths.get(dataSource), getFormat(), charset, getRowIndex(), lineBreaksInValues,
+                start, end, this::iterator);
     }
 
     @Override
@@ -62,8 +218,8 @@ public class CsvFileTableDataSource extends AbstractTableDataSource<String> {
             // Get a copy of the header map that iterates in column order.
             // The map keys are column names. The map values are 0-based indices.
             Map<String, Integer> headerMap = null;
-            try {
-                headerMap = getCSVParser().getHeaderMap();
+            try (CSVParser parser = getCSVParser()) {
+                headerMap = parser.getHeaderMap();
             } catch (Exception ex) {
                 throw new RuntimeException(ex);
             }
@@ -76,10 +232,12 @@ public class CsvFileTableDataSource extends AbstractTableDataSource<String> {
     }
 
     private CSVParser getCSVParser() throws IOException {
-        CSVFormat format = getFormat();
+        return CSVParser.parse(openReader(), getFormat());
+    }
 
+    private Reader openReader() throws IOException {
         if (null != dataSource) {
-            return CSVParser.parse(new File(dataSource), StandardCharsets.UTF_8, format);
+            return TableDataSource.openReader(readAhead(Files.newInputStream(Paths.get(dataSource))), charset);
         } else {
             throw new TableSchemaException("Data source is of invalid type.");
         }
@@ -0,0 +1,154 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import com.google.common.io.ByteStreams;
+import io.frictionlessdata.tableschema.exception.TableIOException;
+import io.frictionlessdata.tableschema.inputstream.Utf8Reader;
+import org.apache.commons.csv.CSVFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Byte-level splitting of local CSV files, shared by the CSV file data sources.
+ */
+class CsvSplits {
+
+    private CsvSplits() {}
+
+    // Splitting on bytes only works for UTF-8 data if delimiter and quote are ASCII, as UTF-8 multibyte
+    // sequences never contain ASCII bytes. Escape characters would need a lookbehind for finding the boundaries
+    static boolean supportsSplitting(CSVFormat format) {
+        if (!CsvTokenizer.supports(format) || (null != format.getEscapeCharacter())) {
+            return false;
+        }
+        Character quote = format.getQuoteCharacter();
+        return (format.getDelimiterString().charAt(0) < 0x80) && ((null == quote) || (quote < 0x80));
+    }
+
+    // The format for parsing data that doesn't start with the header row
+    static CSVFormat withoutHeader(CSVFormat format) {
+        return format.builder().setHeader((String[]) null).setSkipHeaderRecord(false).get();
+    }
+
+    static long getSize(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+    }
+
+    /**
+     * Read the rows of a byte range, see {@link SplittableTableDataSource#iterator(long, long)}.
+     *
+     * As quoted values can contain line breaks, finding the record boundaries needs the quoting state, which
+     * is tracked by scanning the file from the start of the data, or from the closest row of the RowIndex before
+     * the range. Without line breaks in values, the boundaries are the next line break, as in Hadoop's
+     * LineRecordReader, and nothing before the range is read.
+     * @param file the CSV file
+     * @param format the CSV format
+     * @param charset the charset of the data
+     * @param index the RowIndex of the file, or null
+     * @param lineBreaksInValues false if no value contains a line break
+     * @param start offset of the first byte of the range
+     * @param end offset after the last byte of the range
+     * @param allRows supplies an iterator over all rows for files that can't be split
+     * @return Iterator over the rows of the range
+     */
+    static Iterator<String[]> iterator(Path file, CSVFormat format, Charset charset, RowIndex index,
+                                       boolean lineBreaksInValues, long start, long end,
+                                       Supplier<Iterator<String[]>> allRows) {
+        if ((start < 0) || (end < start)) {
+            throw new IllegalArgumentException("Invalid byte range [" + start + ", " + end + ")");
+        }
+        try {
+            int dataStart = ParallelChunkIterator.getDataStart(file);
+            if ((dataStart < 0) || !StandardCharsets.UTF_8.equals(charset) || !supportsSplitting(format)) {
+                // the range holding the start of the file reads everything
+                return ((start == 0) && (end > 0)) ? allRows.get() : Collections.emptyIterator();
+            }
+            long alignedStart;
+            long alignedEnd;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ParallelChunkIterator.BoundaryFinder boundaries;
+                if (!lineBreaksInValues || (null == format.getQuoteCharacter())) {
+                    boundaries = CsvSplits::nextLineBreak;
+                } else {
+                    long scanStart = (null != index) ? index.getOffsetBefore(start) : dataStart;
+                    boundaries = new ParallelCsvFileTableDataSource.BoundaryScanner(format, scanStart);
+                }
+                alignedStart = align(channel, boundaries, dataStart, start);
+                // the end is found by continuing the scan of the start, a range ending before it is empty
+                alignedEnd = (end <= alignedStart) ? alignedStart : align(channel, boundaries, dataStart, end);
+            }
+            return iterator(file, format, dataStart, alignedStart, alignedEnd);
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+    }
+
+    /**
+     * Read the rows of a range that is aligned to record boundaries
+     */
+    static Iterator<String[]> iterator(Path file, CSVFormat format, long dataStart, long alignedStart,
+                                       long alignedEnd) throws IOException {
+        if (alignedStart >= alignedEnd) {
+            return Collections.emptyIterator();
+        }
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channel.position(alignedStart);
+        InputStream in = ByteStreams.limit(Channels.newInputStream(channel), alignedEnd - alignedStart);
+        // only a range at the start of the data begins with the header row
+        CSVFormat rangeFormat = (alignedStart <= dataStart) ? format : withoutHeader(format);
+        return new CsvTokenizer(new Utf8Reader(in), rangeFormat).iterator();
+    }
+
+    /**
+     * Find the first record start at or after `offset`. Successive calls must pass increasing offsets, as a
+     * {@link ParallelCsvFileTableDataSource.BoundaryScanner} only scans forward.
+     */
+    static long align(FileChannel channel, ParallelChunkIterator.BoundaryFinder boundaries, long dataStart,
+                      long offset) throws IOException {
+        if (offset <= dataStart) {
+            return dataStart;
+        }
+        long size = channel.size();
+        if (offset >= size) {
+            return size;
+        }
+        // a record starts at `offset` if the line break ending the previous record is right before it
+        return boundaries.nextBoundary(channel, offset - 1);
+    }
+
+    // Offset after the first line break at or after `target`, or the file size
+    static long nextLineBreak(FileChannel channel, long target) throws IOException {
+        long size = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        long position = target;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+}
@@ -1,20 +1,17 @@
 package io.frictionlessdata.tableschema.tabledatasource;
 
-import com.google.common.collect.Iterators;
+import io.frictionlessdata.tableschema.exception.TableIOException;
 import io.frictionlessdata.tableschema.exception.TableSchemaException;
-import io.frictionlessdata.tableschema.util.JsonUtil;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
 import java.io.*;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Implements a {@link TableDataSource} based on CSV-Data in:
@@ -51,33 +48,43 @@ public class CsvTableDataSource extends AbstractTableDataSource<String> {
 
     private CSVFormat format = TableDataSource.getDefaultCsvFormat();
 
+    private boolean fastTokenizer = false;
+
+    CsvTableDataSource(Path spooledFile){
+        dataResource = spooledFile;
+    }
+
     /**
-     * Constructor from a Stream. In contrast to lazy-loading File- or URL-based constructors, this one
-     * reads all the data at construction time.
+     * Constructor from a Stream. As a stream can only be read once, this one copies the data to a temporary
+     * file at construction time, which is deleted when the data source is closed or garbage collected. The
+     * stream is closed.
      * @param inStream the stream to read from
-     * @throws Exception if an IOException occurs
+     * @throws IllegalArgumentException if the data is in JSON format
      */
     CsvTableDataSource(InputStream inStream){
-        try (InputStreamReader is = new InputStreamReader(inStream, StandardCharsets.UTF_8);
-                BufferedReader br = new BufferedReader(is)) {
-            String content = br.lines().collect(Collectors.joining("\n"));
-            this.dataSource = TableDataSource.trimBOM(content);
-
-            // ensure that both parsing as json fails. If it succeeds,
-            // then the data is not CSV, but JSON -> throw exception
-            try {
-                JsonUtil.getInstance().readValue((String)this.dataSource);
-            } catch (Exception ex) {
-                return;
+        try {
+            Path spooled = TableDataSource.spool(inStream);
+            dataResource = spooled;
+            deleteOnClose(spooled);
+            // ensure that the data is not JSON. If it is -> throw exception
+            try (BufferedReader reader = TableDataSource.openReader(
+                    Files.newInputStream(spooled), TableDataSource.getDefaultEncoding())) {
+                String sample = FormatSniffer.readSample(reader, FormatSniffer.DEFAULT_SAMPLE_SIZE);
+                if (FormatSniffer.sniffFormat(sample) == Format.FORMAT_CSV) {
+                    return;
+                }
             }
+            close();
             throw new IllegalArgumentException("Input seems to be in JSON format");
         } catch (IOException ex) {
-            throw new RuntimeException(ex);
+            throw new TableIOException(ex);
         }
     }
 
     public void setFormat(CSVFormat format) {
         this.format = format;
+        // the header row depends on the format
+        this.headers = null;
     }
 
     public CSVFormat getFormat() {
@@ -87,43 +94,53 @@ public class CsvTableDataSource extends AbstractTableDataSource<String> {
     }
 
 
+    /**
+     * Use the built-in {@link CsvTokenizer} instead of commons-csv for reading the data rows, if it supports
+     * the CSVFormat. Headers are always read with commons-csv.
+     * @param fastTokenizer true to use the CsvTokenizer
+     */
+    public void setFastTokenizer(boolean fastTokenizer) {
+        this.fastTokenizer = fastTokenizer;
+    }
+
+    public boolean isFastTokenizer() {
+        return fastTokenizer;
+    }
+
     @Override
     public Iterator<String[]> iterator(){
-        CSVParser parser;
         try {
-            parser = getCSVParser();
+            CSVFormat format = getFormat();
+            if (fastTokenizer && CsvTokenizer.supports(format)) {
+                return new CsvTokenizer(openReader(), format).iterator();
+            }
+            CSVParser parser = CSVParser.parse(openReader(), format);
+            return ClosingIterator.transform(parser.iterator(), CSVRecord::values, parser);
         } catch (IOException e) {
-           throw new RuntimeException(e);
+            throw new RuntimeException(e);
         }
-        Iterator<CSVRecord> iterCSVRecords = parser.iterator();
-
-        return Iterators.transform(iterCSVRecords, (CSVRecord input) -> {
-            Iterator<String> iterCols = input.iterator();
-
-            List<String> cols = new ArrayList<>();
-            while(iterCols.hasNext()){
-                cols.add(iterCols.next());
-            }
-
-            return cols.toArray(new String[0]);
-        });
     }
 
+    /**
+     * Returns the headers from the first record of the data. Only the header record is read, and the
+     * result is cached until the CSVFormat changes.
+     * @return Column headers as a String array
+     */
     @Override
     public String[] getHeaders(){
         if (null == headers) {
             // Get a copy of the header map that iterates in column order.
             // The map keys are column names. The map values are 0-based indices.
             Map<String, Integer> headerMap = null;
-            try {
-                headerMap = getCSVParser().getHeaderMap();
+            try (CSVParser parser = getCSVParser()) {
+                headerMap = parser.getHeaderMap();
             } catch (Exception ex) {
                 throw new RuntimeException(ex);
             }
             if (null == headerMap) {
                 return null;
             }
-             headers = headerMap.keySet().toArray(new String[0]);
+            headers = headerMap.keySet().toArray(new String[0]);
         }
         return headers;
     }
@@ -135,14 +152,20 @@ public class CsvTableDataSource extends AbstractTableDataSource<String> {
      * needs to be recreated every time:
      * https://commons.apache.org/proper/commons-csv/apidocs/index.html?org/apache/commons/csv/CSVParser.html
      *
+     * Files and URLs are opened anew for each parser and read through a buffered Reader, so only
+     * the current record is held in memory.
+     *
      * @return a CSVParser instance
      * @throws IOException if either the data has the wrong format or some I/O exception occurs
      */
     private CSVParser getCSVParser() throws IOException {
-        CSVFormat format = getFormat();
+        return CSVParser.parse(openReader(), getFormat());
+    }
 
+    // Open a Reader over the data. Files and URLs are opened anew each time
+    private Reader openReader() throws IOException {
         if (null != dataSource){
-            return CSVParser.parse(dataSource, format);
+            return new StringReader(dataSource);
         } else if(dataResource instanceof File){
             // The path value can either be a relative path or a full path.
             // If it's a relative path then build the full path by using the working directory.
@@ -151,22 +174,22 @@ public class CsvTableDataSource extends AbstractTableDataSource<String> {
             // see:
             //    - https://github.com/frictionlessdata/tableschema-java/issues/29
             //    - https://frictionlessdata.io/specs/data-resource/#url-or-path
-
-            String lines = getFileContents(((File)dataResource).getPath());
-
-            // Get the parser.
-            //return CSVFormat.RFC4180.withHeader().parse(fr);
-            return CSVParser.parse(lines, format);
+            InputStream is = TableDataSource.openFileStream(((File)dataResource).getPath(), workDir);
+            return TableDataSource.openReader(readAhead(is), charset);
 
         } else if(dataResource instanceof URL){
-            return CSVParser.parse((URL)dataResource, StandardCharsets.UTF_8, format);
+            InputStream is = ((URL)dataResource).openStream();
+            return TableDataSource.openReader(readAhead(is), charset);
+
+        } else if(dataResource instanceof Path){
+            InputStream is = Files.newInputStream((Path)dataResource);
+            return TableDataSource.openReader(readAhead(is), charset);
 
         } else{
             throw new TableSchemaException("Data source is of invalid type.");
         }
     }
 
-
     @Override
     public boolean hasReliableHeaders() {
         try {
@@ -175,4 +198,4 @@ public class CsvTableDataSource extends AbstractTableDataSource<String> {
             return false;
         }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,544 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import io.frictionlessdata.tableschema.exception.TableIOException;
+import org.apache.commons.csv.CSVFormat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A CSV tokenizer tuned for throughput, as an alternative to the commons-csv {@link org.apache.commons.csv.CSVParser}.
+ *
+ * It reads into one large char buffer and keeps every field of the current record as a slice
+ * (start and end offset) of that buffer. Quotes and escapes are resolved in place, so no
+ * intermediate StringBuilder or List is needed, and Strings are only created if a field is requested.
+ *
+ * Only the subset of {@link CSVFormat} options this library uses is supported: a single-character
+ * delimiter, quote and escape characters, the header row, `ignoreSurroundingSpaces` and `ignoreEmptyLines`.
+ * Use {@link #supports(CSVFormat)} to check a format and fall back to commons-csv if it is not supported.
+ * Within that subset, the records are the same as commons-csv produces.
+ */
+public class CsvTokenizer implements Closeable, RawRecord {
+    private static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+    private static final int CR = '\r';
+    private static final int LF = '\n';
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private final char delimiter;
+    private final int quote;
+    private final int escape;
+    private final boolean ignoreSurroundingSpaces;
+    private final boolean ignoreEmptyLines;
+
+    private char[] buffer;
+    private int pos = 0;
+    private int limit = 0;
+    // start of the current record in the buffer. Chars before it may be discarded on refill
+    private int recordStart = 0;
+    private boolean eof = false;
+    private boolean skipHeaderRecord;
+
+    private int[] fieldStarts = new int[32];
+    private int[] fieldEnds = new int[32];
+    private int fieldCount = 0;
+
+    /**
+     * Create a tokenizer reading from `reader`.
+     * @param reader the CSV data
+     * @param format the CSV format, must be supported according to {@link #supports(CSVFormat)}
+     */
+    public CsvTokenizer(Reader reader, CSVFormat format) {
+        this(reader, format, DEFAULT_BUFFER_SIZE);
+    }
+
+    CsvTokenizer(Reader reader, CSVFormat format, int bufferSize) {
+        if (!supports(format)) {
+            throw new IllegalArgumentException("CSVFormat not supported by CsvTokenizer: " + format);
+        }
+        this.reader = reader;
+        this.delimiter = format.getDelimiterString().charAt(0);
+        this.quote = (null == format.getQuoteCharacter()) ? NONE : format.getQuoteCharacter();
+        this.escape = (null == format.getEscapeCharacter()) ? NONE : format.getEscapeCharacter();
+        this.ignoreSurroundingSpaces = format.getIgnoreSurroundingSpaces();
+        this.ignoreEmptyLines = format.getIgnoreEmptyLines();
+        // a header row is either read from the data (empty header) or explicitly skipped
+        String[] header = format.getHeader();
+        this.skipHeaderRecord = (null != header) && ((header.length == 0) || format.getSkipHeaderRecord());
+        this.buffer = new char[Math.max(bufferSize, 16)];
+    }
+
+    /**
+     * Check whether the tokenizer can handle a CSVFormat
+     * @param format the format to check
+     * @return true if the format only uses options supported by this tokenizer
+     */
+    public static boolean supports(CSVFormat format) {
+        if ((null == format) || (format.getDelimiterString().length() != 1)) {
+            return false;
+        }
+        char delimiter = format.getDelimiterString().charAt(0);
+        Character quote = format.getQuoteCharacter();
+        Character escape = format.getEscapeCharacter();
+        if (isLineBreak(delimiter) || ((null != quote) && ((quote == delimiter) || isLineBreak(quote)))
+                || ((null != escape) && ((escape == delimiter) || escape.equals(quote) || isLineBreak(escape)))) {
+            return false;
+        }
+        return (null == format.getCommentMarker())
+                && (null == format.getNullString())
+                && !format.getTrim()
+                && !format.getTrailingDelimiter()
+                && !format.getLenientEof()
+                && !format.getTrailingData();
+    }
+
+    /**
+     * Advance to the next record.
+     * @return false if there are no more records
+     * @throws IOException if reading fails or the data is malformed
+     */
+    public boolean nextRecord() throws IOException {
+        while (true) {
+            fieldCount = 0;
+            recordStart = pos;
+            if (!ensureAvailable()) {
+                return false;
+            }
+            if (ignoreEmptyLines && isLineBreak(buffer[pos])) {
+                skipLineBreak();
+                continue;
+            }
+            readRecord();
+            if (skipHeaderRecord) {
+                skipHeaderRecord = false;
+                continue;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return the number of fields in the current record
+     */
+    @Override
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * @param index the position of the field in the current record
+     * @return the length of the field value
+     */
+    @Override
+    public int getFieldLength(int index) {
+        checkIndex(index);
+        return fieldEnds[index] - fieldStarts[index];
+    }
+
+    /**
+     * @param index the position of the field in the current record
+     * @param position the position of the char in the field value, less than its length
+     * @return the char of the field value
+     */
+    @Override
+    public char charAt(int index, int position) {
+        return buffer[fieldStarts[index] + position];
+    }
+
+    /**
+     * @param index the position of the field in the current record
+     * @return the field value as a String
+     */
+    @Override
+    public String getField(int index) {
+        checkIndex(index);
+        return new String(buffer, fieldStarts[index], fieldEnds[index] - fieldStarts[index]);
+    }
+
+    /**
+     * @return the values of the current record
+     */
+    public String[] getRecord() {
+        String[] values = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            values[i] = new String(buffer, fieldStarts[i], fieldEnds[i] - fieldStarts[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Returns the values of selected fields of the current record. Only the selected values are turned into
+     * Strings.
+     * @param columns the positions of the fields to return, in the order to return them
+     * @return the selected values, null for positions beyond the end of the record
+     */
+    public String[] getRecord(int[] columns) {
+        String[] values = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            int column = columns[i];
+            if ((column >= 0) && (column < fieldCount)) {
+                values[i] = new String(buffer, fieldStarts[column], fieldEnds[column] - fieldStarts[column]);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns an Iterator over the remaining records as String arrays. The tokenizer
+     * is closed once all records are read.
+     * @return Iterator over the records
+     */
+    public Iterator<String[]> iterator() {
+        return iterator(null);
+    }
+
+    /**
+     * Returns an Iterator over selected fields of the remaining records, see {@link #getRecord(int[])}. The
+     * tokenizer is closed once all records are read.
+     * @param columns the positions of the fields to return, null for all fields
+     * @return Iterator over the records
+     */
+    public Iterator<String[]> iterator(int[] columns) {
+        Iterator<String[]> records = new Iterator<String[]>() {
+            private String[] next = null;
+            private boolean done = false;
+
+            @Override
+            public boolean hasNext() {
+                if ((null == next) && !done) {
+                    try {
+                        if (nextRecord()) {
+                            next = (null == columns) ? getRecord() : getRecord(columns);
+                        } else {
+                            done = true;
+                        }
+                    } catch (IOException ex) {
+                        throw new TableIOException(ex);
+                    }
+                }
+                return null != next;
+            }
+
+            @Override
+            public String[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String[] record = next;
+                next = null;
+                return record;
+            }
+        };
+        return new ClosingIterator<>(records, this);
+    }
+
+    /**
+     * Returns an Iterator over the remaining records that returns this tokenizer as the {@link RawRecord} of
+     * every record, so no objects are created per record. The tokenizer is closed once all records are read.
+     * @return Iterator over the records
+     */
+    public Iterator<RawRecord> recordIterator() {
+        Iterator<RawRecord> records = new Iterator<RawRecord>() {
+            private boolean ready = false;
+            private boolean done = false;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready && !done) {
+                    try {
+                        ready = nextRecord();
+                        done = !ready;
+                    } catch (IOException ex) {
+                        throw new TableIOException(ex);
+                    }
+                }
+                return ready;
+            }
+
+            @Override
+            public RawRecord next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return CsvTokenizer.this;
+            }
+        };
+        return new ClosingIterator<>(records, this);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Read one record starting at `pos`, which is not at the end of the data
+    private void readRecord() throws IOException {
+        while (true) {
+            boolean endOfRecord = readField();
+            if (endOfRecord) {
+                return;
+            }
+        }
+    }
+
+    // Read one field and the delimiter or line break after it.
+    // Returns true if the field was the last one of the record
+    private boolean readField() throws IOException {
+        if (ignoreSurroundingSpaces) {
+            skipSpaces();
+        }
+        if (ensureAvailable() && (buffer[pos] == quote)) {
+            return readQuotedField();
+        }
+        return readSimpleField();
+    }
+
+    private boolean readSimpleField() throws IOException {
+        int start = pos;
+        int write = pos;
+        while (true) {
+            if (pos >= limit) {
+                int offset = recordStart;
+                if (!fill()) {
+                    addField(start - (offset - recordStart), write - (offset - recordStart), true);
+                    return true;
+                }
+                start -= offset - recordStart;
+                write -= offset - recordStart;
+            }
+            // scan the plain run of characters in a tight loop
+            char[] buf = buffer;
+            int p = pos;
+            int lim = limit;
+            char c = 0;
+            while (p < lim) {
+                c = buf[p];
+                if ((c == delimiter) || (c == '\n') || (c == '\r') || (c == escape)) {
+                    break;
+                }
+                if (write != p) {
+                    buf[write] = c;
+                }
+                write++;
+                p++;
+            }
+            pos = p;
+            if (p >= lim) {
+                continue;
+            }
+            if (c == delimiter) {
+                pos++;
+                addField(start, write, true);
+                return false;
+            } else if (c == escape) {
+                pos++;
+                int offset = recordStart;
+                int unescaped = readEscape();
+                start -= offset - recordStart;
+                write -= offset - recordStart;
+                if (unescaped == NONE) {
+                    buffer[write++] = (char) escape;
+                    buffer[write++] = buffer[pos - 1];
+                } else {
+                    buffer[write++] = (char) unescaped;
+                }
+            } else {
+                addField(start, write, true);
+                skipLineBreak();
+                return true;
+            }
+        }
+    }
+
+    private boolean readQuotedField() throws IOException {
+        // skip the opening quote, the unquoted value is written over it
+        int start = pos;
+        int write = pos;
+        pos++;
+        while (true) {
+            if (pos >= limit) {
+                int offset = recordStart;
+                if (!fill()) {
+                    throw new IOException("EOF reached before encapsulated token finished");
+                }
+                start -= offset - recordStart;
+                write -= offset - recordStart;
+            }
+            char c = buffer[pos];
+            if (c == quote) {
+                int offset = recordStart;
+                pos++;
+                boolean more = ensureAvailable();
+                start -= offset - recordStart;
+                write -= offset - recordStart;
+                if (more && (buffer[pos] == quote)) {
+                    // doubled quote
+                    buffer[write++] = (char) quote;
+                    pos++;
+                } else {
+                    return endQuotedField(start, write);
+                }
+            } else if (c == escape) {
+                pos++;
+                int offset = recordStart;
+                int unescaped = readEscape();
+                start -= offset - recordStart;
+                write -= offset - recordStart;
+                if (unescaped == NONE) {
+                    buffer[write++] = (char) escape;
+                    buffer[write++] = buffer[pos - 1];
+                } else {
+                    buffer[write++] = (char) unescaped;
+                }
+            } else {
+                buffer[write++] = c;
+                pos++;
+            }
+        }
+    }
+
+    // After the closing quote, only whitespace may follow up to the next delimiter or line break
+    private boolean endQuotedField(int start, int write) throws IOException {
+        while (true) {
+            int offset = recordStart;
+            if (!ensureAvailable()) {
+                start -= offset - recordStart;
+                write -= offset - recordStart;
+                addField(start, write, false);
+                return true;
+            }
+            start -= offset - recordStart;
+            write -= offset - recordStart;
+            char c = buffer[pos];
+            if (c == delimiter) {
+                pos++;
+                addField(start, write, false);
+                return false;
+            } else if (isLineBreak(c)) {
+                addField(start, write, false);
+                skipLineBreak();
+                return true;
+            } else if (Character.isWhitespace(c)) {
+                pos++;
+            } else {
+                throw new IOException("Invalid character '" + c + "' between encapsulated token and delimiter");
+            }
+        }
+    }
+
+    // Resolve the char after an escape character the way commons-csv does. Returns NONE if the
+    // escape character has no special meaning before that char, in which case both are kept
+    private int readEscape() throws IOException {
+        if (!ensureAvailable()) {
+            throw new IOException("EOF whilst processing escape sequence");
+        }
+        char c = buffer[pos++];
+        switch (c) {
+            case 'r':
+                return '\r';
+            case 'n':
+                return '\n';
+            case 't':
+                return '\t';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case '\r':
+            case '\n':
+            case '\t':
+            case '\b':
+            case '\f':
+                return c;
+            default:
+                if ((c == delimiter) || (c == quote) || (c == escape)) {
+                    return c;
+                }
+                return NONE;
+        }
+    }
+
+    private void addField(int start, int end, boolean trimTrailing) {
+        if (trimTrailing && ignoreSurroundingSpaces) {
+            while ((end > start) && Character.isWhitespace(buffer[end - 1])) {
+                end--;
+            }
+        }
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private void skipSpaces() throws IOException {
+        while (ensureAvailable()) {
+            char c = buffer[pos];
+            if ((c == delimiter) || isLineBreak(c) || !Character.isWhitespace(c)) {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    // Consume a LF, CR or CRLF line break
+    private void skipLineBreak() throws IOException {
+        char c = buffer[pos++];
+        if ((c == '\r') && ensureAvailable() && (buffer[pos] == '\n')) {
+            pos++;
+        }
+    }
+
+    private boolean ensureAvailable() throws IOException {
+        return (pos < limit) || fill();
+    }
+
+    // Read more data. The current record is moved to the start of the buffer, and the buffer
+    // grows if the record fills all of it. All offsets into the buffer shift by the old `recordStart`
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (recordStart > 0) {
+            int shift = recordStart;
+            System.arraycopy(buffer, shift, buffer, 0, limit - shift);
+            limit -= shift;
+            pos -= shift;
+            for (int i = 0; i < fieldCount; i++) {
+                fieldStarts[i] -= shift;
+                fieldEnds[i] -= shift;
+            }
+            recordStart = 0;
+        }
+        if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        while (read == 0) {
+            read = reader.read(buffer, limit, buffer.length - limit);
+        }
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    private void checkIndex(int index) {
+        if ((index < 0) || (index >= fieldCount)) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + fieldCount);
+        }
+    }
+
+    private static boolean isLineBreak(int c) {
+        return (c == CR) || (c == LF);
+    }
+}
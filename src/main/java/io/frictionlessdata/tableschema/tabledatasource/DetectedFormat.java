@@ -0,0 +1,65 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import org.apache.commons.csv.CSVFormat;
+
+/**
+ * The result of {@link FormatSniffer#sniff(String)}: the data format and, for CSV data, the detected dialect.
+ * For JSON formats, the CSV properties hold the defaults.
+ */
+public class DetectedFormat {
+    private final TableDataSource.Format format;
+    private final char delimiter;
+    private final char quote;
+    private final boolean header;
+
+    DetectedFormat(TableDataSource.Format format, char delimiter, char quote, boolean header) {
+        this.format = format;
+        this.delimiter = delimiter;
+        this.quote = quote;
+        this.header = header;
+    }
+
+    public TableDataSource.Format getFormat() {
+        return format;
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public char getQuote() {
+        return quote;
+    }
+
+    /**
+     * @return true if the first row of CSV data is probably a header row
+     */
+    public boolean hasHeader() {
+        return header;
+    }
+
+    /**
+     * Create a CSVFormat for reading the data, based on the default CSVFormat of this library
+     * @return the CSVFormat with the detected delimiter, quote character and header row
+     */
+    public CSVFormat toCsvFormat() {
+        CSVFormat.Builder builder = TableDataSource.getDefaultCsvFormat()
+                .builder()
+                .setDelimiter(delimiter)
+                .setQuote(quote);
+        if (!header) {
+            builder.setHeader((String[]) null);
+        }
+        return builder.get();
+    }
+
+    @Override
+    public String toString() {
+        return "DetectedFormat{" +
+                "format=" + format +
+                ", delimiter=" + delimiter +
+                ", quote=" + quote +
+                ", header=" + header +
+                '}';
+    }
+}
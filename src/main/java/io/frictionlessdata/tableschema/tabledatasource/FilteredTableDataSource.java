@@ -0,0 +1,146 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import io.frictionlessdata.tableschema.field.Field;
+import io.frictionlessdata.tableschema.iterator.ColumnValueCache;
+
+import java.io.Closeable;
+import java.util.*;
+
+/**
+ * The rows of a {@link TableDataSource} that match all of a set of {@link RowFilter}s. Only the filtered
+ * columns are cast for testing the rows, and a filter that can decide on the raw value doesn't cast at all.
+ */
+class FilteredTableDataSource implements TableDataSource {
+    private final TableDataSource source;
+    private final RowFilter[] filters;
+    private final int[] columns;
+    private final Field<?>[] fields;
+
+    FilteredTableDataSource(TableDataSource source, RowFilter[] filters, int[] columns, Field<?>[] fields) {
+        if ((filters.length != columns.length) || (filters.length != fields.length)) {
+            throw new IllegalArgumentException("Filters, columns and fields must have the same length");
+        }
+        this.source = source;
+        this.filters = new RowFilter[filters.length];
+        for (int i = 0; i < filters.length; i++) {
+            this.filters[i] = filters[i].bind(fields[i]);
+        }
+        this.columns = columns.clone();
+        this.fields = fields.clone();
+    }
+
+    @Override
+    public Iterator<String[]> iterator() {
+        return new FilteringIterator(source.iterator(), columns, -1);
+    }
+
+    /**
+     * Reads the selected columns and the filtered columns from the source, so that projections are still
+     * passed down.
+     */
+    @Override
+    public Iterator<String[]> iterator(int[] selected) {
+        int[] sourceColumns = Arrays.copyOf(selected, selected.length + columns.length);
+        int[] filterColumns = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            sourceColumns[selected.length + i] = (columns[i] >= 0) ? columns[i] : Integer.MAX_VALUE;
+            filterColumns[i] = selected.length + i;
+        }
+        return new FilteringIterator(source.iterator(sourceColumns), filterColumns, selected.length);
+    }
+
+    @Override
+    public String[] getHeaders() {
+        return source.getHeaders();
+    }
+
+    @Override
+    public List<String[]> getDataAsStringArray() {
+        List<String[]> data = new ArrayList<>();
+        iterator().forEachRemaining(data::add);
+        return data;
+    }
+
+    @Override
+    public boolean hasReliableHeaders() {
+        return source.hasReliableHeaders();
+    }
+
+    // closes the Iterator of the source once all rows are read, or when it is closed before
+    private class FilteringIterator implements Iterator<String[]>, Closeable {
+        private final ClosingIterator<String[]> rows;
+        private final int[] filterColumns;
+        // number of values to return, -1 for all
+        private final int length;
+        private final ColumnValueCache[] caches = new ColumnValueCache[filters.length];
+        private String[] next = null;
+
+        FilteringIterator(Iterator<String[]> rows, int[] filterColumns, int length) {
+            this.rows = new ClosingIterator<>(rows, ClosingIterator.closerOf(rows));
+            this.filterColumns = filterColumns;
+            this.length = length;
+            for (int i = 0; i < filters.length; i++) {
+                Field<?> field = fields[i];
+                if ((null != field) && ColumnValueCache.isCacheable(field)) {
+                    caches[i] = new ColumnValueCache(ColumnValueCache.DEFAULT_MAX_SIZE,
+                            (raw) -> castValue(field, raw));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while ((null == next) && rows.hasNext()) {
+                String[] row = rows.next();
+                if (matches(row)) {
+                    next = (length < 0) ? row : Arrays.copyOf(row, length);
+                }
+            }
+            return null != next;
+        }
+
+        @Override
+        public String[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String[] row = next;
+            next = null;
+            return row;
+        }
+
+        @Override
+        public void close() {
+            next = null;
+            rows.close();
+        }
+
+        private boolean matches(String[] row) {
+            for (int i = 0; i < filters.length; i++) {
+                int column = filterColumns[i];
+                String raw = ((column >= 0) && (column < row.length)) ? row[column] : null;
+                if (filters[i].rejectsRaw(raw)) {
+                    return false;
+                }
+                if (!filters[i].test(cast(i, raw))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Object cast(int filter, String raw) {
+            Field<?> field = fields[filter];
+            if (null == field) {
+                // without a Schema, empty values are null as in a cast
+                return ((null == raw) || raw.isEmpty()) ? null : raw;
+            }
+            return (null != caches[filter]) ? caches[filter].get(raw) : castValue(field, raw);
+        }
+    }
+
+    // constraints are only checked by the cast of the rows that match, not for testing the rows
+    private static Object castValue(Field<?> field, String raw) {
+        return field.castValue(raw, false, field.getOptions());
+    }
+}
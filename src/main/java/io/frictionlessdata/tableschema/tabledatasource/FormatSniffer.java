@@ -0,0 +1,330 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Guesses the format of tabular data from a sample of its first few KB instead of trial-parsing
+ * the whole input.
+ *
+ * The sample is read from a {@link Reader} that supports mark/reset (e.g. a {@link java.io.BufferedReader}),
+ * so the Reader can afterwards be handed to a parser that starts from the beginning of the data.
+ */
+public class FormatSniffer {
+    /**
+     * Number of characters to look at by default
+     */
+    public static final int DEFAULT_SAMPLE_SIZE = 16 * 1024;
+
+    // Candidate CSV delimiters, in order of preference if more than one fits
+    private static final char[] CANDIDATE_DELIMITERS = new char[]{',', ';', '\t', '|'};
+
+    // Candidate CSV quote characters, in order of preference
+    private static final char[] CANDIDATE_QUOTES = new char[]{'"', '\''};
+
+    // Max number of rows compared to the first row for detecting a header row
+    private static final int HEADER_SAMPLE_ROWS = 20;
+
+    private FormatSniffer() {
+        // static utility class
+    }
+
+    /**
+     * Read up to `sampleSize` characters from `reader` and reset it to where it was before.
+     * @param reader the Reader to sample, must support mark/reset
+     * @param sampleSize max number of characters to read
+     * @return the sample, possibly shorter than `sampleSize` if the input is shorter
+     * @throws IOException if reading fails
+     */
+    public static String readSample(Reader reader, int sampleSize) throws IOException {
+        if (!reader.markSupported()) {
+            throw new IllegalArgumentException("Reader must support mark/reset");
+        }
+        reader.mark(sampleSize);
+        char[] buffer = new char[sampleSize];
+        int length = 0;
+        int read;
+        while ((length < sampleSize) && ((read = reader.read(buffer, length, sampleSize - length)) != -1)) {
+            length += read;
+        }
+        reader.reset();
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * Read a sample from `reader` and detect the format and, for CSV data, the dialect.
+     * @param reader the Reader to sample, must support mark/reset. It is reset to where it was before
+     * @return the detected format
+     * @throws IOException if reading fails
+     */
+    public static DetectedFormat sniff(Reader reader) throws IOException {
+        return sniff(readSample(reader, DEFAULT_SAMPLE_SIZE));
+    }
+
+    /**
+     * Detect the format of the data and, for CSV data, the delimiter, the quote character and whether the
+     * first row is a header row.
+     * @param sample the first characters of the data
+     * @return the detected format
+     */
+    public static DetectedFormat sniff(String sample) {
+        TableDataSource.Format format = sniffFormat(sample);
+        if (format != TableDataSource.Format.FORMAT_CSV) {
+            return new DetectedFormat(format, ',', '"', true);
+        }
+        char quote = sniffQuote(sample);
+        char delimiter = sniffDelimiter(sample, quote);
+        return new DetectedFormat(format, delimiter, quote, sniffHeader(sample, delimiter, quote));
+    }
+
+    /**
+     * Decide whether the sample is the beginning of a JSON array of objects or arrays, of newline-delimited
+     * JSON or of CSV data.
+     * @param sample the first characters of the data
+     * @return the detected format
+     */
+    public static TableDataSource.Format sniffFormat(String sample) {
+        int pos = skipWhitespace(sample, 0);
+        if (pos >= sample.length()) {
+            return TableDataSource.Format.FORMAT_CSV;
+        }
+        if (sample.charAt(pos) == '{') {
+            // a single JSON object is not a table, so this is the first of several lines
+            return TableDataSource.Format.FORMAT_NDJSON;
+        }
+        if (sample.charAt(pos) == '[') {
+            int next = skipWhitespace(sample, pos + 1);
+            // rows of a JSON table are objects or arrays. A CSV header like "[id],name" is not JSON
+            if ((next >= sample.length()) || ("{[]".indexOf(sample.charAt(next)) >= 0)) {
+                return TableDataSource.Format.FORMAT_JSON;
+            }
+            // JSON lines of arrays start with a string or number and end the line with the closing bracket
+            int lineEnd = sample.indexOf('\n', pos);
+            String firstLine = ((lineEnd < 0) ? sample.substring(pos) : sample.substring(pos, lineEnd)).trim();
+            if (("\"-0123456789".indexOf(sample.charAt(next)) >= 0) && firstLine.endsWith("]")
+                    && (lineEnd >= 0)) {
+                return TableDataSource.Format.FORMAT_NDJSON;
+            }
+        }
+        return TableDataSource.Format.FORMAT_CSV;
+    }
+
+    /**
+     * Guess the delimiter of CSV data. A candidate delimiter fits if it occurs outside of quotes
+     * equally often in every complete line of the sample. Of the fitting candidates, the most frequent
+     * one wins; if none fits, the most frequent candidate in the first line is used.
+     * Falls back to a comma.
+     * @param sample the first characters of the data
+     * @return the detected delimiter
+     */
+    public static char sniffDelimiter(String sample) {
+        return sniffDelimiter(sample, '"');
+    }
+
+    private static char sniffDelimiter(String sample, char quote) {
+        int[][] counts = countDelimitersPerLine(sample, quote);
+        int[] lineLengths = counts[CANDIDATE_DELIMITERS.length];
+        char best = ',';
+        int bestCount = 0;
+        for (int c = 0; c < CANDIDATE_DELIMITERS.length; c++) {
+            int firstLineCount = counts[c][0];
+            boolean consistent = firstLineCount > 0;
+            for (int line = 1; consistent && (line < lineLengths.length); line++) {
+                // blank lines do not count
+                consistent = (lineLengths[line] == 0) || (counts[c][line] == firstLineCount);
+            }
+            if (consistent && (firstLineCount > bestCount)) {
+                best = CANDIDATE_DELIMITERS[c];
+                bestCount = firstLineCount;
+            }
+        }
+        if (bestCount > 0) {
+            return best;
+        }
+        for (int c = 0; c < CANDIDATE_DELIMITERS.length; c++) {
+            if (counts[c][0] > bestCount) {
+                best = CANDIDATE_DELIMITERS[c];
+                bestCount = counts[c][0];
+            }
+        }
+        return best;
+    }
+
+    // Count the candidate delimiters outside of quotes for each complete line of the sample. The last
+    // line only counts if it is the only one, as it is probably cut off by the sample size.
+    // The extra last row of the result holds the number of characters per line.
+    private static int[][] countDelimitersPerLine(String sample, char quote) {
+        int lineCount = 0;
+        boolean inQuotes = false;
+        for (int i = 0; i < sample.length(); i++) {
+            char ch = sample.charAt(i);
+            if (ch == quote) {
+                inQuotes = !inQuotes;
+            } else if ((ch == '\n') && !inQuotes) {
+                lineCount++;
+            }
+        }
+        int lines = Math.max(1, lineCount);
+        int[][] counts = new int[CANDIDATE_DELIMITERS.length + 1][lines];
+        int line = 0;
+        inQuotes = false;
+        for (int i = 0; (i < sample.length()) && (line < lines); i++) {
+            char ch = sample.charAt(i);
+            if ((ch != '\n') && (ch != '\r')) {
+                counts[CANDIDATE_DELIMITERS.length][line]++;
+            }
+            if (ch == quote) {
+                inQuotes = !inQuotes;
+            } else if (!inQuotes) {
+                if (ch == '\n') {
+                    line++;
+                } else {
+                    for (int c = 0; c < CANDIDATE_DELIMITERS.length; c++) {
+                        if (ch == CANDIDATE_DELIMITERS[c]) {
+                            counts[c][line]++;
+                        }
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Guess the quote character of CSV data: the candidate that most often opens a value, i.e. follows
+     * the start of a line or a delimiter and is later followed by a delimiter or line break.
+     * Falls back to a double quote.
+     * @param sample the first characters of the data
+     * @return the detected quote character
+     */
+    public static char sniffQuote(String sample) {
+        char best = CANDIDATE_QUOTES[0];
+        int bestCount = 0;
+        for (char quote : CANDIDATE_QUOTES) {
+            int count = 0;
+            for (int i = 0; i < sample.length(); i++) {
+                if ((sample.charAt(i) == quote) && isValueStart(sample, i)) {
+                    int close = sample.indexOf(quote, i + 1);
+                    if ((close > 0) && isValueEnd(sample, close + 1)) {
+                        count++;
+                        i = close;
+                    }
+                }
+            }
+            if (count > bestCount) {
+                best = quote;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Guess whether the first row of CSV data is a header row by comparing it to the following rows. For each
+     * column where all following rows hold numbers or strings of the same length, a first row value that
+     * does not fit counts for a header row, one that fits counts against it. Without such columns, a header
+     * row is assumed.
+     * @param sample the first characters of the data
+     * @param delimiter the delimiter of the data
+     * @param quote the quote character of the data
+     * @return true if the first row is probably a header row
+     */
+    public static boolean sniffHeader(String sample, char delimiter, char quote) {
+        List<String[]> rows = new ArrayList<>();
+        CSVFormat format = CSVFormat.RFC4180.builder()
+                .setDelimiter(delimiter)
+                .setQuote(quote)
+                .setIgnoreSurroundingSpaces(true)
+                .setIgnoreEmptyLines(true)
+                .get();
+        // the last line is probably cut off by the sample size
+        int lastLineBreak = sample.lastIndexOf('\n');
+        String completeLines = (lastLineBreak > 0) ? sample.substring(0, lastLineBreak) : sample;
+        try (CSVParser parser = CSVParser.parse(completeLines, format)) {
+            for (CSVRecord record : parser) {
+                rows.add(record.values());
+                if (rows.size() > HEADER_SAMPLE_ROWS) {
+                    break;
+                }
+            }
+        } catch (Exception ex) {
+            // unbalanced quotes in the sample, go with the default
+            return true;
+        }
+        if (rows.size() < 2) {
+            return true;
+        }
+        String[] first = rows.get(0);
+        int votes = 0;
+        for (int col = 0; col < first.length; col++) {
+            // -1 for numbers, otherwise the common length of the strings, null if the column is mixed
+            Integer columnType = null;
+            boolean consistent = true;
+            for (int row = 1; consistent && (row < rows.size()); row++) {
+                if (col >= rows.get(row).length) {
+                    consistent = false;
+                    break;
+                }
+                int type = valueType(rows.get(row)[col]);
+                consistent = (null == columnType) || (columnType == type);
+                columnType = type;
+            }
+            if (consistent && (null != columnType)) {
+                votes += (valueType(first[col]) != columnType) ? 1 : -1;
+            }
+        }
+        return votes >= 0;
+    }
+
+    private static int valueType(String value) {
+        String trimmed = value.trim();
+        if (!trimmed.isEmpty()) {
+            try {
+                Double.parseDouble(trimmed);
+                return -1;
+            } catch (NumberFormatException ex) {
+                // not a number
+            }
+        }
+        return trimmed.length();
+    }
+
+    private static boolean isValueStart(String sample, int pos) {
+        int prev = pos - 1;
+        while ((prev >= 0) && (sample.charAt(prev) == ' ')) {
+            prev--;
+        }
+        return (prev < 0) || (sample.charAt(prev) == '\n') || isCandidateDelimiter(sample.charAt(prev));
+    }
+
+    private static boolean isValueEnd(String sample, int pos) {
+        int next = pos;
+        while ((next < sample.length()) && (sample.charAt(next) == ' ')) {
+            next++;
+        }
+        return (next >= sample.length()) || (sample.charAt(next) == '\n') || (sample.charAt(next) == '\r')
+                || isCandidateDelimiter(sample.charAt(next));
+    }
+
+    private static boolean isCandidateDelimiter(char ch) {
+        for (char delimiter : CANDIDATE_DELIMITERS) {
+            if (ch == delimiter) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int skipWhitespace(String sample, int pos) {
+        while ((pos < sample.length()) && Character.isWhitespace(sample.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+}
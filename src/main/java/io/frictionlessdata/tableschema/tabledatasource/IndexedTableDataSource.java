@@ -0,0 +1,25 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+/**
+ * A {@link TableDataSource} holding its rows in memory, so that it knows its row count and can read a range
+ * of rows without reading the rows before it. Independent threads can each read one range of the same data.
+ */
+public interface IndexedTableDataSource extends TableDataSource {
+
+    /**
+     * Returns the number of data rows without reading them
+     * @return the number of data rows
+     */
+    @Override
+    long getRowCount();
+
+    /**
+     * Returns a view on the data rows [start, end) as a TableDataSource of its own, with the headers of this
+     * data source. Creating the view doesn't read any rows.
+     * @param start the 0-based number of the first data row
+     * @param end the number of the row after the last data row
+     * @return a TableDataSource over the rows of the range
+     */
+    @Override
+    IndexedTableDataSource rowRange(long start, long end);
+}
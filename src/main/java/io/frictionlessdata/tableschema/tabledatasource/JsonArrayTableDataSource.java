@@ -9,10 +9,8 @@ import io.frictionlessdata.tableschema.util.JsonUtil;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Implements a {@link TableDataSource} based on a Jackson {@link ArrayNode} holding JSON-encoded table.
@@ -27,12 +25,12 @@ import java.util.stream.Collectors;
  * very costly operation that has to iterate through the data to extract the column names.
  */
 public class JsonArrayTableDataSource extends AbstractTableDataSource<ArrayNode> {
+    // whether the header row of an array of arrays has been removed from the data
+    private boolean headerRowRemoved = false;
 
     public JsonArrayTableDataSource (InputStream inStream) throws IOException {
-        try (InputStreamReader inputStreamReader = new InputStreamReader(inStream, StandardCharsets.UTF_8);
-        BufferedReader br = new BufferedReader(inputStreamReader)) {
-            String content = br.lines().collect(Collectors.joining("\n"));
-            dataSource = JsonUtil.getInstance().createArrayNode(TableDataSource.trimBOM(content));
+        try (BufferedReader br = TableDataSource.openReader(inStream, StandardCharsets.UTF_8)) {
+            dataSource = (ArrayNode) JsonUtil.getInstance().getMapper().readTree(br);
         }
     }
 	public JsonArrayTableDataSource (ArrayNode json){
@@ -61,35 +59,39 @@ public class JsonArrayTableDataSource extends AbstractTableDataSource<ArrayNode>
 
 	@Override
 	public Iterator<String[]> iterator() {
-		boolean deleteHeaderRow = (null == this.headers);
 		this.headers = getHeaders();
 		JsonNode firstRow = dataSource.get(0);
-		if ((deleteHeaderRow) && (firstRow instanceof ArrayNode)) {
+		if ((!headerRowRemoved) && (firstRow instanceof ArrayNode)) {
 			dataSource.remove(0);
 		}
+		headerRowRemoved = true;
 
-		return Iterators.transform(dataSource.iterator(), (JsonNode input) -> {
-			List<String> values = new ArrayList<>();
-			if (input instanceof ObjectNode) {
-				for (String header : headers) {
-					JsonNode val = input.get(header);
-					if (null == val) {
-						values.add(null);
-					} else if ((val instanceof ObjectNode) || (val instanceof ArrayNode)) {
-						values.add(val.toString());
-					} else
-						values.add(val.asText(""));
-				}
-			} else if (input instanceof ArrayNode) {
-				Iterator<JsonNode> elements = input.elements();
-				while (elements.hasNext()) {
-					values.add(elements.next().asText(""));
-				}
-			}
-
+		return Iterators.transform(dataSource.iterator(), (JsonNode input) -> toRow(input, headers));
+	}
 
-			return values.toArray(new String[0]);
-		});
+	/**
+	 * Convert one JSON row to String values. Values of a JSON object are returned in the order of `headers`,
+	 * missing keys as `null`; values of a JSON array in array order.
+	 */
+	static String[] toRow(JsonNode input, String[] headers) {
+		List<String> values = new ArrayList<>();
+		if (input instanceof ObjectNode) {
+			for (String header : headers) {
+				JsonNode val = input.get(header);
+				if (null == val) {
+					values.add(null);
+				} else if ((val instanceof ObjectNode) || (val instanceof ArrayNode)) {
+					values.add(val.toString());
+				} else
+					values.add(val.asText(""));
+			}
+		} else if (input instanceof ArrayNode) {
+			Iterator<JsonNode> elements = input.elements();
+			while (elements.hasNext()) {
+				values.add(elements.next().asText(""));
+			}
+		}
+		return values.toArray(new String[0]);
 	}
 
 	/**
@@ -119,7 +121,9 @@ public class JsonArrayTableDataSource extends AbstractTableDataSource<ArrayNode>
 			}
 		}
 
-		return headers.toArray(new String[]{});
+		// collecting the keys of JSON objects means a pass over all rows, so only do it once
+		this.headers = headers.toArray(new String[]{});
+		return this.headers;
 	}
 
 	private Set<String> getColumnNames(ObjectNode node) {
@@ -0,0 +1,236 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.io.ByteStreams;
+import io.frictionlessdata.tableschema.exception.TableIOException;
+import io.frictionlessdata.tableschema.util.JsonUtil;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Implements a {@link TableDataSource} on a newline-delimited JSON (NDJSON, JSON Lines) file. Each non-blank
+ * line holds one row, either a JSON object or a JSON array of values, with the first array holding the
+ * column names. See {@link AbstractStreamingJsonTableDataSource} on how the headers are found.
+ *
+ * The file is read line by line on each iteration. As JSON strings can't contain raw line breaks, every line
+ * break is a row boundary, so with {@link #setParallelism(int)} set to more than one thread, the file is split
+ * into chunks that are parsed in parallel, and byte ranges of the file can be read via
+ * {@link #iterator(long, long)}.
+ */
+public class JsonLinesTableDataSource extends AbstractStreamingJsonTableDataSource
+        implements SplittableTableDataSource {
+    private static final int DEFAULT_CHUNK_SIZE = 2 * 1024 * 1024;
+
+    // ObjectReaders are immutable and thread-safe, so all lines are parsed with the same one
+    private static final ObjectReader OBJECT_READER = JsonUtil.getInstance().getMapper().reader();
+
+    private int parallelism = 1;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private boolean ordered = true;
+
+    /**
+     * Create a data source on a JSON Lines file
+     * @param dataFile the file to read
+     */
+    public JsonLinesTableDataSource(File dataFile) {
+        super(dataFile.toPath());
+    }
+
+    /**
+     * Create a data source from an InputStream containing JSON Lines. As an InputStream can only be read once,
+     * the data is copied to a temporary file that is deleted when the data source is closed or garbage collected.
+     * The InputStream is closed.
+     * @param inStream the stream to read
+     * @throws IOException if copying the data fails
+     */
+    public JsonLinesTableDataSource(InputStream inStream) throws IOException {
+        super(TableDataSource.spool(inStream));
+        deleteOnClose(dataSource);
+    }
+
+    JsonLinesTableDataSource(Path dataFile) {
+        super(dataFile);
+    }
+
+    /**
+     * Set the number of threads parsing the lines. Defaults to 1, which reads the file sequentially. Each
+     * thread adds up to two chunks in memory, see {@link #setChunkSize(int)}.
+     */
+    public JsonLinesTableDataSource setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Set the target size in bytes of the chunks parsed in parallel. A chunk extends to the end of the line
+     * at the target size. Defaults to 2 MB. Up to two chunks per thread, but no more than 64 MB of the file,
+     * are parsed or waiting to be read at a time; as decoded chars and parsed Strings, this takes several
+     * times the chunk size per chunk on the heap.
+     */
+    public JsonLinesTableDataSource setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Whether rows parsed in parallel are returned in file order (the default) or chunk by chunk as soon as
+     * they are parsed.
+     */
+    public JsonLinesTableDataSource setOrdered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    @Override
+    public Iterator<String[]> iterator() {
+        if (parallelism == 1) {
+            return super.iterator();
+        }
+        try {
+            int dataStart = ParallelChunkIterator.getDataStart(dataSource);
+            // chunks are split on bytes, which only works for UTF-8
+            if ((dataStart < 0) || !StandardCharsets.UTF_8.equals(charset)) {
+                return super.iterator();
+            }
+            String[] headers = getHeaders();
+            boolean skipHeaderRow = arrayRows;
+            return new ParallelChunkIterator(dataSource, dataStart, CsvSplits::nextLineBreak,
+                    (chars, firstChunk) -> parseChunk(chars, headers, firstChunk && skipHeaderRow),
+                    parallelism, chunkSize, ordered);
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+    }
+
+    @Override
+    public long getSize() {
+        return CsvSplits.getSize(dataSource);
+    }
+
+    @Override
+    public Iterator<String[]> iterator(long start, long end) {
+        if ((start < 0) || (end < start)) {
+            throw new IllegalArgumentException("Invalid byte range [" + start + ", " + end + ")");
+        }
+        try {
+            int dataStart = ParallelChunkIterator.getDataStart(dataSource);
+            if ((dataStart < 0) || !StandardCharsets.UTF_8.equals(charset)) {
+                // the range holding the start of the file reads everything
+                return ((start == 0) && (end > 0)) ? iterator() : Collections.emptyIterator();
+            }
+            String[] headers = getHeaders();
+            long alignedStart;
+            long alignedEnd;
+            try (FileChannel channel = FileChannel.open(dataSource, StandardOpenOption.READ)) {
+                alignedStart = (start <= dataStart) ? dataStart : CsvSplits.nextLineBreak(channel, start - 1);
+                alignedEnd = (end <= dataStart) ? dataStart : CsvSplits.nextLineBreak(channel, end - 1);
+            }
+            if (alignedStart >= alignedEnd) {
+                return Collections.emptyIterator();
+            }
+            FileChannel channel = FileChannel.open(dataSource, StandardOpenOption.READ);
+            channel.position(alignedStart);
+            JsonRowIterator rows = openRows(ByteStreams.limit(Channels.newInputStream(channel), alignedEnd - alignedStart));
+            if (arrayRows && (alignedStart == dataStart) && rows.hasNext()) {
+                // skip the header row
+                rows.next();
+            }
+            return ClosingIterator.transform(rows, (node) -> JsonArrayTableDataSource.toRow(node, headers), rows);
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+    }
+
+    @Override
+    JsonRowIterator openRows() {
+        try {
+            return openRows(Files.newInputStream(dataSource));
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+    }
+
+    private JsonRowIterator openRows(InputStream in) throws IOException {
+        BufferedReader lines = TableDataSource.openReader(readAhead(in), charset);
+        return new JsonRowIterator() {
+            @Override
+            JsonNode readRow() throws IOException {
+                String line;
+                while (null != (line = lines.readLine())) {
+                    if (!line.trim().isEmpty()) {
+                        return OBJECT_READER.readTree(line);
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            void closeSource() throws IOException {
+                lines.close();
+            }
+        };
+    }
+
+    private static List<String[]> parseChunk(CharBuffer chars, String[] headers, boolean skipHeaderRow)
+            throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        boolean skip = skipHeaderRow;
+        int lineStart = 0;
+        int length = chars.length();
+        for (int i = 0; i <= length; i++) {
+            if ((i < length) && (chars.charAt(i) != '\n')) {
+                continue;
+            }
+            String line = chars.subSequence(lineStart, i).toString();
+            lineStart = i + 1;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            JsonNode node = OBJECT_READER.readTree(line);
+            if (!(node instanceof ObjectNode) && !(node instanceof ArrayNode)) {
+                throw new TableIOException("Unsupported JSON table row: " + node);
+            }
+            if (skip) {
+                skip = false;
+                continue;
+            }
+            rows.add(JsonArrayTableDataSource.toRow(node, headers));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,244 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import io.frictionlessdata.tableschema.exception.TableIOException;
+import io.frictionlessdata.tableschema.inputstream.Compression;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Reads a UTF-8 file in chunks that are parsed by a pool of worker threads. Chunk boundaries come from a
+ * {@link BoundaryFinder} and must fall between records, the chunks are memory-mapped, decoded and handed
+ * to a {@link ChunkParser}. At most two chunks per thread and at most {@link #MAX_BYTES_IN_FLIGHT} bytes of
+ * chunks, but at least one chunk, are in flight, so memory use is bounded independent of the file size and
+ * the number of cores.
+ *
+ * The file and the threads are released once all rows are read, when the iterator is closed, or, if it is
+ * abandoned, when it is garbage collected.
+ */
+class ParallelChunkIterator implements Iterator<String[]>, Closeable {
+    /**
+     * Upper bound of the file bytes in chunks that are parsed or waiting to be read. A chunk in memory takes
+     * two bytes per character as decoded chars plus the parsed Strings, typically 4-6 times its size in bytes.
+     */
+    static final long MAX_BYTES_IN_FLIGHT = 64L * 1024 * 1024;
+
+    /**
+     * Finds the offset after the end of the record that spans `target`. Called sequentially
+     * in increasing order of `target`.
+     */
+    interface BoundaryFinder {
+        long nextBoundary(FileChannel channel, long target) throws IOException;
+    }
+
+    /**
+     * Parses the records in a chunk. Called concurrently from the worker threads.
+     */
+    interface ChunkParser {
+        List<String[]> parse(CharBuffer chars, boolean firstChunk) throws IOException;
+    }
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final FileChannel channel;
+    private final BoundaryFinder boundaryFinder;
+    private final ChunkParser chunkParser;
+    private final int chunkSize;
+    private final boolean ordered;
+    private final ExecutorCompletionService<List<String[]>> completionService;
+    private final Deque<Future<List<String[]>>> inFlight = new ArrayDeque<>();
+    private final Cleaner.Cleanable cleanable;
+    private final long size;
+    private long nextChunkStart;
+    private boolean firstChunk = true;
+    private Iterator<String[]> current = Collections.emptyIterator();
+    private boolean closed = false;
+
+    ParallelChunkIterator(
+            Path file,
+            long dataStart,
+            BoundaryFinder boundaryFinder,
+            ChunkParser chunkParser,
+            int parallelism,
+            int chunkSize,
+            boolean ordered) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.boundaryFinder = boundaryFinder;
+        this.chunkParser = chunkParser;
+        this.chunkSize = chunkSize;
+        this.ordered = ordered;
+        this.nextChunkStart = dataStart;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(parallelism, parallelism, 1, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), (r) -> {
+                    Thread t = new Thread(r, "chunk-parser");
+                    t.setDaemon(true);
+                    return t;
+                });
+        // let the threads die if the iterator is abandoned before all rows are read
+        executor.allowCoreThreadTimeOut(true);
+        this.completionService = new ExecutorCompletionService<>(executor);
+        this.cleanable = CLEANER.register(this, new Release(channel, executor, inFlight));
+        long maxChunks = Math.max(1, Math.min(parallelism * 2L, MAX_BYTES_IN_FLIGHT / chunkSize));
+        for (long i = 0; i < maxChunks; i++) {
+            submitNextChunk();
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (inFlight.isEmpty()) {
+                close();
+                return false;
+            }
+            current = takeChunk().iterator();
+            submitNextChunk();
+        }
+        return true;
+    }
+
+    @Override
+    public String[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    private List<String[]> takeChunk() {
+        try {
+            Future<List<String[]>> future;
+            if (ordered) {
+                future = inFlight.poll();
+            } else {
+                future = completionService.take();
+                inFlight.remove(future);
+            }
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new TableIOException(new IOException("Interrupted while parsing", ex));
+        } catch (ExecutionException ex) {
+            close();
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new TableIOException(cause);
+        }
+    }
+
+    private void submitNextChunk() {
+        if ((nextChunkStart >= size) || closed) {
+            return;
+        }
+        try {
+            long start = nextChunkStart;
+            long end = boundaryFinder.nextBoundary(channel, start + chunkSize);
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Record too large at offset " + start);
+            }
+            boolean first = firstChunk;
+            firstChunk = false;
+            nextChunkStart = end;
+            // the task must not reference the iterator, so that an abandoned iterator can be collected
+            FileChannel channel = this.channel;
+            ChunkParser chunkParser = this.chunkParser;
+            inFlight.add(completionService.submit(
+                    () -> parseChunk(channel, chunkParser, start, (int) (end - start), first)));
+        } catch (IOException ex) {
+            close();
+            throw new TableIOException(ex);
+        }
+    }
+
+    private static List<String[]> parseChunk(FileChannel channel, ChunkParser chunkParser, long start, int length,
+                                             boolean first) throws IOException {
+        MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        return chunkParser.parse(decoder.decode(bytes), first);
+    }
+
+    /**
+     * Cancel the chunks in flight, stop the threads and close the file
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        current = Collections.emptyIterator();
+        cleanable.clean();
+    }
+
+    /**
+     * Releases the file and threads of an iterator. It must not reference the ParallelChunkIterator, or an
+     * abandoned iterator would never become unreachable for the Cleaner.
+     */
+    private static class Release implements Runnable {
+        private final FileChannel channel;
+        private final ExecutorService executor;
+        private final Deque<Future<List<String[]>>> inFlight;
+
+        Release(FileChannel channel, ExecutorService executor, Deque<Future<List<String[]>>> inFlight) {
+            this.channel = channel;
+            this.executor = executor;
+            this.inFlight = inFlight;
+        }
+
+        @Override
+        public void run() {
+            for (Future<List<String[]>> future : inFlight) {
+                future.cancel(true);
+            }
+            inFlight.clear();
+            executor.shutdownNow();
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                throw new TableIOException(ex);
+            }
+        }
+    }
+
+    /**
+     * Offset of the first byte after a UTF-8 byte order mark, 0 if there is no BOM, -1 for UTF-16 or
+     * UTF-32 data (with or without byte order mark) and compressed files, as these can't be split on bytes.
+     */
+    static int getDataStart(Path file) throws IOException {
+        byte[] start = new byte[Compression.MAGIC_LENGTH];
+        int length;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            length = Math.max(0, channel.read(java.nio.ByteBuffer.wrap(start)));
+        }
+        if (Compression.detect(start, length) != Compression.NONE) {
+            return -1;
+        }
+        if ((length >= 3) && (start[0] == (byte) 0xEF) && (start[1] == (byte) 0xBB) && (start[2] == (byte) 0xBF)) {
+            return 3;
+        }
+        if ((length >= 2) && (((start[0] == (byte) 0xFE) && (start[1] == (byte) 0xFF))
+                || ((start[0] == (byte) 0xFF) && (start[1] == (byte) 0xFE))
+                || (start[0] == 0) || (start[1] == 0))) {
+            // UTF-16 or UTF-32 byte order marks, or zero bytes of UTF-16 or UTF-32 data without BOM
+            return -1;
+        }
+        return 0;
+    }
+}
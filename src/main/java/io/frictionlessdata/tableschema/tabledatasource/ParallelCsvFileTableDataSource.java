@@ -0,0 +1,303 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import io.frictionlessdata.tableschema.exception.TableIOException;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.CharArrayReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Implements a {@link TableDataSource} on a local UTF-8 CSV file that is parsed on multiple cores.
+ *
+ * The file is memory-mapped and split into chunks of roughly {@link #setChunkSize(int)} bytes. Chunks always
+ * end after a line break that is not inside a quoted value, so every chunk holds complete records. Finding
+ * the boundaries is a quick sequential scan that tracks the quoting state; the chunks themselves are
+ * decoded and tokenized by a pool of worker threads with the {@link CsvTokenizer}.
+ * Rows are delivered either in file order or, with {@link #setOrdered(boolean)} switched off, in the order
+ * the chunks finish parsing.
+ *
+ * Files with a UTF-16 or UTF-32 byte order mark and CSVFormats with an escape character or other options not
+ * supported by the {@link CsvTokenizer} are read sequentially via commons-csv instead.
+ *
+ * Independent of the parallel parsing, a byte range of the file can be read via {@link #iterator(long, long)}.
+ */
+public class ParallelCsvFileTableDataSource extends AbstractTableDataSource<Path> implements SplittableTableDataSource {
+    private static final int DEFAULT_CHUNK_SIZE = 2 * 1024 * 1024;
+    // size of the windows mapped while scanning for chunk boundaries
+    private static final int SCAN_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private CSVFormat format = TableDataSource.getDefaultCsvFormat();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private boolean ordered = true;
+    private boolean lineBreaksInValues = true;
+
+    /**
+     * Create a data source on a CSV file
+     * @param dataFile the file to read
+     */
+    public ParallelCsvFileTableDataSource(File dataFile) {
+        super(dataFile.toPath());
+    }
+
+    public ParallelCsvFileTableDataSource setFormat(CSVFormat format) {
+        this.format = format;
+        // the header row depends on the format
+        this.headers = null;
+        return this;
+    }
+
+    public CSVFormat getFormat() {
+        return (this.format != null)
+                ? this.format
+                : TableDataSource.getDefaultCsvFormat();
+    }
+
+    /**
+     * Set the number of threads parsing chunks. Defaults to the number of available processors. Each thread
+     * adds up to two chunks in memory, see {@link #setChunkSize(int)}.
+     */
+    public ParallelCsvFileTableDataSource setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Set the target size of the chunks in bytes. A chunk extends to the end of the record at the target size.
+     * Defaults to 2 MB. Up to two chunks per thread, but no more than 64 MB of the file, are parsed or
+     * waiting to be read at a time; as decoded chars and parsed Strings, this takes several times the chunk
+     * size per chunk on the heap.
+     */
+    public ParallelCsvFileTableDataSource setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be at least 1");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Whether rows are returned in file order (the default). Unordered delivery returns the rows of each
+     * chunk as soon as it is parsed, which keeps all threads busy if chunks take different time to parse.
+     */
+    public ParallelCsvFileTableDataSource setOrdered(boolean ordered) {
+        this.ordered = ordered;
+        return this;
+    }
+
+    /**
+     * Whether quoted values may contain line breaks (the default). Byte ranges, see {@link #iterator(long, long)},
+     * then scan the file from the start of the data to find the record boundaries. If no value contains a line
+     * break, a range starts after the next line break and nothing before it is read.
+     */
+    public ParallelCsvFileTableDataSource setLineBreaksInValues(boolean lineBreaksInValues) {
+        this.lineBreaksInValues = lineBreaksInValues;
+        return this;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public boolean isLineBreaksInValues() {
+        return lineBreaksInValues;
+    }
+
+    @Override
+    public Iterator<String[]> iterator() {
+        return iterator(null);
+    }
+
+    /**
+     * Reads only the selected columns. The worker threads skip the values of the other columns without
+     * creating Strings for them.
+     */
+    @Override
+    public Iterator<String[]> iterator(int[] columns) {
+        try {
+            CSVFormat format = getFormat();
+            int dataStart = ParallelChunkIterator.getDataStart(dataSource);
+            // chunks are split on bytes, which only works for UTF-8
+            if ((dataStart < 0) || !StandardCharsets.UTF_8.equals(charset) || !CsvSplits.supportsSplitting(format)) {
+                CSVParser parser = CSVParser.parse(openReader(), format);
+                Iterator<String[]> rows = ClosingIterator.transform(parser.iterator(), CSVRecord::values, parser);
+                return (null == columns) ? rows : ProjectedTableDataSource.project(rows, columns);
+            }
+            // only the first chunk contains the header row
+            CSVFormat chunkFormat = CsvSplits.withoutHeader(format);
+            return new ParallelChunkIterator(dataSource, dataStart, new BoundaryScanner(format, dataStart),
+                    (chars, firstChunk) -> parseChunk(chars, firstChunk ? format : chunkFormat, columns),
+                    parallelism, chunkSize, ordered);
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+    }
+
+    @Override
+    public long getSize() {
+        return CsvSplits.getSize(dataSource);
+    }
+
+    @Override
+    public Iterator<String[]> iterator(long start, long end) {
+        return CsvSplits.iterator(dataSource, getFormat(), charset, null, lineBreaksInValues, start, end,
+                this::iterator);
+    }
+
+    @Override
+    public String[] getHeaders() {
+        if (null == headers) {
+            try (CSVParser parser = CSVParser.parse(openReader(), getFormat())) {
+                Map<String, Integer> headerMap = parser.getHeaderMap();
+                if (null == headerMap) {
+                    return null;
+                }
+                headers = headerMap.keySet().toArray(new String[0]);
+            } catch (IOException ex) {
+                throw new TableIOException(ex);
+            }
+        }
+        return headers;
+    }
+
+    @Override
+    public boolean hasReliableHeaders() {
+        try {
+            return this.getHeaders() != null;
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    private Reader openReader() throws IOException {
+        return TableDataSource.openReader(readAhead(Files.newInputStream(dataSource)), charset);
+    }
+
+    private static List<String[]> parseChunk(CharBuffer chars, CSVFormat format, int[] columns) throws IOException {
+        Reader reader = new CharArrayReader(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+        List<String[]> rows = new ArrayList<>();
+        try (CsvTokenizer tokenizer = new CsvTokenizer(reader, format)) {
+            while (tokenizer.nextRecord()) {
+                rows.add((null == columns) ? tokenizer.getRecord() : tokenizer.getRecord(columns));
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Scans the file sequentially for line breaks outside of quoted values. Quotes only count at the
+     * start of a value, as in commons-csv a quote inside an unquoted value is a literal character.
+     */
+    static class BoundaryScanner implements ParallelChunkIterator.BoundaryFinder {
+        private static final int FIELD_START = 0;
+        private static final int UNQUOTED = 1;
+        private static final int QUOTED = 2;
+        private static final int QUOTE_IN_QUOTED = 3;
+
+        private final byte delimiter;
+        private final int quote;
+        private final boolean ignoreSurroundingSpaces;
+        private int state = FIELD_START;
+        private long position;
+
+        BoundaryScanner(CSVFormat format, long start) {
+            this.delimiter = (byte) format.getDelimiterString().charAt(0);
+            this.quote = (null == format.getQuoteCharacter()) ? -1 : format.getQuoteCharacter();
+            this.ignoreSurroundingSpaces = format.getIgnoreSurroundingSpaces();
+            this.position = start;
+        }
+
+        /**
+         * Find the first record boundary at or after `target`
+         * @param target the offset to start looking for a boundary
+         * @return the offset after the line break ending the record, or the file size
+         */
+        @Override
+        public long nextBoundary(FileChannel channel, long target) throws IOException {
+            long size = channel.size();
+            while (position < size) {
+                long windowSize = Math.min(SCAN_WINDOW_SIZE, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                int st = state;
+                for (int i = 0; i < windowSize; i++) {
+                    byte b = window.get(i);
+                    switch (st) {
+                        case FIELD_START:
+                            if (b == quote) {
+                                st = QUOTED;
+                            } else if (b == '\n') {
+                                if (position + i >= target) {
+                                    return finish(st, position + i + 1);
+                                }
+                            } else if ((b != delimiter) && (b != '\r')
+                                    && !(ignoreSurroundingSpaces && ((b == ' ') || (b == '\t')))) {
+                                st = UNQUOTED;
+                            }
+                            break;
+                        case UNQUOTED:
+                            if (b == delimiter) {
+                                st = FIELD_START;
+                            } else if ((b == '\n') || (b == '\r')) {
+                                st = FIELD_START;
+                                if ((b == '\n') && (position + i >= target)) {
+                                    return finish(st, position + i + 1);
+                                }
+                            }
+                            break;
+                        case QUOTED:
+                            if (b == quote) {
+                                st = QUOTE_IN_QUOTED;
+                            }
+                            break;
+                        default:
+                            // after a quote inside a quoted value: either a doubled quote or the end of the value
+                            if (b == quote) {
+                                st = QUOTED;
+                            } else if (b == '\n') {
+                                st = FIELD_START;
+                                if (position + i >= target) {
+                                    return finish(st, position + i + 1);
+                                }
+                            } else if ((b == delimiter) || (b == '\r')) {
+                                st = FIELD_START;
+                            } else {
+                                // whitespace after the closing quote
+                                st = UNQUOTED;
+                            }
+                    }
+                }
+                state = st;
+                position += windowSize;
+            }
+            return size;
+        }
+
+        private long finish(int st, long boundary) {
+            state = st;
+            position = boundary;
+            return boundary;
+        }
+    }
+}
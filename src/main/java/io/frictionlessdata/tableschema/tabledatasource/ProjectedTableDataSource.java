@@ -0,0 +1,88 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import com.google.common.collect.Iterators;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Selected columns of a {@link TableDataSource}
+ */
+class ProjectedTableDataSource implements TableDataSource {
+    private final TableDataSource source;
+    private final int[] columns;
+
+    ProjectedTableDataSource(TableDataSource source, int[] columns) {
+        for (int column : columns) {
+            if (column < 0) {
+                throw new IllegalArgumentException("Invalid column: " + column);
+            }
+        }
+        this.source = source;
+        this.columns = columns.clone();
+    }
+
+    /**
+     * Returns the selected columns of `rows`. If `rows` is Closeable, so is the returned Iterator.
+     */
+    static Iterator<String[]> project(Iterator<String[]> rows, int[] columns) {
+        if (rows instanceof Closeable) {
+            return ClosingIterator.transform(rows, (row) -> project(row, columns), (Closeable) rows);
+        }
+        return Iterators.transform(rows, (row) -> project(row, columns));
+    }
+
+    static <T> T[] project(T[] values, int[] columns) {
+        T[] projected = Arrays.copyOf(values, columns.length);
+        for (int i = 0; i < columns.length; i++) {
+            projected[i] = (columns[i] < values.length) ? values[columns[i]] : null;
+        }
+        return projected;
+    }
+
+    @Override
+    public Iterator<String[]> iterator() {
+        return source.iterator(columns);
+    }
+
+    @Override
+    public Iterator<String[]> iterator(int[] selected) {
+        int[] sourceColumns = new int[selected.length];
+        for (int i = 0; i < selected.length; i++) {
+            // columns beyond the projection don't exist in the source either
+            sourceColumns[i] = (selected[i] < columns.length) ? columns[selected[i]] : Integer.MAX_VALUE;
+        }
+        return source.iterator(sourceColumns);
+    }
+
+    @Override
+    public Iterator<String[]> rowIterator(long firstRow) {
+        return project(source.rowIterator(firstRow), columns);
+    }
+
+    @Override
+    public long getRowCount() {
+        return source.getRowCount();
+    }
+
+    @Override
+    public String[] getHeaders() {
+        String[] headers = source.getHeaders();
+        return (null == headers) ? null : project(headers, columns);
+    }
+
+    @Override
+    public List<String[]> getDataAsStringArray() {
+        List<String[]> data = new ArrayList<>();
+        iterator().forEachRemaining(data::add);
+        return data;
+    }
+
+    @Override
+    public boolean hasReliableHeaders() {
+        return source.hasReliableHeaders();
+    }
+}
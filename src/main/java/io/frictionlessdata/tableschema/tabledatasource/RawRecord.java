@@ -0,0 +1,32 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+/**
+ * Read access to the raw values of the current record of a data source, without creating Strings for them.
+ * The values are only valid until the data source moves on to the next record.
+ */
+public interface RawRecord {
+
+    /**
+     * @return the number of fields in the current record
+     */
+    int getFieldCount();
+
+    /**
+     * @param index the position of the field in the current record
+     * @return the length of the field value
+     */
+    int getFieldLength(int index);
+
+    /**
+     * @param index the position of the field in the current record
+     * @param position the position of the char in the field value, less than its length
+     * @return the char of the field value
+     */
+    char charAt(int index, int position);
+
+    /**
+     * @param index the position of the field in the current record
+     * @return the field value as a String
+     */
+    String getField(int index);
+}
@@ -0,0 +1,219 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import io.frictionlessdata.tableschema.field.Field;
+import io.frictionlessdata.tableschema.field.StringField;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.*;
+
+/**
+ * A predicate on the value of one column, for reading only the matching rows of a Table via
+ * {@link io.frictionlessdata.tableschema.Table#filter(RowFilter...)}.
+ *
+ * Values are compared after casting them with the Field of the column, so `eq("age", 50)` matches the
+ * BigInteger 50 of an integer column. Numbers of different types are compared by their numeric value, and
+ * String values given for non-string columns are cast with the Field, e.g. `eq("start", "2017-07-30")` for
+ * a date column. Without a Schema, the raw String values are compared.
+ */
+public abstract class RowFilter {
+    private final String column;
+
+    RowFilter(String column) {
+        this.column = column;
+    }
+
+    /**
+     * Matches rows where the column has the given value
+     * @param column the name of the column
+     * @param value the value to match
+     * @return the filter
+     */
+    public static RowFilter eq(String column, Object value) {
+        return new In(column, Collections.singletonList(value));
+    }
+
+    /**
+     * Matches rows where the column has one of the given values
+     * @param column the name of the column
+     * @param values the values to match
+     * @return the filter
+     */
+    public static RowFilter in(String column, Collection<?> values) {
+        return new In(column, new ArrayList<>(values));
+    }
+
+    /**
+     * Matches rows where the column has one of the given values
+     * @param column the name of the column
+     * @param values the values to match
+     * @return the filter
+     */
+    public static RowFilter in(String column, Object... values) {
+        return new In(column, Arrays.asList(values));
+    }
+
+    /**
+     * Matches rows where the value of the column is in the range [min, max]. Null values never match.
+     * @param column the name of the column
+     * @param min the smallest matching value, null for no lower bound
+     * @param max the largest matching value, null for no upper bound
+     * @return the filter
+     */
+    public static RowFilter range(String column, Object min, Object max) {
+        return new Range(column, min, max);
+    }
+
+    /**
+     * Matches rows where the column has no value
+     * @param column the name of the column
+     * @return the filter
+     */
+    public static RowFilter isNull(String column) {
+        return new IsNull(column);
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * Convert the values of the filter to the type the Field casts to.
+     * @param field the Field of the column, null to compare raw Strings
+     * @return a filter comparing cast values of the column
+     */
+    abstract RowFilter bind(Field<?> field);
+
+    /**
+     * @param value the cast value of the column
+     * @return true if the row matches
+     */
+    abstract boolean test(Object value);
+
+    /**
+     * Decide on the raw value of the column where that is possible without casting it
+     * @param raw the raw value of the column
+     * @return true if the row can't match
+     */
+    boolean rejectsRaw(String raw) {
+        return false;
+    }
+
+    static Object convert(Object value, Field<?> field) {
+        if ((value instanceof String) && (null != field) && !(field instanceof StringField)) {
+            // a filter value outside of the constraints of the Field still selects rows
+            return normalize(field.castValue((String) value, false, field.getOptions()));
+        }
+        return normalize(value);
+    }
+
+    // numbers are compared by value, NaN and infinity stay Doubles
+    static Object normalize(Object value) {
+        if ((value instanceof BigDecimal)) {
+            BigDecimal decimal = (BigDecimal) value;
+            return (decimal.signum() == 0) ? BigDecimal.ZERO : decimal.stripTrailingZeros();
+        }
+        if ((value instanceof BigInteger) || (value instanceof Long) || (value instanceof Integer)
+                || (value instanceof Short) || (value instanceof Byte)) {
+            return normalize(new BigDecimal(value.toString()));
+        }
+        if (((value instanceof Double) || (value instanceof Float)) && Double.isFinite(((Number) value).doubleValue())) {
+            return normalize(BigDecimal.valueOf(((Number) value).doubleValue()));
+        }
+        return value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compare(Object value, Object bound) {
+        if ((value instanceof Number) && (bound instanceof Number)
+                && (!(value instanceof BigDecimal) || !(bound instanceof BigDecimal))) {
+            // NaN or infinity on either side
+            return Double.compare(((Number) value).doubleValue(), ((Number) bound).doubleValue());
+        }
+        if (!(value instanceof Comparable) || !value.getClass().isInstance(bound)) {
+            throw new IllegalArgumentException("Can't compare " + value + " to " + bound);
+        }
+        return ((Comparable) value).compareTo(bound);
+    }
+
+    private static class In extends RowFilter {
+        private final List<?> values;
+        private final Set<Object> normalized;
+        private final boolean rawStrings;
+
+        In(String column, List<?> values) {
+            this(column, values, null);
+        }
+
+        private In(String column, List<?> values, Field<?> field) {
+            super(column);
+            this.values = values;
+            this.normalized = new HashSet<>();
+            boolean strings = (null == field) || (field instanceof StringField);
+            for (Object value : values) {
+                Object converted = convert(value, field);
+                normalized.add(converted);
+                strings &= (converted instanceof String) && !((String) converted).isEmpty();
+            }
+            // a String column casts a non-empty value to itself, so the raw value decides
+            this.rawStrings = strings;
+        }
+
+        @Override
+        RowFilter bind(Field<?> field) {
+            return new In(getColumn(), values, field);
+        }
+
+        @Override
+        boolean test(Object value) {
+            return normalized.contains(normalize(value));
+        }
+
+        @Override
+        boolean rejectsRaw(String raw) {
+            return rawStrings && !normalized.contains((null == raw) ? "" : raw);
+        }
+    }
+
+    private static class Range extends RowFilter {
+        private final Object min;
+        private final Object max;
+
+        Range(String column, Object min, Object max) {
+            super(column);
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        RowFilter bind(Field<?> field) {
+            return new Range(getColumn(), convert(min, field), convert(max, field));
+        }
+
+        @Override
+        boolean test(Object value) {
+            if (null == value) {
+                return false;
+            }
+            Object normalized = normalize(value);
+            return ((null == min) || (compare(normalized, min) >= 0))
+                    && ((null == max) || (compare(normalized, max) <= 0));
+        }
+    }
+
+    private static class IsNull extends RowFilter {
+        IsNull(String column) {
+            super(column);
+        }
+
+        @Override
+        RowFilter bind(Field<?> field) {
+            return this;
+        }
+
+        @Override
+        boolean test(Object value) {
+            return null == value;
+        }
+    }
+}
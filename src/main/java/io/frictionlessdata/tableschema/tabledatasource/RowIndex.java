@@ -0,0 +1,387 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import io.frictionlessdata.tableschema.exception.TableIOException;
+import io.frictionlessdata.tableschema.exception.TableSchemaException;
+import org.apache.commons.csv.CSVFormat;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Byte offsets of every Kth data row of a local CSV file, for seeking to a row without parsing the rows
+ * before it, and for counting the rows without reading the file.
+ *
+ * The index is built in one pass over the bytes of the file and is stored in a sidecar file next to the data
+ * file (`data.csv.rowindex` for `data.csv`). It records the size and modification time of the data file and a
+ * hash of the header row and the CSVFormat, and is rebuilt if any of them changes.
+ *
+ * Only uncompressed UTF-8 files with a CSVFormat that supports splitting on bytes can be indexed, and lines
+ * must end in LF or CRLF.
+ */
+public class RowIndex {
+    public static final int DEFAULT_INTERVAL = 1024;
+    static final String SIDECAR_EXTENSION = ".rowindex";
+
+    private static final int MAGIC = 0x54535249; // "TSRI"
+    private static final int VERSION = 1;
+    private static final int SCAN_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final int interval;
+    private final long rowCount;
+    private final long dataStart;
+    private final long headerEnd;
+    private final long headerHash;
+    private final int formatHash;
+    private final long fileSize;
+    private final long lastModified;
+    // offsets[i] is the offset of the first byte of data row i * interval
+    private final long[] offsets;
+
+    private RowIndex(int interval, long rowCount, long dataStart, long headerEnd, long headerHash,
+                     int formatHash, long fileSize, long lastModified, long[] offsets) {
+        this.interval = interval;
+        this.rowCount = rowCount;
+        this.dataStart = dataStart;
+        this.headerEnd = headerEnd;
+        this.headerHash = headerHash;
+        this.formatHash = formatHash;
+        this.fileSize = fileSize;
+        this.lastModified = lastModified;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Load the index of a file from its sidecar file if it is up to date, otherwise build the index and write
+     * the sidecar file. If the sidecar file can't be written, the index is only returned.
+     * @param file the CSV file
+     * @param format the CSVFormat of the file
+     * @param interval the number of rows between two indexed offsets, only used if the index is built
+     * @return the index of the file
+     * @throws TableSchemaException if the file can't be indexed
+     */
+    public static RowIndex loadOrBuild(Path file, CSVFormat format, int interval) {
+        Path sidecar = getSidecarPath(file);
+        RowIndex index = load(sidecar);
+        if ((null != index) && index.isValid(file, format)) {
+            return index;
+        }
+        index = build(file, format, interval);
+        try {
+            index.write(sidecar);
+        } catch (IOException ex) {
+            // a read-only directory only costs rebuilding the index next time
+        }
+        return index;
+    }
+
+    /**
+     * Build the index of a file in one pass, without writing a sidecar file
+     * @param file the CSV file
+     * @param format the CSVFormat of the file
+     * @param interval the number of rows between two indexed offsets
+     * @return the index of the file
+     * @throws TableSchemaException if the file can't be indexed
+     */
+    public static RowIndex build(Path file, CSVFormat format, int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Index interval must be at least 1");
+        }
+        if (!CsvSplits.supportsSplitting(format)) {
+            throw new TableSchemaException("CSVFormat doesn't allow indexing rows: " + format);
+        }
+        try {
+            int dataStart = ParallelChunkIterator.getDataStart(file);
+            if (dataStart < 0) {
+                throw new TableSchemaException("Only uncompressed UTF-8 files can be indexed: " + file);
+            }
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                RowScanner scanner = new RowScanner(format, interval);
+                scanner.scan(channel, dataStart);
+                long headerEnd = scanner.headerEnd;
+                return new RowIndex(interval, scanner.rowCount, dataStart, headerEnd,
+                        hashHeader(channel, dataStart, headerEnd), hashFormat(format), channel.size(),
+                        lastModified, Arrays.copyOf(scanner.offsets, scanner.offsetCount));
+            }
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+    }
+
+    /**
+     * @return the number of data rows in the file, without the header row and ignored empty lines
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * @return the number of rows between two indexed offsets
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Find the indexed offset closest before a data row
+     * @param row the 0-based number of the data row
+     * @return the offset of the first byte of data row `getIndexedRow(row)`
+     */
+    public long getOffset(long row) {
+        return offsets[(int) (row / interval)];
+    }
+
+    /**
+     * @param row the 0-based number of the data row
+     * @return the number of the closest indexed data row at or before `row`
+     */
+    public long getIndexedRow(long row) {
+        return (row / interval) * interval;
+    }
+
+    long getDataStart() {
+        return dataStart;
+    }
+
+    /**
+     * Find the closest indexed row starting before a byte offset, from where the file can be scanned for
+     * record boundaries without knowing the bytes before it
+     * @param offset a byte offset in the file
+     * @return the offset of the last indexed data row starting before `offset`, or the start of the data
+     */
+    long getOffsetBefore(long offset) {
+        int i = Arrays.binarySearch(offsets, offset);
+        i = (i >= 0) ? i - 1 : -i - 2;
+        return (i >= 0) ? offsets[i] : dataStart;
+    }
+
+    /**
+     * Check the index against the file it was built for. Size and modification time of the file are checked
+     * first, the header row is re-read only if they match.
+     * @param file the CSV file
+     * @param format the CSVFormat of the file
+     * @return true if the index is up to date
+     */
+    public boolean isValid(Path file, CSVFormat format) {
+        try {
+            if ((Files.size(file) != fileSize)
+                    || (Files.getLastModifiedTime(file).toMillis() != lastModified)
+                    || (hashFormat(format) != formatHash)) {
+                return false;
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return hashHeader(channel, dataStart, headerEnd) == headerHash;
+            }
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    static Path getSidecarPath(Path file) {
+        return Paths.get(file.toString() + SIDECAR_EXTENSION);
+    }
+
+    void write(Path sidecar) throws IOException {
+        // write to a temporary file first, so that concurrent readers never see a partial index
+        Path tmp = Files.createTempFile(sidecar.toAbsolutePath().getParent(), sidecar.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(interval);
+                out.writeLong(rowCount);
+                out.writeLong(dataStart);
+                out.writeLong(headerEnd);
+                out.writeLong(headerHash);
+                out.writeInt(formatHash);
+                out.writeLong(fileSize);
+                out.writeLong(lastModified);
+                out.writeInt(offsets.length);
+                for (long offset : offsets) {
+                    out.writeLong(offset);
+                }
+            }
+            Files.move(tmp, sidecar, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // returns null if there is no readable index of the current version
+    static RowIndex load(Path sidecar) {
+        if (!Files.isRegularFile(sidecar)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(sidecar)))) {
+            if ((in.readInt() != MAGIC) || (in.readInt() != VERSION)) {
+                return null;
+            }
+            int interval = in.readInt();
+            long rowCount = in.readLong();
+            long dataStart = in.readLong();
+            long headerEnd = in.readLong();
+            long headerHash = in.readLong();
+            int formatHash = in.readInt();
+            long fileSize = in.readLong();
+            long lastModified = in.readLong();
+            long[] offsets = new long[in.readInt()];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = in.readLong();
+            }
+            return new RowIndex(interval, rowCount, dataStart, headerEnd, headerHash, formatHash, fileSize,
+                    lastModified, offsets);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    private static long hashHeader(FileChannel channel, long start, long end) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = start;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            buffer.flip();
+            crc.update(buffer);
+            position += read;
+        }
+        return crc.getValue();
+    }
+
+    private static int hashFormat(CSVFormat format) {
+        return Arrays.hashCode(format.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Finds the record starts with the quoting rules of the BoundaryScanner of
+     * {@link ParallelCsvFileTableDataSource}, and skips the header row and empty lines like the
+     * {@link CsvTokenizer}.
+     */
+    private static class RowScanner {
+        private static final int FIELD_START = 0;
+        private static final int UNQUOTED = 1;
+        private static final int QUOTED = 2;
+        private static final int QUOTE_IN_QUOTED = 3;
+
+        private final byte delimiter;
+        private final int quote;
+        private final boolean ignoreSurroundingSpaces;
+        private final boolean ignoreEmptyLines;
+        private final int interval;
+        private boolean skipHeaderRecord;
+        private long headerEnd = -1;
+        private long rowCount = 0;
+        private long[] offsets = new long[16];
+        private int offsetCount = 0;
+
+        RowScanner(CSVFormat format, int interval) {
+            this.delimiter = (byte) format.getDelimiterString().charAt(0);
+            this.quote = (null == format.getQuoteCharacter()) ? -1 : format.getQuoteCharacter();
+            this.ignoreSurroundingSpaces = format.getIgnoreSurroundingSpaces();
+            this.ignoreEmptyLines = format.getIgnoreEmptyLines();
+            String[] header = format.getHeader();
+            this.skipHeaderRecord = (null != header) && ((header.length == 0) || format.getSkipHeaderRecord());
+            this.interval = interval;
+        }
+
+        void scan(FileChannel channel, long dataStart) throws IOException {
+            long size = channel.size();
+            long position = dataStart;
+            int st = FIELD_START;
+            boolean recordStart = true;
+            boolean inHeader = false;
+            while (position < size) {
+                long windowSize = Math.min(SCAN_WINDOW_SIZE, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                for (int i = 0; i < windowSize; i++) {
+                    byte b = window.get(i);
+                    if (recordStart) {
+                        if (ignoreEmptyLines && ((b == '\n') || (b == '\r'))) {
+                            continue;
+                        }
+                        recordStart = false;
+                        if (skipHeaderRecord) {
+                            skipHeaderRecord = false;
+                            inHeader = true;
+                        } else {
+                            addRow(position + i);
+                        }
+                    }
+                    boolean recordEnd = false;
+                    switch (st) {
+                        case FIELD_START:
+                            if (b == quote) {
+                                st = QUOTED;
+                            } else if (b == '\n') {
+                                recordEnd = true;
+                            } else if ((b != delimiter) && (b != '\r')
+                                    && !(ignoreSurroundingSpaces && ((b == ' ') || (b == '\t')))) {
+                                st = UNQUOTED;
+                            }
+                            break;
+                        case UNQUOTED:
+                            if ((b == delimiter) || (b == '\r')) {
+                                st = FIELD_START;
+                            } else if (b == '\n') {
+                                st = FIELD_START;
+                                recordEnd = true;
+                            }
+                            break;
+                        case QUOTED:
+                            if (b == quote) {
+                                st = QUOTE_IN_QUOTED;
+                            }
+                            break;
+                        default:
+                            // after a quote inside a quoted value: either a doubled quote or the end of the value
+                            if (b == quote) {
+                                st = QUOTED;
+                            } else if ((b == delimiter) || (b == '\r') || (b == '\n')) {
+                                st = FIELD_START;
+                                recordEnd = (b == '\n');
+                            } else {
+                                st = UNQUOTED;
+                            }
+                    }
+                    if (recordEnd) {
+                        recordStart = true;
+                        if (inHeader) {
+                            inHeader = false;
+                            headerEnd = position + i + 1;
+                        }
+                    }
+                }
+                position += windowSize;
+            }
+            if (headerEnd < 0) {
+                // no header row, or a header row without line break at the end of the file
+                headerEnd = inHeader ? size : dataStart;
+            }
+        }
+
+        private void addRow(long offset) {
+            if (rowCount % interval == 0) {
+                if (offsetCount == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                }
+                offsets[offsetCount++] = offset;
+            }
+            rowCount++;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The data rows [start, end) of a {@link TableDataSource}
+ */
+class RowRangeTableDataSource implements TableDataSource {
+    private final TableDataSource source;
+    private final long start;
+    private final long end;
+
+    RowRangeTableDataSource(TableDataSource source, long start, long end) {
+        if ((start < 0) || (end < start)) {
+            throw new IllegalArgumentException("Invalid row range [" + start + ", " + end + ")");
+        }
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Returns the rows of the range. The Iterator of the source is closed after the last row of the range, or when
+     * the returned Iterator is closed before.
+     */
+    @Override
+    public Iterator<String[]> iterator() {
+        Iterator<String[]> iter = source.rowIterator(start);
+        Iterator<String[]> range = new Iterator<String[]>() {
+            private long remaining = end - start;
+
+            @Override
+            public boolean hasNext() {
+                return (remaining > 0) && iter.hasNext();
+            }
+
+            @Override
+            public String[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                return iter.next();
+            }
+        };
+        return new ClosingIterator<>(range, ClosingIterator.closerOf(iter));
+    }
+
+    @Override
+    public Iterator<String[]> rowIterator(long firstRow) {
+        if (firstRow < 0) {
+            throw new IllegalArgumentException("Invalid row number: " + firstRow);
+        }
+        return source.rowRange(Math.min(start + firstRow, end), end).iterator();
+    }
+
+    @Override
+    public long getRowCount() {
+        return Math.max(0, Math.min(end, source.getRowCount()) - start);
+    }
+
+    @Override
+    public String[] getHeaders() {
+        return source.getHeaders();
+    }
+
+    @Override
+    public List<String[]> getDataAsStringArray() {
+        List<String[]> data = new ArrayList<>();
+        iterator().forEachRemaining(data::add);
+        return data;
+    }
+
+    @Override
+    public boolean hasReliableHeaders() {
+        return source.hasReliableHeaders();
+    }
+}
@@ -0,0 +1,41 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import java.util.Iterator;
+
+/**
+ * A {@link TableDataSource} on a local file that can read the rows of a byte range of the file, so that
+ * independent threads or processes can each read one split of the same file.
+ *
+ * Like Hadoop input splits, a byte range [start, end) reads the rows whose records start inside the range.
+ * Both ends are aligned to the next record boundary, so a set of ranges covering the file without gaps or
+ * overlaps reads every row exactly once, no matter where the ranges are cut. The header row is never returned.
+ *
+ * Data that can't be split, e.g. compressed files, is read completely by the range that starts at offset 0,
+ * all other ranges return no rows.
+ */
+public interface SplittableTableDataSource extends TableDataSource {
+
+    /**
+     * @return the size of the file in bytes
+     */
+    long getSize();
+
+    /**
+     * Returns an Iterator over the rows whose records start in the byte range [start, end)
+     * @param start offset of the first byte of the range
+     * @param end offset after the last byte of the range
+     * @return Iterator over the rows of the range
+     */
+    Iterator<String[]> iterator(long start, long end);
+
+    /**
+     * Returns a view on the rows of a byte range as a TableDataSource of its own, with the headers of this
+     * data source.
+     * @param start offset of the first byte of the range
+     * @param end offset after the last byte of the range
+     * @return a TableDataSource over the rows of the range
+     */
+    default TableDataSource byteRange(long start, long end) {
+        return new ByteRangeTableDataSource(this, start, end);
+    }
+}
@@ -0,0 +1,79 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.frictionlessdata.tableschema.exception.TableIOException;
+import io.frictionlessdata.tableschema.util.JsonUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Implements a {@link TableDataSource} on a file holding a JSON-encoded table, without reading the whole
+ * file into memory. Like for the {@link JsonArrayTableDataSource}, the outer structure is a JSON array, and each
+ * row is either a JSON object or a JSON array of values, with the first array holding the column names.
+ *
+ * The file is read with Jackson's token stream on each iteration, only one row is held in memory at a time.
+ * See {@link AbstractStreamingJsonTableDataSource} on how the headers are found.
+ */
+public class StreamingJsonArrayTableDataSource extends AbstractStreamingJsonTableDataSource {
+
+    /**
+     * Create a data source on a file containing a JSON array
+     * @param dataFile the file to read
+     */
+    public StreamingJsonArrayTableDataSource(File dataFile) {
+        super(dataFile.toPath());
+    }
+
+    /**
+     * Create a data source from an InputStream containing a JSON array. As an InputStream can only be read once,
+     * the data is copied to a temporary file that is deleted when the data source is closed or garbage collected.
+     * The InputStream is closed.
+     * @param inStream the stream to read
+     * @throws IOException if copying the data fails
+     */
+    public StreamingJsonArrayTableDataSource(InputStream inStream) throws IOException {
+        super(TableDataSource.spool(inStream));
+        deleteOnClose(dataSource);
+    }
+
+    StreamingJsonArrayTableDataSource(Path dataFile) {
+        super(dataFile);
+    }
+
+    @Override
+    JsonRowIterator openRows() {
+        ObjectMapper mapper = JsonUtil.getInstance().getMapper();
+        try {
+            JsonParser parser = mapper.getFactory().createParser(
+                    TableDataSource.openReader(readAhead(Files.newInputStream(dataSource)), charset));
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new TableIOException("Data is not a JSON array: " + dataSource);
+            }
+            return new JsonRowIterator() {
+                @Override
+                JsonNode readRow() throws IOException {
+                    JsonToken token = parser.nextToken();
+                    if ((null == token) || (token == JsonToken.END_ARRAY)) {
+                        return null;
+                    }
+                    return mapper.readTree(parser);
+                }
+
+                @Override
+                void closeSource() throws IOException {
+                    parser.close();
+                }
+            };
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+/**
+ * A {@link RawRecord} on rows that are already read into String arrays
+ */
+class StringArrayRecord implements RawRecord {
+    private String[] values = new String[0];
+
+    StringArrayRecord set(String[] values) {
+        this.values = values;
+        return this;
+    }
+
+    @Override
+    public int getFieldCount() {
+        return values.length;
+    }
+
+    @Override
+    public int getFieldLength(int index) {
+        return (null == values[index]) ? 0 : values[index].length();
+    }
+
+    @Override
+    public char charAt(int index, int position) {
+        return values[index].charAt(position);
+    }
+
+    @Override
+    public String getField(int index) {
+        return values[index];
+    }
+}
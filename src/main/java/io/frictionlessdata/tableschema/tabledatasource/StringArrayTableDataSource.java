@@ -6,7 +6,8 @@ import java.util.*;
  *
  * 
  */
-public class StringArrayTableDataSource extends AbstractTableDataSource<Collection<String[]>> {
+public class StringArrayTableDataSource extends AbstractTableDataSource<Collection<String[]>>
+        implements IndexedTableDataSource {
     private final String[] headers;
 
     public StringArrayTableDataSource(Collection<String[]> data, String[] headers){
@@ -29,6 +30,25 @@ public class StringArrayTableDataSource extends AbstractTableDataSource<Collecti
         return new ArrayList<>((Collection<String[]>)dataSource);
     }
 
+    @Override
+    public long getRowCount() {
+        return dataSource.size();
+    }
+
+    @Override
+    public StringArrayTableDataSource rowRange(long start, long end) {
+        if ((start < 0) || (end < start)) {
+            throw new IllegalArgumentException("Invalid row range [" + start + ", " + end + ")");
+        }
+        if (!(dataSource instanceof List)) {
+            // index once, the views share the List
+            dataSource = new ArrayList<>(dataSource);
+        }
+        int size = dataSource.size();
+        List<String[]> rows = ((List<String[]>) dataSource).subList((int) Math.min(start, size), (int) Math.min(end, size));
+        return new StringArrayTableDataSource(rows, headers);
+    }
+
     @Override
     public String[] getHeaders(){
         return headers;
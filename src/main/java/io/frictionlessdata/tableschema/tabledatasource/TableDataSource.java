@@ -1,23 +1,33 @@
 package io.frictionlessdata.tableschema.tabledatasource;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import io.frictionlessdata.tableschema.Table;
 import io.frictionlessdata.tableschema.exception.TableIOException;
+import io.frictionlessdata.tableschema.field.Field;
 import io.frictionlessdata.tableschema.inputstream.ByteOrderMarkStrippingInputStream;
+import io.frictionlessdata.tableschema.inputstream.Compression;
+import io.frictionlessdata.tableschema.inputstream.Utf8Reader;
 import io.frictionlessdata.tableschema.util.JsonUtil;
 import org.apache.commons.csv.CSVFormat;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URL;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -41,6 +51,11 @@ import java.util.zip.ZipFile;
  */
 public interface TableDataSource {
     String UTF16_BOM = "\ufeff";
+    /**
+     * @deprecated a UTF-8 BOM read with the wrong charset. BOMs are stripped from the bytes before decoding,
+     * see {@link #openReader(InputStream, Charset)}
+     */
+    @Deprecated
     String UTF8_BOM = "\u00ef\u00bb\u00bf";
     /**
      * Returns an Iterator that returns String arrays containing
@@ -49,12 +64,96 @@ public interface TableDataSource {
      */
     Iterator<String[]> iterator();
 
+    /**
+     * Returns an Iterator over selected columns of the data. Data sources that tokenize their input override
+     * this to not create values for the other columns.
+     * @param columns the 0-based positions of the columns to return, in the order to return them
+     * @return Iterator over the data, missing values are null
+     */
+    default Iterator<String[]> iterator(int[] columns) {
+        return ProjectedTableDataSource.project(iterator(), columns);
+    }
+
+    /**
+     * Returns an Iterator over the data rows that returns the same {@link RawRecord} object for every row,
+     * updated in place. Data sources that tokenize their input override this to not create objects per row.
+     * @return Iterator over the data
+     */
+    default Iterator<RawRecord> recordIterator() {
+        StringArrayRecord record = new StringArrayRecord();
+        Iterator<String[]> rows = iterator();
+        return ClosingIterator.transform(rows, record::set, ClosingIterator.closerOf(rows));
+    }
+
+    /**
+     * Returns a view on selected columns of the data as a TableDataSource of its own, with the headers of the
+     * selected columns.
+     * @param columns the 0-based positions of the columns to return, in the order to return them
+     * @return a TableDataSource over the selected columns
+     */
+    default TableDataSource project(int[] columns) {
+        return new ProjectedTableDataSource(this, columns);
+    }
+
+    /**
+     * Returns a view on the rows that match all filters as a TableDataSource of its own. Only the filtered
+     * columns are cast for testing the rows.
+     * @param filters the filters to apply
+     * @param columns the 0-based positions of the columns the filters test, -1 for columns missing in the data
+     * @param fields the Fields casting the values of the filtered columns, null entries to test raw Strings
+     * @return a TableDataSource over the matching rows
+     */
+    default TableDataSource filter(RowFilter[] filters, int[] columns, Field<?>[] fields) {
+        return new FilteredTableDataSource(this, filters, columns, fields);
+    }
+
     /**
      * Returns the data headers if no headers were set or the set headers
      * @return Column headers as a String array
      */
     String[] getHeaders();
 
+    /**
+     * Returns an Iterator over the data rows starting at a row number. This skips the rows before `firstRow`,
+     * data sources that can seek to a row override it.
+     * @param firstRow the 0-based number of the first data row to return
+     * @return Iterator over the data starting at `firstRow`
+     */
+    default Iterator<String[]> rowIterator(long firstRow) {
+        if (firstRow < 0) {
+            throw new IllegalArgumentException("Invalid row number: " + firstRow);
+        }
+        Iterator<String[]> iter = iterator();
+        for (long i = 0; (i < firstRow) && iter.hasNext(); i++) {
+            iter.next();
+        }
+        return iter;
+    }
+
+    /**
+     * Returns a view on the data rows [start, end) as a TableDataSource of its own, with the headers of this
+     * data source.
+     * @param start the 0-based number of the first data row
+     * @param end the number of the row after the last data row
+     * @return a TableDataSource over the rows of the range
+     */
+    default TableDataSource rowRange(long start, long end) {
+        return new RowRangeTableDataSource(this, start, end);
+    }
+
+    /**
+     * Returns the number of data rows, without the header row. This iterates over all rows, data sources that
+     * know their size override it.
+     * @return the number of data rows
+     */
+    default long getRowCount() {
+        long count = 0;
+        for (Iterator<String[]> iter = iterator(); iter.hasNext(); iter.next()) {
+            count++;
+        }
+        return count;
+    }
+
     /**
      * Returns the whole data as a List of String arrays, each List entry is one row
      * @return List containing the data
@@ -70,47 +169,81 @@ public interface TableDataSource {
     boolean hasReliableHeaders();
 
     /**
-     * Factory method to instantiate either a JsonArrayDataSource or a
+     * Factory method to instantiate either a JsonArrayDataSource, a JsonLinesTableDataSource or a
      * CsvDataSource based on input format
      * @return DataSource created from input String
      */
     static TableDataSource fromSource(String input) {
-        try {
-            // JSON array generation. If an exception is thrown -> probably CSV data
-            ArrayNode json = JsonUtil.getInstance().createArrayNode(input);
-            return new JsonArrayTableDataSource(json);
-        } catch (Exception ex) {
-            // JSON parsing failed, treat it as a CSV
-            return new CsvTableDataSource(input);
+        // only look at the start of the input instead of trial-parsing all of it as JSON
+        Format format = FormatSniffer.sniffFormat(
+                trimBOM(input.substring(0, Math.min(input.length(), FormatSniffer.DEFAULT_SAMPLE_SIZE))));
+        if (format == Format.FORMAT_NDJSON) {
+            try {
+                return new JsonLinesTableDataSource(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+            } catch (IOException ex) {
+                throw new TableIOException(ex);
+            }
+        } else if (format == Format.FORMAT_JSON) {
+            try {
+                ArrayNode json = JsonUtil.getInstance().createArrayNode(trimBOM(input));
+                return new JsonArrayTableDataSource(json);
+            } catch (Exception ex) {
+                // JSON parsing failed, treat it as a CSV
+            }
         }
+        return new CsvTableDataSource(input);
     }
 
     /**
-     * Factory method to instantiate either a {@link JsonArrayTableDataSource} or a
-     * {@link CsvTableDataSource} based on input format
+     * Factory method to instantiate either a {@link JsonArrayTableDataSource}, a {@link JsonLinesTableDataSource}
+     * or a {@link CsvTableDataSource} based on input format. CSV data is not read into memory, but parsed
+     * from the file on each iteration.
      * @return DataSource created from input File
      */
     static TableDataSource fromSource(File input, File workDir) {
-        try {
-            String content = getFileContents(input.getPath(), workDir);
-            return fromSource(content);
+        try (BufferedReader reader = openReader(openFileStream(input.getPath(), workDir), getDefaultEncoding())) {
+            if (isJsonLines(reader)) {
+                if (workDir.getName().endsWith(".zip")) {
+                    return new JsonLinesTableDataSource(openFileStream(input.getPath(), workDir));
+                }
+                return new JsonLinesTableDataSource(toSecure(input.toPath(), workDir.toPath()));
+            }
+            ArrayNode json = readJsonArray(reader);
+            if (null != json) {
+                return new JsonArrayTableDataSource(json);
+            }
         } catch (IOException ex) {
             throw new TableIOException(ex);
         }
+        return new CsvTableDataSource(input, workDir);
     }
 
+    /**
+     * Factory method to instantiate a data source on a File. With `streaming` set, the file is never read into
+     * memory as a whole: JSON arrays are read into a {@link StreamingJsonArrayTableDataSource}, CSV data into a
+     * {@link CsvFileTableDataSource}. Otherwise, this is the same as {@link #fromSource(File, File)}.
+     * @return DataSource created from input File
+     */
     static TableDataSource fromSource(File input, File workDir, CSVFormat format, boolean streaming) {
         try {
             if (streaming) {
                 Path resolvedPath = TableDataSource.toSecure(input.toPath(), workDir.toPath());
+                try (BufferedReader reader = openReader(Files.newInputStream(resolvedPath), getDefaultEncoding())) {
+                    String sample = FormatSniffer.readSample(reader, FormatSniffer.DEFAULT_SAMPLE_SIZE);
+                    Format dataFormat = FormatSniffer.sniffFormat(sample);
+                    if (dataFormat == Format.FORMAT_JSON) {
+                        return new StreamingJsonArrayTableDataSource(resolvedPath);
+                    } else if (dataFormat == Format.FORMAT_NDJSON) {
+                        return new JsonLinesTableDataSource(resolvedPath);
+                    }
+                }
                 CsvFileTableDataSource csvFileTableDataSource = new CsvFileTableDataSource(resolvedPath.toString());
                 if (format != null) {
                     csvFileTableDataSource.setFormat(format);
                 }
                 return csvFileTableDataSource;
             } else {
-                String content = getFileContents(input.getPath(), workDir);
-                return fromSource(content);
+                return fromSource(input, workDir);
             }
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -118,17 +251,71 @@ public interface TableDataSource {
     }
 
     /**
-     * Factory method to instantiate either a {@link JsonArrayTableDataSource} or a
-     * {@link CsvTableDataSource}  based on input format
-     * @return DataSource created from input String
+     * Factory method to instantiate either a {@link JsonArrayTableDataSource}, a {@link JsonLinesTableDataSource}
+     * or a {@link CsvTableDataSource} based on input format. CSV data is not read into memory, but
+     * fetched from the URL on each iteration.
+     * @return DataSource created from input URL
+     */
+    static TableDataSource fromSource(URL input) {
+        try (BufferedReader reader = openReader(input.openStream(), getDefaultEncoding())) {
+            if (isJsonLines(reader)) {
+                return new JsonLinesTableDataSource(input.openStream());
+            }
+            ArrayNode json = readJsonArray(reader);
+            if (null != json) {
+                return new JsonArrayTableDataSource(json);
+            }
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
+        return new CsvTableDataSource(input);
+    }
+
+    /**
+     * Factory method to instantiate either a {@link JsonArrayTableDataSource}, a {@link JsonLinesTableDataSource}
+     * or a {@link CsvTableDataSource}  based on input format. As an InputStream can only be read once,
+     * CSV and JSON Lines data is copied to a temporary file that is parsed on each iteration and deleted when the
+     * data source is closed or garbage collected.
+     * The InputStream is closed.
+     * @return DataSource created from input InputStream
      */
     static TableDataSource fromSource(InputStream input) {
-        String content = readSkippingBOM(input);
-        return fromSource(content);
+        try {
+            Path spooled = spool(input);
+            try (BufferedReader reader = openReader(Files.newInputStream(spooled), getDefaultEncoding())) {
+                if (isJsonLines(reader)) {
+                    JsonLinesTableDataSource ds = new JsonLinesTableDataSource(spooled);
+                    ds.deleteOnClose(spooled);
+                    return ds;
+                }
+                ArrayNode json = readJsonArray(reader);
+                if (null != json) {
+                    Files.deleteIfExists(spooled);
+                    return new JsonArrayTableDataSource(json);
+                }
+            }
+            CsvTableDataSource ds = new CsvTableDataSource(spooled);
+            ds.deleteOnClose(spooled);
+            return ds;
+        } catch (IOException ex) {
+            throw new TableIOException(ex);
+        }
     }
 
     static String getFileContents(String path, File workDir) throws IOException {
-        String lines;
+        try (BufferedReader reader = openReader(openFileStream(path, workDir), getDefaultEncoding())) {
+            return reader.lines().collect(Collectors.joining("\n"));
+        }
+    }
+
+    /**
+     * Open a file for reading, either from a directory or from a ZIP file.
+     * @param path path of the file, relative to `workDir`
+     * @param workDir the parent directory or a ZIP file containing the file
+     * @return a stream over the file contents. Closing it also closes the ZIP file
+     * @throws IOException if the file cannot be opened
+     */
+    static InputStream openFileStream(String path, File workDir) throws IOException {
         if (workDir.getName().endsWith(".zip")) {
             //have to exchange the backslashes on Windows, as
             //zip paths are forward slashed.
@@ -136,8 +323,20 @@ public interface TableDataSource {
                 path = path.replaceAll("\\\\", "/");
             ZipFile zipFile = new ZipFile(workDir.getAbsolutePath());
             ZipEntry entry = zipFile.getEntry(path);
-            InputStream stream = zipFile.getInputStream(entry);
-            lines = readSkippingBOM(stream);
+            if (null == entry) {
+                zipFile.close();
+                throw new FileNotFoundException("File " + path + " not found in " + workDir.getName());
+            }
+            return new FilterInputStream(zipFile.getInputStream(entry)) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        zipFile.close();
+                    }
+                }
+            };
         } else {
             // The path value can either be a relative path or a full path.
             // If it's a relative path then build the full path by using the working directory.
@@ -147,28 +346,64 @@ public interface TableDataSource {
             //    - https://github.com/frictionlessdata/tableschema-java/issues/29
             //    - https://frictionlessdata.io/specs/data-resource/#url-or-path
             Path resolvedPath = TableDataSource.toSecure(new File(path).toPath(), workDir.toPath());
-            lines = readSkippingBOM(new FileInputStream(resolvedPath.toFile()));
+            return new FileInputStream(resolvedPath.toFile());
         }
-        return lines;
     }
 
     /**
-     * Use the {@link ByteOrderMarkStrippingInputStream} class to read from the provided {@link java.io.InputStream}
-     * and strip the BOM if found. Use the found BOM to determine the UTF dialect if any and read big/little endian
-     * conform
+     * Wrap an InputStream into a buffered Reader, decompressing compressed data (see {@link Compression}) and
+     * stripping a Unicode BOM if found. If there is a BOM, it determines the charset. Without a BOM, UTF-16 and
+     * UTF-32 data is recognized if `charset` is UTF-8, otherwise `charset` is used.
+     * UTF-8 data is decoded by a {@link Utf8Reader}. Line endings are left as they are.
      * @param is InputStream to read from
-     * @return Contents of the InputStream as a String
+     * @param charset the charset to use if the data has no BOM
+     * @return a Reader over the contents of the InputStream
+     * @throws IOException if reading the BOM fails or the data can't be decompressed
      */
-    static String readSkippingBOM(InputStream is) {
-        String content;
-        try (ByteOrderMarkStrippingInputStream bims  = new ByteOrderMarkStrippingInputStream(is);
-             InputStreamReader isr = new InputStreamReader(bims.skipBOM(), bims.getCharset());
-             BufferedReader rdr = new BufferedReader(isr)) {
-                content = rdr.lines().collect(Collectors.joining("\n"));
-        } catch (IOException ex) {
-            throw new TableIOException(ex);
+    static BufferedReader openReader(InputStream is, Charset charset) throws IOException {
+        ByteOrderMarkStrippingInputStream bims = new ByteOrderMarkStrippingInputStream(Compression.decompress(is));
+        bims.skipBOM();
+        Charset cs = bims.getCharset((null != charset) ? charset : getDefaultEncoding());
+        Reader reader = StandardCharsets.UTF_8.equals(cs)
+                ? new Utf8Reader(bims)
+                : new InputStreamReader(bims, cs);
+        return new BufferedReader(reader, 64 * 1024);
+    }
+
+    /**
+     * Copy an InputStream that can only be read once to a temporary file and close the stream. The data source
+     * reading the file deletes it, see {@link AbstractTableDataSource#close()}.
+     * @param is InputStream to read from
+     * @return the path of the temporary file
+     * @throws IOException if reading or writing fails
+     */
+    static Path spool(InputStream is) throws IOException {
+        Path spooled = Files.createTempFile("tableschema-", ".tmp");
+        try (InputStream in = is) {
+            Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return spooled;
+    }
+
+    // Whether the first characters of the data look like JSON Lines
+    private static boolean isJsonLines(BufferedReader reader) throws IOException {
+        String sample = FormatSniffer.readSample(reader, FormatSniffer.DEFAULT_SAMPLE_SIZE);
+        return FormatSniffer.sniffFormat(sample) == Format.FORMAT_NDJSON;
+    }
+
+    // Parse the data as a JSON array if its first characters look like one, return `null` for CSV data
+    private static ArrayNode readJsonArray(BufferedReader reader) throws IOException {
+        String sample = FormatSniffer.readSample(reader, FormatSniffer.DEFAULT_SAMPLE_SIZE);
+        if (FormatSniffer.sniffFormat(sample) != Format.FORMAT_JSON) {
+            return null;
+        }
+        try {
+            JsonNode node = JsonUtil.getInstance().getMapper().readTree(reader);
+            return (node instanceof ArrayNode) ? (ArrayNode) node : null;
+        } catch (JsonProcessingException ex) {
+            // JSON parsing failed, treat it as a CSV
+            return null;
         }
-        return content;
     }
 
     static CSVFormat getDefaultCsvFormat() {
@@ -183,10 +418,9 @@ public interface TableDataSource {
     static String trimBOM(String input) {
         if (null == input)
             return null;
+        // Strings are already decoded, so a BOM of any encoding is the single character U+FEFF
         if( input.startsWith(UTF16_BOM)) {
             input = input.substring(1);
-        } else if( input.startsWith(UTF8_BOM)) {
-            input = input.substring(3);
         }
         return input;
     }
@@ -235,11 +469,12 @@ public interface TableDataSource {
     }
 
     /**
-     * Data format, currently either CSV or JSON. Formats like Excel are not supported
+     * Data format, currently either CSV, a JSON array or newline-delimited JSON. Formats like Excel are not supported
      */
     enum Format {
         FORMAT_CSV("csv"),
-        FORMAT_JSON("json");
+        FORMAT_JSON("json"),
+        FORMAT_NDJSON("ndjson");
 
         private static final Map<String, Format> lookup = new HashMap<>();
         private final String label;
@@ -0,0 +1,126 @@
+package io.frictionlessdata.tableschema.util;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.io.Serializable;
+
+/**
+ * Minimal HyperLogLog cardinality sketch (Flajolet et al., with the small range correction
+ * of the original paper). It estimates the number of distinct values added to it in constant memory
+ * of 2^precision bytes. Two sketches of the same precision can be merged losslessly, so per-worker
+ * sketches can be combined into one for the whole data set.
+ *
+ * The standard error of the estimate is about 1.04/sqrt(2^precision), eg. 1.6% for the default precision
+ * of 12.
+ */
+public class HyperLogLog implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    public static final int DEFAULT_PRECISION = 12;
+
+    @JsonProperty("precision")
+    private final int precision;
+
+    @JsonProperty("registers")
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Create a sketch with 2^precision registers
+     * @param precision number of index bits, between 4 and 18
+     */
+    public HyperLogLog(int precision) {
+        if ((precision < 4) || (precision > 18)) {
+            throw new IllegalArgumentException("Precision must be between 4 and 18, was: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    @JsonCreator
+    HyperLogLog(@JsonProperty("precision") int precision, @JsonProperty("registers") byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    /**
+     * Add a value to the sketch
+     * @param value the value to add, `null` is ignored
+     */
+    public void add(CharSequence value) {
+        if (null == value) {
+            return;
+        }
+        addHash(HASH_FUNCTION.hashUnencodedChars(value).asLong());
+    }
+
+    void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // position of the leftmost 1-bit in the remaining bits, capped for all-zero remainders
+        long remainder = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remainder) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * @return the estimated number of distinct values added to this sketch
+     */
+    @JsonIgnore
+    public long getEstimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if ((estimate <= 2.5 * m) && (zeros > 0)) {
+            // small range correction: linear counting
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Merge another sketch into this one. Both must have the same precision.
+     * @param other the sketch to merge
+     * @return this sketch
+     */
+    public HyperLogLog merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog sketches of different precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+        return this;
+    }
+
+    private static double alpha(int m) {
+        switch (m) {
+            case 16:
+                return 0.673;
+            case 32:
+                return 0.697;
+            case 64:
+                return 0.709;
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+}
@@ -14,12 +14,17 @@ public class TableSchemaUtil {
         if ((null == headers) || (null == sortedHeaders))
             return null;
         Map<Integer, Integer> mapping = new HashMap<>();
+        // index the data headers once instead of scanning them for every declared header. As before,
+        // the last column wins if the data has duplicate headers
+        Map<String, Integer> headerIndex = new HashMap<>();
+        for (int j = 0; j < headers.length; j++) {
+            headerIndex.put(headers[j], j);
+        }
 
         for (int i = 0; i < sortedHeaders.length; i++) {
-            for (int j = 0; j < headers.length; j++) {
-                if (sortedHeaders[i].equals(headers[j])) {
-                    mapping.put(i, j);
-                }
+            Integer j = headerIndex.get(sortedHeaders[i]);
+            if (null != j) {
+                mapping.put(i, j);
             }
             // declared header not found in actual data - can happen
             // - if no header row in CSV data (throw)
@@ -34,4 +39,21 @@ public class TableSchemaUtil {
         }
         return mapping;
     }
+
+    /**
+     * Compile a mapping from {@link #createSchemaHeaderMapping(String[], String[], boolean)} into an array
+     * that can be read per cell without boxing.
+     * @param mapping mapping of Schema column indices to data column indices, null if the data is in the
+     *                order of the Schema
+     * @param columns the number of columns in the Schema
+     * @return the data column index for each Schema column, -1 if the column is missing in the data
+     */
+    public static int[] createSchemaHeaderPositions(Map<Integer, Integer> mapping, int columns) {
+        int[] positions = new int[columns];
+        for (int i = 0; i < columns; i++) {
+            Integer position = (null == mapping) ? Integer.valueOf(i) : mapping.get(i);
+            positions[i] = (null == position) ? -1 : position;
+        }
+        return positions;
+    }
 }
@@ -0,0 +1,124 @@
+package io.frictionlessdata.tableschema.util;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Heavy-hitters sketch after the Space-Saving algorithm (Metwally et al.). It tracks at most
+ * `capacity` distinct values with their counts. As long as no more than `capacity` distinct values
+ * were added, the counts are exact (see {@link #isExact()}); afterwards, the least frequent entry is
+ * evicted for each new value and counts become upper bounds.
+ */
+public class TopKSketch implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    @JsonProperty("capacity")
+    private final int capacity;
+
+    @JsonProperty("counts")
+    private final Map<String, Long> counts = new HashMap<>();
+
+    @JsonProperty("exact")
+    private boolean exact = true;
+
+    public TopKSketch() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TopKSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    @JsonCreator
+    TopKSketch(
+            @JsonProperty("capacity") int capacity,
+            @JsonProperty("counts") Map<String, Long> counts,
+            @JsonProperty("exact") boolean exact) {
+        this.capacity = capacity;
+        if (null != counts) {
+            this.counts.putAll(counts);
+        }
+        this.exact = exact;
+    }
+
+    /**
+     * Add one occurrence of a value
+     * @param value the value to add, `null` is ignored
+     */
+    public void add(String value) {
+        add(value, 1);
+    }
+
+    private void add(String value, long count) {
+        if (null == value) {
+            return;
+        }
+        Long current = counts.get(value);
+        if (null != current) {
+            counts.put(value, current + count);
+        } else if (counts.size() < capacity) {
+            counts.put(value, count);
+        } else {
+            // replace the least frequent value and inherit its count as the error bound
+            String minKey = null;
+            long minCount = Long.MAX_VALUE;
+            for (Map.Entry<String, Long> entry : counts.entrySet()) {
+                if (entry.getValue() < minCount) {
+                    minCount = entry.getValue();
+                    minKey = entry.getKey();
+                }
+            }
+            counts.remove(minKey);
+            counts.put(value, minCount + count);
+            exact = false;
+        }
+    }
+
+    /**
+     * Merge another sketch into this one.
+     * @param other the sketch to merge
+     * @return this sketch
+     */
+    public TopKSketch merge(TopKSketch other) {
+        exact = exact && other.exact;
+        other.counts.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * @return true if every value ever added is tracked with its exact count
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * @return number of tracked values
+     */
+    @JsonIgnore
+    public int size() {
+        return counts.size();
+    }
+
+    /**
+     * Returns the tracked values, most frequent first. Values with the same count are sorted
+     * alphabetically to get a stable order.
+     * @param k max number of entries to return
+     * @return the `k` most frequent values with their counts
+     */
+    public List<Map.Entry<String, Long>> getTop(int k) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+        return entries.subList(0, Math.min(k, entries.size()));
+    }
+}
@@ -1,16 +1,30 @@
 package io.frictionlessdata.tableschema;
 
 
+import com.sun.management.UnixOperatingSystemMXBean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+
 import java.io.File;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 public class TestHelper {
 
+    public interface Action {
+        void run() throws Exception;
+    }
+
 
     public static File getTestDataDirectory()throws Exception {
         URL u = TestHelper.class.getResource("/fixtures/data/simple_data.csv");
@@ -37,6 +51,46 @@ public class TestHelper {
         }
     }
 
+    /**
+     * Returns the number of open file descriptors of the JVM. Skips the test on platforms that don't report it.
+     */
+    public static long getOpenFileCount() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        Assumptions.assumeTrue(os instanceof UnixOperatingSystemMXBean);
+        return ((UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount();
+    }
+
+    /**
+     * Run `action` 20 times and check that it doesn't leave a file open each time
+     */
+    public static void assertClosesFiles(Action action) throws Exception {
+        long before = getOpenFileCount();
+        for (int i = 0; i < 20; i++) {
+            action.run();
+        }
+        long leaked = getOpenFileCount() - before;
+        Assertions.assertTrue(leaked < 10, leaked + " files left open");
+    }
+
+    /**
+     * Assert that both lists hold equal rows in the same order
+     */
+    public static void assertSameRows(List<? extends Object[]> expected, List<? extends Object[]> actual) {
+        Assertions.assertArrayEquals(expected.toArray(), actual.toArray());
+    }
+
+    /**
+     * Returns the rows as sorted Strings, to compare rows returned in any order
+     */
+    public static List<String> toSortedStrings(List<String[]> rows) {
+        List<String> result = new ArrayList<>();
+        for (String[] row : rows) {
+            result.add(Arrays.toString(row));
+        }
+        Collections.sort(result);
+        return result;
+    }
+
     public static String getResourceFileContent(String fileName) throws URISyntaxException, IOException {
         File expectedFile = TestHelper.getResourceFile(fileName);
         return String.join("\n", Files.readAllLines(expectedFile.toPath()));
@@ -0,0 +1,104 @@
+package io.frictionlessdata.tableschema.columnar;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.field.*;
+import io.frictionlessdata.tableschema.schema.Schema;
+import io.frictionlessdata.tableschema.tabledatasource.TableDataSource;
+import org.apache.commons.csv.CSVFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static io.frictionlessdata.tableschema.TestHelper.assertClosesFiles;
+import static io.frictionlessdata.tableschema.TestHelper.assertSameRows;
+import static io.frictionlessdata.tableschema.TestHelper.getTestDataDirectory;
+
+class ColumnarBatchIteratorTest {
+
+    private static List<Object[]> readBatches(Table table, int batchSize, List<Integer> sizes) {
+        List<Object[]> rows = new ArrayList<>();
+        Iterator<ColumnarTable> iter = table.batchIterator(batchSize);
+        while (iter.hasNext()) {
+            ColumnarTable batch = iter.next();
+            sizes.add(batch.getRowCount());
+            rows.addAll(batch.asRows());
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Blocks of rows hold the rows of Table.read()")
+    void testBatches() {
+        Schema schema = new Schema();
+        schema.addField(new IntegerField("id"));
+        schema.addField(new NumberField("amount"));
+        schema.addField(new DateField("day"));
+        schema.addField(new BooleanField("flag"));
+        schema.addField(new StringField("category"));
+        List<String[]> data = new ArrayList<>();
+        data.add(new String[]{"1", "1.50", "2020-01-01", "true", "a"});
+        data.add(new String[]{"", "", "", "", ""});
+        data.add(new String[]{"99999999999999999999", "NaN", "1970-01-01", "false", "b"});
+        data.add(new String[]{"-3", "42", "1969-12-31", "true"});
+        data.add(new String[]{"4", "123456789012345678901234.5", "2000-02-29", "false", "a"});
+        Table table = new Table(data, schema.getHeaders(), schema);
+
+        List<Integer> sizes = new ArrayList<>();
+        assertSameRows(table.read(), readBatches(table, 2, sizes));
+        Assertions.assertEquals(List.of(2, 2, 1), sizes);
+
+        ColumnarTable batch = table.batchIterator().next();
+        Assertions.assertEquals(5, batch.getRowCount());
+        Assertions.assertEquals(-3L, ((IntegerColumn) batch.getColumn("id")).getLong(3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> table.batchIterator(0));
+    }
+
+    @Test
+    @DisplayName("Read a CSV file in blocks of rows")
+    void testBatchesFromFile() throws Exception {
+        File testDataDir = getTestDataDirectory();
+        Schema schema = Schema.fromJson(
+                new File(testDataDir, "schema/employee_full_schema_no_primary_secondary_keys.json"), true);
+        Table table = Table.fromSource(new File("data/employee_full.csv"), testDataDir, schema,
+                TableDataSource.getDefaultCsvFormat(), true);
+        List<Integer> sizes = new ArrayList<>();
+        assertSameRows(table.read(), readBatches(table, 2, sizes));
+        Assertions.assertEquals(List.of(2, 1), sizes);
+
+        // without a Schema, blocks hold the raw values
+        Table raw = Table.fromSource(new File("data/employee_full.csv"), testDataDir);
+        assertSameRows(raw.read(), readBatches(raw, 4096, new ArrayList<>()));
+    }
+
+    @Test
+    @DisplayName("Closing the iterator before the last block closes the file")
+    void testClose() throws Exception {
+        Table table = Table.fromSource(new File("data/employee_full.csv"), getTestDataDirectory(), null,
+                TableDataSource.getDefaultCsvFormat(), true);
+        assertClosesFiles(() -> {
+            Iterator<ColumnarTable> iter = table.batchIterator(1);
+            Assertions.assertEquals(1, iter.next().getRowCount());
+            ((Closeable) iter).close();
+            Assertions.assertFalse(iter.hasNext());
+        });
+    }
+
+    @Test
+    @DisplayName("Without headers and Schema, the rows determine the columns of a block")
+    void testBatchesWithoutHeaders() {
+        Table table = Table.fromSource("1,x\n2,y\n3,z,extra\n", null, CSVFormat.DEFAULT);
+        Iterator<ColumnarTable> batches = table.batchIterator(2);
+        ColumnarTable batch = batches.next();
+        Assertions.assertNull(batch.getHeaders());
+        Assertions.assertArrayEquals(new Object[]{"2", "y"}, batch.getRow(1));
+        batch = batches.next();
+        Assertions.assertArrayEquals(new Object[]{"3", "z", "extra"}, batch.getRow(0));
+        Assertions.assertFalse(batches.hasNext());
+    }
+}
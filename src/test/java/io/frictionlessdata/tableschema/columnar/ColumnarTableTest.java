@@ -0,0 +1,128 @@
+package io.frictionlessdata.tableschema.columnar;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.field.*;
+import io.frictionlessdata.tableschema.schema.Schema;
+import org.apache.commons.csv.CSVFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.frictionlessdata.tableschema.TestHelper.getTestDataDirectory;
+
+class ColumnarTableTest {
+
+    private static Table createTable() {
+        Schema schema = new Schema();
+        schema.addField(new IntegerField("id"));
+        schema.addField(new NumberField("amount"));
+        schema.addField(new DateField("day"));
+        schema.addField(new BooleanField("flag"));
+        schema.addField(new StringField("category"));
+        List<String[]> data = new ArrayList<>();
+        data.add(new String[]{"1", "1.50", "2020-01-01", "true", "a"});
+        data.add(new String[]{"", "", "", "", ""});
+        data.add(new String[]{"99999999999999999999", "NaN", "1970-01-01", "false", "b"});
+        data.add(new String[]{"-3", "42", "1969-12-31", "true", "a"});
+        data.add(new String[]{"4", "123456789012345678901234.5", "2000-02-29", "false", "a"});
+        return new Table(data, schema.getHeaders(), schema);
+    }
+
+    @Test
+    @DisplayName("Columnar rows equal the rows of Table.read()")
+    void testRowsEqualRead() {
+        Table table = createTable();
+        List<Object[]> expected = table.read();
+        ColumnarTable columnar = table.readColumnar();
+
+        Assertions.assertEquals(expected.size(), columnar.getRowCount());
+        Assertions.assertArrayEquals(table.getHeaders(), columnar.getHeaders());
+        List<Object[]> rows = columnar.asRows();
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertArrayEquals(expected.get(i), rows.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Columns are stored in typed vectors")
+    void testTypedColumns() {
+        ColumnarTable columnar = createTable().readColumnar();
+
+        IntegerColumn ids = (IntegerColumn) columnar.getColumn("id");
+        Assertions.assertEquals(1L, ids.getLong(0));
+        Assertions.assertTrue(ids.isNull(1));
+        Assertions.assertEquals(new BigInteger("99999999999999999999"), ids.get(2));
+        Assertions.assertThrows(IllegalStateException.class, () -> ids.getLong(2));
+        Assertions.assertEquals(-3L, ids.getLong(3));
+
+        NumberColumn amounts = (NumberColumn) columnar.getColumn("amount");
+        Assertions.assertEquals(new BigDecimal("1.50"), amounts.get(0));
+        Assertions.assertEquals(1.5, amounts.getDouble(0));
+        Assertions.assertTrue(Double.isNaN(amounts.getDouble(1)));
+        Assertions.assertTrue(Double.isNaN(amounts.getDouble(2)));
+        Assertions.assertEquals(BigInteger.valueOf(42), amounts.get(3));
+        Assertions.assertEquals(new BigDecimal("123456789012345678901234.5"), amounts.get(4));
+
+        DateColumn days = (DateColumn) columnar.getColumn("day");
+        Assertions.assertEquals(LocalDate.of(2020, 1, 1).toEpochDay(), days.getEpochDay(0));
+        Assertions.assertEquals(-1, days.getEpochDay(3));
+
+        BooleanColumn flags = (BooleanColumn) columnar.getColumn("flag");
+        Assertions.assertTrue(flags.getBoolean(0));
+        Assertions.assertNull(flags.get(1));
+        Assertions.assertEquals(Boolean.FALSE, flags.get(2));
+
+        StringColumn categories = (StringColumn) columnar.getColumn("category");
+        Assertions.assertEquals(Arrays.asList("a", "b"), categories.getDictionary());
+        Assertions.assertEquals(0, categories.getCode(3));
+        Assertions.assertEquals(-1, categories.getCode(1));
+    }
+
+    @Test
+    @DisplayName("Columnar rows of a table with all field types equal the rows of Table.read()")
+    void testAllFieldTypes() throws Exception {
+        File schemaFile = new File(getTestDataDirectory(), "schema/employee_full_schema.json");
+        Schema schema = Schema.fromJson(schemaFile, true);
+        Table table = Table.fromSource(new File("data/employee_full.csv"), getTestDataDirectory(), schema, null);
+        List<Object[]> expected = table.read();
+        ColumnarTable columnar = table.readColumnar();
+
+        Assertions.assertEquals(expected.size(), columnar.getRowCount());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertTrue(Arrays.deepEquals(expected.get(i), columnar.getRow(i)));
+        }
+        Assertions.assertTrue(columnar.getColumn("home_location") instanceof ObjectColumn);
+    }
+
+    @Test
+    @DisplayName("Without a Schema, columns hold the String values")
+    void testWithoutSchema() {
+        Table table = Table.fromSource("a,b\n1,x\n2,x\n");
+        ColumnarTable columnar = table.readColumnar();
+        Assertions.assertEquals(2, columnar.getRowCount());
+        Assertions.assertArrayEquals(new Object[]{"2", "x"}, columnar.getRow(1));
+        Assertions.assertEquals(1, ((StringColumn) columnar.getColumn("b")).getDictionary().size());
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> columnar.getRow(2));
+    }
+
+    @Test
+    @DisplayName("Without headers and Schema, the rows determine the columns")
+    void testWithoutHeaders() {
+        Table table = Table.fromSource("1,x\n2,y,z\n", null, CSVFormat.DEFAULT);
+        Assertions.assertNull(table.getHeaders());
+        ColumnarTable columnar = table.readColumnar();
+        Assertions.assertNull(columnar.getHeaders());
+        Assertions.assertNull(columnar.getColumn("x"));
+        Assertions.assertEquals(2, columnar.getRowCount());
+        Assertions.assertArrayEquals(new Object[]{"1", "x", null}, columnar.getRow(0));
+        Assertions.assertArrayEquals(new Object[]{"2", "y", "z"}, columnar.getRow(1));
+    }
+}
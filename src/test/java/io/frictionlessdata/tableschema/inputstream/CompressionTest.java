@@ -0,0 +1,177 @@
+package io.frictionlessdata.tableschema.inputstream;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.tabledatasource.ParallelCsvFileTableDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static io.frictionlessdata.tableschema.TestHelper.assertSameRows;
+import static io.frictionlessdata.tableschema.TestHelper.getTestDataDirectory;
+
+class CompressionTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Detect compression formats by their magic bytes")
+    void testDetect() {
+        Assertions.assertEquals(Compression.GZIP, detect(new byte[]{0x1f, (byte) 0x8b, 8, 0}));
+        Assertions.assertEquals(Compression.ZIP, detect(new byte[]{'P', 'K', 3, 4, 20, 0}));
+        Assertions.assertEquals(Compression.BZIP2, detect(new byte[]{'B', 'Z', 'h', '9', 0x31, 0x41}));
+        Assertions.assertEquals(Compression.ZSTD, detect(new byte[]{0x28, (byte) 0xb5, 0x2f, (byte) 0xfd, 0}));
+        Assertions.assertEquals(Compression.NONE, detect("BZhang,x\n".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(Compression.NONE, detect("id,name".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertEquals(Compression.NONE, detect(new byte[]{0x1f}));
+    }
+
+    @Test
+    @DisplayName("Decompress gzip data larger than the background queue")
+    void testGzip() throws Exception {
+        byte[] data = new byte[3 * 1024 * 1024];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + (i * 31 % 26));
+        }
+        try (InputStream in = Compression.decompress(new ByteArrayInputStream(gzip(data)))) {
+            Assertions.assertTrue(in instanceof BackgroundInputStream);
+            Assertions.assertArrayEquals(data, in.readAllBytes());
+        }
+        // uncompressed data is returned as it is
+        try (InputStream in = Compression.decompress(new ByteArrayInputStream(data))) {
+            Assertions.assertArrayEquals(data, in.readAllBytes());
+        }
+    }
+
+    @Test
+    @DisplayName("Closed and abandoned streams stop their background thread")
+    void testAbandoned() throws Exception {
+        byte[] csv = "id,name\n1,foo\n".repeat(500_000).getBytes(StandardCharsets.UTF_8);
+        Files.write(tempDir.resolve("large.csv.gz"), gzip(csv));
+
+        // the uncompressed data doesn't fit in the queue, so the thread blocks until it is stopped
+        Set<Thread> before = getBackgroundThreads();
+        InputStream in = Compression.decompress(new ByteArrayInputStream(gzip(csv)));
+        Assertions.assertEquals('i', in.read());
+        Thread closed = getNewThread(before);
+        in.close();
+        closed.join(10_000);
+        Assertions.assertFalse(closed.isAlive());
+
+        before = getBackgroundThreads();
+        Thread abandoned = readFirstRow(tempDir.toFile(), before);
+        for (int i = 0; (i < 100) && abandoned.isAlive(); i++) {
+            System.gc();
+            abandoned.join(100);
+        }
+        Assertions.assertFalse(abandoned.isAlive());
+    }
+
+    // read one row of a large file and drop the iterator, returns its background thread
+    private static Thread readFirstRow(File dir, Set<Thread> before) throws Exception {
+        Iterator<Object[]> iter = Table.fromSource(new File("large.csv.gz"), dir).iterator();
+        Assertions.assertTrue(iter.hasNext());
+        iter.next();
+        return getNewThread(before);
+    }
+
+    private static Thread getNewThread(Set<Thread> before) {
+        Set<Thread> threads = getBackgroundThreads();
+        threads.removeAll(before);
+        threads.removeIf((t) -> !t.isAlive());
+        Assertions.assertFalse(threads.isEmpty());
+        return threads.iterator().next();
+    }
+
+    private static Set<Thread> getBackgroundThreads() {
+        Set<Thread> threads = new HashSet<>(Thread.getAllStackTraces().keySet());
+        threads.removeIf((t) -> !t.getName().equals("tableschema-background-read"));
+        return threads;
+    }
+
+    @Test
+    @DisplayName("Errors while decompressing surface in the reading thread")
+    void testTruncated() throws Exception {
+        byte[] compressed = gzip("id,name\n1,foo\n".repeat(1000).getBytes(StandardCharsets.UTF_8));
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+        try (InputStream in = Compression.decompress(new ByteArrayInputStream(truncated))) {
+            Assertions.assertThrows(IOException.class, in::readAllBytes);
+        }
+    }
+
+    @Test
+    @DisplayName("Formats without a codec on the classpath are reported")
+    void testMissingCodec() {
+        byte[] bzip2 = new byte[]{'B', 'Z', 'h', '9', 0x17, 0x72, 0x45, 0x38, 0x50, (byte) 0x90, 0, 0, 0, 0};
+        try {
+            Class.forName("org.apache.commons.compress.compressors.CompressorStreamFactory");
+        } catch (ClassNotFoundException ex) {
+            IOException thrown = Assertions.assertThrows(IOException.class,
+                    () -> Compression.decompress(new ByteArrayInputStream(bzip2)));
+            Assertions.assertTrue(thrown.getMessage().contains("Commons Compress"));
+        }
+    }
+
+    @Test
+    @DisplayName("Read Tables from gzip and zip compressed files")
+    void testTables() throws Exception {
+        File dir = getTestDataDirectory();
+        byte[] csv = Files.readAllBytes(new File(dir, "data/employee_data.csv").toPath());
+        byte[] json = Files.readAllBytes(new File(dir, "data/employee_data.json").toPath());
+        Files.write(tempDir.resolve("employee_data.csv.gz"), gzip(csv));
+        Files.write(tempDir.resolve("employee_data.json.gz"), gzip(json));
+        Files.write(tempDir.resolve("employee_data.csv.zip"), zip("employee_data.csv", csv));
+
+        List<Object[]> expectedCsv = Table.fromSource(new File("data/employee_data.csv"), dir).read();
+        for (String name : new String[]{"employee_data.csv.gz", "employee_data.csv.zip"}) {
+            assertSameRows(expectedCsv, Table.fromSource(new File(name), tempDir.toFile()).read());
+            assertSameRows(expectedCsv, Table.fromSource(new File(name), tempDir.toFile(), null, true).read());
+        }
+        List<Object[]> expectedJson = Table.fromSource(new File("data/employee_data.json"), dir).read();
+        assertSameRows(expectedJson, Table.fromSource(new File("employee_data.json.gz"), tempDir.toFile()).read());
+        assertSameRows(expectedJson, Table.fromSource(
+                new FileInputStream(tempDir.resolve("employee_data.json.gz").toFile()), null, null).read());
+
+        // compressed files can't be split, they are read sequentially
+        Table parallel = Table.fromSource(new File("data/employee_data.csv"), dir);
+        parallel.setTableDataSource(new ParallelCsvFileTableDataSource(
+                tempDir.resolve("employee_data.csv.gz").toFile()).setChunkSize(10));
+        assertSameRows(expectedCsv, parallel.read());
+    }
+
+    private static Compression detect(byte[] start) {
+        return Compression.detect(start, start.length);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bos)) {
+            out.write(data);
+        }
+        return bos.toByteArray();
+    }
+
+    private static byte[] zip(String name, byte[] data) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bos)) {
+            out.putNextEntry(new ZipEntry(name));
+            out.write(data);
+            out.closeEntry();
+        }
+        return bos.toByteArray();
+    }
+}
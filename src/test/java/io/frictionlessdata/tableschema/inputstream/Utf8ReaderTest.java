@@ -0,0 +1,116 @@
+package io.frictionlessdata.tableschema.inputstream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+class Utf8ReaderTest {
+    private static final String TEXT = "id,name\n1,Zürich\n2,東京\n3,emoji 😀 and 🎉\n4,plain ascii\n";
+
+    // returns at most one byte per read, to split multi-byte sequences over reads
+    private static class TrickleInputStream extends FilterInputStream {
+        TrickleInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            return super.read(b, off, Math.min(len, 1));
+        }
+
+        @Override
+        public int available() {
+            return 0;
+        }
+    }
+
+    private static String readAll(Reader reader, int bufferSize) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[bufferSize];
+        int read;
+        while ((read = reader.read(buffer, 0, bufferSize)) != -1) {
+            sb.append(buffer, 0, read);
+        }
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("Decode ASCII and multi-byte characters")
+    void testDecode() throws Exception {
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        try (Reader reader = new Utf8Reader(new ByteArrayInputStream(bytes))) {
+            Assertions.assertEquals(TEXT, readAll(reader, 8192));
+        }
+    }
+
+    @Test
+    @DisplayName("Decode sequences split over reads and surrogate pairs into a one char buffer")
+    void testSplitSequences() throws Exception {
+        byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+        for (int bufferSize : new int[]{1, 2, 3, 7}) {
+            try (Reader reader = new Utf8Reader(new TrickleInputStream(new ByteArrayInputStream(bytes)), 16)) {
+                Assertions.assertEquals(TEXT, readAll(reader, bufferSize));
+            }
+            try (Reader reader = new Utf8Reader(new ByteArrayInputStream(bytes), 16)) {
+                Assertions.assertEquals(TEXT, readAll(reader, bufferSize));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Decode random text like an InputStreamReader")
+    void testRandomText() throws Exception {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            int codePoint = random.nextBoolean() ? random.nextInt(128) : random.nextInt(0x10FFFF);
+            if ((codePoint < Character.MIN_SURROGATE) || (codePoint > Character.MAX_SURROGATE)) {
+                sb.appendCodePoint(codePoint);
+            }
+        }
+        String text = sb.toString();
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        try (Reader reader = new Utf8Reader(new ByteArrayInputStream(bytes), 1000)) {
+            Assertions.assertEquals(text, readAll(reader, 4099));
+        }
+    }
+
+    @Test
+    @DisplayName("Replace malformed input like an InputStreamReader")
+    void testMalformed() throws Exception {
+        byte[] bytes = new byte[]{'a', (byte) 0x80, 'b', (byte) 0xE6, (byte) 0x9D, 'c', (byte) 0xF0, (byte) 0x9F};
+        String expected = readAll(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8), 100);
+        try (Reader reader = new Utf8Reader(new TrickleInputStream(new ByteArrayInputStream(bytes)), 16)) {
+            Assertions.assertEquals(expected, readAll(reader, 100));
+        }
+    }
+
+    @Test
+    @DisplayName("Detect the charset from a BOM or from zero bytes")
+    void testCharsetDetection() throws Exception {
+        String text = "a,b\n1,2\n";
+        byte[] utf16le = text.getBytes(StandardCharsets.UTF_16LE);
+        ByteOrderMarkStrippingInputStream bims = new ByteOrderMarkStrippingInputStream(new ByteArrayInputStream(utf16le));
+        Assertions.assertEquals(ByteOrderMarkStrippingInputStream.BOM.NONE, bims.getBOM());
+        Assertions.assertEquals(StandardCharsets.UTF_16LE, bims.getCharset(StandardCharsets.UTF_8));
+        Assertions.assertEquals(StandardCharsets.ISO_8859_1, bims.getCharset(StandardCharsets.ISO_8859_1));
+
+        byte[] utf32le = ("﻿" + text).getBytes("UTF-32LE");
+        bims = new ByteOrderMarkStrippingInputStream(new ByteArrayInputStream(utf32le));
+        Assertions.assertEquals(ByteOrderMarkStrippingInputStream.BOM.UTF_32_LE, bims.getBOM());
+        try (Reader reader = new InputStreamReader(bims.skipBOM(), bims.getCharset())) {
+            Assertions.assertEquals(text, readAll(reader, 100));
+        }
+
+        byte[] utf8 = ("﻿" + text).getBytes(StandardCharsets.UTF_8);
+        bims = new ByteOrderMarkStrippingInputStream(new TrickleInputStream(new ByteArrayInputStream(utf8)));
+        Assertions.assertEquals(ByteOrderMarkStrippingInputStream.BOM.UTF_8, bims.getBOM());
+        try (Reader reader = new Utf8Reader(bims.skipBOM())) {
+            Assertions.assertEquals(text, readAll(reader, 100));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package io.frictionlessdata.tableschema.iterator;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.exception.InvalidCastException;
+import io.frictionlessdata.tableschema.field.ArrayField;
+import io.frictionlessdata.tableschema.field.IntegerField;
+import io.frictionlessdata.tableschema.field.StringField;
+import io.frictionlessdata.tableschema.schema.Schema;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ColumnValueCacheTest {
+
+    private static Table createTable() {
+        Schema schema = new Schema();
+        schema.addField(new StringField("country"));
+        schema.addField(new IntegerField("count"));
+        schema.addField(new ArrayField("tags"));
+        List<String[]> data = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            data.add(new String[]{new String("DE"), new String("42"), "[\"a\"]"});
+        }
+        return new Table(data, schema.getHeaders(), schema).setValueCacheSize(ColumnValueCache.DEFAULT_MAX_SIZE);
+    }
+
+    @Test
+    @DisplayName("Repeated values of immutable types share the same cast object")
+    void testSharedValues() {
+        List<Object[]> rows = createTable().read();
+        Object[] first = rows.get(0);
+        for (Object[] row : rows) {
+            Assertions.assertSame(first[0], row[0]);
+            Assertions.assertSame(first[1], row[1]);
+        }
+        // arrays are mutable and must not be shared
+        Assertions.assertNotSame(first[2], rows.get(1)[2]);
+        Assertions.assertArrayEquals((Object[]) first[2], (Object[]) rows.get(1)[2]);
+    }
+
+    @Test
+    @DisplayName("Setting the cache size to 0 disables caching")
+    void testDisabled() {
+        List<Object[]> rows = createTable().setValueCacheSize(0).read();
+        Assertions.assertNotSame(rows.get(0)[1], rows.get(1)[1]);
+        Assertions.assertEquals(rows.get(0)[1], rows.get(1)[1]);
+    }
+
+    @Test
+    @DisplayName("Caching is off by default")
+    void testDefault() {
+        Assertions.assertEquals(0, new Table().getValueCacheSize());
+        Schema schema = new Schema();
+        schema.addField(new IntegerField("count"));
+        List<String[]> data = List.of(new String[]{new String("42")}, new String[]{new String("42")});
+        List<Object[]> rows = new Table(data, schema.getHeaders(), schema).read();
+        Assertions.assertNotSame(rows.get(0)[0], rows.get(1)[0]);
+    }
+
+    @Test
+    @DisplayName("Caching without a Schema doesn't change the source rows")
+    void testSourceRowsUnchanged() {
+        String[] first = new String[]{new String("DE")};
+        String[] second = new String[]{new String("DE")};
+        String secondValue = second[0];
+        List<String[]> data = List.of(first, second);
+        Table table = new Table(data, new String[]{"country"}, null)
+                .setValueCacheSize(ColumnValueCache.DEFAULT_MAX_SIZE);
+        List<Object[]> rows = table.read();
+        Assertions.assertSame(rows.get(0)[0], rows.get(1)[0]);
+        Assertions.assertSame(secondValue, second[0]);
+        Assertions.assertNotSame(second, rows.get(1));
+    }
+
+    @Test
+    @DisplayName("Strings are shared without a Schema")
+    void testWithoutSchema() {
+        Table table = Table.fromSource("country,count\nDE,1\nDE,2\nFR,3\n")
+                .setValueCacheSize(ColumnValueCache.DEFAULT_MAX_SIZE);
+        Iterator<Object[]> iter = table.iterator();
+        Object first = iter.next()[0];
+        Assertions.assertSame(first, iter.next()[0]);
+        Assertions.assertEquals("FR", iter.next()[0]);
+    }
+
+    @Test
+    @DisplayName("The cache switches off for columns with many distinct values")
+    void testHighCardinality() {
+        AtomicInteger calls = new AtomicInteger();
+        ColumnValueCache cache = new ColumnValueCache(16, (raw) -> {
+            calls.incrementAndGet();
+            return raw;
+        });
+        for (int i = 0; i < 20; i++) {
+            cache.get("v" + (i % 4));
+        }
+        Assertions.assertEquals(4, calls.get());
+        for (int i = 0; i < 10000; i++) {
+            cache.get("u" + i);
+        }
+        Assertions.assertFalse(cache.isEnabled());
+        Assertions.assertEquals("v1", cache.get("v1"));
+    }
+
+    @Test
+    @DisplayName("A full cache of frequent values stays enabled")
+    void testLowCardinality() {
+        ColumnValueCache cache = new ColumnValueCache(4, (raw) -> raw);
+        for (int i = 0; i < 10000; i++) {
+            cache.get((i % 10 == 0) ? ("rare" + i) : ("v" + (i % 4)));
+        }
+        Assertions.assertTrue(cache.isEnabled());
+    }
+
+    @Test
+    @DisplayName("Failed casts are not cached")
+    void testCastErrors() {
+        Schema schema = new Schema();
+        schema.addField(new IntegerField("count"));
+        List<String[]> data = new ArrayList<>();
+        data.add(new String[]{"1"});
+        data.add(new String[]{"x"});
+        data.add(new String[]{"x"});
+        // set the Schema after construction, as the constructor validates the data
+        Table table = new Table(data, schema.getHeaders(), null).setSchema(schema)
+                .setValueCacheSize(ColumnValueCache.DEFAULT_MAX_SIZE);
+        Iterator<Object[]> iter = table.iterator();
+        iter.next();
+        Assertions.assertThrows(InvalidCastException.class, iter::next);
+        Assertions.assertThrows(InvalidCastException.class, iter::next);
+    }
+}
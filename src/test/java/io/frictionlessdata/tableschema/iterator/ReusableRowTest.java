@@ -0,0 +1,144 @@
+package io.frictionlessdata.tableschema.iterator;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.field.BooleanField;
+import io.frictionlessdata.tableschema.field.DateField;
+import io.frictionlessdata.tableschema.field.IntegerField;
+import io.frictionlessdata.tableschema.field.NumberField;
+import io.frictionlessdata.tableschema.field.StringField;
+import io.frictionlessdata.tableschema.schema.Schema;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Closeable;
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+
+import static io.frictionlessdata.tableschema.TestHelper.assertClosesFiles;
+
+class ReusableRowTest {
+
+    private static Schema createSchema() {
+        Schema schema = new Schema();
+        schema.addField(new StringField("name"));
+        schema.addField(new IntegerField("count"));
+        schema.addField(new NumberField("amount"));
+        schema.addField(new BooleanField("active"));
+        schema.addField(new DateField("since"));
+        return schema;
+    }
+
+    private static Table createTable(Path dir, String data) throws Exception {
+        Files.write(dir.resolve("data.csv"), data.getBytes(StandardCharsets.UTF_8));
+        return Table.fromSource(new File("data.csv"), dir.toFile(), createSchema(), null, true);
+    }
+
+    @Test
+    @DisplayName("Reusable rows return the same values as the table iterator")
+    void testValues(@TempDir Path dir) throws Exception {
+        String data = "name,count,amount,active,since\n"
+                + "a, 42 ,0.1,true,2020-01-31\n"
+                + "b,-0,-17.250,false,2021-02-01\n"
+                + "c,+7,1e3,1,2022-03-01\n"
+                + "d,,NaN,,\n"
+                + "e,12345678901234567890,123456789.0123456789,0,2023-04-01\n";
+        Table table = createTable(dir, data);
+        List<Object[]> expected = table.read();
+
+        Iterator<ReusableRow> iter = table.reusableRowIterator();
+        ReusableRow first = iter.next();
+        Assertions.assertArrayEquals(expected.get(0), first.toArray());
+        Assertions.assertEquals(42, first.getLong(1));
+        Assertions.assertEquals(0.1, first.getDouble(2));
+        Assertions.assertTrue(first.getBoolean(3));
+        Assertions.assertEquals("a", first.getString(0));
+
+        ReusableRow second = iter.next();
+        Assertions.assertSame(first, second);
+        Assertions.assertArrayEquals(expected.get(1), second.toArray());
+        Assertions.assertEquals(0, second.getLong(1));
+        Assertions.assertEquals(-17.25, second.getDouble(2));
+        Assertions.assertFalse(second.getBoolean(3));
+
+        ReusableRow third = iter.next();
+        Assertions.assertEquals(7, third.getLong(1));
+        Assertions.assertEquals(7.0, third.getDouble(1));
+        Assertions.assertEquals(1000.0, third.getDouble(2));
+
+        ReusableRow fourth = iter.next();
+        Assertions.assertTrue(fourth.isNull(1));
+        Assertions.assertNull(fourth.get(1));
+        Assertions.assertThrows(IllegalStateException.class, () -> fourth.getLong(1));
+        Assertions.assertTrue(Double.isNaN(fourth.getDouble(2)));
+
+        ReusableRow fifth = iter.next();
+        Assertions.assertArrayEquals(expected.get(4), fifth.toArray());
+        // too large for a long
+        Assertions.assertThrows(IllegalStateException.class, () -> fifth.getLong(1));
+        Assertions.assertEquals(new BigDecimal("123456789.0123456789").doubleValue(), fifth.getDouble(2));
+        Assertions.assertFalse(iter.hasNext());
+    }
+
+    @Test
+    @DisplayName("Closing a reusable row iterator early closes the file")
+    void testClose(@TempDir Path dir) throws Exception {
+        Table csv = createTable(dir, "name,count,amount,active,since\na,1,0.1,true,2020-01-31\nb,2,0.2,false,2021-02-01\n");
+        Files.write(dir.resolve("data.json"), ("[{\"name\": \"a\", \"count\": 1}, "
+                + "{\"name\": \"b\", \"count\": 2}]").getBytes(StandardCharsets.UTF_8));
+        Table json = Table.fromSource(new File("data.json"), dir.toFile(), null, null, true);
+        for (Table table : new Table[]{csv, json}) {
+            assertClosesFiles(() -> {
+                Iterator<ReusableRow> iter = table.reusableRowIterator();
+                Assertions.assertEquals("a", iter.next().getString(0));
+                ((Closeable) iter).close();
+                Assertions.assertFalse(iter.hasNext());
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("Reading integer and number columns does not allocate per row")
+    void testNoAllocation(@TempDir Path dir) throws Exception {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        int rows = 200_000;
+        StringBuilder sb = new StringBuilder("name,count,amount,active,since\n");
+        for (int i = 0; i < rows; i++) {
+            sb.append("n").append(i).append(',').append(i).append(',').append(i).append(".25,true,2020-01-01\n");
+        }
+        Table table = createTable(dir, sb.toString());
+        // warm up the parsing code
+        sum(table);
+
+        long before = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+        double sum = sum(table);
+        long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - before;
+
+        Assertions.assertEquals(2.0 * rows * (rows - 1) / 2 + 0.25 * rows, sum);
+        // a String per row for any column would take more than 40 bytes per row
+        Assertions.assertTrue(allocated < rows * 8L, "allocated " + allocated + " bytes");
+    }
+
+    private static double sum(Table table) {
+        double sum = 0;
+        Iterator<ReusableRow> iter = table.reusableRowIterator();
+        while (iter.hasNext()) {
+            ReusableRow row = iter.next();
+            sum += row.getLong(1) + row.getDouble(2);
+        }
+        return sum;
+    }
+}
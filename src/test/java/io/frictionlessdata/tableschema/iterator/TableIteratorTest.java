@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.frictionlessdata.tableschema.Table;
 import io.frictionlessdata.tableschema.TestHelper;
 import io.frictionlessdata.tableschema.exception.InvalidCastException;
+import io.frictionlessdata.tableschema.field.IntegerField;
 import io.frictionlessdata.tableschema.schema.Schema;
 import io.frictionlessdata.tableschema.tabledatasource.TableDataSource;
 import org.apache.commons.csv.CSVFormat;
@@ -324,6 +325,41 @@ class TableIteratorTest {
         Assertions.assertEquals(83.23, ((Map) testRow[6]).get("rate"));
     }
 
+    @Test
+    @DisplayName("Wide table with data columns in a different order than the Schema")
+    void wideTableWithShuffledHeaders() throws Exception{
+        int columns = 1200;
+        Schema schema = new Schema();
+        for (int i = 0; i < columns; i++) {
+            schema.addField(new IntegerField("c" + i));
+        }
+        // the data has the columns in reverse order
+        StringBuilder header = new StringBuilder();
+        StringBuilder values = new StringBuilder();
+        for (int i = columns - 1; i >= 0; i--) {
+            header.append("c").append(i).append((i > 0) ? "," : "\n");
+            values.append(i).append((i > 0) ? "," : "\n");
+        }
+        String data = header.toString() + values + values;
+        Table table = Table.fromSource(data, schema, TableDataSource.getDefaultCsvFormat());
+
+        Iterator<Object[]> iter = table.iterator();
+        int rows = 0;
+        while (iter.hasNext()) {
+            Object[] row = iter.next();
+            Assertions.assertEquals(columns, row.length);
+            for (int i = 0; i < columns; i++) {
+                Assertions.assertEquals(BigInteger.valueOf(i), row[i]);
+            }
+            rows++;
+        }
+        Assertions.assertEquals(2, rows);
+
+        Map<String, Object> keyedRow = table.mappingIterator(false, true, false).next();
+        Assertions.assertEquals(BigInteger.valueOf(1199), keyedRow.get("c1199"));
+        Assertions.assertEquals(BigInteger.valueOf(0), keyedRow.get("c0"));
+    }
+
     private List<String[]> getExpectedAlternatePopulationData(){
         List<String[]> expectedData  = new ArrayList<>();
         expectedData.add(new String[]{"2017", "london", "8780000"});
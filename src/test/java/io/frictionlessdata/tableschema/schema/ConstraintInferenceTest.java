@@ -0,0 +1,200 @@
+package io.frictionlessdata.tableschema.schema;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.field.Field;
+import io.frictionlessdata.tableschema.util.HyperLogLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class ConstraintInferenceTest {
+    private static final String[] HEADERS = new String[]{"id", "amount", "status", "comment"};
+
+    private static List<Object[]> getData() {
+        List<Object[]> data = new ArrayList<>();
+        data.add(new Object[]{"1", "12.5", "open", "first"});
+        data.add(new Object[]{"2", "-3.5", "closed", ""});
+        data.add(new Object[]{"3", "7.25", "open", "a longer comment"});
+        data.add(new Object[]{"4", "100.75", "closed", "x"});
+        return data;
+    }
+
+    @Test
+    @DisplayName("Infer constraints alongside types")
+    void testInferConstraints() throws Exception {
+        Schema schema = Schema.infer(getData(), HEADERS, -1, new InferenceOptions());
+
+        Map<String, Object> id = schema.getField("id").getConstraints();
+        Assertions.assertEquals(Field.FIELD_TYPE_INTEGER, schema.getField("id").getType());
+        Assertions.assertEquals(true, id.get(Field.CONSTRAINT_KEY_REQUIRED));
+        Assertions.assertEquals(true, id.get(Field.CONSTRAINT_KEY_UNIQUE));
+        Assertions.assertEquals("1", id.get(Field.CONSTRAINT_KEY_MINIMUM).toString());
+        Assertions.assertEquals("4", id.get(Field.CONSTRAINT_KEY_MAXIMUM).toString());
+
+        Map<String, Object> amount = schema.getField("amount").getConstraints();
+        Assertions.assertEquals(Field.FIELD_TYPE_NUMBER, schema.getField("amount").getType());
+        Assertions.assertEquals(0, new BigDecimal("-3.5").compareTo(
+                new BigDecimal(amount.get(Field.CONSTRAINT_KEY_MINIMUM).toString())));
+        Assertions.assertEquals(0, new BigDecimal("100.75").compareTo(
+                new BigDecimal(amount.get(Field.CONSTRAINT_KEY_MAXIMUM).toString())));
+
+        Map<String, Object> status = schema.getField("status").getConstraints();
+        Assertions.assertEquals(Arrays.asList("closed", "open"), status.get(Field.CONSTRAINT_KEY_ENUM));
+        Assertions.assertNull(status.get(Field.CONSTRAINT_KEY_UNIQUE));
+
+        Map<String, Object> comment = schema.getField("comment").getConstraints();
+        Assertions.assertNull(comment.get(Field.CONSTRAINT_KEY_REQUIRED));
+        Assertions.assertNull(comment.get(Field.CONSTRAINT_KEY_ENUM));
+        Assertions.assertEquals(1, comment.get(Field.CONSTRAINT_KEY_MIN_LENGTH));
+        Assertions.assertEquals(16, comment.get(Field.CONSTRAINT_KEY_MAX_LENGTH));
+    }
+
+    @Test
+    @DisplayName("Inferring without options does not add constraints")
+    void testNoConstraintsByDefault() throws Exception {
+        Schema schema = Schema.infer(getData(), HEADERS, -1);
+        for (Field<?> field : schema.getFields()) {
+            Assertions.assertTrue((null == field.getConstraints()) || field.getConstraints().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Switch off constraints via InferenceOptions")
+    void testOptions() throws Exception {
+        InferenceOptions options = new InferenceOptions()
+                .setInferUnique(false)
+                .setInferRange(false)
+                .setMaxEnumSize(0);
+        Schema schema = Schema.infer(getData(), HEADERS, -1, options);
+
+        Map<String, Object> id = schema.getField("id").getConstraints();
+        Assertions.assertEquals(true, id.get(Field.CONSTRAINT_KEY_REQUIRED));
+        Assertions.assertNull(id.get(Field.CONSTRAINT_KEY_UNIQUE));
+        Assertions.assertNull(id.get(Field.CONSTRAINT_KEY_MINIMUM));
+        Assertions.assertNull(schema.getField("status").getConstraints().get(Field.CONSTRAINT_KEY_ENUM));
+    }
+
+    @Test
+    @DisplayName("Inferred constraints validate the data they were inferred from")
+    void testTableWithInferredSchema() throws Exception {
+        Table table = Table.fromSource("id,status\n1,open\n2,closed\n3,open\n4,closed");
+        Schema schema = table.inferSchema(-1, new InferenceOptions());
+        table.setSchema(schema);
+        Assertions.assertEquals(4, table.read(true).size());
+    }
+
+    @Test
+    @DisplayName("Statistics of merged states cover both states")
+    void testMergeStatistics() throws Exception {
+        InferenceState worker1 = new InferenceState(true);
+        worker1.addRows(HEADERS, getData().subList(0, 2));
+        InferenceState worker2 = InferenceState.fromJson(new InferenceState(true).asJson());
+        worker2.addRows(HEADERS, getData().subList(2, 4));
+
+        worker1.merge(worker2);
+        ColumnStatistics stats = worker1.getStatistics("amount");
+        Assertions.assertEquals(4, stats.getValueCount());
+        Assertions.assertEquals(0, new BigDecimal("-3.5").compareTo(stats.getMinimum()));
+        Assertions.assertEquals(0, new BigDecimal("100.75").compareTo(stats.getMaximum()));
+        Assertions.assertEquals(1, worker1.getStatistics("comment").getNullCount());
+        Assertions.assertEquals(2, worker1.getStatistics("status").getDistinctCount());
+
+        Schema schema = worker1.toSchema(new InferenceOptions());
+        Assertions.assertEquals(BigInteger.valueOf(4),
+                new BigInteger(schema.getField("id").getConstraints().get(Field.CONSTRAINT_KEY_MAXIMUM).toString()));
+    }
+
+    @Test
+    @DisplayName("Rows of a merged state without a column count as nulls of that column")
+    void testMergeDisjointColumns() throws Exception {
+        InferenceState worker1 = new InferenceState(true);
+        worker1.addRows(new String[]{"id", "name"}, Arrays.asList(
+                new Object[]{"1", "John"},
+                new Object[]{"2", "Jane"}));
+        InferenceState worker2 = new InferenceState(true);
+        worker2.addRows(new String[]{"id", "age"}, Arrays.asList(
+                new Object[]{"3", "30"},
+                new Object[]{"4", "25"},
+                new Object[]{"5", "40"}));
+
+        worker1.merge(worker2);
+        Assertions.assertEquals(0, worker1.getStatistics("id").getNullCount());
+        Assertions.assertEquals(3, worker1.getStatistics("name").getNullCount());
+        Assertions.assertEquals(2, worker1.getStatistics("age").getNullCount());
+
+        Schema schema = worker1.toSchema(new InferenceOptions());
+        Assertions.assertEquals(true, schema.getField("id").getConstraints().get(Field.CONSTRAINT_KEY_REQUIRED));
+        Assertions.assertNull(schema.getField("name").getConstraints().get(Field.CONSTRAINT_KEY_REQUIRED));
+        Assertions.assertNull(schema.getField("age").getConstraints().get(Field.CONSTRAINT_KEY_REQUIRED));
+        Assertions.assertEquals(Field.FIELD_TYPE_INTEGER, schema.getField("age").getType());
+    }
+
+    @Test
+    @DisplayName("Missing values at the end of short rows count as nulls")
+    void testShortRows() throws Exception {
+        byte[] csv = "id,comment\n1,first\n2\n3,third\n".getBytes(StandardCharsets.UTF_8);
+        Schema schema = Schema.inferReport(new ByteArrayInputStream(csv), StandardCharsets.UTF_8, -1,
+                new InferenceOptions()).getSchema();
+        Assertions.assertEquals(true, schema.getField("id").getConstraints().get(Field.CONSTRAINT_KEY_REQUIRED));
+        Assertions.assertNull(schema.getField("comment").getConstraints().get(Field.CONSTRAINT_KEY_REQUIRED));
+
+        InferenceState state = new InferenceState(true);
+        state.addRow(new String[]{"id", "comment"}, new Object[]{"1"});
+        Assertions.assertEquals(1, state.getStatistics("comment").getNullCount());
+    }
+
+    @Test
+    @DisplayName("HyperLogLog estimates large cardinalities within a few percent")
+    void testHyperLogLog() {
+        HyperLogLog hll1 = new HyperLogLog();
+        HyperLogLog hll2 = new HyperLogLog();
+        for (int i = 0; i < 50000; i++) {
+            hll1.add("value-" + i);
+            hll2.add("value-" + (i + 25000));
+        }
+        long estimate = hll1.merge(hll2).getEstimate();
+        Assertions.assertTrue(Math.abs(estimate - 75000) < 75000 * 0.05, "Estimate was " + estimate);
+    }
+
+    @Test
+    @DisplayName("Uniqueness of columns beyond exact tracking uses the HyperLogLog estimate")
+    void testUniqueLargeColumn() throws Exception {
+        InferenceState state = new InferenceState(new String[]{"key", "bucket"}, true);
+        for (int i = 0; i < 5000; i++) {
+            state.addRow(new String[]{"key", "bucket"}, new Object[]{"k" + i, Integer.toString(i % 100)});
+        }
+        Assertions.assertTrue(state.getStatistics("key").isUnique(0.05));
+        Assertions.assertFalse(state.getStatistics("bucket").isUnique(0.05));
+    }
+
+    @Test
+    @DisplayName("Columns beyond exact tracking are not inferred unique by default")
+    void testUniqueNotExact() throws Exception {
+        InferenceState state = new InferenceState(new String[]{"key", "duplicates"}, true);
+        for (int i = 0; i < 5000; i++) {
+            state.addRow(new String[]{"key", "duplicates"}, new Object[]{"k" + i, "d" + (i % 4950)});
+        }
+        Assertions.assertFalse(state.getStatistics("key").isUnique(0.0));
+        Assertions.assertFalse(state.getStatistics("duplicates").isUnique(0.0));
+        Schema schema = state.toSchema(new InferenceOptions());
+        Assertions.assertNull(schema.getField("key").getConstraints().get(Field.CONSTRAINT_KEY_UNIQUE));
+        Assertions.assertNull(schema.getField("duplicates").getConstraints().get(Field.CONSTRAINT_KEY_UNIQUE));
+
+        // few distinct values are tracked exactly
+        state = new InferenceState(new String[]{"key"}, true);
+        for (int i = 0; i < 50; i++) {
+            state.addRow(new String[]{"key"}, new Object[]{"k" + i});
+        }
+        Assertions.assertEquals(true, state.toSchema(new InferenceOptions()).getField("key")
+                .getConstraints().get(Field.CONSTRAINT_KEY_UNIQUE));
+    }
+}
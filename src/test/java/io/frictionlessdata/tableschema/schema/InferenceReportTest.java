@@ -0,0 +1,150 @@
+package io.frictionlessdata.tableschema.schema;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.field.Field;
+import io.frictionlessdata.tableschema.tabledatasource.StringArrayTableDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class InferenceReportTest {
+    private static final String[] HEADERS = new String[]{"id", "value"};
+
+    @Test
+    @DisplayName("Report type distribution, conflicting samples and confidence")
+    void testReport() throws Exception {
+        List<Object[]> data = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            data.add(new Object[]{Integer.toString(i), Integer.toString(i * 10)});
+        }
+        data.add(new Object[]{"9", "n/a"});
+        data.add(new Object[]{"10", ""});
+
+        InferenceReport report = Schema.inferReport(data, HEADERS, -1, null);
+        InferenceReport.ColumnReport value = report.getColumn("value");
+
+        Assertions.assertEquals(Field.FIELD_TYPE_INTEGER, value.getType());
+        Assertions.assertEquals(9L, value.getTypeCounts().get(Field.FIELD_TYPE_INTEGER));
+        Assertions.assertEquals(1L, value.getTypeCounts().get(Field.FIELD_TYPE_ANY));
+        Assertions.assertEquals(0.9, value.getConfidence(), 0.0001);
+        Assertions.assertEquals(Collections.singletonList("n/a"),
+                value.getConflictingSamples().get(Field.FIELD_TYPE_STRING));
+        Assertions.assertEquals(1.0, report.getColumn("id").getConfidence(), 0.0001);
+        Assertions.assertTrue(report.getColumn("id").getConflictingSamples().isEmpty());
+        Assertions.assertEquals(11, report.getRowCount());
+        Assertions.assertFalse(report.isTerminatedEarly());
+        Assertions.assertEquals(report.getSchema(), Schema.infer(data, HEADERS));
+    }
+
+    @Test
+    @DisplayName("Stop reading once the types of all columns are stable")
+    void testEarlyTermination() {
+        List<Object[]> data = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            data.add(new Object[]{Integer.toString(i), "text " + i});
+        }
+        InferenceOptions options = new InferenceOptions()
+                .setStabilityWindow(100)
+                .setMaxEnumSize(0);
+
+        InferenceReport report = Schema.inferReport(data, HEADERS, -1, options);
+        Assertions.assertTrue(report.isTerminatedEarly());
+        Assertions.assertEquals(100, report.getRowCount());
+        Assertions.assertEquals(Field.FIELD_TYPE_INTEGER, report.getSchema().getField("id").getType());
+        Assertions.assertEquals(Field.FIELD_TYPE_STRING, report.getSchema().getField("value").getType());
+    }
+
+    @Test
+    @DisplayName("A change of the leading type restarts the stability window")
+    void testNoEarlyTerminationWhenTypesChange() {
+        List<Object[]> data = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            data.add(new Object[]{Integer.toString(i), Integer.toString(i)});
+        }
+        for (int i = 0; i < 400; i++) {
+            data.add(new Object[]{Integer.toString(i), "text " + i});
+        }
+        InferenceOptions options = new InferenceOptions()
+                .setStabilityWindow(40)
+                .setMinConfidence(0.5);
+
+        // the leading type of "value" becomes stable at integer after 40 rows
+        InferenceReport report = Schema.inferReport(data, HEADERS, -1, options);
+        Assertions.assertEquals(40, report.getRowCount());
+
+        // with a window larger than the integer run and a higher confidence threshold, string takes
+        // over in row 101 and inferral goes on until 85% of the values are strings
+        report = Schema.inferReport(data, HEADERS, -1, options.setStabilityWindow(60).setMinConfidence(0.85));
+        Assertions.assertEquals(Field.FIELD_TYPE_STRING, report.getSchema().getField("value").getType());
+        Assertions.assertTrue(report.isTerminatedEarly());
+        Assertions.assertEquals(334, report.getRowCount());
+    }
+
+    @Test
+    @DisplayName("Early termination on a Table only reads the rows needed")
+    void testTableEarlyTermination() {
+        StringBuilder sb = new StringBuilder("id,name\n");
+        for (int i = 0; i < 5000; i++) {
+            sb.append(i).append(",name").append(i).append("\n");
+        }
+        Table table = Table.fromSource(sb.toString());
+        InferenceReport report = table.inferReport(-1, new InferenceOptions().setStabilityWindow(50));
+
+        Assertions.assertTrue(report.isTerminatedEarly());
+        Assertions.assertEquals(50, report.getRowCount());
+        Assertions.assertEquals(Field.FIELD_TYPE_INTEGER, report.getSchema().getField("id").getType());
+        Assertions.assertTrue(report.asJson().contains("\"confidence\""));
+    }
+
+    @Test
+    @DisplayName("Early termination on a Table closes the rows")
+    void testTableEarlyTerminationCloses() {
+        List<String[]> data = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            data.add(new String[]{Integer.toString(i), Integer.toString(i * 10)});
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        Table table = new Table().setTableDataSource(new StringArrayTableDataSource(data, HEADERS) {
+            @Override
+            public Iterator<String[]> iterator() {
+                return new CloseRecordingIterator(super.iterator(), closed);
+            }
+        });
+        InferenceReport report = table.inferReport(-1, new InferenceOptions().setStabilityWindow(50));
+
+        Assertions.assertTrue(report.isTerminatedEarly());
+        Assertions.assertTrue(closed.get());
+    }
+
+    private static class CloseRecordingIterator implements Iterator<String[]>, Closeable {
+        private final Iterator<String[]> rows;
+        private final AtomicBoolean closed;
+
+        CloseRecordingIterator(Iterator<String[]> rows, AtomicBoolean closed) {
+            this.rows = rows;
+            this.closed = closed;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return rows.hasNext();
+        }
+
+        @Override
+        public String[] next() {
+            return rows.next();
+        }
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.frictionlessdata.tableschema.schema;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.field.Field;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.Arrays;
+
+public class InferenceStateTest {
+    private static final String[] HEADERS = new String[]{"id", "amount", "label"};
+
+    @Test
+    @DisplayName("Merge the states of two workers and widen integer to number")
+    void testMergeAndWiden() throws Exception {
+        InferenceState worker1 = new InferenceState();
+        worker1.addRows(HEADERS, Arrays.asList(
+                new Object[]{"1", "12", "a"},
+                new Object[]{"2", "13", "b"}));
+        InferenceState worker2 = new InferenceState();
+        worker2.addRows(HEADERS, Arrays.asList(
+                new Object[]{"3", "1.5", "c"},
+                new Object[]{"4", "", "5"}));
+
+        Schema schema = worker1.merge(worker2).toSchema();
+
+        Assertions.assertEquals(4, worker1.getRowCount());
+        Assertions.assertEquals(Field.FIELD_TYPE_INTEGER, schema.getField("id").getType());
+        Assertions.assertEquals(Field.FIELD_TYPE_NUMBER, schema.getField("amount").getType());
+        Assertions.assertEquals(Field.FIELD_TYPE_STRING, schema.getField("label").getType());
+    }
+
+    @Test
+    @DisplayName("Columns only present in some sources are part of the merged Schema")
+    void testMergeDifferentColumns() throws Exception {
+        InferenceState state = new InferenceState();
+        state.addRows(Table.fromSource("id,name\n1,John\n2,Jane"), -1);
+        state.addRows(Table.fromSource("id,age\n3,30\n4,25"), -1);
+
+        Schema schema = state.toSchema();
+        Assertions.assertArrayEquals(new String[]{"id", "name", "age"}, schema.getHeaders());
+        Assertions.assertEquals(Field.FIELD_TYPE_INTEGER, schema.getField("age").getType());
+    }
+
+    @Test
+    @DisplayName("Checkpoint an InferenceState to a File and resume from it")
+    void testCheckpoint() throws Exception {
+        InferenceState state = new InferenceState(HEADERS);
+        state.addRow(HEADERS, new Object[]{"1", "2.5", "x"});
+
+        File tempFile = File.createTempFile("inference-state", ".json");
+        tempFile.deleteOnExit();
+        state.writeJson(tempFile);
+        InferenceState resumed = InferenceState.fromJson(tempFile);
+        resumed.addRow(HEADERS, new Object[]{"2", "3", "y"});
+
+        Assertions.assertEquals(2, resumed.getRowCount());
+        Assertions.assertArrayEquals(HEADERS, resumed.getHeaders());
+        Schema schema = resumed.toSchema();
+        Assertions.assertEquals(Field.FIELD_TYPE_NUMBER, schema.getField("amount").getType());
+    }
+
+    @Test
+    @DisplayName("Ship an InferenceState via Java serialization")
+    void testJavaSerialization() throws Exception {
+        InferenceState state = new InferenceState();
+        state.addRow(HEADERS, new Object[]{"1", "2", "x"});
+
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+            oos.writeObject(state);
+        }
+        InferenceState copy;
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+            copy = (InferenceState) ois.readObject();
+        }
+        Assertions.assertEquals(state.toSchema(), copy.toSchema());
+    }
+}
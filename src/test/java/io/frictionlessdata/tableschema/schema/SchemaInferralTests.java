@@ -375,6 +375,18 @@ public class SchemaInferralTests {
         Assertions.assertTrue(schema.isValid());
     }
 
+    @Test
+    @DisplayName("Inferred Schema equals its deserialized JSON representation")
+    void testInferredSchemaRoundtrip() throws Exception {
+        Table table = Table.fromSource(DATA);
+        Schema schema = table.inferSchema(-1, new InferenceOptions());
+        Schema fromJson = Schema.fromJson(schema.asJson(), true);
+
+        Assertions.assertEquals(fromJson, schema);
+        Assertions.assertEquals(fromJson.asJson(), schema.asJson());
+        Assertions.assertTrue(schema.isValid());
+    }
+
     private String DATA =
             "id,name,age\n" +
             "1,John Smith,25\n" +
@@ -0,0 +1,120 @@
+package io.frictionlessdata.tableschema.schema;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.field.Field;
+import io.frictionlessdata.tableschema.tabledatasource.FormatSniffer;
+import io.frictionlessdata.tableschema.tabledatasource.TableDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static io.frictionlessdata.tableschema.TestHelper.getTestDataDirectory;
+
+public class StreamInferenceTest {
+
+    @Test
+    @DisplayName("Sniff format and delimiter from a sample")
+    void testSniffer() {
+        Assertions.assertEquals(TableDataSource.Format.FORMAT_JSON, FormatSniffer.sniffFormat(" [\n {\"a\": 1}]"));
+        Assertions.assertEquals(TableDataSource.Format.FORMAT_JSON, FormatSniffer.sniffFormat("[[\"a\"],[1]]"));
+        Assertions.assertEquals(TableDataSource.Format.FORMAT_CSV, FormatSniffer.sniffFormat("[id],name\n1,a"));
+        Assertions.assertEquals(';', FormatSniffer.sniffDelimiter("id;name;comment\n1;a;\"x, y\"\n2;b;z\n3;c"));
+        Assertions.assertEquals('\t', FormatSniffer.sniffDelimiter("id\tname\n1\tfoo, bar\n"));
+        Assertions.assertEquals('|', FormatSniffer.sniffDelimiter("id|name"));
+        Assertions.assertEquals(',', FormatSniffer.sniffDelimiter("id"));
+    }
+
+    @Test
+    @DisplayName("Infer from a CSV file with a byte order mark and tab delimiter")
+    void testInferBomTsv() throws Exception {
+        File file = new File(getTestDataDirectory(), "data/simple_data_bom.tsv");
+        Schema schema = Schema.infer(file.toPath(), StandardCharsets.UTF_8, -1);
+
+        Assertions.assertEquals(2, schema.getFields().size());
+        Assertions.assertEquals(Field.FIELD_TYPE_INTEGER, schema.getField("id").getType());
+        Assertions.assertEquals(Field.FIELD_TYPE_STRING, schema.getField("title").getType());
+    }
+
+    @Test
+    @DisplayName("Stream inference of a JSON file matches inference via a Table")
+    void testInferJson() throws Exception {
+        File file = new File(getTestDataDirectory(), "data/employee_data.json");
+        Schema expected = Table.fromSource(new File("data/employee_data.json"), getTestDataDirectory(), null, null).inferSchema();
+
+        Assertions.assertEquals(expected, Schema.infer(file.toPath(), StandardCharsets.UTF_8, -1));
+    }
+
+    @Test
+    @DisplayName("JSON objects with missing keys are inferred like the JsonArrayTableDataSource fills them in")
+    void testInferJsonMissingKeys() throws Exception {
+        String json = "[{\"id\": 1, \"name\": \"a\"}, {\"id\": 2}, {\"id\": 3, \"name\": \"c\"}]";
+        Schema expected = Table.fromSource(json).inferSchema();
+        Schema schema = Schema.infer(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, -1);
+
+        Assertions.assertEquals(expected, schema);
+        Assertions.assertEquals(Field.FIELD_TYPE_STRING, schema.getField("name").getType());
+    }
+
+    @Test
+    @DisplayName("Only the rows needed for inferral are read from the stream")
+    void testReadsOnlySampledRows() throws Exception {
+        StringBuilder sb = new StringBuilder("id;name;amount\n");
+        for (int i = 0; i < 100000; i++) {
+            sb.append(i).append(";name").append(i).append(";").append(i).append(".5\n");
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        CountingInputStream is = new CountingInputStream(new ByteArrayInputStream(bytes));
+
+        InferenceReport report = Schema.inferReport(is, StandardCharsets.UTF_8, 99, null);
+        Assertions.assertEquals(100, report.getRowCount());
+        Assertions.assertEquals(Field.FIELD_TYPE_NUMBER, report.getSchema().getField("amount").getType());
+        Assertions.assertTrue(is.count < bytes.length / 10, "Read " + is.count + " bytes");
+    }
+
+    @Test
+    @DisplayName("Files in a list are streamed as well")
+    void testInferFileList() throws Exception {
+        File file = Files.createTempFile("stream-inference", ".csv").toFile();
+        file.deleteOnExit();
+        Files.writeString(file.toPath(), "id;flag\n1;true\n2;false\n");
+
+        Schema schema = Schema.infer(new String[]{file.getAbsolutePath()}, StandardCharsets.UTF_8);
+        Assertions.assertEquals(Field.FIELD_TYPE_INTEGER, schema.getField("id").getType());
+        Assertions.assertEquals(Field.FIELD_TYPE_BOOLEAN, schema.getField("flag").getType());
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private long count = 0;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+}
@@ -2,12 +2,17 @@ package io.frictionlessdata.tableschema.table_tests;
 
 import io.frictionlessdata.tableschema.Table;
 import io.frictionlessdata.tableschema.schema.Schema;
+import io.frictionlessdata.tableschema.tabledatasource.AbstractTableDataSource;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Iterator;
 
 import static io.frictionlessdata.tableschema.TestHelper.getTestDataDirectory;
@@ -48,4 +53,30 @@ public class TableEncodingTests {
         row = iter.next();
         Assertions.assertEquals("°F", row[1]);
     }
+
+    @Test
+    @DisplayName("Create a Table from a ISO-8859-1 encoded file with the charset set on the data source")
+    void createTableFromIso8859WithCharset(@TempDir Path tempDir) throws Exception{
+        Files.write(tempDir.resolve("iso8859.csv"), "name\nRéunion\n".getBytes(StandardCharsets.ISO_8859_1));
+
+        Table table = Table.fromSource(new File("iso8859.csv"), tempDir.toFile(), null, null);
+        ((AbstractTableDataSource<?>) table.getTableDataSource()).setCharset(StandardCharsets.ISO_8859_1);
+
+        Assertions.assertEquals("Réunion", table.iterator().next()[0]);
+    }
+
+    @Test
+    @DisplayName("Create a Table from UTF-16 and UTF-32 encoded files with and without BOM")
+    void createTableFromUtf16(@TempDir Path tempDir) throws Exception{
+        String data = "name,unit\nheat,°C\n";
+        String[] charsets = {"UTF-16LE", "UTF-16BE", "UTF-32LE", "UTF-32BE"};
+        for (String charset : charsets) {
+            for (String bom : new String[]{"", "\ufeff"}) {
+                Files.write(tempDir.resolve("data.csv"), (bom + data).getBytes(charset));
+                Table table = Table.fromSource(new File("data.csv"), tempDir.toFile(), null, null);
+                Assertions.assertArrayEquals(new String[]{"name", "unit"}, table.getHeaders(), charset);
+                Assertions.assertArrayEquals(new Object[]{"heat", "°C"}, table.iterator().next(), charset);
+            }
+        }
+    }
 }
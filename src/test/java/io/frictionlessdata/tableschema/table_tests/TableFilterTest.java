@@ -0,0 +1,139 @@
+package io.frictionlessdata.tableschema.table_tests;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.exception.TableSchemaException;
+import io.frictionlessdata.tableschema.field.Field;
+import io.frictionlessdata.tableschema.field.IntegerField;
+import io.frictionlessdata.tableschema.field.StringField;
+import io.frictionlessdata.tableschema.schema.Schema;
+import io.frictionlessdata.tableschema.tabledatasource.RowFilter;
+import io.frictionlessdata.tableschema.tabledatasource.TableDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.File;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static io.frictionlessdata.tableschema.TestHelper.assertClosesFiles;
+import static io.frictionlessdata.tableschema.TestHelper.getTestDataDirectory;
+
+class TableFilterTest {
+
+    private static Table getEmployeeTable() throws Exception {
+        File testDataDir = getTestDataDirectory();
+        Schema schema = Schema.fromJson(
+                new File(testDataDir, "schema/employee_full_schema_no_primary_secondary_keys.json"), true);
+        return Table.fromSource(new File("data/employee_full.csv"), testDataDir, schema,
+                TableDataSource.getDefaultCsvFormat(), true);
+    }
+
+    private static List<String> firstNames(Table table) {
+        List<String> names = new ArrayList<>();
+        table.mappingIterator().forEachRemaining((row) -> names.add((String) row.get("first_name")));
+        return names;
+    }
+
+    @Test
+    @DisplayName("Filter rows by equality, range, IN and null values")
+    void testFilters() throws Exception {
+        Table table = getEmployeeTable();
+        Assertions.assertEquals(Arrays.asList("John", "Frank"), firstNames(table.filter(RowFilter.eq("gender", "m"))));
+        // integer values are compared by value, independent of their Java type
+        Assertions.assertEquals(Arrays.asList("John"), firstNames(table.filter(RowFilter.eq("age", 50))));
+        Assertions.assertEquals(Arrays.asList("Frank", "Deborah"),
+                firstNames(table.filter(RowFilter.range("age", 20, 40L))));
+        Assertions.assertEquals(Arrays.asList("John", "Deborah"),
+                firstNames(table.filter(RowFilter.range("period_employed", 1, null))));
+        // Strings are cast with the Field of the column
+        Assertions.assertEquals(Arrays.asList("Frank"),
+                firstNames(table.filter(RowFilter.range("employment_start", "2018-01-01", null))));
+        Assertions.assertEquals(Arrays.asList("John", "Deborah"),
+                firstNames(table.filter(RowFilter.in("last_name", "Doe", "Vester", "Smith"))));
+        Assertions.assertEquals(Arrays.asList("John", "Deborah"), firstNames(table.filter(RowFilter.isNull("photo"))));
+
+        // all filters must match
+        Assertions.assertEquals(Arrays.asList("Frank"),
+                firstNames(table.filter(RowFilter.eq("gender", "m"), RowFilter.range("age", null, 30))));
+        Assertions.assertEquals(0, table.filter(RowFilter.eq("gender", "x")).read().size());
+        Assertions.assertEquals(1, table.filter(RowFilter.eq("gender", "f")).getRowCount());
+        Assertions.assertThrows(TableSchemaException.class, () -> table.filter(RowFilter.eq("nonexistent", 1)));
+    }
+
+    @Test
+    @DisplayName("Filtered iterators close the file when read to the end or closed early")
+    void testFilterCloses() throws Exception {
+        Table table = getEmployeeTable();
+        Table filtered = table.filter(RowFilter.eq("gender", "m"));
+        assertClosesFiles(filtered::read);
+        assertClosesFiles(() -> {
+            Iterator<Object[]> iter = filtered.iterator();
+            iter.next();
+            ((Closeable) iter).close();
+        });
+    }
+
+    @Test
+    @DisplayName("Combine filters with column projections")
+    void testFilterAndSelect() throws Exception {
+        Table table = getEmployeeTable();
+        List<Object[]> rows = table.filter(RowFilter.eq("gender", "f")).select("age", "last_name").read();
+        Assertions.assertEquals(1, rows.size());
+        Assertions.assertArrayEquals(new Object[]{BigInteger.valueOf(34), "Vester"}, rows.get(0));
+
+        Map<String, Object> row = table.select("first_name", "age").filter(RowFilter.eq("age", 22))
+                .mappingIterator().next();
+        Assertions.assertEquals("Frank", row.get("first_name"));
+        Assertions.assertEquals(2, row.size());
+    }
+
+    @Test
+    @DisplayName("Columns of rows that don't match are not cast")
+    void testFilterBeforeCast() throws Exception {
+        Schema schema = new Schema();
+        schema.addField(new StringField("name"));
+        schema.addField(new IntegerField("count"));
+        Table table = Table.fromSource("name,count\nfoo,not a number\nbar,3\n", schema, null);
+        Assertions.assertThrows(Exception.class, table::read);
+
+        List<Object[]> rows = table.filter(RowFilter.eq("name", "bar")).read();
+        Assertions.assertEquals(1, rows.size());
+        Assertions.assertArrayEquals(new Object[]{"bar", BigInteger.valueOf(3)}, rows.get(0));
+    }
+
+    @Test
+    @DisplayName("Constraints are not checked for rows that don't match")
+    void testFilterConstraints() throws Exception {
+        Schema schema = new Schema();
+        schema.addField(new StringField("name"));
+        IntegerField count = new IntegerField("count");
+        count.setConstraints(Map.of(Field.CONSTRAINT_KEY_MAXIMUM, 10));
+        schema.addField(count);
+        Table table = Table.fromSource("name,count\nfoo,100\nbar,3\n", schema, null);
+        Assertions.assertThrows(Exception.class, table::read);
+
+        List<Object[]> rows = table.filter(RowFilter.range("count", null, 5)).read();
+        Assertions.assertEquals(1, rows.size());
+        Assertions.assertArrayEquals(new Object[]{"bar", BigInteger.valueOf(3)}, rows.get(0));
+        Assertions.assertEquals(1, table.filter(RowFilter.range("count", null, "50")).read().size());
+        // rows that match are still checked
+        Assertions.assertThrows(Exception.class,
+                () -> table.filter(RowFilter.range("count", 50, null)).read());
+    }
+
+    @Test
+    @DisplayName("Filter raw values of a Table without Schema")
+    void testFilterWithoutSchema() throws Exception {
+        Table table = Table.fromSource("name,count\nfoo,1\nbar,\nbaz,3\n");
+        List<Object[]> rows = table.filter(RowFilter.in("count", "1", "3")).read();
+        Assertions.assertEquals(2, rows.size());
+        Assertions.assertEquals("baz", rows.get(1)[0]);
+        Assertions.assertEquals("bar", table.filter(RowFilter.isNull("count")).read().get(0)[0]);
+    }
+}
@@ -0,0 +1,128 @@
+package io.frictionlessdata.tableschema.table_tests;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.exception.TableSchemaException;
+import io.frictionlessdata.tableschema.field.IntegerField;
+import io.frictionlessdata.tableschema.field.StringField;
+import io.frictionlessdata.tableschema.schema.Schema;
+import io.frictionlessdata.tableschema.tabledatasource.ParallelCsvFileTableDataSource;
+import io.frictionlessdata.tableschema.tabledatasource.TableDataSource;
+import org.apache.commons.csv.CSVFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static io.frictionlessdata.tableschema.TestHelper.assertClosesFiles;
+import static io.frictionlessdata.tableschema.TestHelper.getTestDataDirectory;
+
+class TableProjectionTest {
+
+    private static Schema getEmployeeSchema() throws Exception {
+        return Schema.fromJson(new File(getTestDataDirectory(), "schema/employee_full_schema_no_primary_secondary_keys.json"), true);
+    }
+
+    private static void assertProjection(Table table) {
+        List<Object[]> all = table.read();
+        Table projected = table.select("position_title", "age");
+        Assertions.assertArrayEquals(new String[]{"position_title", "age"}, projected.getHeaders());
+        List<Object[]> rows = projected.read();
+        Assertions.assertEquals(all.size(), rows.size());
+        int titleIndex = table.getSchema().getFieldNames().indexOf("position_title");
+        int ageIndex = table.getSchema().getFieldNames().indexOf("age");
+        for (int i = 0; i < all.size(); i++) {
+            Assertions.assertEquals(2, rows.get(i).length);
+            Assertions.assertEquals(all.get(i)[titleIndex], rows.get(i)[0]);
+            Assertions.assertEquals(all.get(i)[ageIndex], rows.get(i)[1]);
+        }
+        Iterator<Map<String, Object>> iter = projected.mappingIterator();
+        Map<String, Object> row = iter.next();
+        Assertions.assertEquals(2, row.size());
+        Assertions.assertEquals(all.get(0)[ageIndex], row.get("age"));
+    }
+
+    @Test
+    @DisplayName("Read selected columns of a CSV file")
+    void testSelectFromFile() throws Exception {
+        File testDataDir = getTestDataDirectory();
+        Schema schema = getEmployeeSchema();
+        assertProjection(Table.fromSource(new File("data/employee_full.csv"), testDataDir, schema,
+                TableDataSource.getDefaultCsvFormat()));
+        assertProjection(Table.fromSource(new File("data/employee_full.csv"), testDataDir, schema,
+                TableDataSource.getDefaultCsvFormat(), true));
+
+        Table parallel = new Table()
+                .setTableDataSource(new ParallelCsvFileTableDataSource(
+                        new File(testDataDir, "data/employee_full.csv")).setChunkSize(100))
+                .setSchema(schema);
+        assertProjection(parallel);
+    }
+
+    @Test
+    @DisplayName("Iterators over selected columns close the file when closed early")
+    void testSelectCloses() throws Exception {
+        Table table = Table.fromSource(new File("data/employee_full.csv"), getTestDataDirectory(),
+                getEmployeeSchema(), TableDataSource.getDefaultCsvFormat(), true);
+        Table projected = table.select("position_title", "age");
+        assertClosesFiles(() -> {
+            Iterator<Object[]> iter = projected.iterator();
+            iter.next();
+            ((Closeable) iter).close();
+        });
+        Table range = projected.rowRange(1, 3);
+        assertClosesFiles(range::read);
+        assertClosesFiles(() -> {
+            Iterator<Object[]> iter = range.iterator();
+            iter.next();
+            ((Closeable) iter).close();
+        });
+    }
+
+    @Test
+    @DisplayName("Unselected columns are not cast")
+    void testUnselectedNotCast() throws Exception {
+        Schema schema = new Schema();
+        schema.addField(new StringField("name"));
+        schema.addField(new IntegerField("count"));
+        Table table = Table.fromSource("name,count\nfoo,not a number\nbar,3\n", schema, null);
+        Assertions.assertThrows(Exception.class, table::read);
+
+        List<Object[]> rows = table.select("name").read();
+        Assertions.assertEquals(2, rows.size());
+        Assertions.assertArrayEquals(new Object[]{"bar"}, rows.get(1));
+    }
+
+    @Test
+    @DisplayName("Select columns of data without header row by the position of the Field")
+    void testSelectWithoutHeaders() throws Exception {
+        Schema schema = new Schema();
+        schema.addField(new StringField("name"));
+        schema.addField(new IntegerField("count"));
+        CSVFormat format = TableDataSource.getDefaultCsvFormat().builder().setHeader((String[]) null).get();
+        Table table = Table.fromSource("foo,1\nbar,3\n", schema, format);
+
+        List<Object[]> rows = table.select("count", "name").read();
+        Assertions.assertEquals(2, rows.size());
+        Assertions.assertEquals(3, ((Number) rows.get(1)[0]).intValue());
+        Assertions.assertEquals("bar", rows.get(1)[1]);
+    }
+
+    @Test
+    @DisplayName("Select columns of a Table without Schema")
+    void testSelectWithoutSchema() throws Exception {
+        Table table = Table.fromSource("name,count,extra\nfoo,1,x\nbar,3\n");
+        Table projected = table.select("extra", "name");
+        Assertions.assertArrayEquals(new String[]{"extra", "name"}, projected.getHeaders());
+        List<Object[]> rows = projected.read();
+        Assertions.assertArrayEquals(new Object[]{"x", "foo"}, rows.get(0));
+        // values missing in the data are null
+        Assertions.assertArrayEquals(new Object[]{null, "bar"}, rows.get(1));
+
+        Assertions.assertThrows(TableSchemaException.class, () -> table.select("nonexistent"));
+    }
+}
@@ -0,0 +1,170 @@
+package io.frictionlessdata.tableschema.table_tests;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.beans.SimpleDataBean;
+import io.frictionlessdata.tableschema.field.IntegerField;
+import io.frictionlessdata.tableschema.field.StringField;
+import io.frictionlessdata.tableschema.schema.Schema;
+import io.frictionlessdata.tableschema.tabledatasource.CsvFileTableDataSource;
+import io.frictionlessdata.tableschema.tabledatasource.RowFilter;
+import io.frictionlessdata.tableschema.tabledatasource.TableDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static io.frictionlessdata.tableschema.TestHelper.assertClosesFiles;
+import static io.frictionlessdata.tableschema.TestHelper.assertSameRows;
+
+class TableStreamTest {
+    private static final int ROWS = 20000;
+
+    private static Schema getSchema() {
+        Schema schema = new Schema();
+        schema.addField(new IntegerField("id"));
+        schema.addField(new StringField("name"));
+        return schema;
+    }
+
+    @Test
+    @DisplayName("Parallel streams split in-memory data by row ranges")
+    void testInMemoryStream() {
+        List<String[]> data = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            data.add(new String[]{Integer.toString(i), "name " + i});
+        }
+        Table table = new Table(data, new String[]{"id", "name"}, getSchema());
+
+        Spliterator<Object[]> spliterator = table.stream().spliterator();
+        Assertions.assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED
+                | Spliterator.ORDERED));
+        Assertions.assertEquals(ROWS, spliterator.getExactSizeIfKnown());
+        Spliterator<Object[]> prefix = spliterator.trySplit();
+        Assertions.assertNotNull(prefix);
+        Assertions.assertEquals(ROWS, prefix.getExactSizeIfKnown() + spliterator.getExactSizeIfKnown());
+        Assertions.assertArrayEquals(new Object[]{BigInteger.ZERO, "name 0"}, nextRow(prefix));
+
+        List<Object[]> expected = table.read();
+        assertSameRows(expected, table.stream().parallel().collect(Collectors.toList()));
+        Assertions.assertEquals(ROWS, table.stream().parallel().count());
+        BigInteger sum = table.stream().parallel()
+                .map((row) -> (BigInteger) row[0])
+                .reduce(BigInteger.ZERO, BigInteger::add);
+        Assertions.assertEquals(BigInteger.valueOf((long) ROWS * (ROWS - 1) / 2), sum);
+
+        List<Object> names = table.mappingStream().parallel()
+                .map((row) -> row.get("name"))
+                .collect(Collectors.toList());
+        Assertions.assertEquals("name 0", names.get(0));
+        Assertions.assertEquals("name " + (ROWS - 1), names.get(ROWS - 1));
+    }
+
+    @Test
+    @DisplayName("Parallel streams split CSV files by byte ranges")
+    void testFileStream(@TempDir Path tempDir) throws Exception {
+        StringBuilder csv = new StringBuilder("id,name\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(i).append(",\"name\n").append(i).append("\"\n");
+        }
+        Files.write(tempDir.resolve("data.csv"), csv.toString().getBytes(StandardCharsets.UTF_8));
+        Table table = Table.fromSource(new File("data.csv"), tempDir.toFile(), getSchema(),
+                TableDataSource.getDefaultCsvFormat(), true);
+
+        // the row count is unknown without reading the file
+        Spliterator<Object[]> spliterator = table.stream().spliterator();
+        Assertions.assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+        Assertions.assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+        Assertions.assertNotNull(spliterator.trySplit());
+
+        List<Object[]> expected = table.read();
+        Assertions.assertEquals(ROWS, expected.size());
+        assertSameRows(expected, table.stream().parallel().collect(Collectors.toList()));
+        assertSameRows(expected, table.stream().collect(Collectors.toList()));
+
+        // with a row index, the count is known until the data is split
+        ((CsvFileTableDataSource) table.getTableDataSource()).setRowIndexInterval(100);
+        spliterator = table.stream().spliterator();
+        Assertions.assertEquals(ROWS, spliterator.getExactSizeIfKnown());
+        Assertions.assertEquals(ROWS, table.stream().parallel().count());
+        Assertions.assertNotNull(spliterator.trySplit());
+        Assertions.assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+    }
+
+    @Test
+    @DisplayName("Closing a Stream closes the files of its splits")
+    void testCloseStream(@TempDir Path tempDir) throws Exception {
+        StringBuilder csv = new StringBuilder("id,name\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(i).append(",name ").append(i).append('\n');
+        }
+        Files.write(tempDir.resolve("data.csv"), csv.toString().getBytes(StandardCharsets.UTF_8));
+        Table splittable = Table.fromSource(new File("data.csv"), tempDir.toFile(), getSchema(),
+                TableDataSource.getDefaultCsvFormat(), true);
+        // filtered data is read by a single Iterator
+        Table unsplittable = splittable.filter(RowFilter.range("id", 0, null));
+
+        for (Table table : new Table[]{splittable, unsplittable}) {
+            assertClosesFiles(() -> {
+                try (Stream<Object[]> stream = table.stream()) {
+                    Assertions.assertEquals(BigInteger.ZERO, stream.findFirst().get()[0]);
+                }
+            });
+            assertClosesFiles(() -> {
+                try (Stream<Object[]> stream = table.stream()) {
+                    Assertions.assertTrue(stream.parallel().anyMatch((row) -> row[0].equals(BigInteger.TEN)));
+                }
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("Parallel streams of beans keep the order of the data")
+    void testBeanStream() {
+        List<SimpleDataBean> beans = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            SimpleDataBean bean = new SimpleDataBean();
+            bean.setId(i);
+            bean.setTitle("title " + i);
+            beans.add(bean);
+        }
+        Table table = new Table(beans, SimpleDataBean.class);
+
+        List<SimpleDataBean> read = table.stream(SimpleDataBean.class).parallel().collect(Collectors.toList());
+        Assertions.assertEquals(beans.size(), read.size());
+        for (int i = 0; i < beans.size(); i++) {
+            Assertions.assertEquals(i, read.get(i).getId());
+            Assertions.assertEquals("title " + i, read.get(i).getTitle());
+        }
+    }
+
+    @Test
+    @DisplayName("Data sources that can't be split are streamed by one Iterator")
+    void testUnsplittableStream() {
+        Table table = Table.fromSource("id,name\n1,one\n2,two\n", getSchema(), TableDataSource.getDefaultCsvFormat());
+
+        Spliterator<Map<String, Object>> spliterator = table.mappingStream().spliterator();
+        Assertions.assertFalse(spliterator.hasCharacteristics(Spliterator.SIZED));
+        List<Object> ids = table.mappingStream().parallel()
+                .map((row) -> row.get("id"))
+                .collect(Collectors.toList());
+        Assertions.assertEquals(List.of(BigInteger.ONE, BigInteger.TWO), ids);
+    }
+
+    private static Object[] nextRow(Spliterator<Object[]> spliterator) {
+        Object[][] row = new Object[1][];
+        Assertions.assertTrue(spliterator.tryAdvance((r) -> row[0] = r));
+        return row[0];
+    }
+}
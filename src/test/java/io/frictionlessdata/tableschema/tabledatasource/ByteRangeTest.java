@@ -0,0 +1,166 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.exception.TableSchemaException;
+import io.frictionlessdata.tableschema.field.IntegerField;
+import io.frictionlessdata.tableschema.field.StringField;
+import io.frictionlessdata.tableschema.schema.Schema;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static io.frictionlessdata.tableschema.TestHelper.assertSameRows;
+
+class ByteRangeTest {
+    private static final int ROWS = 500;
+
+    private static String createCsv() {
+        StringBuilder sb = new StringBuilder("﻿id,text\n");
+        for (int i = 0; i < ROWS; i++) {
+            sb.append(i).append(',');
+            if (i % 3 == 0) {
+                // quoted values with line breaks and delimiters, which must not be taken as record boundaries
+                sb.append("\"line\n").append(i).append(",\"\"quoted\"\"\n\"");
+            } else {
+                sb.append("Zürich ").append(i);
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static List<String[]> readSplits(SplittableTableDataSource ds, int splits) {
+        List<String[]> rows = new ArrayList<>();
+        long size = ds.getSize();
+        for (int i = 0; i < splits; i++) {
+            ds.iterator(size * i / splits, size * (i + 1) / splits).forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+
+    @Test
+    @DisplayName("Byte ranges of a CSV file read every row exactly once")
+    void testCsvSplits(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("data.csv");
+        Files.write(file, createCsv().getBytes(StandardCharsets.UTF_8));
+        CsvFileTableDataSource ds = new CsvFileTableDataSource(file.toString());
+        List<String[]> expected = ds.getDataAsStringArray();
+        Assertions.assertEquals(ROWS, expected.size());
+
+        for (int splits : new int[]{1, 2, 3, 7, 50, 997}) {
+            assertSameRows(expected, readSplits(ds, splits));
+        }
+        ParallelCsvFileTableDataSource parallel = new ParallelCsvFileTableDataSource(file.toFile());
+        assertSameRows(expected, readSplits(parallel, 13));
+        Assertions.assertFalse(ds.iterator(ds.getSize(), ds.getSize()).hasNext());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ds.iterator(10, 5));
+    }
+
+    @Test
+    @DisplayName("Byte ranges of a CSV file with a row index read every row exactly once")
+    void testCsvSplitsWithRowIndex(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("data.csv");
+        Files.write(file, createCsv().getBytes(StandardCharsets.UTF_8));
+        CsvFileTableDataSource ds = new CsvFileTableDataSource(file.toString());
+        List<String[]> expected = ds.getDataAsStringArray();
+        ds.setRowIndexInterval(16);
+        Assertions.assertNotNull(ds.getRowIndex());
+
+        for (int splits : new int[]{1, 3, 50, 997}) {
+            assertSameRows(expected, readSplits(ds, splits));
+        }
+    }
+
+    @Test
+    @DisplayName("Byte ranges of a CSV file without line breaks in values start at the next line break")
+    void testCsvSplitsWithoutLineBreaksInValues(@TempDir Path tempDir) throws Exception {
+        StringBuilder csv = new StringBuilder("id,text\n");
+        for (int i = 0; i < ROWS; i++) {
+            csv.append(i).append(",\"Zürich, ").append(i).append("\"\n");
+        }
+        Path file = tempDir.resolve("data.csv");
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+        CsvFileTableDataSource ds = new CsvFileTableDataSource(file.toString());
+        List<String[]> expected = ds.getDataAsStringArray();
+        ds.setLineBreaksInValues(false);
+        ParallelCsvFileTableDataSource parallel = new ParallelCsvFileTableDataSource(file.toFile())
+                .setLineBreaksInValues(false);
+
+        for (int splits : new int[]{1, 7, 997}) {
+            assertSameRows(expected, readSplits(ds, splits));
+            assertSameRows(expected, readSplits(parallel, splits));
+        }
+    }
+
+    @Test
+    @DisplayName("Byte ranges of a JSON Lines file read every row exactly once")
+    void testJsonLinesSplits(@TempDir Path tempDir) throws Exception {
+        StringBuilder objects = new StringBuilder();
+        StringBuilder arrays = new StringBuilder("[\"id\",\"name\"]\n");
+        for (int i = 0; i < ROWS; i++) {
+            objects.append("{\"id\":").append(i).append(",\"name\":\"Zürich ").append(i).append("\"}\n");
+            arrays.append('[').append(i).append(",\"name ").append(i).append("\"]\n");
+            if (i % 50 == 0) {
+                objects.append('\n');
+            }
+        }
+        for (String data : new String[]{objects.toString(), arrays.toString()}) {
+            Path file = tempDir.resolve("data.ndjson");
+            Files.write(file, data.getBytes(StandardCharsets.UTF_8));
+            JsonLinesTableDataSource ds = new JsonLinesTableDataSource(file.toFile());
+            List<String[]> expected = ds.getDataAsStringArray();
+            Assertions.assertEquals(ROWS, expected.size());
+            for (int splits : new int[]{1, 4, 101}) {
+                assertSameRows(expected, readSplits(ds, splits));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A compressed file is read completely by the first byte range")
+    void testUnsplittable(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("data.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(createCsv().getBytes(StandardCharsets.UTF_8));
+        }
+        CsvFileTableDataSource ds = new CsvFileTableDataSource(file.toString());
+        Assertions.assertEquals(ROWS, readSplits(ds, 5).size());
+        Assertions.assertFalse(ds.iterator(1, ds.getSize()).hasNext());
+    }
+
+    @Test
+    @DisplayName("Cast the rows of a byte range of a Table")
+    void testTableByteRange(@TempDir Path tempDir) throws Exception {
+        Files.write(tempDir.resolve("data.csv"), createCsv().getBytes(StandardCharsets.UTF_8));
+        Schema schema = new Schema();
+        schema.addField(new IntegerField("id"));
+        schema.addField(new StringField("text"));
+        Table table = Table.fromSource(new File("data.csv"), tempDir.toFile(), schema, null, true);
+        long size = Files.size(tempDir.resolve("data.csv"));
+
+        List<Object[]> rows = new ArrayList<>();
+        rows.addAll(table.byteRange(0, size / 2).read());
+        Table second = table.byteRange(size / 2, size);
+        Assertions.assertArrayEquals(table.getHeaders(), second.getHeaders());
+        Iterator<Object[]> iter = second.iterator();
+        iter.forEachRemaining(rows::add);
+        Assertions.assertEquals(ROWS, rows.size());
+        for (int i = 0; i < ROWS; i++) {
+            Assertions.assertEquals(java.math.BigInteger.valueOf(i), rows.get(i)[0]);
+        }
+
+        Table inMemory = Table.fromSource("id,text\n1,a\n");
+        Assertions.assertThrows(TableSchemaException.class, () -> inMemory.byteRange(0, 10));
+    }
+}
@@ -0,0 +1,154 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.TestHelper;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class CsvTokenizerTest {
+    private static final CSVFormat DEFAULT = TableDataSource.getDefaultCsvFormat();
+
+    private static final String[] SAMPLES = new String[]{
+            "a,b,c\n1,2,3\n",
+            "a,b,c\r\n1,2,3\r\n4,5,6",
+            "a,b\n1,\n,2\n",
+            "a,b\n\n1,2\n\n",
+            "a,b\n  1 , 2  \n",
+            "a,b\n\"x, y\",\"he said \"\"hi\"\"\"\n",
+            "a,b\n  \"quoted\"  ,plain\n",
+            "a,b\n\"multi\r\nline\",2\n",
+            "a,b\n1,2,3,4\n5\n",
+            "a\n\"\"\n",
+            "a,b\nx\"y,z\n",
+            "a;b\n1;2\r3;4\r",
+            "a,b\n1,\t2\t\n",
+    };
+
+    @Test
+    @DisplayName("Tokenize like commons-csv with the default format")
+    void testSamples() throws Exception {
+        for (String sample : SAMPLES) {
+            assertSameRecords(sample, DEFAULT);
+            assertSameRecords(sample, DEFAULT.builder().setIgnoreSurroundingSpaces(false).get());
+            assertSameRecords(sample, DEFAULT.builder().setIgnoreEmptyLines(true).get());
+            assertSameRecords(sample, DEFAULT.builder().setDelimiter(';').get());
+        }
+    }
+
+    @Test
+    @DisplayName("Tokenize like commons-csv with escape characters")
+    void testEscapes() throws Exception {
+        CSVFormat format = DEFAULT.builder().setEscape('\\').get();
+        assertSameRecords("a,b\n1\\,2,3\\n4\n\"q\\\"uote\",\\x\n", format);
+        assertSameRecords("a,b\n\\\\,\"\\t\"\n", format);
+    }
+
+    @Test
+    @DisplayName("Tokenize random data like commons-csv, with buffer refills inside records")
+    void testRandomData() throws Exception {
+        Random random = new Random(42);
+        String alphabet = "ab ,;\"\r\n\t\\x";
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(60);
+            for (int j = 0; j < length; j++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            for (CSVFormat format : Arrays.asList(
+                    DEFAULT,
+                    DEFAULT.builder().setIgnoreSurroundingSpaces(false).setIgnoreEmptyLines(true).get(),
+                    DEFAULT.builder().setEscape('\\').setHeader((String[]) null).get())) {
+                assertSameRecords(sb.toString(), format);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Tokenize the test data files like commons-csv")
+    void testDataFiles() throws Exception {
+        File dir = new File(TestHelper.getTestDataDirectory(), "data");
+        for (File file : dir.listFiles((d, name) -> name.endsWith(".csv"))) {
+            String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            assertSameRecords(content, DEFAULT);
+        }
+    }
+
+    @Test
+    @DisplayName("A Table reads the same rows with the fast tokenizer")
+    void testTable() throws Exception {
+        File dir = new File(TestHelper.getTestDataDirectory(), "data");
+        Table table = Table.fromSource(new File("employee_data.csv"), dir);
+        List<Object[]> expected = table.read();
+
+        CsvTableDataSource ds = (CsvTableDataSource) TableDataSource.fromSource(new File("employee_data.csv"), dir);
+        ds.setFastTokenizer(true);
+        List<String[]> actual = ds.getDataAsStringArray();
+        Assertions.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assertions.assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Unsupported formats are detected")
+    void testSupports() {
+        Assertions.assertTrue(CsvTokenizer.supports(DEFAULT));
+        Assertions.assertTrue(CsvTokenizer.supports(CSVFormat.TDF));
+        Assertions.assertFalse(CsvTokenizer.supports(DEFAULT.builder().setCommentMarker('#').get()));
+        Assertions.assertFalse(CsvTokenizer.supports(DEFAULT.builder().setDelimiter("||").get()));
+        Assertions.assertFalse(CsvTokenizer.supports(DEFAULT.builder().setTrim(true).get()));
+    }
+
+    private static void assertSameRecords(String data, CSVFormat format) throws IOException {
+        List<String[]> expected = new ArrayList<>();
+        Exception expectedException = null;
+        // read the header row as a record, as commons-csv may reject header names the tokenizer does not care about
+        String[] header = format.getHeader();
+        try (CSVParser parser = CSVParser.parse(data, format.builder().setHeader((String[]) null).get())) {
+            for (CSVRecord record : parser) {
+                expected.add(record.values());
+            }
+        } catch (Exception ex) {
+            expectedException = ex;
+        }
+        if ((null != header) && !expected.isEmpty()) {
+            expected.remove(0);
+        }
+
+        for (int bufferSize : new int[]{16, 4096}) {
+            List<String[]> actual = new ArrayList<>();
+            Exception actualException = null;
+            try (CsvTokenizer tokenizer = new CsvTokenizer(new StringReader(data), format, bufferSize)) {
+                while (tokenizer.nextRecord()) {
+                    actual.add(tokenizer.getRecord());
+                }
+            } catch (IOException ex) {
+                actualException = ex;
+            }
+            String message = "Data: " + data.replace("\r", "\\r").replace("\n", "\\n");
+            if (null != expectedException) {
+                Assertions.assertNotNull(actualException, message + ", expected " + expectedException);
+                continue;
+            }
+            Assertions.assertNull(actualException, message);
+            Assertions.assertEquals(expected.size(), actual.size(), message);
+            for (int i = 0; i < expected.size(); i++) {
+                Assertions.assertArrayEquals(expected.get(i), actual.get(i), message + ", record " + i);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import org.apache.commons.csv.CSVFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.List;
+
+public class FormatSnifferTest {
+
+    @Test
+    @DisplayName("Detect the quote character")
+    void testSniffQuote() {
+        Assertions.assertEquals('"', FormatSniffer.sniffQuote("id,name\n1,\"foo, bar\"\n"));
+        Assertions.assertEquals('\'', FormatSniffer.sniffQuote("id;name\n1;'foo; bar'\n2; 'baz'\n"));
+        // apostrophes inside values don't count
+        Assertions.assertEquals('"', FormatSniffer.sniffQuote("id,name\n1,don't\n2,it's\n"));
+    }
+
+    @Test
+    @DisplayName("Detect whether the first row is a header row")
+    void testSniffHeader() {
+        Assertions.assertTrue(FormatSniffer.sniffHeader("id,name\n1,foo\n2,bar\n", ',', '"'));
+        Assertions.assertFalse(FormatSniffer.sniffHeader("1,foo\n2,bar\n3,baz\n", ',', '"'));
+        Assertions.assertTrue(FormatSniffer.sniffHeader("code,amount\nAB,1.5\nCD,2\n", ',', '"'));
+        Assertions.assertFalse(FormatSniffer.sniffHeader("AB,1.5\nCD,2\nEF,3", ',', '"'));
+        // nothing to compare: assume a header row
+        Assertions.assertTrue(FormatSniffer.sniffHeader("foo,bar\n", ',', '"'));
+        Assertions.assertTrue(FormatSniffer.sniffHeader("name,city\nJohn,Berlin\nJane Doe,Paris\n", ',', '"'));
+    }
+
+    @Test
+    @DisplayName("Detect format and CSV dialect in one go")
+    void testSniff() throws Exception {
+        DetectedFormat detected = FormatSniffer.sniff("1;'a; b'\n2;'c; d'\n3;'e; f'\n");
+        Assertions.assertEquals(TableDataSource.Format.FORMAT_CSV, detected.getFormat());
+        Assertions.assertEquals(';', detected.getDelimiter());
+        Assertions.assertEquals('\'', detected.getQuote());
+        Assertions.assertFalse(detected.hasHeader());
+
+        CSVFormat format = detected.toCsvFormat();
+        CsvTableDataSource ds = new CsvTableDataSource("1;'a; b'\n2;'c; d'\n3;'e; f'\n");
+        ds.setFormat(format);
+        List<String[]> rows = ds.getDataAsStringArray();
+        Assertions.assertEquals(3, rows.size());
+        Assertions.assertArrayEquals(new String[]{"1", "a; b"}, rows.get(0));
+
+        BufferedReader reader = new BufferedReader(new StringReader("{\"a\":1}\n{\"a\":2}\n"));
+        Assertions.assertEquals(TableDataSource.Format.FORMAT_NDJSON, FormatSniffer.sniff(reader).getFormat());
+        // the reader is reset after sniffing
+        Assertions.assertEquals("{\"a\":1}", reader.readLine());
+        Assertions.assertEquals(TableDataSource.Format.FORMAT_JSON, FormatSniffer.sniff("[{\"a\":1}]").getFormat());
+    }
+
+    @Test
+    @DisplayName("Detect a JSON array from a String without parsing all of it")
+    void testFromString() {
+        Assertions.assertTrue(TableDataSource.fromSource("[[\"a\"],[1]]") instanceof JsonArrayTableDataSource);
+        Assertions.assertTrue(TableDataSource.fromSource("﻿[{\"a\":1}]") instanceof JsonArrayTableDataSource);
+        Assertions.assertTrue(TableDataSource.fromSource("a,b\n1,2") instanceof CsvTableDataSource);
+        // broken JSON is still treated as CSV
+        Assertions.assertTrue(TableDataSource.fromSource("[{\"a\":1},") instanceof CsvTableDataSource);
+    }
+}
@@ -0,0 +1,165 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.schema.Schema;
+import io.frictionlessdata.tableschema.util.JsonUtil;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static io.frictionlessdata.tableschema.TestHelper.assertClosesFiles;
+import static io.frictionlessdata.tableschema.TestHelper.assertSameRows;
+import static io.frictionlessdata.tableschema.TestHelper.getTestDataDirectory;
+import static io.frictionlessdata.tableschema.TestHelper.toSortedStrings;
+
+public class JsonLinesTableDataSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Detect newline-delimited JSON")
+    void testSniffer() {
+        Assertions.assertEquals(TableDataSource.Format.FORMAT_NDJSON, FormatSniffer.sniffFormat("{\"a\":1}\n{\"a\":2}"));
+        Assertions.assertEquals(TableDataSource.Format.FORMAT_NDJSON, FormatSniffer.sniffFormat("[\"a\",\"b\"]\n[1,2]\n"));
+        Assertions.assertEquals(TableDataSource.Format.FORMAT_JSON, FormatSniffer.sniffFormat("[{\"a\":1}]"));
+        Assertions.assertEquals(TableDataSource.Format.FORMAT_CSV, FormatSniffer.sniffFormat("[id],name\n1,a"));
+    }
+
+    @Test
+    @DisplayName("Read the same rows as the JSON array source")
+    void testSameRows() throws Exception {
+        File jsonFile = new File(getTestDataDirectory(), "data/employee_data.json");
+        String json = new String(Files.readAllBytes(jsonFile.toPath()), StandardCharsets.UTF_8);
+        JsonArrayTableDataSource expected = new JsonArrayTableDataSource(json);
+
+        JsonLinesTableDataSource ds = new JsonLinesTableDataSource(toJsonLines(json, "\n"));
+        Assertions.assertArrayEquals(expected.getHeaders(), ds.getHeaders());
+        Assertions.assertFalse(ds.hasReliableHeaders());
+        assertSameRows(expected.getDataAsStringArray(), ds.getDataAsStringArray());
+    }
+
+    @Test
+    @DisplayName("Parse lines in parallel like sequentially")
+    void testParallel() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            sb.append("{\"id\":").append(i).append(",\"name\":\"n\\n").append(i).append("\"}\r\n");
+            if (i % 50 == 0) {
+                sb.append("\n");
+            }
+        }
+        File file = tempDir.resolve("data.ndjson").toFile();
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+        List<String[]> expected = new JsonLinesTableDataSource(file).getDataAsStringArray();
+        Assertions.assertEquals(300, expected.size());
+        Assertions.assertArrayEquals(new String[]{"7", "n\n7"}, expected.get(7));
+
+        JsonLinesTableDataSource ds = new JsonLinesTableDataSource(file).setParallelism(3).setChunkSize(100);
+        assertSameRows(expected, ds.getDataAsStringArray());
+
+        ds.setOrdered(false);
+        List<String[]> unordered = ds.getDataAsStringArray();
+        Assertions.assertEquals(toSortedStrings(expected), toSortedStrings(unordered));
+
+        // closing the iterator before the last row releases the file, sequentially, in parallel and for ranges
+        for (int parallelism : new int[]{1, 3}) {
+            ds.setParallelism(parallelism);
+            assertClosesFiles(() -> {
+                Iterator<String[]> iter = ds.iterator();
+                iter.next();
+                ((Closeable) iter).close();
+                Assertions.assertFalse(iter.hasNext());
+            });
+        }
+        assertClosesFiles(() -> {
+            Iterator<String[]> iter = ds.iterator(0, file.length());
+            iter.next();
+            ((Closeable) iter).close();
+        });
+    }
+
+    @Test
+    @DisplayName("Read lines of arrays, skipping the header row also in parallel")
+    void testArrayRows() throws Exception {
+        String data = "[\"id\",\"name\"]\n[1,\"foo\"]\n[2,\"bar\"]\n[3,\"baz\"]\n";
+        JsonLinesTableDataSource ds = new JsonLinesTableDataSource(
+                new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertTrue(ds.hasReliableHeaders());
+        Assertions.assertArrayEquals(new String[]{"id", "name"}, ds.getHeaders());
+        List<String[]> expected = ds.getDataAsStringArray();
+        Assertions.assertEquals(3, expected.size());
+        assertSameRows(expected, ds.setParallelism(2).setChunkSize(5).getDataAsStringArray());
+    }
+
+    @Test
+    @DisplayName("Table.fromSource detects JSON Lines and writes them back")
+    void testTableRoundTrip() throws Exception {
+        File jsonFile = new File(getTestDataDirectory(), "data/employee_data.json");
+        String json = new String(Files.readAllBytes(jsonFile.toPath()), StandardCharsets.UTF_8);
+        File file = tempDir.resolve("employees.ndjson").toFile();
+        Files.write(file.toPath(), toJsonLines(json, "\n").readAllBytes());
+
+        Table expected = Table.fromSource(new File("data/employee_data.json"), getTestDataDirectory());
+        Table table = Table.fromSource(new File("employees.ndjson"), tempDir.toFile());
+        Assertions.assertTrue(table.getTableDataSource() instanceof JsonLinesTableDataSource);
+        Schema schema = expected.inferSchema();
+        table.setSchema(schema);
+        expected.setSchema(schema);
+        assertSameRows(expected.read(), table.read());
+
+    }
+
+    @Test
+    @DisplayName("Write a Table as JSON Lines and read it back")
+    void testWrite() throws Exception {
+        Table table = Table.fromSource("id,name,amount\n1,foo,1.5\n2,\"b, \"\"r\"\"\",2\n");
+        Schema schema = table.inferSchema();
+        table.setSchema(schema);
+
+        StringWriter out = new StringWriter();
+        table.write(out, TableDataSource.Format.FORMAT_NDJSON);
+        String written = out.toString();
+        // each line holds the same object as the JSON array written by asJson()
+        ArrayNode array = JsonUtil.getInstance().createArrayNode(table.asJson());
+        String[] lines = written.split("\n");
+        Assertions.assertEquals(array.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            Assertions.assertEquals(array.get(i).toString(), lines[i]);
+        }
+        Table reread = Table.fromSource(written, schema, null);
+        Assertions.assertTrue(reread.getTableDataSource() instanceof JsonLinesTableDataSource);
+        assertSameRows(table.read(), reread.read());
+    }
+
+    @Test
+    @DisplayName("Infer a Schema from JSON Lines like from a JSON array")
+    void testInfer() throws Exception {
+        File jsonFile = new File(getTestDataDirectory(), "data/employee_data.json");
+        String json = new String(Files.readAllBytes(jsonFile.toPath()), StandardCharsets.UTF_8);
+        Schema expected = Schema.infer(jsonFile.toPath(), StandardCharsets.UTF_8, -1);
+        Schema schema = Schema.infer(toJsonLines(json, "\r\n"), StandardCharsets.UTF_8, -1);
+        Assertions.assertEquals(expected, schema);
+    }
+
+    private static ByteArrayInputStream toJsonLines(String json, String lineBreak) throws Exception {
+        ArrayNode array = JsonUtil.getInstance().createArrayNode(json);
+        StringBuilder sb = new StringBuilder();
+        for (JsonNode node : array) {
+            sb.append(node.toString()).append(lineBreak);
+        }
+        return new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
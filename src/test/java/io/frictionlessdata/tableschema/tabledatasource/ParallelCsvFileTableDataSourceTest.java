@@ -0,0 +1,143 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.TestHelper;
+import org.apache.commons.csv.CSVFormat;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static io.frictionlessdata.tableschema.TestHelper.assertClosesFiles;
+import static io.frictionlessdata.tableschema.TestHelper.assertSameRows;
+import static io.frictionlessdata.tableschema.TestHelper.toSortedStrings;
+
+public class ParallelCsvFileTableDataSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Read the same rows as the sequential CSV source, in order")
+    void testOrdered() throws Exception {
+        File file = writeTestFile("\n");
+        List<String[]> expected = new CsvFileTableDataSource(file.getAbsolutePath()).getDataAsStringArray();
+        for (int chunkSize : new int[]{1, 37, 1000, 1024 * 1024}) {
+            ParallelCsvFileTableDataSource ds = new ParallelCsvFileTableDataSource(file)
+                    .setChunkSize(chunkSize)
+                    .setParallelism(3);
+            assertSameRows(expected, ds.getDataAsStringArray());
+        }
+    }
+
+    @Test
+    @DisplayName("Split at CRLF line breaks and skip a UTF-8 BOM")
+    void testCrlfAndBom() throws Exception {
+        File file = writeTestFile("\r\n");
+        List<String[]> expected = new CsvFileTableDataSource(file.getAbsolutePath()).getDataAsStringArray();
+        byte[] content = Files.readAllBytes(file.toPath());
+        byte[] withBom = new byte[content.length + 3];
+        withBom[0] = (byte) 0xEF;
+        withBom[1] = (byte) 0xBB;
+        withBom[2] = (byte) 0xBF;
+        System.arraycopy(content, 0, withBom, 3, content.length);
+        Files.write(file.toPath(), withBom);
+
+        ParallelCsvFileTableDataSource ds = new ParallelCsvFileTableDataSource(file).setChunkSize(50);
+        Assertions.assertArrayEquals(new String[]{"id", "name", "comment"}, ds.getHeaders());
+        assertSameRows(expected, ds.getDataAsStringArray());
+    }
+
+    @Test
+    @DisplayName("Unordered delivery returns all rows")
+    void testUnordered() throws Exception {
+        File file = writeTestFile("\n");
+        List<String[]> expected = new CsvFileTableDataSource(file.getAbsolutePath()).getDataAsStringArray();
+        ParallelCsvFileTableDataSource ds = new ParallelCsvFileTableDataSource(file)
+                .setChunkSize(100)
+                .setOrdered(false);
+        List<String[]> actual = ds.getDataAsStringArray();
+        Assertions.assertEquals(toSortedStrings(expected), toSortedStrings(actual));
+    }
+
+    @Test
+    @DisplayName("Closing the iterator before the last row releases the file")
+    void testClose() throws Exception {
+        File file = writeTestFile("\n");
+        ParallelCsvFileTableDataSource ds = new ParallelCsvFileTableDataSource(file)
+                .setChunkSize(100)
+                .setParallelism(2);
+        assertClosesFiles(() -> {
+            Iterator<String[]> iter = ds.iterator();
+            iter.next();
+            ((Closeable) iter).close();
+            Assertions.assertFalse(iter.hasNext());
+        });
+    }
+
+    @Test
+    @DisplayName("Formats with an escape character are read sequentially")
+    void testEscapeFallback() throws Exception {
+        File file = tempDir.resolve("escaped.csv").toFile();
+        Files.write(file.toPath(), "a,b\n1\\,2,3\n4,5\n".getBytes(StandardCharsets.UTF_8));
+        CSVFormat format = TableDataSource.getDefaultCsvFormat().builder().setEscape('\\').get();
+        ParallelCsvFileTableDataSource ds = new ParallelCsvFileTableDataSource(file).setFormat(format);
+        List<String[]> rows = ds.getDataAsStringArray();
+        Assertions.assertEquals(2, rows.size());
+        Assertions.assertArrayEquals(new String[]{"1,2", "3"}, rows.get(0));
+    }
+
+    @Test
+    @DisplayName("A Table reads the same rows from the parallel source")
+    void testTable() throws Exception {
+        File dir = new File(TestHelper.getTestDataDirectory(), "data");
+        Table expected = Table.fromSource(new File("employee_data.csv"), dir);
+
+        Table table = Table.fromSource(new File("employee_data.csv"), dir);
+        table.setTableDataSource(new ParallelCsvFileTableDataSource(new File(dir, "employee_data.csv"))
+                .setChunkSize(64));
+        Assertions.assertArrayEquals(expected.getHeaders(), table.getHeaders());
+        List<Object[]> expectedRows = expected.read();
+        List<Object[]> actualRows = table.read();
+        Assertions.assertEquals(expectedRows.size(), actualRows.size());
+        for (int i = 0; i < expectedRows.size(); i++) {
+            Assertions.assertArrayEquals(expectedRows.get(i), actualRows.get(i));
+        }
+    }
+
+    private File writeTestFile(String lineBreak) throws IOException {
+        Random random = new Random(7);
+        StringBuilder sb = new StringBuilder("id,name,comment").append(lineBreak);
+        for (int i = 0; i < 500; i++) {
+            sb.append(i).append(',');
+            switch (random.nextInt(5)) {
+                case 0:
+                    sb.append("\"multi").append(lineBreak).append("line, \"\"quoted\"\"\"");
+                    break;
+                case 1:
+                    sb.append("5\" inch");
+                    break;
+                case 2:
+                    sb.append("  \"spaced\"  ");
+                    break;
+                case 3:
+                    sb.append("\"\"");
+                    break;
+                default:
+                    sb.append("Grüße ").append(random.nextInt());
+            }
+            sb.append(',').append(i % 3 == 0 ? "" : "c" + i).append(lineBreak);
+        }
+        File file = tempDir.resolve("parallel.csv").toFile();
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
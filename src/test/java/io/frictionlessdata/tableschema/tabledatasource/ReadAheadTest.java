@@ -0,0 +1,159 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.frictionlessdata.tableschema.inputstream.ReadAheadStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+class ReadAheadTest {
+    private static final int ROWS = 200;
+    // enough rows for the slow server to still be sending when a test stops reading
+    private static final int LARGE_ROWS = 200_000;
+
+    private HttpServer server;
+
+    private static String createCsv(int rows) {
+        StringBuilder sb = new StringBuilder("id,name\n");
+        for (int i = 0; i < rows; i++) {
+            sb.append(i).append(",name").append(i).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @BeforeEach
+    void startServer() throws Exception {
+        byte[] data = createCsv(ROWS).getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // a slow server that sends the data in small pieces
+        server.createContext("/data.csv", exchange -> sendSlowly(exchange, data));
+        byte[] large = createCsv(LARGE_ROWS).getBytes(StandardCharsets.UTF_8);
+        server.createContext("/large.csv", exchange -> sendSlowly(exchange, large));
+        server.start();
+    }
+
+    // a slow server that sends the data in small pieces
+    private static void sendSlowly(HttpExchange exchange, byte[] data) throws IOException {
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            for (int i = 0; i < data.length; i += 512) {
+                out.write(data, i, Math.min(512, data.length - i));
+                out.flush();
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Read CSV data from a slow URL with read-ahead")
+    void testSlowUrl() throws Exception {
+        URL url = new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/data.csv");
+        CsvTableDataSource ds = new CsvTableDataSource(url);
+        ds.setReadAhead(1024, 4);
+
+        Assertions.assertArrayEquals(new String[]{"id", "name"}, ds.getHeaders());
+        Iterator<String[]> iter = ds.iterator();
+        int rows = 0;
+        while (iter.hasNext()) {
+            String[] row = iter.next();
+            Assertions.assertArrayEquals(new String[]{"" + rows, "name" + rows}, row);
+            rows++;
+        }
+        Assertions.assertEquals(ROWS, rows);
+
+        ReadAheadStatistics statistics = ds.getReadAheadStatistics();
+        Assertions.assertTrue(statistics.getBytesRead() >= createCsv(ROWS).length());
+        // the parser outpaces the server
+        Assertions.assertTrue(statistics.getConsumerWait(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    @DisplayName("The read-ahead buffer fills up for a slow consumer")
+    void testSlowConsumer(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("data.csv");
+        Files.write(file, createCsv(20000).getBytes(StandardCharsets.UTF_8));
+        CsvFileTableDataSource ds = new CsvFileTableDataSource(file.toString());
+        ds.setReadAhead(1024, 2);
+
+        Iterator<String[]> iter = ds.iterator();
+        for (int i = 0; i < 10; i++) {
+            iter.next();
+            Thread.sleep(5);
+        }
+        int rows = 10;
+        while (iter.hasNext()) {
+            iter.next();
+            rows++;
+        }
+        Assertions.assertEquals(20000, rows);
+        // waits are recorded when they end, so check once all data is read
+        Assertions.assertTrue(ds.getReadAheadStatistics().getProducerWait(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    @DisplayName("The read-ahead thread of an abandoned URL stream ends")
+    void testAbandonedUrl() throws Exception {
+        Set<Thread> before = getBackgroundThreads();
+        Thread abandoned = readFirstRows(before);
+        for (int i = 0; (i < 100) && abandoned.isAlive(); i++) {
+            System.gc();
+            abandoned.join(100);
+        }
+        Assertions.assertFalse(abandoned.isAlive());
+    }
+
+    // read a few rows of the large URL and drop the iterator, returns its read-ahead thread
+    private Thread readFirstRows(Set<Thread> before) throws Exception {
+        URL url = new URL("http://127.0.0.1:" + server.getAddress().getPort() + "/large.csv");
+        CsvTableDataSource ds = new CsvTableDataSource(url);
+        ds.setReadAhead(1024, 4);
+        Iterator<String[]> iter = ds.iterator();
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertArrayEquals(new String[]{"" + i, "name" + i}, iter.next());
+        }
+        Set<Thread> threads = getBackgroundThreads();
+        threads.removeAll(before);
+        threads.removeIf((t) -> !t.isAlive());
+        Assertions.assertFalse(threads.isEmpty());
+        return threads.iterator().next();
+    }
+
+    private static Set<Thread> getBackgroundThreads() {
+        Set<Thread> threads = new HashSet<>(Thread.getAllStackTraces().keySet());
+        threads.removeIf((t) -> !t.getName().equals("tableschema-background-read"));
+        return threads;
+    }
+
+    @Test
+    @DisplayName("Reject an invalid read-ahead configuration")
+    void testInvalidConfiguration() {
+        CsvFileTableDataSource ds = new CsvFileTableDataSource("data.csv");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ds.setReadAhead(0, 4));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ds.setReadAhead(1024, -1));
+    }
+}
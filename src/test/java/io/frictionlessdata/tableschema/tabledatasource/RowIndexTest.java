@@ -0,0 +1,147 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import io.frictionlessdata.tableschema.Table;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static io.frictionlessdata.tableschema.TestHelper.assertClosesFiles;
+
+class RowIndexTest {
+    private static final int ROWS = 300;
+    // RFC 4180 returns empty lines as rows, createCsv() writes 12 times two empty lines
+    private static final int ROWS_WITH_EMPTY_LINES = ROWS + 24;
+
+    private static String createCsv(String header) {
+        StringBuilder sb = new StringBuilder("﻿").append(header).append("\r\n");
+        for (int i = 0; i < ROWS; i++) {
+            sb.append(i).append(',');
+            if (i % 4 == 0) {
+                sb.append("\"line\n").append(i).append(",\"\"quoted\"\"\"");
+            } else {
+                sb.append("Zürich ").append(i);
+            }
+            sb.append("\r\n");
+            if (i % 25 == 0) {
+                // empty lines are only rows if the CSVFormat doesn't ignore them
+                sb.append("\r\n\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    @Test
+    @DisplayName("Seek to rows and count rows via the row index")
+    void testSeek(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("data.csv");
+        Files.write(file, createCsv("id,text").getBytes(StandardCharsets.UTF_8));
+        CsvFileTableDataSource ds = new CsvFileTableDataSource(file.toString());
+        Assertions.assertNull(ds.getRowIndex());
+        for (boolean ignoreEmptyLines : new boolean[]{false, true}) {
+            ds.setFormat(TableDataSource.getDefaultCsvFormat().builder().setIgnoreEmptyLines(ignoreEmptyLines).get());
+            ds.setRowIndexInterval(0);
+            List<String[]> expected = ds.getDataAsStringArray();
+            Assertions.assertEquals(ignoreEmptyLines ? ROWS : ROWS_WITH_EMPTY_LINES, expected.size());
+
+            ds.setRowIndexInterval(7);
+            RowIndex index = ds.getRowIndex();
+            Assertions.assertNotNull(index);
+            Assertions.assertEquals(expected.size(), index.getRowCount());
+            Assertions.assertEquals(expected.size(), ds.getRowCount());
+            for (int row = 0; row < expected.size(); row++) {
+                Iterator<String[]> iter = ds.rowIterator(row);
+                for (int i = row; i < Math.min(expected.size(), row + 3); i++) {
+                    Assertions.assertArrayEquals(expected.get(i), iter.next(), "row " + i);
+                }
+            }
+            Assertions.assertFalse(ds.rowIterator(expected.size()).hasNext());
+        }
+        Assertions.assertTrue(Files.exists(RowIndex.getSidecarPath(file)));
+    }
+
+    @Test
+    @DisplayName("The row index is reused while the file is unchanged and rebuilt after a change")
+    void testInvalidation(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("data.csv");
+        Files.write(file, createCsv("id,text").getBytes(StandardCharsets.UTF_8));
+        RowIndex index = RowIndex.loadOrBuild(file, TableDataSource.getDefaultCsvFormat(), 10);
+        Assertions.assertTrue(index.isValid(file, TableDataSource.getDefaultCsvFormat()));
+        Assertions.assertEquals(ROWS_WITH_EMPTY_LINES, RowIndex.load(RowIndex.getSidecarPath(file)).getRowCount());
+
+        // same size and modification time, but a different header row
+        FileTime modified = Files.getLastModifiedTime(file);
+        Files.write(file, createCsv("ix,text").getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, modified);
+        Assertions.assertFalse(index.isValid(file, TableDataSource.getDefaultCsvFormat()));
+
+        Files.write(file, (createCsv("id,text") + "300,more\n").getBytes(StandardCharsets.UTF_8));
+        Assertions.assertFalse(index.isValid(file, TableDataSource.getDefaultCsvFormat()));
+        Assertions.assertEquals(ROWS_WITH_EMPTY_LINES + 1,
+                RowIndex.loadOrBuild(file, TableDataSource.getDefaultCsvFormat(), 10).getRowCount());
+
+        // the index depends on the header row setting of the format
+        CsvFileTableDataSource ds = new CsvFileTableDataSource(file.toString());
+        ds.setRowIndexInterval(10);
+        ds.setFormat(CsvSplits.withoutHeader(TableDataSource.getDefaultCsvFormat()));
+        Assertions.assertEquals(ROWS_WITH_EMPTY_LINES + 2, ds.getRowCount());
+    }
+
+    @Test
+    @DisplayName("Compressed files are read without row index")
+    void testCompressed(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("data.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(createCsv("id,text").getBytes(StandardCharsets.UTF_8));
+        }
+        CsvFileTableDataSource ds = new CsvFileTableDataSource(file.toString());
+        ds.setRowIndexInterval(10);
+        Assertions.assertNull(ds.getRowIndex());
+        Assertions.assertEquals(ROWS_WITH_EMPTY_LINES, ds.getRowCount());
+        Assertions.assertEquals("299", ds.rowIterator(ROWS_WITH_EMPTY_LINES - 1).next()[0]);
+    }
+
+    @Test
+    @DisplayName("Read a page of rows and count the rows of a Table")
+    void testTableRowRange(@TempDir Path tempDir) throws Exception {
+        Files.write(tempDir.resolve("data.csv"), createCsv("id,text").getBytes(StandardCharsets.UTF_8));
+        Table table = Table.fromSource(new File("data.csv"), tempDir.toFile(), null, true);
+        ((CsvFileTableDataSource) table.getTableDataSource()).setRowIndexInterval(16);
+        Assertions.assertEquals(ROWS_WITH_EMPTY_LINES, table.getRowCount());
+
+        // rows 101 to 110 come after five blocks of two empty lines
+        Table page = table.rowRange(111, 121);
+        Assertions.assertArrayEquals(table.getHeaders(), page.getHeaders());
+        Assertions.assertEquals(10, page.getRowCount());
+        List<Object[]> rows = page.read();
+        Assertions.assertEquals(10, rows.size());
+        Assertions.assertEquals("101", rows.get(0)[0]);
+        Assertions.assertEquals("110", rows.get(9)[0]);
+        Assertions.assertEquals(0, table.rowRange(ROWS_WITH_EMPTY_LINES, ROWS_WITH_EMPTY_LINES + 10).read().size());
+
+        // pages read to the end or closed early close the file
+        assertClosesFiles(page::read);
+        assertClosesFiles(() -> {
+            Iterator<Object[]> iter = page.iterator();
+            iter.next();
+            ((Closeable) iter).close();
+        });
+        ((CsvFileTableDataSource) table.getTableDataSource()).setRowIndexInterval(0);
+        assertClosesFiles(page::read);
+
+        Table inMemory = Table.fromSource("id,text\n1,a\n2,b\n3,c\n");
+        Assertions.assertEquals(3, inMemory.getRowCount());
+        Assertions.assertEquals("b", inMemory.rowRange(1, 2).read().get(0)[1]);
+    }
+}
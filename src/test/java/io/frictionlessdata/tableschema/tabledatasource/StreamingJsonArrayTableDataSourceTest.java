@@ -0,0 +1,117 @@
+package io.frictionlessdata.tableschema.tabledatasource;
+
+import io.frictionlessdata.tableschema.Table;
+import io.frictionlessdata.tableschema.schema.Schema;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+
+import static io.frictionlessdata.tableschema.TestHelper.assertClosesFiles;
+import static io.frictionlessdata.tableschema.TestHelper.assertSameRows;
+import static io.frictionlessdata.tableschema.TestHelper.getTestDataDirectory;
+
+public class StreamingJsonArrayTableDataSourceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Read the same rows as the in-memory JSON source")
+    void testSameRows() throws Exception {
+        for (String name : new String[]{"employee_data.json", "population.json", "employee_full.json"}) {
+            File file = new File(getTestDataDirectory(), "data/" + name);
+            String json = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            JsonArrayTableDataSource expected = new JsonArrayTableDataSource(json);
+            StreamingJsonArrayTableDataSource ds = new StreamingJsonArrayTableDataSource(file);
+
+            Assertions.assertArrayEquals(expected.getHeaders(), ds.getHeaders());
+            Assertions.assertEquals(expected.hasReliableHeaders(), ds.hasReliableHeaders());
+            assertSameRows(expected.getDataAsStringArray(), ds.getDataAsStringArray());
+            // a second iteration reads the file again
+            assertSameRows(expected.getDataAsStringArray(), ds.getDataAsStringArray());
+        }
+    }
+
+    @Test
+    @DisplayName("Closing the iterator of a JSON file before the last row closes the file")
+    void testClose() throws Exception {
+        StreamingJsonArrayTableDataSource ds = new StreamingJsonArrayTableDataSource(
+                new File(getTestDataDirectory(), "data/employee_data.json"));
+        Table table = Table.fromSource(new File("data/employee_data.json"), getTestDataDirectory(), null, null, true);
+        assertClosesFiles(() -> {
+            Iterator<String[]> iter = ds.iterator();
+            iter.next();
+            ((Closeable) iter).close();
+            Assertions.assertFalse(iter.hasNext());
+        });
+        assertClosesFiles(() -> {
+            Iterator<Object[]> iter = table.iterator();
+            iter.next();
+            ((Closeable) iter).close();
+        });
+    }
+
+    @Test
+    @DisplayName("Read an array of arrays, skipping the header row")
+    void testArrayRows() throws Exception {
+        String json = "[[\"id\",\"name\"],[1,\"foo\"],[2,\"bar\"]]";
+        StreamingJsonArrayTableDataSource ds = new StreamingJsonArrayTableDataSource(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertTrue(ds.hasReliableHeaders());
+        Assertions.assertArrayEquals(new String[]{"id", "name"}, ds.getHeaders());
+        List<String[]> rows = ds.getDataAsStringArray();
+        Assertions.assertEquals(2, rows.size());
+        Assertions.assertArrayEquals(new String[]{"2", "bar"}, rows.get(1));
+    }
+
+    @Test
+    @DisplayName("Only the first rows are scanned for keys, declared headers are always included")
+    void testHeaderScanLimit() throws Exception {
+        File file = tempDir.resolve("data.json").toFile();
+        Files.write(file.toPath(), "[{\"a\":1},{\"a\":2,\"b\":3},{\"c\":4}]".getBytes(StandardCharsets.UTF_8));
+        StreamingJsonArrayTableDataSource ds = new StreamingJsonArrayTableDataSource(file);
+        ds.setHeaderScanLimit(2);
+        Assertions.assertArrayEquals(new String[]{"a", "b"}, ds.getHeaders());
+
+        ds.setDeclaredHeaders(new String[]{"c", "a"});
+        Assertions.assertArrayEquals(new String[]{"c", "a", "b"}, ds.getHeaders());
+        List<String[]> rows = ds.getDataAsStringArray();
+        Assertions.assertArrayEquals(new String[]{"4", null, null}, rows.get(2));
+
+        ds.setHeaderScanLimit(-1).setDeclaredHeaders(null);
+        Assertions.assertArrayEquals(new String[]{"a", "b", "c"}, ds.getHeaders());
+    }
+
+    @Test
+    @DisplayName("A streaming Table with a Schema reads JSON like the in-memory Table")
+    void testTableWithSchema() throws Exception {
+        File dir = getTestDataDirectory();
+        Schema schema;
+        try (FileInputStream fis = new FileInputStream(new File(dir, "schema/employee_schema.json"))) {
+            schema = Schema.fromJson(fis, false);
+        }
+        Table expected = Table.fromSource(new File("data/employee_data.json"), dir);
+        expected.setSchema(schema);
+        Table table = Table.fromSource(new File("data/employee_data.json"), dir, null, true);
+        Assertions.assertTrue(table.getTableDataSource() instanceof StreamingJsonArrayTableDataSource);
+        table.setSchema(schema);
+
+        List<Object[]> expectedRows = expected.read();
+        List<Object[]> rows = table.read();
+        Assertions.assertEquals(expectedRows.size(), rows.size());
+        for (int i = 0; i < expectedRows.size(); i++) {
+            Assertions.assertArrayEquals(expectedRows.get(i), rows.get(i));
+        }
+    }
+}
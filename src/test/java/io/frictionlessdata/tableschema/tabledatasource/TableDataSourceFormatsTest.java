@@ -8,11 +8,15 @@ import org.junit.jupiter.api.Test;
 
 import java.io.*;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -174,6 +178,115 @@ public class TableDataSourceFormatsTest {
         Assertions.assertNotNull(ds);
     }
 
+    @Test
+    @DisplayName("Create a CsvTableDataSource from a File and ensure line breaks in quoted values are kept")
+    public void testFileCreationCsvKeepsCrLf() throws Exception {
+        Path dir = Files.createTempDirectory("tableschema-");
+        Files.write(dir.resolve("crlf.csv"),
+                "id,comment\r\n1,\"first\r\nsecond\"\r\n2,third\r\n".getBytes(StandardCharsets.UTF_8));
+        TableDataSource ds = TableDataSource.fromSource(new File("crlf.csv"), dir.toFile());
+        Assertions.assertTrue(ds instanceof CsvTableDataSource);
+
+        List<String[]> data = ds.getDataAsStringArray();
+        Assertions.assertEquals(2, data.size());
+        Assertions.assertEquals("first\r\nsecond", data.get(0)[1]);
+        Assertions.assertArrayEquals(new String[]{"2", "third"}, data.get(1));
+    }
+
+    @Test
+    @DisplayName("Create a TableDataSource from an InputStream and ensure it can be read more than once")
+    public void testInputStreamCreationCsvRepeatedRead() throws Exception {
+        TableDataSource ds = TableDataSource.fromSource(
+                new ByteArrayInputStream(populationCsv.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertTrue(ds instanceof CsvTableDataSource);
+        Assertions.assertArrayEquals(populationHeaders, ds.getHeaders());
+        Assertions.assertEquals(3, ds.getDataAsStringArray().size());
+        Assertions.assertEquals(3, ds.getDataAsStringArray().size());
+
+        ds = TableDataSource.fromSource(new ByteArrayInputStream(populationjson.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertTrue(ds instanceof JsonArrayTableDataSource);
+    }
+
+    @Test
+    @DisplayName("Temporary copies of InputStream data are deleted with their data source")
+    public void testInputStreamTemporaryFiles() throws Exception {
+        List<Path> before = listTemporaryFiles();
+        AbstractTableDataSource<?> ds = (AbstractTableDataSource<?>) TableDataSource.fromSource(
+                new ByteArrayInputStream(populationCsv.getBytes(StandardCharsets.UTF_8)));
+        List<Path> spooled = listTemporaryFiles();
+        spooled.removeAll(before);
+        Assertions.assertEquals(1, spooled.size());
+        Assertions.assertEquals(3, ds.getDataAsStringArray().size());
+        ds.close();
+        Assertions.assertFalse(Files.exists(spooled.get(0)));
+        // closing again does no harm
+        ds.close();
+
+        try (CsvTableDataSource csv = new CsvTableDataSource(
+                new ByteArrayInputStream(populationCsv.getBytes(StandardCharsets.UTF_8)))) {
+            spooled = listTemporaryFiles();
+            spooled.removeAll(before);
+            Assertions.assertEquals(1, spooled.size());
+            Assertions.assertEquals(3, csv.getDataAsStringArray().size());
+        }
+        Assertions.assertFalse(Files.exists(spooled.get(0)));
+        Assertions.assertEquals(before, listTemporaryFiles());
+    }
+
+    @Test
+    @DisplayName("Closing an unfinished CSV iterator closes the file")
+    public void testClosingIterator() throws Exception {
+        File testDataDir = TestHelper.getTestDataDirectory();
+        TableDataSource ds = TableDataSource.fromSource(new File("data/population.csv"), testDataDir);
+        Iterator<String[]> iter = ds.iterator();
+        Assertions.assertTrue(iter.hasNext());
+        iter.next();
+        Assertions.assertTrue(iter instanceof Closeable);
+        ((Closeable) iter).close();
+        Assertions.assertFalse(iter.hasNext());
+
+        Iterator<Object[]> rows = Table.fromSource(new File("data/population.csv"), testDataDir).iterator();
+        rows.next();
+        ((Closeable) rows).close();
+        Assertions.assertFalse(rows.hasNext());
+
+        AtomicInteger closed = new AtomicInteger();
+        ClosingIterator<String> closing = new ClosingIterator<>(List.of("a", "b").iterator(), closed::incrementAndGet);
+        Assertions.assertEquals("a", closing.next());
+        closing.close();
+        closing.close();
+        Assertions.assertEquals(1, closed.get());
+        Assertions.assertFalse(closing.hasNext());
+        Assertions.assertEquals(1, closed.get());
+    }
+
+    private static List<Path> listTemporaryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files.filter((f) -> f.getFileName().toString().matches("tableschema-.*\\.tmp"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Headers of a CsvTableDataSource are cached until the CSVFormat changes")
+    public void testHeaderCaching() throws Exception {
+        Path dir = Files.createTempDirectory("tableschema-");
+        Path file = dir.resolve("headers.csv");
+        Files.write(file, "a;b,c\n1;2,3\n".getBytes(StandardCharsets.UTF_8));
+        CsvTableDataSource ds = (CsvTableDataSource) TableDataSource.fromSource(new File("headers.csv"), dir.toFile());
+
+        String[] headers = ds.getHeaders();
+        Assertions.assertArrayEquals(new String[]{"a;b", "c"}, headers);
+        // the cached headers are returned without reading the file again
+        Files.delete(file);
+        Assertions.assertSame(headers, ds.getHeaders());
+        Assertions.assertTrue(ds.hasReliableHeaders());
+
+        Files.write(file, "a;b,c\n1;2,3\n".getBytes(StandardCharsets.UTF_8));
+        ds.setFormat(TableDataSource.getDefaultCsvFormat().builder().setDelimiter(';').get());
+        Assertions.assertArrayEquals(new String[]{"a", "b,c"}, ds.getHeaders());
+    }
+
     @Test
     @DisplayName("Create a CsvTableDataSource from JSON data and ensure Exception is thrown")
     public void testWrongInputStreamCreationCsv() throws Exception {